@@ -0,0 +1,80 @@
+/*
+ * Copyright Elasticsearch B.V. and/or licensed to Elasticsearch B.V. under one
+ * or more contributor license agreements. Licensed under the Elastic License
+ * 2.0 and the Server Side Public License, v 1; you may not use this file except
+ * in compliance with, at your election, the Elastic License 2.0 or the Server
+ * Side Public License, v 1.
+ */
+package org.elasticsearch.benchmark.metadata;
+
+import org.elasticsearch.Version;
+import org.elasticsearch.cluster.metadata.AliasMetadata;
+import org.elasticsearch.cluster.metadata.IndexMetadata;
+import org.elasticsearch.cluster.metadata.Metadata;
+import org.elasticsearch.common.settings.Settings;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures building a {@link Metadata} from a previous one with many indices, both when only the mapping of a single index changes, in
+ * which case the derived structures of the previous metadata are reused, and when a new index is added, which requires rebuilding them.
+ */
+@Fork(2)
+@Warmup(iterations = 5)
+@Measurement(iterations = 5)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+@SuppressWarnings("unused") // invoked by benchmarking framework
+public class MetadataBuildBenchmark {
+
+    @Param({ "10000", "50000" })
+    public int numIndices = 10000;
+
+    private Metadata metadata;
+    private IndexMetadata updatedIndex;
+    private IndexMetadata newIndex;
+
+    @Setup
+    public void setUp() {
+        final Metadata.Builder builder = Metadata.builder();
+        for (int i = 0; i < numIndices; i++) {
+            builder.put(newIndex("index-" + i).putAlias(AliasMetadata.builder("alias-" + (i % 100)).build()));
+        }
+        metadata = builder.build();
+
+        updatedIndex = IndexMetadata.builder(metadata.index("index-" + (numIndices / 2)))
+            .putMapping("{\"_doc\":{\"properties\":{\"field\":{\"type\":\"keyword\"}}}}")
+            .mappingVersion(2L)
+            .build();
+        newIndex = newIndex("new-index").build();
+    }
+
+    private static IndexMetadata.Builder newIndex(String name) {
+        return IndexMetadata.builder(name)
+            .settings(Settings.builder().put(IndexMetadata.SETTING_VERSION_CREATED, Version.CURRENT))
+            .numberOfShards(1)
+            .numberOfReplicas(1);
+    }
+
+    @Benchmark
+    public Metadata measurePutMapping() {
+        return Metadata.builder(metadata).put(updatedIndex, true).build();
+    }
+
+    @Benchmark
+    public Metadata measureCreateIndex() {
+        return Metadata.builder(metadata).put(newIndex, false).build();
+    }
+}
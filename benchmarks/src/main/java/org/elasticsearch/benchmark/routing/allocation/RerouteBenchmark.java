@@ -0,0 +1,146 @@
+/*
+ * Copyright Elasticsearch B.V. and/or licensed to Elasticsearch B.V. under one
+ * or more contributor license agreements. Licensed under the Elastic License
+ * 2.0 and the Server Side Public License, v 1; you may not use this file except
+ * in compliance with, at your election, the Elastic License 2.0 or the Server
+ * Side Public License, v 1.
+ */
+package org.elasticsearch.benchmark.routing.allocation;
+
+import org.elasticsearch.Version;
+import org.elasticsearch.cluster.ClusterName;
+import org.elasticsearch.cluster.ClusterState;
+import org.elasticsearch.cluster.metadata.IndexMetadata;
+import org.elasticsearch.cluster.metadata.Metadata;
+import org.elasticsearch.cluster.node.DiscoveryNodes;
+import org.elasticsearch.cluster.routing.IndexRoutingTable;
+import org.elasticsearch.cluster.routing.IndexShardRoutingTable;
+import org.elasticsearch.cluster.routing.RoutingTable;
+import org.elasticsearch.cluster.routing.ShardRouting;
+import org.elasticsearch.cluster.routing.allocation.AllocationService;
+import org.elasticsearch.common.settings.Settings;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures a single reroute of a large cluster in which all shards are already started and balanced, as well as a reroute of the same
+ * cluster right after a new index has been created. Unlike {@link AllocationBenchmark} the initial cluster state is built directly rather
+ * than by repeatedly rerouting, which makes it possible to benchmark clusters with hundreds of thousands of shards.
+ */
+@Fork(2)
+@Warmup(iterations = 5)
+@Measurement(iterations = 5)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+@SuppressWarnings("unused") // invoked by benchmarking framework
+public class RerouteBenchmark {
+
+    @Param(
+        {
+            // indices| shards| replicas| nodes
+            "     1000|     10|        1|    20",
+            "     5000|     10|        1|   100",
+            "    50000|      1|        1|   100",
+            "     1000|     50|        1|   200" }
+    )
+    public String indicesShardsReplicasNodes = "1000|10|1|20";
+
+    private AllocationService strategy;
+    private ClusterState balancedClusterState;
+    private ClusterState clusterStateWithNewIndex;
+
+    @Setup
+    public void setUp() throws Exception {
+        final String[] params = indicesShardsReplicasNodes.split("\\|");
+
+        int numIndices = toInt(params[0]);
+        int numShards = toInt(params[1]);
+        int numReplicas = toInt(params[2]);
+        int numNodes = toInt(params[3]);
+
+        strategy = Allocators.createAllocationService(Settings.EMPTY);
+
+        DiscoveryNodes.Builder nb = DiscoveryNodes.builder();
+        for (int i = 0; i < numNodes; i++) {
+            nb.add(Allocators.newNode("node" + i, Collections.emptyMap()));
+        }
+
+        // assign the copies of each shard to consecutive nodes so that the cluster is balanced and no copies share a node
+        Metadata.Builder mb = Metadata.builder();
+        RoutingTable.Builder rb = RoutingTable.builder();
+        int nextNode = 0;
+        for (int i = 1; i <= numIndices; i++) {
+            final IndexMetadata indexMetadata = newIndex("test_" + i, numShards, numReplicas);
+            final IndexMetadata.Builder indexMetadataBuilder = IndexMetadata.builder(indexMetadata);
+            final IndexRoutingTable.Builder indexRoutingTableBuilder = IndexRoutingTable.builder(indexMetadata.getIndex());
+            for (IndexShardRoutingTable unassignedShard : IndexRoutingTable.builder(indexMetadata.getIndex())
+                .initializeAsNew(indexMetadata)
+                .build()) {
+                final IndexShardRoutingTable.Builder shardRoutingTableBuilder = new IndexShardRoutingTable.Builder(
+                    unassignedShard.shardId()
+                );
+                final Set<String> inSyncAllocationIds = new HashSet<>();
+                int copy = 0;
+                for (ShardRouting shardRouting : unassignedShard) {
+                    final ShardRouting startedShard = shardRouting.initialize("node" + ((nextNode + copy++) % numNodes), null, 0L)
+                        .moveToStarted();
+                    inSyncAllocationIds.add(startedShard.allocationId().getId());
+                    shardRoutingTableBuilder.addShard(startedShard);
+                }
+                nextNode = (nextNode + 1) % numNodes;
+                indexMetadataBuilder.putInSyncAllocationIds(unassignedShard.shardId().id(), inSyncAllocationIds);
+                indexRoutingTableBuilder.addIndexShard(shardRoutingTableBuilder.build());
+            }
+            mb.put(indexMetadataBuilder);
+            rb.add(indexRoutingTableBuilder);
+        }
+        balancedClusterState = ClusterState.builder(ClusterName.CLUSTER_NAME_SETTING.getDefault(Settings.EMPTY))
+            .metadata(mb)
+            .routingTable(rb.build())
+            .nodes(nb)
+            .build();
+
+        final IndexMetadata newIndex = newIndex("new_index", numShards, numReplicas);
+        clusterStateWithNewIndex = ClusterState.builder(balancedClusterState)
+            .metadata(Metadata.builder(balancedClusterState.metadata()).put(newIndex, false))
+            .routingTable(RoutingTable.builder(balancedClusterState.routingTable()).addAsNew(newIndex).build())
+            .build();
+    }
+
+    private static IndexMetadata newIndex(String name, int numShards, int numReplicas) {
+        return IndexMetadata.builder(name)
+            .settings(Settings.builder().put("index.version.created", Version.CURRENT))
+            .numberOfShards(numShards)
+            .numberOfReplicas(numReplicas)
+            .build();
+    }
+
+    private int toInt(String v) {
+        return Integer.valueOf(v.trim());
+    }
+
+    @Benchmark
+    public ClusterState measureBalancedReroute() {
+        return strategy.reroute(balancedClusterState, "reroute");
+    }
+
+    @Benchmark
+    public ClusterState measureRerouteWithNewIndex() {
+        return strategy.reroute(clusterStateWithNewIndex, "reroute");
+    }
+}
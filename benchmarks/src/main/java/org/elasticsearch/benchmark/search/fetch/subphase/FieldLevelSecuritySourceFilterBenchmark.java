@@ -0,0 +1,173 @@
+/*
+ * Copyright Elasticsearch B.V. and/or licensed to Elasticsearch B.V. under one
+ * or more contributor license agreements. Licensed under the Elastic License
+ * 2.0 and the Server Side Public License, v 1; you may not use this file except
+ * in compliance with, at your election, the Elastic License 2.0 or the Server
+ * Side Public License, v 1.
+ */
+package org.elasticsearch.benchmark.search.fetch.subphase;
+
+import org.apache.lucene.document.Document;
+import org.apache.lucene.document.StoredField;
+import org.apache.lucene.index.DirectoryReader;
+import org.apache.lucene.index.FieldInfo;
+import org.apache.lucene.index.IndexWriter;
+import org.apache.lucene.index.IndexWriterConfig;
+import org.apache.lucene.index.StoredFieldVisitor;
+import org.apache.lucene.store.ByteBuffersDirectory;
+import org.apache.lucene.store.Directory;
+import org.apache.lucene.util.automaton.CharacterRunAutomaton;
+import org.elasticsearch.common.Strings;
+import org.elasticsearch.common.bytes.BytesArray;
+import org.elasticsearch.common.bytes.BytesReference;
+import org.elasticsearch.common.io.Streams;
+import org.elasticsearch.common.xcontent.XContentHelper;
+import org.elasticsearch.common.xcontent.support.XContentMapValues;
+import org.elasticsearch.core.Tuple;
+import org.elasticsearch.index.mapper.SourceFieldMapper;
+import org.elasticsearch.xcontent.XContentBuilder;
+import org.elasticsearch.xcontent.XContentType;
+import org.elasticsearch.xpack.core.security.authz.accesscontrol.FieldSubsetReader;
+import org.elasticsearch.xpack.core.security.support.Automatons;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * Compares loading a {@code _source} that is filtered for field level security through the reader that field level security wraps
+ * around the index, which filters it while streaming its tokens, with loading it unfiltered and filtering it as a map.
+ */
+@Fork(1)
+@Warmup(iterations = 5)
+@Measurement(iterations = 5)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Benchmark)
+public class FieldLevelSecuritySourceFilterBenchmark {
+    private Directory directory;
+    private DirectoryReader reader;
+    private DirectoryReader fieldSubsetReader;
+    private Function<Map<String, ?>, Map<String, Object>> mapFilter;
+
+    @Param({ "tiny", "short", "20k_many_fields", "one_4k_field", "one_4m_field" })
+    private String source;
+    @Param({ "message", "message,http.*", "*" })
+    private String includes;
+
+    @Setup
+    public void setup() throws IOException {
+        BytesReference sourceBytes;
+        switch (source) {
+            case "tiny":
+                sourceBytes = new BytesArray("{\"message\": \"short\"}");
+                break;
+            case "short":
+                sourceBytes = read300BytesExample();
+                break;
+            case "20k_many_fields":
+                sourceBytes = buildManyFieldsExample(500);
+                break;
+            case "one_4k_field":
+                sourceBytes = buildBigExample("huge".repeat(1024));
+                break;
+            case "one_4m_field":
+                sourceBytes = buildBigExample("huge".repeat(1024 * 1024));
+                break;
+            default:
+                throw new IllegalArgumentException("Unknown source [" + source + "]");
+        }
+        String[] includePatterns = Strings.splitStringByCommaToArray(includes);
+
+        directory = new ByteBuffersDirectory();
+        try (IndexWriter writer = new IndexWriter(directory, new IndexWriterConfig())) {
+            Document document = new Document();
+            document.add(new StoredField(SourceFieldMapper.NAME, sourceBytes.toBytesRef()));
+            writer.addDocument(document);
+        }
+        reader = DirectoryReader.open(directory);
+
+        // the _source field itself has to be visible as well
+        List<String> fieldPatterns = new ArrayList<>(Arrays.asList(includePatterns));
+        fieldPatterns.add(SourceFieldMapper.NAME);
+        fieldSubsetReader = FieldSubsetReader.wrap(
+            DirectoryReader.open(directory),
+            new CharacterRunAutomaton(Automatons.patterns(fieldPatterns))
+        );
+        mapFilter = XContentMapValues.filter(includePatterns, Strings.EMPTY_ARRAY);
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        reader.close();
+        fieldSubsetReader.close();
+        directory.close();
+    }
+
+    private BytesReference read300BytesExample() throws IOException {
+        return Streams.readFully(FieldLevelSecuritySourceFilterBenchmark.class.getResourceAsStream("300b_example.json"));
+    }
+
+    private BytesReference buildBigExample(String extraText) throws IOException {
+        String bigger = read300BytesExample().utf8ToString();
+        bigger = "{\"huge\": \"" + extraText + "\"," + bigger.substring(1);
+        return new BytesArray(bigger);
+    }
+
+    private BytesReference buildManyFieldsExample(int numObjects) throws IOException {
+        StringBuilder builder = new StringBuilder("{");
+        for (int i = 0; i < numObjects; i++) {
+            builder.append("\"object_").append(i).append("\": {\"field\": \"value_").append(i).append("\"},");
+        }
+        String example = read300BytesExample().utf8ToString();
+        return new BytesArray(builder.append(example.substring(1)).toString());
+    }
+
+    @Benchmark
+    public BytesReference filterMap() throws IOException {
+        Tuple<XContentType, Map<String, Object>> result = XContentHelper.convertToMap(loadSource(reader), true);
+        Map<String, Object> filtered = mapFilter.apply(result.v2());
+        return BytesReference.bytes(XContentBuilder.builder(result.v1().xContent()).map(filtered));
+    }
+
+    @Benchmark
+    public BytesReference filterStreaming() throws IOException {
+        return loadSource(fieldSubsetReader);
+    }
+
+    private static BytesReference loadSource(DirectoryReader reader) throws IOException {
+        SourceVisitor visitor = new SourceVisitor();
+        reader.document(0, visitor);
+        return visitor.source;
+    }
+
+    private static class SourceVisitor extends StoredFieldVisitor {
+        private BytesReference source;
+
+        @Override
+        public Status needsField(FieldInfo fieldInfo) {
+            return SourceFieldMapper.NAME.equals(fieldInfo.name) ? Status.YES : Status.NO;
+        }
+
+        @Override
+        public void binaryField(FieldInfo fieldInfo, byte[] value) {
+            source = new BytesArray(value);
+        }
+    }
+}
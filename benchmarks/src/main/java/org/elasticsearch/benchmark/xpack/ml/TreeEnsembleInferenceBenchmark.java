@@ -0,0 +1,159 @@
+/*
+ * Copyright Elasticsearch B.V. and/or licensed to Elasticsearch B.V. under one
+ * or more contributor license agreements. Licensed under the Elastic License
+ * 2.0 and the Server Side Public License, v 1; you may not use this file except
+ * in compliance with, at your election, the Elastic License 2.0 or the Server
+ * Side Public License, v 1.
+ */
+package org.elasticsearch.benchmark.xpack.ml;
+
+import org.elasticsearch.common.bytes.BytesReference;
+import org.elasticsearch.xcontent.DeprecationHandler;
+import org.elasticsearch.xcontent.NamedXContentRegistry;
+import org.elasticsearch.xcontent.ToXContent;
+import org.elasticsearch.xcontent.XContentBuilder;
+import org.elasticsearch.xcontent.XContentFactory;
+import org.elasticsearch.xcontent.XContentParser;
+import org.elasticsearch.xcontent.XContentType;
+import org.elasticsearch.xpack.core.ml.inference.MlInferenceNamedXContentProvider;
+import org.elasticsearch.xpack.core.ml.inference.results.InferenceResults;
+import org.elasticsearch.xpack.core.ml.inference.results.RawInferenceResults;
+import org.elasticsearch.xpack.core.ml.inference.trainedmodel.NullInferenceConfig;
+import org.elasticsearch.xpack.core.ml.inference.trainedmodel.RegressionConfig;
+import org.elasticsearch.xpack.core.ml.inference.trainedmodel.TargetType;
+import org.elasticsearch.xpack.core.ml.inference.trainedmodel.TrainedModel;
+import org.elasticsearch.xpack.core.ml.inference.trainedmodel.ensemble.Ensemble;
+import org.elasticsearch.xpack.core.ml.inference.trainedmodel.ensemble.OutputAggregator;
+import org.elasticsearch.xpack.core.ml.inference.trainedmodel.inference.EnsembleInferenceModel;
+import org.elasticsearch.xpack.core.ml.inference.trainedmodel.inference.InferenceModel;
+import org.elasticsearch.xpack.core.ml.inference.trainedmodel.tree.Tree;
+import org.elasticsearch.xpack.core.ml.inference.trainedmodel.tree.TreeNode;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the inference of a regression ensemble of trees over a batch of documents whose features are already
+ * extracted, either walking the nodes of every tree one document at a time or through the flat arrays the ensemble
+ * compiles its trees into, one document at a time or for the whole batch.
+ */
+@Fork(2)
+@Warmup(iterations = 5)
+@Measurement(iterations = 5)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+@SuppressWarnings("unused") // invoked by benchmarking framework
+public class TreeEnsembleInferenceBenchmark {
+
+    @Param({ "100", "500" })
+    public int numTrees = 100;
+
+    @Param({ "6", "10" })
+    public int treeDepth = 6;
+
+    @Param({ "1000" })
+    public int numDocs = 1000;
+
+    private static final int NUM_FEATURES = 20;
+
+    private EnsembleInferenceModel ensemble;
+    private double[][] features;
+
+    @Setup
+    public void setUp() throws IOException {
+        Random random = new Random(42);
+        List<String> featureNames = new ArrayList<>(NUM_FEATURES);
+        for (int i = 0; i < NUM_FEATURES; i++) {
+            featureNames.add("feature_" + i);
+        }
+        List<TrainedModel> trees = new ArrayList<>(numTrees);
+        for (int t = 0; t < numTrees; t++) {
+            trees.add(buildTree(featureNames, random));
+        }
+        Ensemble ensembleConfig = Ensemble.builder()
+            .setTargetType(TargetType.REGRESSION)
+            .setFeatureNames(featureNames)
+            .setTrainedModels(trees)
+            .build();
+        NamedXContentRegistry registry = new NamedXContentRegistry(new MlInferenceNamedXContentProvider().getNamedXContentParsers());
+        try (
+            XContentBuilder builder = ensembleConfig.toXContent(XContentFactory.jsonBuilder(), ToXContent.EMPTY_PARAMS);
+            XContentParser parser = XContentType.JSON.xContent()
+                .createParser(registry, DeprecationHandler.THROW_UNSUPPORTED_OPERATION, BytesReference.bytes(builder).streamInput())
+        ) {
+            ensemble = EnsembleInferenceModel.fromXContent(parser);
+        }
+        ensemble.rewriteFeatureIndices(Collections.emptyMap());
+
+        int numReferencedFeatures = ensemble.getFeatureNames().length;
+        features = new double[numDocs][numReferencedFeatures];
+        for (double[] documentFeatures : features) {
+            for (int i = 0; i < numReferencedFeatures; i++) {
+                // a few missing values to exercise the default directions
+                documentFeatures[i] = random.nextInt(20) == 0 ? Double.NaN : random.nextDouble();
+            }
+        }
+    }
+
+    private Tree buildTree(List<String> featureNames, Random random) {
+        Tree.Builder builder = Tree.builder().setFeatureNames(featureNames);
+        List<Integer> nodes = List.of(0);
+        for (int depth = 0; depth < treeDepth; depth++) {
+            List<Integer> children = new ArrayList<>(nodes.size() * 2);
+            for (int node : nodes) {
+                int feature = random.nextInt(featureNames.size());
+                TreeNode.Builder junction = builder.addJunction(node, feature, random.nextBoolean(), random.nextDouble());
+                children.add(junction.getLeftChild());
+                children.add(junction.getRightChild());
+            }
+            nodes = children;
+        }
+        for (int leaf : nodes) {
+            builder.addLeaf(leaf, random.nextDouble());
+        }
+        return builder.build();
+    }
+
+    @Benchmark
+    public void nodeByNode(Blackhole blackhole) {
+        List<InferenceModel> trees = ensemble.getModels();
+        OutputAggregator outputAggregator = ensemble.getOutputAggregator();
+        NullInferenceConfig config = new NullInferenceConfig(false);
+        for (double[] documentFeatures : features) {
+            double[][] treeValues = new double[trees.size()][];
+            for (int t = 0; t < treeValues.length; t++) {
+                treeValues[t] = ((RawInferenceResults) trees.get(t).infer(documentFeatures, config)).getValue();
+            }
+            blackhole.consume(outputAggregator.aggregate(outputAggregator.processValues(treeValues)));
+        }
+    }
+
+    @Benchmark
+    public void compiled(Blackhole blackhole) {
+        for (double[] documentFeatures : features) {
+            blackhole.consume(ensemble.infer(documentFeatures, RegressionConfig.EMPTY_PARAMS));
+        }
+    }
+
+    @Benchmark
+    public List<InferenceResults> compiledBatch() {
+        return ensemble.infer(features, RegressionConfig.EMPTY_PARAMS);
+    }
+}
@@ -26,6 +26,7 @@ public class SettingsConfig implements ToXContentObject {
     private static final ParseField DOCS_PER_SECOND = new ParseField("docs_per_second");
     private static final ParseField DATES_AS_EPOCH_MILLIS = new ParseField("dates_as_epoch_millis");
     private static final ParseField ALIGN_CHECKPOINTS = new ParseField("align_checkpoints");
+    private static final ParseField INCREMENTAL = new ParseField("incremental");
     private static final int DEFAULT_MAX_PAGE_SEARCH_SIZE = -1;
     private static final float DEFAULT_DOCS_PER_SECOND = -1F;
 
@@ -35,15 +36,19 @@ public class SettingsConfig implements ToXContentObject {
     // use an integer as we need to code 4 states: true, false, null (unchanged), default (defined server side)
     private static final int DEFAULT_ALIGN_CHECKPOINTS = -1;
 
+    // use an integer as we need to code 4 states: true, false, null (unchanged), default (defined server side)
+    private static final int DEFAULT_INCREMENTAL = -1;
+
     private final Integer maxPageSearchSize;
     private final Float docsPerSecond;
     private final Integer datesAsEpochMillis;
     private final Integer alignCheckpoints;
+    private final Integer incremental;
 
     private static final ConstructingObjectParser<SettingsConfig, Void> PARSER = new ConstructingObjectParser<>(
         "settings_config",
         true,
-        args -> new SettingsConfig((Integer) args[0], (Float) args[1], (Integer) args[2], (Integer) args[3])
+        args -> new SettingsConfig((Integer) args[0], (Float) args[1], (Integer) args[2], (Integer) args[3], (Integer) args[4])
     );
 
     static {
@@ -63,17 +68,31 @@ public class SettingsConfig implements ToXContentObject {
             ALIGN_CHECKPOINTS,
             ValueType.BOOLEAN_OR_NULL
         );
+        // this boolean requires 4 possible values: true, false, not_specified, default, therefore using a custom parser
+        PARSER.declareField(
+            optionalConstructorArg(),
+            p -> p.currentToken() == XContentParser.Token.VALUE_NULL ? DEFAULT_INCREMENTAL : p.booleanValue() ? 1 : 0,
+            INCREMENTAL,
+            ValueType.BOOLEAN_OR_NULL
+        );
     }
 
     public static SettingsConfig fromXContent(final XContentParser parser) {
         return PARSER.apply(parser, null);
     }
 
-    SettingsConfig(Integer maxPageSearchSize, Float docsPerSecond, Integer datesAsEpochMillis, Integer alignCheckpoints) {
+    SettingsConfig(
+        Integer maxPageSearchSize,
+        Float docsPerSecond,
+        Integer datesAsEpochMillis,
+        Integer alignCheckpoints,
+        Integer incremental
+    ) {
         this.maxPageSearchSize = maxPageSearchSize;
         this.docsPerSecond = docsPerSecond;
         this.datesAsEpochMillis = datesAsEpochMillis;
         this.alignCheckpoints = alignCheckpoints;
+        this.incremental = incremental;
     }
 
     @Override
@@ -107,6 +126,13 @@ public class SettingsConfig implements ToXContentObject {
                 builder.field(ALIGN_CHECKPOINTS.getPreferredName(), alignCheckpoints > 0 ? true : false);
             }
         }
+        if (incremental != null) {
+            if (incremental.equals(DEFAULT_INCREMENTAL)) {
+                builder.field(INCREMENTAL.getPreferredName(), (Boolean) null);
+            } else {
+                builder.field(INCREMENTAL.getPreferredName(), incremental > 0 ? true : false);
+            }
+        }
         builder.endObject();
         return builder;
     }
@@ -127,6 +153,10 @@ public class SettingsConfig implements ToXContentObject {
         return alignCheckpoints != null ? alignCheckpoints > 0 : null;
     }
 
+    public Boolean getIncremental() {
+        return incremental != null ? incremental > 0 : null;
+    }
+
     @Override
     public boolean equals(Object other) {
         if (other == this) {
@@ -140,12 +170,13 @@ public class SettingsConfig implements ToXContentObject {
         return Objects.equals(maxPageSearchSize, that.maxPageSearchSize)
             && Objects.equals(docsPerSecond, that.docsPerSecond)
             && Objects.equals(datesAsEpochMillis, that.datesAsEpochMillis)
-            && Objects.equals(alignCheckpoints, that.alignCheckpoints);
+            && Objects.equals(alignCheckpoints, that.alignCheckpoints)
+            && Objects.equals(incremental, that.incremental);
     }
 
     @Override
     public int hashCode() {
-        return Objects.hash(maxPageSearchSize, docsPerSecond, datesAsEpochMillis, alignCheckpoints);
+        return Objects.hash(maxPageSearchSize, docsPerSecond, datesAsEpochMillis, alignCheckpoints, incremental);
     }
 
     public static Builder builder() {
@@ -157,6 +188,7 @@ public class SettingsConfig implements ToXContentObject {
         private Float docsPerSecond;
         private Integer datesAsEpochMillis;
         private Integer alignCheckpoints;
+        private Integer incremental;
 
         /**
          * Sets the paging maximum paging maxPageSearchSize that transform can use when
@@ -215,8 +247,22 @@ public class SettingsConfig implements ToXContentObject {
             return this;
         }
 
+        /**
+         * Whether continuous checkpoints merge the aggregations of the new source documents into the documents already in the
+         * destination index instead of recomputing the changed buckets over the whole source.
+         *
+         * An explicit `null` resets to default.
+         *
+         * @param incremental true if the results of continuous checkpoints should be merged into the destination index.
+         * @return the {@link Builder} with incremental set.
+         */
+        public Builder setIncremental(Boolean incremental) {
+            this.incremental = incremental == null ? DEFAULT_INCREMENTAL : incremental ? 1 : 0;
+            return this;
+        }
+
         public SettingsConfig build() {
-            return new SettingsConfig(maxPageSearchSize, docsPerSecond, datesAsEpochMillis, alignCheckpoints);
+            return new SettingsConfig(maxPageSearchSize, docsPerSecond, datesAsEpochMillis, alignCheckpoints, incremental);
         }
     }
 }
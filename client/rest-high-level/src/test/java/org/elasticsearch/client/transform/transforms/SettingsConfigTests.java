@@ -31,6 +31,7 @@ public class SettingsConfigTests extends AbstractXContentTestCase<SettingsConfig
             randomBoolean() ? null : randomIntBetween(10, 10_000),
             randomBoolean() ? null : randomFloat(),
             randomBoolean() ? null : randomIntBetween(-1, 1),
+            randomBoolean() ? null : randomIntBetween(-1, 1),
             randomBoolean() ? null : randomIntBetween(-1, 1)
         );
     }
@@ -92,6 +93,13 @@ public class SettingsConfigTests extends AbstractXContentTestCase<SettingsConfig
         assertThat(settingsAsMap.getOrDefault("docs_per_second", "not_set"), equalTo("not_set"));
         assertThat(settingsAsMap.getOrDefault("dates_as_epoch_millis", "not_set"), equalTo("not_set"));
         assertNull(settingsAsMap.getOrDefault("align_checkpoints", "not_set"));
+
+        config = fromString("{\"incremental\" : null}");
+        assertFalse(config.getIncremental());
+
+        settingsAsMap = xContentToMap(config);
+        assertThat(settingsAsMap.getOrDefault("align_checkpoints", "not_set"), equalTo("not_set"));
+        assertNull(settingsAsMap.getOrDefault("incremental", "not_set"));
     }
 
     public void testExplicitNullOnWriteBuilder() throws IOException {
@@ -141,6 +149,14 @@ public class SettingsConfigTests extends AbstractXContentTestCase<SettingsConfig
         assertThat(settingsAsMap.getOrDefault("docs_per_second", "not_set"), equalTo("not_set"));
         assertThat(settingsAsMap.getOrDefault("dates_as_epoch_millis", "not_set"), equalTo("not_set"));
         assertNull(settingsAsMap.getOrDefault("align_checkpoints", "not_set"));
+
+        config = new SettingsConfig.Builder().setIncremental(null).build();
+        // returns false, however it's `null` as in "use default", checked next
+        assertFalse(config.getIncremental());
+
+        settingsAsMap = xContentToMap(config);
+        assertThat(settingsAsMap.getOrDefault("align_checkpoints", "not_set"), equalTo("not_set"));
+        assertNull(settingsAsMap.getOrDefault("incremental", "not_set"));
     }
 
     private Map<String, Object> xContentToMap(ToXContent xcontent) throws IOException {
@@ -808,7 +808,8 @@ public class Coordinator extends AbstractLifecycleComponent implements ClusterSt
             new PendingClusterStateStats(0, 0, 0),
             publicationHandler.stats(),
             getLocalNode().isMasterNode() ? masterService.getClusterStateUpdateStats() : null,
-            clusterApplier.getStats());
+            clusterApplier.getStats(),
+            getLocalNode().isMasterNode() ? masterService.getClusterStateTaskExecutorStats() : null);
     }
 
     public void startInitialJoin() {
@@ -895,6 +895,14 @@ public class IndexMetadata implements Diffable<IndexMetadata>, ToXContentFragmen
     }
 
     public static IndexMetadata readFrom(StreamInput in) throws IOException {
+        return readFrom(in, null);
+    }
+
+    /**
+     * @param mappingLookup if not {@code null}, a function that is given the mapping that was read and that may return an equal instance
+     *                      which is already held by another index, so that indices with identical mappings share it
+     */
+    static IndexMetadata readFrom(StreamInput in, @Nullable Function<MappingMetadata, MappingMetadata> mappingLookup) throws IOException {
         Builder builder = new Builder(in.readString());
         builder.version(in.readLong());
         builder.mappingVersion(in.readVLong());
@@ -909,7 +917,7 @@ public class IndexMetadata implements Diffable<IndexMetadata>, ToXContentFragmen
         int mappingsSize = in.readVInt();
         for (int i = 0; i < mappingsSize; i++) {
             MappingMetadata mappingMd = new MappingMetadata(in);
-            builder.putMapping(mappingMd);
+            builder.putMapping(mappingLookup == null ? mappingMd : mappingLookup.apply(mappingMd));
         }
         int aliasesSize = in.readVInt();
         for (int i = 0; i < aliasesSize; i++) {
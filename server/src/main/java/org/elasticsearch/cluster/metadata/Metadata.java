@@ -959,13 +959,51 @@ public class Metadata implements Iterable<IndexMetadata>, Diffable<Metadata>, To
             builder.transientSettings(transientSettings);
             builder.persistentSettings(persistentSettings);
             builder.hashesOfConsistentSettings(hashesOfConsistentSettings.apply(part.hashesOfConsistentSettings));
-            builder.indices(indices.apply(part.indices));
+            builder.indices(deduplicateMappings(indices.apply(part.indices), part.indices));
             builder.templates(templates.apply(part.templates));
             builder.customs(customs.apply(part.customs));
             return builder.build();
         }
     }
 
+    /**
+     * Makes the indices that are new or whose mapping changed share the {@link MappingMetadata} instance of an index of the previous
+     * metadata if their mapping is equal to it, so that the many indices with identical mappings (e.g. the backing indices of a data
+     * stream) keep holding a single copy of it after a diff has been applied.
+     */
+    static ImmutableOpenMap<String, IndexMetadata> deduplicateMappings(ImmutableOpenMap<String, IndexMetadata> indices,
+                                                                       ImmutableOpenMap<String, IndexMetadata> previousIndices) {
+        Map<MappingMetadata, MappingMetadata> previousMappings = null;
+        ImmutableOpenMap.Builder<String, IndexMetadata> builder = null;
+        for (ObjectObjectCursor<String, IndexMetadata> cursor : indices) {
+            final MappingMetadata mapping = cursor.value.mapping();
+            if (mapping == null) {
+                continue;
+            }
+            final IndexMetadata previousIndexMetadata = previousIndices.get(cursor.key);
+            if (previousIndexMetadata != null && previousIndexMetadata.mapping() == mapping) {
+                continue;
+            }
+            if (previousMappings == null) {
+                previousMappings = new HashMap<>();
+                for (IndexMetadata indexMetadata : previousIndices.values()) {
+                    final MappingMetadata previousMapping = indexMetadata.mapping();
+                    if (previousMapping != null) {
+                        previousMappings.putIfAbsent(previousMapping, previousMapping);
+                    }
+                }
+            }
+            final MappingMetadata existingMapping = previousMappings.putIfAbsent(mapping, mapping);
+            if (existingMapping != null && existingMapping != mapping) {
+                if (builder == null) {
+                    builder = ImmutableOpenMap.builder(indices);
+                }
+                builder.put(cursor.key, IndexMetadata.builder(cursor.value).putMapping(existingMapping).build());
+            }
+        }
+        return builder == null ? indices : builder.build();
+    }
+
     public static Metadata readFrom(StreamInput in) throws IOException {
         Builder builder = new Builder();
         builder.version = in.readLong();
@@ -978,8 +1016,10 @@ public class Metadata implements Iterable<IndexMetadata>, Diffable<Metadata>, To
             builder.hashesOfConsistentSettings(DiffableStringMap.readFrom(in));
         }
         int size = in.readVInt();
+        // indices with identical mappings, such as the backing indices of a data stream, share a single instance of them
+        final Map<MappingMetadata, MappingMetadata> mappings = new HashMap<>();
         for (int i = 0; i < size; i++) {
-            builder.put(IndexMetadata.readFrom(in), false);
+            builder.put(IndexMetadata.readFrom(in, mapping -> mappings.computeIfAbsent(mapping, Function.identity())), false);
         }
         size = in.readVInt();
         for (int i = 0; i < size; i++) {
@@ -1038,8 +1078,13 @@ public class Metadata implements Iterable<IndexMetadata>, Diffable<Metadata>, To
         private final ImmutableOpenMap.Builder<String, IndexTemplateMetadata> templates;
         private final ImmutableOpenMap.Builder<String, Custom> customs;
 
+        // the metadata this builder started from, whose derived structures are reused by build() if no change affects them
+        @Nullable
+        private final Metadata previousMetadata;
+
         public Builder() {
             clusterUUID = UNKNOWN_CLUSTER_UUID;
+            previousMetadata = null;
             indices = ImmutableOpenMap.builder();
             templates = ImmutableOpenMap.builder();
             customs = ImmutableOpenMap.builder();
@@ -1057,6 +1102,7 @@ public class Metadata implements Iterable<IndexMetadata>, Diffable<Metadata>, To
             this.indices = ImmutableOpenMap.builder(metadata.indices);
             this.templates = ImmutableOpenMap.builder(metadata.templates);
             this.customs = ImmutableOpenMap.builder(metadata.customs);
+            this.previousMetadata = metadata;
         }
 
         public Builder put(IndexMetadata.Builder indexMetadataBuilder) {
@@ -1457,6 +1503,20 @@ public class Metadata implements Iterable<IndexMetadata>, Diffable<Metadata>, To
             //    while these datastructures aren't even used.
             // 2) The aliasAndIndexLookup can be updated instead of rebuilding it all the time.
 
+            DataStreamMetadata dataStreamMetadata = (DataStreamMetadata) this.customs.get(DataStreamMetadata.TYPE);
+            if (previousMetadata != null && isIndicesLookupUnchanged(previousMetadata, dataStreamMetadata)) {
+                // Only properties of the indices that neither the name validation nor the derived structures depend on have changed,
+                // e.g. their mappings or most of their settings, so reuse these structures rather than recomputing them over all indices.
+                final SortedMap<String, IndexAbstraction> indicesLookup = builtIndicesLookupEagerly
+                    ? previousMetadata.getIndicesLookup()
+                    : previousMetadata.indicesLookup;
+                return new Metadata(clusterUUID, clusterUUIDCommitted, version, coordinationMetadata, transientSettings,
+                    persistentSettings, hashesOfConsistentSettings, indices.build(), templates.build(), customs.build(),
+                    previousMetadata.allIndices, previousMetadata.visibleIndices, previousMetadata.allOpenIndices,
+                    previousMetadata.visibleOpenIndices, previousMetadata.allClosedIndices, previousMetadata.visibleClosedIndices,
+                    indicesLookup);
+            }
+
             final Set<String> allIndices = new HashSet<>(indices.size());
             final List<String> visibleIndices = new ArrayList<>();
             final List<String> allOpenIndices = new ArrayList<>();
@@ -1488,7 +1548,6 @@ public class Metadata implements Iterable<IndexMetadata>, Diffable<Metadata>, To
             }
 
             final Set<String> allDataStreams = new HashSet<>();
-            DataStreamMetadata dataStreamMetadata = (DataStreamMetadata) this.customs.get(DataStreamMetadata.TYPE);
             if (dataStreamMetadata != null) {
                 for (DataStream dataStream : dataStreamMetadata.dataStreams().values()) {
                     allDataStreams.add(dataStream.getName());
@@ -1561,6 +1620,35 @@ public class Metadata implements Iterable<IndexMetadata>, Diffable<Metadata>, To
                 allOpenIndicesArray, visibleOpenIndicesArray, allClosedIndicesArray, visibleClosedIndicesArray, indicesLookup);
         }
 
+        /**
+         * @return whether the indices lookup and the concrete indices arrays of the given metadata are also valid for the indices and
+         *         data streams of this builder, which is the case if the same indices exist with the same state, visibility and aliases
+         */
+        private boolean isIndicesLookupUnchanged(Metadata previous, @Nullable DataStreamMetadata dataStreamMetadata) {
+            if (previous.indices.size() != indices.size()) {
+                return false;
+            }
+            if (Objects.equals(previous.custom(DataStreamMetadata.TYPE), dataStreamMetadata) == false) {
+                return false;
+            }
+            for (ObjectCursor<IndexMetadata> cursor : indices.values()) {
+                final IndexMetadata indexMetadata = cursor.value;
+                final IndexMetadata previousIndexMetadata = previous.indices.get(indexMetadata.getIndex().getName());
+                if (previousIndexMetadata == indexMetadata) {
+                    continue;
+                }
+                if (previousIndexMetadata == null
+                    || previousIndexMetadata.getIndex().equals(indexMetadata.getIndex()) == false
+                    || previousIndexMetadata.getState() != indexMetadata.getState()
+                    || previousIndexMetadata.isHidden() != indexMetadata.isHidden()
+                    || previousIndexMetadata.isSystem() != indexMetadata.isSystem()
+                    || previousIndexMetadata.getAliases().equals(indexMetadata.getAliases()) == false) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
         static SortedMap<String, IndexAbstraction> buildIndicesLookup(DataStreamMetadata dataStreamMetadata,
                                                                       ImmutableOpenMap<String, IndexMetadata> indices) {
             SortedMap<String, IndexAbstraction> indicesLookup = new TreeMap<>();
@@ -467,6 +467,12 @@ public class BalancedShardsAllocator implements ShardsAllocator {
             final ModelNode[] modelNodes = sorter.modelNodes;
             final float[] weights = sorter.weights;
             for (String index : buildWeightOrderedIndices()) {
+                // Computing the weights of all nodes is much cheaper than asking the deciders which nodes are relevant for the index. If
+                // no two nodes differ by more than the threshold then neither do any two relevant nodes, so no shard of this index can be
+                // relocated and we can skip it. In a mostly balanced cluster this is the case for almost every index.
+                if (lessThan(sorter.spread(index), threshold)) {
+                    continue;
+                }
                 IndexMetadata indexMetadata = metadata.index(index);
 
                 // find nodes that have a shard of this index or where shards of this index are allowed to be allocated to,
@@ -585,8 +591,7 @@ public class BalancedShardsAllocator implements ShardsAllocator {
             final String[] indices = allocation.routingTable().indicesRouting().keys().toArray(String.class);
             final float[] deltas = new float[indices.length];
             for (int i = 0; i < deltas.length; i++) {
-                sorter.reset(indices[i]);
-                deltas[i] = sorter.delta();
+                deltas[i] = sorter.spread(indices[i]);
             }
             new IntroSorter() {
 
@@ -1206,6 +1211,25 @@ public class BalancedShardsAllocator implements ShardsAllocator {
             return function.weight(balancer, node, index);
         }
 
+        /**
+         * Recalculates the weights per node without sorting the nodes, and
+         * returns the difference between the maximal and the minimal weight.
+         * This is the same as {@link #delta()} after {@link #reset(String)}
+         * but avoids the cost of sorting.
+         */
+        public float spread(String index) {
+            this.index = index;
+            float min = Float.POSITIVE_INFINITY;
+            float max = Float.NEGATIVE_INFINITY;
+            for (int i = 0; i < modelNodes.length; i++) {
+                final float weight = weight(modelNodes[i]);
+                weights[i] = weight;
+                min = Math.min(min, weight);
+                max = Math.max(max, weight);
+            }
+            return modelNodes.length == 0 ? 0.0f : max - min;
+        }
+
         @Override
         protected void swap(int i, int j) {
             final ModelNode tmpNode = modelNodes[i];
@@ -0,0 +1,304 @@
+/*
+ * Copyright Elasticsearch B.V. and/or licensed to Elasticsearch B.V. under one
+ * or more contributor license agreements. Licensed under the Elastic License
+ * 2.0 and the Server Side Public License, v 1; you may not use this file except
+ * in compliance with, at your election, the Elastic License 2.0 or the Server
+ * Side Public License, v 1.
+ */
+
+package org.elasticsearch.cluster.service;
+
+import org.elasticsearch.cluster.ClusterStateTaskExecutor;
+import org.elasticsearch.common.io.stream.StreamInput;
+import org.elasticsearch.common.io.stream.StreamOutput;
+import org.elasticsearch.common.io.stream.Writeable;
+import org.elasticsearch.common.metrics.HistogramMetric;
+import org.elasticsearch.common.util.Maps;
+import org.elasticsearch.core.TimeValue;
+import org.elasticsearch.xcontent.ToXContentFragment;
+import org.elasticsearch.xcontent.XContentBuilder;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Statistics about the batches of cluster state update tasks that the master service executed, per {@link ClusterStateTaskExecutor}.
+ * For each executor this tracks how long its tasks waited in the queue, and how long it took to compute and to publish the cluster
+ * states that resulted from its batches, as histograms.
+ */
+public final class ClusterStateTaskExecutorStats implements Writeable, ToXContentFragment {
+
+    public static final ClusterStateTaskExecutorStats EMPTY = new ClusterStateTaskExecutorStats(Map.of());
+
+    private final Map<String, ExecutorStats> executors;
+
+    public ClusterStateTaskExecutorStats(Map<String, ExecutorStats> executors) {
+        this.executors = executors;
+    }
+
+    public ClusterStateTaskExecutorStats(StreamInput in) throws IOException {
+        this(in.readOrderedMap(StreamInput::readString, ExecutorStats::new));
+    }
+
+    public Map<String, ExecutorStats> getExecutors() {
+        return executors;
+    }
+
+    @Override
+    public void writeTo(StreamOutput out) throws IOException {
+        out.writeMap(executors, StreamOutput::writeString, (o, stats) -> stats.writeTo(o));
+    }
+
+    @Override
+    public XContentBuilder toXContent(XContentBuilder builder, Params params) throws IOException {
+        builder.startObject("cluster_state_task_executors");
+        for (Map.Entry<String, ExecutorStats> entry : executors.entrySet()) {
+            builder.startObject(entry.getKey());
+            entry.getValue().toXContent(builder);
+            builder.endObject();
+        }
+        builder.endObject();
+        return builder;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        ClusterStateTaskExecutorStats that = (ClusterStateTaskExecutorStats) o;
+        return executors.equals(that.executors);
+    }
+
+    @Override
+    public int hashCode() {
+        return executors.hashCode();
+    }
+
+    /**
+     * @return a name for the given executor that is stable across nodes and restarts, and that is shared by all the instances of its class
+     */
+    static String executorName(ClusterStateTaskExecutor<?> executor) {
+        final String className = executor.getClass().getName();
+        final int lambdaIndex = className.indexOf("$$Lambda");
+        final String name = lambdaIndex < 0 ? className : className.substring(0, lambdaIndex);
+        return name.substring(name.lastIndexOf('.') + 1);
+    }
+
+    public static final class ExecutorStats implements Writeable {
+
+        private final long batchCount;
+        private final long taskCount;
+        private final TimeHistogram queueTime;
+        private final TimeHistogram computationTime;
+        private final TimeHistogram publicationTime;
+
+        public ExecutorStats(
+            long batchCount,
+            long taskCount,
+            TimeHistogram queueTime,
+            TimeHistogram computationTime,
+            TimeHistogram publicationTime
+        ) {
+            this.batchCount = batchCount;
+            this.taskCount = taskCount;
+            this.queueTime = queueTime;
+            this.computationTime = computationTime;
+            this.publicationTime = publicationTime;
+        }
+
+        public ExecutorStats(StreamInput in) throws IOException {
+            this(in.readVLong(), in.readVLong(), new TimeHistogram(in), new TimeHistogram(in), new TimeHistogram(in));
+        }
+
+        public long getBatchCount() {
+            return batchCount;
+        }
+
+        public long getTaskCount() {
+            return taskCount;
+        }
+
+        public TimeHistogram getQueueTime() {
+            return queueTime;
+        }
+
+        public TimeHistogram getComputationTime() {
+            return computationTime;
+        }
+
+        public TimeHistogram getPublicationTime() {
+            return publicationTime;
+        }
+
+        @Override
+        public void writeTo(StreamOutput out) throws IOException {
+            out.writeVLong(batchCount);
+            out.writeVLong(taskCount);
+            queueTime.writeTo(out);
+            computationTime.writeTo(out);
+            publicationTime.writeTo(out);
+        }
+
+        private void toXContent(XContentBuilder builder) throws IOException {
+            builder.field("batch_count", batchCount);
+            builder.field("task_count", taskCount);
+            queueTime.toXContent(builder, "queue");
+            computationTime.toXContent(builder, "computation");
+            publicationTime.toXContent(builder, "publication");
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (o == null || getClass() != o.getClass()) return false;
+            ExecutorStats that = (ExecutorStats) o;
+            return batchCount == that.batchCount
+                && taskCount == that.taskCount
+                && queueTime.equals(that.queueTime)
+                && computationTime.equals(that.computationTime)
+                && publicationTime.equals(that.publicationTime);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(batchCount, taskCount, queueTime, computationTime, publicationTime);
+        }
+    }
+
+    /**
+     * A snapshot of a {@link HistogramMetric} of durations with fixed, exponentially growing, buckets.
+     */
+    public static final class TimeHistogram implements Writeable {
+
+        // the bucket bounds of the HistogramMetric that the durations are recorded in
+        static final long[] BUCKET_BOUNDS_MILLIS = new long[] { 10L, 100L, 1_000L, 10_000L, 60_000L };
+
+        public static final int BUCKET_COUNT = BUCKET_BOUNDS_MILLIS.length + 1;
+
+        private final long[] counts;
+        private final long totalMillis;
+
+        public TimeHistogram(long[] counts, long totalMillis) {
+            if (counts.length != BUCKET_COUNT) {
+                throw new IllegalArgumentException("expected [" + BUCKET_COUNT + "] bucket counts but got [" + counts.length + "]");
+            }
+            this.counts = counts;
+            this.totalMillis = totalMillis;
+        }
+
+        public TimeHistogram(StreamInput in) throws IOException {
+            this(in.readVLongArray(), in.readVLong());
+        }
+
+        public long[] getCounts() {
+            return counts;
+        }
+
+        public long getCount() {
+            return Arrays.stream(counts).sum();
+        }
+
+        public long getTotalMillis() {
+            return totalMillis;
+        }
+
+        @Override
+        public void writeTo(StreamOutput out) throws IOException {
+            out.writeVLongArray(counts);
+            out.writeVLong(totalMillis);
+        }
+
+        private void toXContent(XContentBuilder builder, String name) throws IOException {
+            builder.startObject(name);
+            builder.field("count", getCount());
+            builder.humanReadableField("total_time_millis", "total_time", TimeValue.timeValueMillis(totalMillis));
+            builder.startArray("histogram");
+            for (int i = 0; i < counts.length; i++) {
+                builder.startObject();
+                if (i > 0) {
+                    builder.field("ge_millis", BUCKET_BOUNDS_MILLIS[i - 1]);
+                }
+                if (i < BUCKET_BOUNDS_MILLIS.length) {
+                    builder.field("lt_millis", BUCKET_BOUNDS_MILLIS[i]);
+                }
+                builder.field("count", counts[i]);
+                builder.endObject();
+            }
+            builder.endArray();
+            builder.endObject();
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (o == null || getClass() != o.getClass()) return false;
+            TimeHistogram that = (TimeHistogram) o;
+            return totalMillis == that.totalMillis && Arrays.equals(counts, that.counts);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * Arrays.hashCode(counts) + Long.hashCode(totalMillis);
+        }
+    }
+
+    /**
+     * Accumulates the statistics of the executors. Only accessed from the master service thread, apart from {@link #getStats()}.
+     */
+    static final class Tracker {
+
+        private final Map<String, MutableExecutorStats> executors = new HashMap<>();
+
+        synchronized void onBatchStarted(ClusterStateTaskExecutor<?> executor, List<Long> queueTimesMillis) {
+            final MutableExecutorStats stats = executors.computeIfAbsent(executorName(executor), k -> new MutableExecutorStats());
+            stats.batchCount += 1;
+            stats.taskCount += queueTimesMillis.size();
+            for (long queueTimeMillis : queueTimesMillis) {
+                stats.queueTime.inc(queueTimeMillis);
+            }
+        }
+
+        synchronized void onComputed(ClusterStateTaskExecutor<?> executor, long computationMillis) {
+            executors.computeIfAbsent(executorName(executor), k -> new MutableExecutorStats()).computationTime.inc(computationMillis);
+        }
+
+        synchronized void onPublished(ClusterStateTaskExecutor<?> executor, long publicationMillis) {
+            executors.computeIfAbsent(executorName(executor), k -> new MutableExecutorStats()).publicationTime.inc(publicationMillis);
+        }
+
+        synchronized ClusterStateTaskExecutorStats getStats() {
+            return new ClusterStateTaskExecutorStats(
+                executors.entrySet()
+                    .stream()
+                    .sorted(Map.Entry.comparingByKey())
+                    .collect(Maps.toUnmodifiableOrderedMap(Map.Entry::getKey, e -> e.getValue().toExecutorStats()))
+            );
+        }
+
+        private static final class MutableExecutorStats {
+            private long batchCount;
+            private long taskCount;
+            private final HistogramMetric queueTime = new HistogramMetric(TimeHistogram.BUCKET_BOUNDS_MILLIS);
+            private final HistogramMetric computationTime = new HistogramMetric(TimeHistogram.BUCKET_BOUNDS_MILLIS);
+            private final HistogramMetric publicationTime = new HistogramMetric(TimeHistogram.BUCKET_BOUNDS_MILLIS);
+
+            ExecutorStats toExecutorStats() {
+                return new ExecutorStats(
+                    batchCount,
+                    taskCount,
+                    toTimeHistogram(queueTime),
+                    toTimeHistogram(computationTime),
+                    toTimeHistogram(publicationTime)
+                );
+            }
+
+            private static TimeHistogram toTimeHistogram(HistogramMetric histogram) {
+                return new TimeHistogram(histogram.getBucketCounts(), histogram.sum());
+            }
+        }
+    }
+}
@@ -73,6 +73,17 @@ public class MasterService extends AbstractLifecycleComponent {
         TimeValue.timeValueMinutes(5),
         Setting.Property.NodeScope);
 
+    /**
+     * The maximum number of tasks of a single executor that are executed in one batch. Once a batch is full, the remaining tasks are
+     * executed after the pending tasks of other executors with the same priority.
+     */
+    public static final Setting<Integer> MASTER_SERVICE_MAX_BATCH_SIZE_SETTING = Setting.intSetting(
+        "cluster.service.master_service_max_batch_size",
+        Integer.MAX_VALUE,
+        1,
+        Setting.Property.Dynamic,
+        Setting.Property.NodeScope);
+
     static final String MASTER_UPDATE_THREAD_NAME = "masterService#updateTask";
 
     ClusterStatePublisher clusterStatePublisher;
@@ -82,6 +93,7 @@ public class MasterService extends AbstractLifecycleComponent {
     private java.util.function.Supplier<ClusterState> clusterStateSupplier;
 
     private volatile TimeValue slowTaskLoggingThreshold;
+    private volatile int maxBatchSize;
     private final TimeValue starvationLoggingThreshold;
 
     protected final ThreadPool threadPool;
@@ -90,6 +102,7 @@ public class MasterService extends AbstractLifecycleComponent {
     private volatile Batcher taskBatcher;
 
     private final ClusterStateUpdateStatsTracker clusterStateUpdateStatsTracker = new ClusterStateUpdateStatsTracker();
+    private final ClusterStateTaskExecutorStats.Tracker executorStatsTracker = new ClusterStateTaskExecutorStats.Tracker();
 
     public MasterService(Settings settings, ClusterSettings clusterSettings, ThreadPool threadPool) {
         this.nodeName = Objects.requireNonNull(Node.NODE_NAME_SETTING.get(settings));
@@ -97,6 +110,9 @@ public class MasterService extends AbstractLifecycleComponent {
         this.slowTaskLoggingThreshold = MASTER_SERVICE_SLOW_TASK_LOGGING_THRESHOLD_SETTING.get(settings);
         clusterSettings.addSettingsUpdateConsumer(MASTER_SERVICE_SLOW_TASK_LOGGING_THRESHOLD_SETTING, this::setSlowTaskLoggingThreshold);
 
+        this.maxBatchSize = MASTER_SERVICE_MAX_BATCH_SIZE_SETTING.get(settings);
+        clusterSettings.addSettingsUpdateConsumer(MASTER_SERVICE_MAX_BATCH_SIZE_SETTING, this::setMaxBatchSize);
+
         this.starvationLoggingThreshold = MASTER_SERVICE_STARVATION_LOGGING_THRESHOLD_SETTING.get(settings);
 
         this.threadPool = threadPool;
@@ -106,6 +122,10 @@ public class MasterService extends AbstractLifecycleComponent {
         this.slowTaskLoggingThreshold = slowTaskLoggingThreshold;
     }
 
+    private void setMaxBatchSize(int maxBatchSize) {
+        this.maxBatchSize = maxBatchSize;
+    }
+
     public synchronized void setClusterStatePublisher(ClusterStatePublisher publisher) {
         clusterStatePublisher = publisher;
     }
@@ -138,6 +158,10 @@ public class MasterService extends AbstractLifecycleComponent {
         return clusterStateUpdateStatsTracker.getStatistics();
     }
 
+    public ClusterStateTaskExecutorStats getClusterStateTaskExecutorStats() {
+        return executorStatsTracker.getStats();
+    }
+
     @SuppressWarnings("unchecked")
     class Batcher extends TaskBatcher {
 
@@ -153,10 +177,18 @@ public class MasterService extends AbstractLifecycleComponent {
                         new ProcessClusterEventTimeoutException(timeout, task.source))));
         }
 
+        @Override
+        protected int maxBatchSize() {
+            return maxBatchSize;
+        }
+
         @Override
         protected void run(Object batchingKey, List<? extends BatchedTask> tasks, String tasksSummary) {
             ClusterStateTaskExecutor<Object> taskExecutor = (ClusterStateTaskExecutor<Object>) batchingKey;
             List<UpdateTask> updateTasks = (List<UpdateTask>) tasks;
+            executorStatsTracker.onBatchStarted(
+                taskExecutor,
+                updateTasks.stream().map(UpdateTask::getAgeInMillis).collect(Collectors.toList()));
             runTasks(new TaskInputs(taskExecutor, updateTasks, tasksSummary));
         }
 
@@ -224,6 +256,7 @@ public class MasterService extends AbstractLifecycleComponent {
         taskOutputs.notifyFailedTasks();
         final TimeValue computationTime = getTimeSince(computationStartTime);
         logExecutionTime(computationTime, "compute cluster state update", summary);
+        executorStatsTracker.onComputed(taskInputs.executor, computationTime.millis());
 
         if (taskOutputs.clusterStateUnchanged()) {
             final long notificationStartTime = threadPool.rawRelativeTimeInMillis();
@@ -269,6 +302,10 @@ public class MasterService extends AbstractLifecycleComponent {
         return TimeValue.timeValueMillis(Math.max(0, threadPool.rawRelativeTimeInMillis() - startTimeMillis));
     }
 
+    private long getPublicationMillis(ClusterStatePublicationEvent clusterStatePublicationEvent) {
+        return getTimeSince(clusterStatePublicationEvent.getPublicationStartTimeMillis()).millis();
+    }
+
     protected void publish(ClusterStatePublicationEvent clusterStatePublicationEvent, TaskOutputs taskOutputs) {
         final PlainActionFuture<Void> fut = new PlainActionFuture<Void>() {
             @Override
@@ -291,6 +328,7 @@ public class MasterService extends AbstractLifecycleComponent {
     }
 
     void onPublicationSuccess(ClusterStatePublicationEvent clusterStatePublicationEvent, TaskOutputs taskOutputs) {
+        executorStatsTracker.onPublished(taskOutputs.taskInputs.executor, getPublicationMillis(clusterStatePublicationEvent));
         final long notificationStartTime = threadPool.rawRelativeTimeInMillis();
         taskOutputs.processedDifferentClusterState(clusterStatePublicationEvent.getOldState(), clusterStatePublicationEvent.getNewState());
 
@@ -314,6 +352,7 @@ public class MasterService extends AbstractLifecycleComponent {
     }
 
     void onPublicationFailed(ClusterStatePublicationEvent clusterStatePublicationEvent, TaskOutputs taskOutputs, Exception exception) {
+        executorStatsTracker.onPublished(taskOutputs.taskInputs.executor, getPublicationMillis(clusterStatePublicationEvent));
         if (exception instanceof FailedToCommitClusterStateException) {
             final long notificationStartTime = threadPool.rawRelativeTimeInMillis();
             final long version = clusterStatePublicationEvent.getNewState().version();
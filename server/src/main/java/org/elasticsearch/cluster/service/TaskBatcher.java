@@ -18,10 +18,13 @@ import org.elasticsearch.common.util.concurrent.PrioritizedEsThreadPoolExecutor;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.IdentityHashMap;
+import java.util.Iterator;
 import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.function.Function;
 import java.util.stream.Collectors;
@@ -36,6 +39,9 @@ public abstract class TaskBatcher {
     private final PrioritizedEsThreadPoolExecutor threadExecutor;
     // package visible for tests
     final Map<Object, LinkedHashSet<BatchedTask>> tasksPerBatchingKey = new HashMap<>();
+    // batching keys whose last batch was full and whose remaining tasks are executed by a pending BatchContinuation, guarded by
+    // tasksPerBatchingKey
+    private final Set<Object> deferredBatchingKeys = new HashSet<>();
 
     public TaskBatcher(Logger logger, PrioritizedEsThreadPoolExecutor threadExecutor) {
         this.logger = logger;
@@ -109,16 +115,34 @@ public abstract class TaskBatcher {
      */
     protected abstract void onTimeout(List<? extends BatchedTask> tasks, TimeValue timeout);
 
+    /**
+     * The maximum number of tasks that are executed in a single batch. The remaining tasks with the same batching key are executed in a
+     * later batch, after the tasks with the same priority that were submitted in the meantime.
+     */
+    protected int maxBatchSize() {
+        return Integer.MAX_VALUE;
+    }
+
     void runIfNotProcessed(BatchedTask updateTask) {
         // if this task is already processed, it shouldn't execute other tasks with same batching key that arrived later,
         // to give other tasks with different batching key a chance to execute.
         if (updateTask.processed.get() == false) {
             final List<BatchedTask> toExecute = new ArrayList<>();
             final Map<String, List<BatchedTask>> processTasksBySource = new HashMap<>();
+            final int maxBatchSize = maxBatchSize();
+            BatchedTask firstRemainingTask = null;
             synchronized (tasksPerBatchingKey) {
+                if (deferredBatchingKeys.contains(updateTask.batchingKey)) {
+                    // the remaining tasks of a full batch are executed by the BatchContinuation that was enqueued for them
+                    logger.trace("skipping {}, the previous batch with the same batching key was full", updateTask);
+                    return;
+                }
                 LinkedHashSet<BatchedTask> pending = tasksPerBatchingKey.remove(updateTask.batchingKey);
                 if (pending != null) {
-                    for (BatchedTask task : pending) {
+                    final Iterator<BatchedTask> iterator = pending.iterator();
+                    while (iterator.hasNext() && toExecute.size() < maxBatchSize) {
+                        final BatchedTask task = iterator.next();
+                        iterator.remove();
                         if (task.processed.getAndSet(true) == false) {
                             logger.trace("will process {}", task);
                             toExecute.add(task);
@@ -127,6 +151,23 @@ public abstract class TaskBatcher {
                             logger.trace("skipping {}, already processed", task);
                         }
                     }
+                    if (pending.isEmpty() == false) {
+                        tasksPerBatchingKey.put(updateTask.batchingKey, pending);
+                        deferredBatchingKeys.add(updateTask.batchingKey);
+                        firstRemainingTask = pending.iterator().next();
+                    }
+                }
+            }
+
+            if (firstRemainingTask != null) {
+                // the remaining tasks are executed once all the tasks with the same priority that are already pending have been executed,
+                // so that a batching key with many tasks does not starve the others
+                final BatchContinuation continuation = new BatchContinuation(firstRemainingTask);
+                logger.trace("batch is full, enqueueing {} to execute the remaining tasks", continuation);
+                try {
+                    threadExecutor.execute(continuation);
+                } catch (EsRejectedExecutionException e) {
+                    logger.debug("failed to enqueue the remaining tasks of a full batch, the executor is shutting down", e);
                 }
             }
 
@@ -147,6 +188,33 @@ public abstract class TaskBatcher {
      */
     protected abstract void run(Object batchingKey, List<? extends BatchedTask> tasks, String tasksSummary);
 
+    /**
+     * Executes the tasks that did not fit in a full batch, in place of the pending runnables of these tasks, which are skipped until then.
+     */
+    private final class BatchContinuation extends SourcePrioritizedRunnable {
+        private final Object batchingKey;
+
+        BatchContinuation(BatchedTask firstRemainingTask) {
+            super(firstRemainingTask.priority(), firstRemainingTask.source);
+            this.batchingKey = firstRemainingTask.batchingKey;
+        }
+
+        @Override
+        public void run() {
+            final BatchedTask nextTask;
+            synchronized (tasksPerBatchingKey) {
+                deferredBatchingKeys.remove(batchingKey);
+                final LinkedHashSet<BatchedTask> pending = tasksPerBatchingKey.get(batchingKey);
+                nextTask = pending == null
+                    ? null
+                    : pending.stream().filter(task -> task.processed.get() == false).findFirst().orElse(null);
+            }
+            if (nextTask != null) {
+                runIfNotProcessed(nextTask);
+            }
+        }
+    }
+
     /**
      * Represents a runnable task that supports batching.
      * Implementors of TaskBatcher can subclass this to add a payload to the task.
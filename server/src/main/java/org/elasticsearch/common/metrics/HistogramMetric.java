@@ -0,0 +1,81 @@
+/*
+ * Copyright Elasticsearch B.V. and/or licensed to Elasticsearch B.V. under one
+ * or more contributor license agreements. Licensed under the Elastic License
+ * 2.0 and the Server Side Public License, v 1; you may not use this file except
+ * in compliance with, at your election, the Elastic License 2.0 or the Server
+ * Side Public License, v 1.
+ */
+
+package org.elasticsearch.common.metrics;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A {@link HistogramMetric} counts non-negative values, for example durations in milliseconds, in a fixed set of buckets. The buckets
+ * are defined by the exclusive upper bounds of all but the last bucket, which usually grow exponentially so that a few slow outliers
+ * stand out from the many fast values. It also tracks the sum of all the values.
+ */
+public final class HistogramMetric {
+
+    private final long[] bucketBounds;
+    private final LongAdder[] buckets;
+    private final LongAdder sum = new LongAdder();
+
+    /**
+     * @param bucketBounds the exclusive upper bounds of all but the last bucket, in strictly increasing order
+     */
+    public HistogramMetric(long... bucketBounds) {
+        for (int i = 1; i < bucketBounds.length; i++) {
+            if (bucketBounds[i] <= bucketBounds[i - 1]) {
+                throw new IllegalArgumentException("bucket bounds must be strictly increasing but got " + Arrays.toString(bucketBounds));
+            }
+        }
+        this.bucketBounds = bucketBounds.clone();
+        this.buckets = new LongAdder[bucketBounds.length + 1];
+        for (int i = 0; i < buckets.length; i++) {
+            buckets[i] = new LongAdder();
+        }
+    }
+
+    public void inc(long value) {
+        assert value >= 0 : "HistogramMetric values must be non-negative; got: " + value;
+        buckets[bucket(value)].increment();
+        sum.add(value);
+    }
+
+    int bucket(long value) {
+        int bucket = 0;
+        while (bucket < bucketBounds.length && value >= bucketBounds[bucket]) {
+            bucket++;
+        }
+        return bucket;
+    }
+
+    /**
+     * @return the exclusive upper bounds of all but the last bucket
+     */
+    public long[] getBucketBounds() {
+        return bucketBounds.clone();
+    }
+
+    /**
+     * Returns the number of values in each bucket. As the buckets are {@link LongAdder}s, the counts are NOT an atomic snapshot if the
+     * histogram is updated concurrently.
+     */
+    public long[] getBucketCounts() {
+        final long[] counts = new long[buckets.length];
+        for (int i = 0; i < buckets.length; i++) {
+            counts[i] = buckets[i].sum();
+        }
+        return counts;
+    }
+
+    public long count() {
+        return Arrays.stream(getBucketCounts()).sum();
+    }
+
+    public long sum() {
+        return sum.sum();
+    }
+}
@@ -171,7 +171,16 @@ public class SetBackedScalingCuckooFilter implements Writeable {
      * 100% accurate, while true values may be a false-positive.
      */
     public boolean mightContain(BytesRef value) {
-        MurmurHash3.Hash128 hash = MurmurHash3.hash128(value.bytes, value.offset, value.length, 0, scratchHash);
+        return mightContain(value, scratchHash);
+    }
+
+    /**
+     * Same as {@link #mightContain(BytesRef)}, but hashes the value into the provided scratch hash instead
+     * of the one shared by the set. Several threads may look up values concurrently this way, each with its
+     * own scratch hash, as long as no values are added in the meantime.
+     */
+    public boolean mightContain(BytesRef value, MurmurHash3.Hash128 scratch) {
+        MurmurHash3.Hash128 hash = MurmurHash3.hash128(value.bytes, value.offset, value.length, 0, scratch);
         return mightContainHash(hash.h1);
     }
 
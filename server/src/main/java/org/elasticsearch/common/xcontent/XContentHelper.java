@@ -13,6 +13,7 @@ import org.elasticsearch.Version;
 import org.elasticsearch.common.Strings;
 import org.elasticsearch.common.bytes.BytesArray;
 import org.elasticsearch.common.bytes.BytesReference;
+import org.elasticsearch.core.Nullable;
 import org.elasticsearch.core.Tuple;
 import org.elasticsearch.common.compress.Compressor;
 import org.elasticsearch.common.compress.CompressorFactory;
@@ -27,6 +28,7 @@ import org.elasticsearch.xcontent.XContentFactory;
 import org.elasticsearch.xcontent.XContentParseException;
 import org.elasticsearch.xcontent.XContentType;
 import org.elasticsearch.xcontent.XContentParser;
+import org.elasticsearch.xcontent.support.filtering.FilterPath;
 
 import java.io.BufferedInputStream;
 import java.io.IOException;
@@ -143,6 +145,42 @@ public class XContentHelper {
         }
     }
 
+    /**
+     * Converts the given bytes into a map that only contains the values whose paths match the given includes. Values that do not match are
+     * skipped by the parser without being materialized, which makes this much cheaper than {@link #convertToMap(BytesReference, boolean)}
+     * when only a small part of a large document is needed.
+     */
+    public static Tuple<XContentType, Map<String, Object>> convertToMap(
+        BytesReference bytes,
+        boolean ordered,
+        @Nullable XContentType xContentType,
+        FilterPath[] includes
+    ) throws ElasticsearchParseException {
+        try {
+            InputStream input;
+            Compressor compressor = CompressorFactory.compressor(bytes);
+            if (compressor != null) {
+                input = compressor.threadLocalInputStream(bytes.streamInput());
+                if (input.markSupported() == false) {
+                    input = new BufferedInputStream(input);
+                }
+            } else {
+                input = bytes.streamInput();
+            }
+            final XContentType contentType = xContentType != null ? xContentType : XContentFactory.xContentType(input);
+            // It is safe to use EMPTY here because this never uses namedObject
+            try (
+                InputStream stream = input;
+                XContentParser parser = XContentFactory.xContent(Objects.requireNonNull(contentType))
+                    .createParser(NamedXContentRegistry.EMPTY, DeprecationHandler.THROW_UNSUPPORTED_OPERATION, stream, includes, null)
+            ) {
+                return new Tuple<>(contentType, ordered ? parser.mapOrdered() : parser.map());
+            }
+        } catch (IOException e) {
+            throw new ElasticsearchParseException("Failed to parse content to map", e);
+        }
+    }
+
     /**
      * Convert a string in some {@link XContent} format to a {@link Map}. Throws an {@link ElasticsearchParseException} if there is any
      * error.
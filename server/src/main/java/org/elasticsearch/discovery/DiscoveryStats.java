@@ -10,6 +10,7 @@ package org.elasticsearch.discovery;
 
 import org.elasticsearch.Version;
 import org.elasticsearch.cluster.service.ClusterApplierRecordingService;
+import org.elasticsearch.cluster.service.ClusterStateTaskExecutorStats;
 import org.elasticsearch.cluster.service.ClusterStateUpdateStats;
 import org.elasticsearch.common.io.stream.StreamInput;
 import org.elasticsearch.common.io.stream.StreamOutput;
@@ -27,16 +28,19 @@ public class DiscoveryStats implements Writeable, ToXContentFragment {
     private final PublishClusterStateStats publishStats;
     private final ClusterStateUpdateStats clusterStateUpdateStats;
     private final ClusterApplierRecordingService.Stats applierRecordingStats;
+    private final ClusterStateTaskExecutorStats clusterStateTaskExecutorStats;
 
     public DiscoveryStats(
         PendingClusterStateStats queueStats,
         PublishClusterStateStats publishStats,
         ClusterStateUpdateStats clusterStateUpdateStats,
-        ClusterApplierRecordingService.Stats applierRecordingStats) {
+        ClusterApplierRecordingService.Stats applierRecordingStats,
+        ClusterStateTaskExecutorStats clusterStateTaskExecutorStats) {
         this.queueStats = queueStats;
         this.publishStats = publishStats;
         this.clusterStateUpdateStats = clusterStateUpdateStats;
         this.applierRecordingStats = applierRecordingStats;
+        this.clusterStateTaskExecutorStats = clusterStateTaskExecutorStats;
     }
 
     public DiscoveryStats(StreamInput in) throws IOException {
@@ -52,6 +56,11 @@ public class DiscoveryStats implements Writeable, ToXContentFragment {
         } else {
             applierRecordingStats = null;
         }
+        if (in.getVersion().onOrAfter(Version.V_8_0_0)) {
+            clusterStateTaskExecutorStats = in.readOptionalWriteable(ClusterStateTaskExecutorStats::new);
+        } else {
+            clusterStateTaskExecutorStats = null;
+        }
     }
 
     @Override
@@ -64,6 +73,9 @@ public class DiscoveryStats implements Writeable, ToXContentFragment {
         if (out.getVersion().onOrAfter(Version.V_7_16_0)) {
             out.writeOptionalWriteable(applierRecordingStats);
         }
+        if (out.getVersion().onOrAfter(Version.V_8_0_0)) {
+            out.writeOptionalWriteable(clusterStateTaskExecutorStats);
+        }
     }
 
     @Override
@@ -81,6 +93,9 @@ public class DiscoveryStats implements Writeable, ToXContentFragment {
         if (applierRecordingStats != null) {
             applierRecordingStats.toXContent(builder, params);
         }
+        if (clusterStateTaskExecutorStats != null) {
+            clusterStateTaskExecutorStats.toXContent(builder, params);
+        }
         builder.endObject();
         return builder;
     }
@@ -104,4 +119,8 @@ public class DiscoveryStats implements Writeable, ToXContentFragment {
     public ClusterApplierRecordingService.Stats getApplierRecordingStats() {
         return applierRecordingStats;
     }
+
+    public ClusterStateTaskExecutorStats getClusterStateTaskExecutorStats() {
+        return clusterStateTaskExecutorStats;
+    }
 }
@@ -125,6 +125,7 @@ public final class IndexModule {
     private final Map<String, IndexStorePlugin.DirectoryFactory> directoryFactories;
     private final SetOnce<BiFunction<IndexSettings, IndicesQueryCache, QueryCache>> forceQueryCacheProvider = new SetOnce<>();
     private final List<SearchOperationListener> searchOperationListeners = new ArrayList<>();
+    private final List<IndexWarmer.Listener> indexWarmerListeners = new ArrayList<>();
     private final List<IndexingOperationListener> indexOperationListeners = new ArrayList<>();
     private final IndexNameExpressionResolver expressionResolver;
     private final AtomicBoolean frozen = new AtomicBoolean(false);
@@ -250,6 +251,23 @@ public final class IndexModule {
         this.searchOperationListeners.add(listener);
     }
 
+    /**
+     * Adds an {@link IndexWarmer.Listener} for this index, which is called to warm up new segments before they are exposed to searches.
+     * All listeners added here are maintained for the entire index lifecycle on this node. Once an index is closed or deleted these
+     * listeners go out of scope.
+     */
+    public void addIndexWarmerListener(IndexWarmer.Listener listener) {
+        ensureNotFrozen();
+        if (listener == null) {
+            throw new IllegalArgumentException("listener must not be null");
+        }
+        if (indexWarmerListeners.contains(listener)) {
+            throw new IllegalArgumentException("listener already added");
+        }
+
+        this.indexWarmerListeners.add(listener);
+    }
+
     /**
      * Adds an {@link IndexingOperationListener} for this index. All listeners added here
      * are maintained for the entire index lifecycle on this node. Once an index is closed or deleted these
@@ -432,8 +450,8 @@ public final class IndexModule {
                 new SimilarityService(indexSettings, scriptService, similarities), shardStoreDeleter, indexAnalyzers,
                 engineFactory, circuitBreakerService, bigArrays, threadPool, scriptService, clusterService, client, queryCache,
                 directoryFactory, eventListener, readerWrapperFactory, mapperRegistry, indicesFieldDataCache, searchOperationListeners,
-                indexOperationListeners, namedWriteableRegistry, idFieldDataEnabled, allowExpensiveQueries, expressionResolver,
-                valuesSourceRegistry, recoveryStateFactory, indexFoldersDeletionListener, snapshotCommitSupplier);
+                indexOperationListeners, indexWarmerListeners, namedWriteableRegistry, idFieldDataEnabled, allowExpensiveQueries,
+                expressionResolver, valuesSourceRegistry, recoveryStateFactory, indexFoldersDeletionListener, snapshotCommitSupplier);
             success = true;
             return indexService;
         } finally {
@@ -109,7 +109,9 @@ public abstract class ScriptDocValues<T> extends AbstractList<T> {
         }
 
         public long getValue() {
-            return get(0);
+            // read the primitive value directly rather than unboxing the result of get(0)
+            throwIfEmpty();
+            return values[0];
         }
 
         @Override
@@ -234,7 +236,8 @@ public abstract class ScriptDocValues<T> extends AbstractList<T> {
         }
 
         public double getValue() {
-            return get(0);
+            throwIfEmpty();
+            return values[0];
         }
 
         @Override
@@ -474,7 +477,8 @@ public abstract class ScriptDocValues<T> extends AbstractList<T> {
         }
 
         public boolean getValue() {
-            return get(0);
+            throwIfEmpty();
+            return values[0];
         }
 
         @Override
@@ -9,6 +9,7 @@
 package org.elasticsearch.index.mapper;
 
 import org.elasticsearch.common.compress.CompressedXContent;
+import org.elasticsearch.core.Nullable;
 import org.elasticsearch.index.IndexSettings;
 
 public class DocumentMapper {
@@ -30,10 +31,20 @@ public class DocumentMapper {
     }
 
     DocumentMapper(DocumentParser documentParser, Mapping mapping) {
+        this(documentParser, mapping, null);
+    }
+
+    /**
+     * @param knownSource a source that the mapping may have been parsed from, which is kept as the source of this mapper if the mapping
+     *                    serializes to the same content, so that it is shared with the index metadata (and so with the other indices that
+     *                    have the same mapping) rather than duplicated
+     */
+    DocumentMapper(DocumentParser documentParser, Mapping mapping, @Nullable CompressedXContent knownSource) {
         this.documentParser = documentParser;
         this.type = mapping.getRoot().name();
         this.mappingLookup = MappingLookup.fromMapping(mapping);
-        this.mappingSource = mapping.toCompressedXContent();
+        final CompressedXContent mappingSource = mapping.toCompressedXContent();
+        this.mappingSource = mappingSource.equals(knownSource) ? knownSource : mappingSource;
     }
 
     public Mapping mapping() {
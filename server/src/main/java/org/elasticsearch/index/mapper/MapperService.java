@@ -196,7 +196,7 @@ public class MapperService extends AbstractIndexComponent implements Closeable {
             synchronized (this) {
                 previousMapper = this.mapper;
                 assert assertRefreshIsNotNeeded(previousMapper, type, incomingMapping);
-                this.mapper = newDocumentMapper(incomingMapping, MergeReason.MAPPING_RECOVERY);
+                this.mapper = newDocumentMapper(incomingMapping, MergeReason.MAPPING_RECOVERY, incomingMappingSource);
             }
             String op = previousMapper != null ? "updated" : "added";
             if (logger.isDebugEnabled() && incomingMappingSource.compressed().length < 512) {
@@ -279,7 +279,7 @@ public class MapperService extends AbstractIndexComponent implements Closeable {
         synchronized (this) {
             Mapping incomingMapping = parseMapping(mappingType, mappingSource);
             Mapping mapping = mergeMappings(this.mapper, incomingMapping, reason);
-            DocumentMapper newMapper = newDocumentMapper(mapping, reason);
+            DocumentMapper newMapper = newDocumentMapper(mapping, reason, mappingSource);
             if (reason == MergeReason.MAPPING_UPDATE_PREFLIGHT) {
                 return newMapper;
             }
@@ -289,8 +289,8 @@ public class MapperService extends AbstractIndexComponent implements Closeable {
         }
     }
 
-    private DocumentMapper newDocumentMapper(Mapping mapping, MergeReason reason) {
-        DocumentMapper newMapper = new DocumentMapper(documentParser, mapping);
+    private DocumentMapper newDocumentMapper(Mapping mapping, MergeReason reason, CompressedXContent mappingSource) {
+        DocumentMapper newMapper = new DocumentMapper(documentParser, mapping, mappingSource);
         newMapper.mapping().getRoot().fixRedundantIncludes();
         newMapper.validate(indexSettings, reason != MergeReason.MAPPING_RECOVERY);
         return newMapper;
@@ -0,0 +1,199 @@
+/*
+ * Copyright Elasticsearch B.V. and/or licensed to Elasticsearch B.V. under one
+ * or more contributor license agreements. Licensed under the Elastic License
+ * 2.0 and the Server Side Public License, v 1; you may not use this file except
+ * in compliance with, at your election, the Elastic License 2.0 or the Server
+ * Side Public License, v 1.
+ */
+package org.elasticsearch.index.snapshots.blobstore;
+
+import org.elasticsearch.common.io.Streams;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * A {@link ReadAheadInputStream} is a logical concatenation of the parts of a snapshotted file that is read as a sequence of fixed size
+ * ranges. Up to {@code readAhead} ranges are fetched concurrently on the given executor ahead of the position of the consumer, which sees
+ * the bytes in order. The consumer fetches a range on its own thread if no executor thread has picked it up yet by the time it is needed,
+ * so this stream makes progress even if all the executor's threads are busy consuming other instances of this stream.
+ *
+ * Each in-flight range is buffered on heap in full, so the memory used by an instance of this stream is bounded by
+ * {@code readAhead * rangeSize}.
+ */
+public abstract class ReadAheadInputStream extends InputStream {
+
+    private final Executor executor;
+    private final int readAhead;
+    private final List<Range> ranges;
+    private final Deque<FutureTask<byte[]>> pending = new ArrayDeque<>();
+
+    private int nextRange;
+    private byte[] current;
+    private int currentOffset;
+    private boolean closed;
+
+    /**
+     * Creates a new ReadAheadInputStream
+     * @param fileInfo  the file to read
+     * @param rangeSize the maximum number of bytes fetched by a single call to {@link #openRange(int, long, int)}
+     * @param readAhead the maximum number of ranges that are fetched concurrently
+     * @param executor  the executor to fetch ranges on
+     */
+    protected ReadAheadInputStream(BlobStoreIndexShardSnapshot.FileInfo fileInfo, int rangeSize, int readAhead, Executor executor) {
+        if (rangeSize <= 0) {
+            throw new IllegalArgumentException("range size must be positive but was [" + rangeSize + "]");
+        }
+        if (readAhead <= 0) {
+            throw new IllegalArgumentException("read ahead must be positive but was [" + readAhead + "]");
+        }
+        this.executor = executor;
+        this.readAhead = readAhead;
+        this.ranges = splitIntoRanges(fileInfo, rangeSize);
+    }
+
+    private static List<Range> splitIntoRanges(BlobStoreIndexShardSnapshot.FileInfo fileInfo, int rangeSize) {
+        final List<Range> ranges = new ArrayList<>();
+        for (int part = 0; part < fileInfo.numberOfParts(); part++) {
+            final long partBytes = fileInfo.partBytes(part);
+            for (long position = 0L; position < partBytes; position += rangeSize) {
+                ranges.add(new Range(part, position, Math.toIntExact(Math.min(rangeSize, partBytes - position))));
+            }
+        }
+        return ranges;
+    }
+
+    /**
+     * Called for each range to fetch, possibly concurrently with other calls and on a thread other than the consumer's. The returned stream
+     * must contain exactly {@code length} bytes starting at {@code position} in the given part.
+     */
+    protected abstract InputStream openRange(int part, long position, int length) throws IOException;
+
+    private byte[] fetch(Range range) throws IOException {
+        final byte[] bytes = new byte[range.length];
+        try (InputStream stream = openRange(range.part, range.position, range.length)) {
+            final int read = Streams.readFully(stream, bytes);
+            if (read != bytes.length) {
+                throw new EOFException(
+                    "expected [" + bytes.length + "] bytes at [" + range.position + "] of part [" + range.part + "] but got [" + read + "]"
+                );
+            }
+        }
+        return bytes;
+    }
+
+    private void scheduleReadAhead() {
+        while (pending.size() < readAhead && nextRange < ranges.size()) {
+            final Range range = ranges.get(nextRange++);
+            final FutureTask<byte[]> task = new FutureTask<>(() -> fetch(range));
+            pending.addLast(task);
+            try {
+                executor.execute(task);
+            } catch (RejectedExecutionException e) {
+                // the consumer will run the task itself once it needs the range
+            }
+        }
+    }
+
+    /**
+     * @return {@code true} if there are bytes left to consume in {@link #current}, {@code false} once all ranges have been consumed
+     */
+    private boolean ensureCurrent() throws IOException {
+        if (closed) {
+            throw new IOException("stream is closed");
+        }
+        while (current == null || currentOffset == current.length) {
+            scheduleReadAhead();
+            final FutureTask<byte[]> task = pending.pollFirst();
+            if (task == null) {
+                current = null;
+                return false;
+            }
+            // no-op if an executor thread already picked up the task, otherwise fetches the range on the consumer thread
+            task.run();
+            current = getRange(task);
+            currentOffset = 0;
+        }
+        scheduleReadAhead();
+        return true;
+    }
+
+    private static byte[] getRange(FutureTask<byte[]> task) throws IOException {
+        try {
+            return task.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("interrupted while waiting for range to be fetched");
+        } catch (ExecutionException e) {
+            final Throwable cause = e.getCause();
+            if (cause instanceof IOException) {
+                throw (IOException) cause;
+            } else if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            } else if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw new IOException(cause);
+        }
+    }
+
+    @Override
+    public final int read() throws IOException {
+        if (ensureCurrent() == false) {
+            return -1;
+        }
+        return current[currentOffset++] & 0xFF;
+    }
+
+    @Override
+    public final int read(byte[] buffer, int offset, int length) throws IOException {
+        if (length == 0) {
+            return 0;
+        }
+        if (ensureCurrent() == false) {
+            return -1;
+        }
+        final int read = Math.min(length, current.length - currentOffset);
+        System.arraycopy(current, currentOffset, buffer, offset, read);
+        currentOffset += read;
+        return read;
+    }
+
+    @Override
+    public final int available() {
+        return current == null ? 0 : current.length - currentOffset;
+    }
+
+    @Override
+    public final void close() {
+        closed = true;
+        current = null;
+        // ranges that are already being fetched run to completion but their bytes are dropped
+        for (FutureTask<byte[]> task : pending) {
+            task.cancel(false);
+        }
+        pending.clear();
+    }
+
+    private static final class Range {
+        private final int part;
+        private final long position;
+        private final int length;
+
+        private Range(int part, long position, int length) {
+            this.part = part;
+            this.position = position;
+            this.length = length;
+        }
+    }
+}
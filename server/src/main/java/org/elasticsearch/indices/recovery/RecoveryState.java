@@ -345,6 +345,8 @@ public class RecoveryState implements ToXContentFragment, Writeable {
         static final String RECOVERED_IN_BYTES = "recovered_in_bytes";
         static final String RECOVERED_FROM_SNAPSHOT = "recovered_from_snapshot";
         static final String RECOVERED_FROM_SNAPSHOT_IN_BYTES = "recovered_from_snapshot_in_bytes";
+        static final String RECOVERED_PER_SEC = "recovered_per_sec";
+        static final String RECOVERED_PER_SEC_IN_BYTES = "recovered_per_sec_in_bytes";
         static final String CHECK_INDEX_TIME = "check_index_time";
         static final String CHECK_INDEX_TIME_IN_MILLIS = "check_index_time_in_millis";
         static final String LENGTH = "length";
@@ -1014,6 +1016,17 @@ public class RecoveryState implements ToXContentFragment, Writeable {
             return recoveredFromSnapshot;
         }
 
+        /**
+         * average rate at which bytes were recovered since the start of this stage, in bytes per second
+         */
+        public synchronized long recoveredBytesPerSecond() {
+            final long timeInMillis = time();
+            if (timeInMillis <= 0) {
+                return 0L;
+            }
+            return recoveredBytes() * 1000L / timeInMillis;
+        }
+
         /**
          * total bytes of files to be recovered (potentially not yet done)
          */
@@ -1097,6 +1110,9 @@ public class RecoveryState implements ToXContentFragment, Writeable {
             builder.humanReadableField(
                 Fields.RECOVERED_FROM_SNAPSHOT_IN_BYTES, Fields.RECOVERED_FROM_SNAPSHOT, new ByteSizeValue(recoveredFromSnapshotBytes())
             );
+            builder.humanReadableField(
+                Fields.RECOVERED_PER_SEC_IN_BYTES, Fields.RECOVERED_PER_SEC, new ByteSizeValue(recoveredBytesPerSecond())
+            );
             builder.field(Fields.PERCENT, String.format(Locale.ROOT, "%1.1f%%", recoveredBytesPercent()));
             builder.endObject();
 
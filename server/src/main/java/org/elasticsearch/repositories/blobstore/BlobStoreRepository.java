@@ -81,6 +81,7 @@ import org.elasticsearch.index.snapshots.IndexShardSnapshotStatus;
 import org.elasticsearch.index.snapshots.blobstore.BlobStoreIndexShardSnapshot;
 import org.elasticsearch.index.snapshots.blobstore.BlobStoreIndexShardSnapshots;
 import org.elasticsearch.index.snapshots.blobstore.RateLimitingInputStream;
+import org.elasticsearch.index.snapshots.blobstore.ReadAheadInputStream;
 import org.elasticsearch.index.snapshots.blobstore.SlicedInputStream;
 import org.elasticsearch.index.snapshots.blobstore.SnapshotFiles;
 import org.elasticsearch.index.store.Store;
@@ -312,6 +313,30 @@ public abstract class BlobStoreRepository extends AbstractLifecycleComponent imp
         Setting.Property.NodeScope
     );
 
+    /**
+     * Setting that defines how many ranges of a single file are downloaded concurrently ahead of the position being written when restoring
+     * a shard. Defaults to {@code 0}, which restores each file by reading its parts sequentially. Requires a repository that supports
+     * {@link BlobContainer#readBlob(String, long, long)}.
+     */
+    public static final Setting<Integer> RESTORE_READ_AHEAD_SETTING = Setting.intSetting(
+        "restore_read_ahead",
+        0,
+        0,
+        Setting.Property.NodeScope
+    );
+
+    /**
+     * Size of the ranges that are downloaded concurrently when {@link #RESTORE_READ_AHEAD_SETTING} is enabled. Files that are no larger
+     * than a single range are restored sequentially.
+     */
+    public static final Setting<ByteSizeValue> RESTORE_RANGE_SIZE_SETTING = Setting.byteSizeSetting(
+        "restore_range_size",
+        new ByteSizeValue(8, ByteSizeUnit.MB),
+        new ByteSizeValue(64, ByteSizeUnit.KB),
+        new ByteSizeValue(64, ByteSizeUnit.MB),
+        Setting.Property.NodeScope
+    );
+
     /**
      * Repository settings that can be updated dynamically without having to create a new repository.
      */
@@ -368,6 +393,16 @@ public abstract class BlobStoreRepository extends AbstractLifecycleComponent imp
      */
     protected final int bufferSize;
 
+    /**
+     * Number of ranges per file to download ahead of the restore position, see {@link #RESTORE_READ_AHEAD_SETTING}.
+     */
+    private final int restoreReadAhead;
+
+    /**
+     * Size of the ranges downloaded ahead of the restore position, see {@link #RESTORE_RANGE_SIZE_SETTING}.
+     */
+    private final int restoreRangeSize;
+
     /**
      * Maximum number of snapshots that this repository can hold.
      */
@@ -398,6 +433,8 @@ public abstract class BlobStoreRepository extends AbstractLifecycleComponent imp
         readOnly = metadata.settings().getAsBoolean(READONLY_SETTING_KEY, false);
         cacheRepositoryData = CACHE_REPOSITORY_DATA.get(metadata.settings());
         bufferSize = Math.toIntExact(BUFFER_SIZE_SETTING.get(metadata.settings()).getBytes());
+        restoreReadAhead = RESTORE_READ_AHEAD_SETTING.get(metadata.settings());
+        restoreRangeSize = Math.toIntExact(RESTORE_RANGE_SIZE_SETTING.get(metadata.settings()).getBytes());
         this.namedXContentRegistry = namedXContentRegistry;
         this.basePath = basePath;
         this.maxSnapshotCount = MAX_SNAPSHOTS_SETTING.get(metadata.settings());
@@ -3041,13 +3078,7 @@ public abstract class BlobStoreRepository extends AbstractLifecycleComponent imp
                             indexOutput.writeBytes(hash.bytes, hash.offset, hash.length);
                             recoveryState.getIndex().addRecoveredBytesToFile(fileInfo.physicalName(), hash.length);
                         } else {
-                            try (InputStream stream = maybeRateLimitRestores(new SlicedInputStream(fileInfo.numberOfParts()) {
-                                @Override
-                                protected InputStream openSlice(int slice) throws IOException {
-                                    ensureNotClosing(store);
-                                    return container.readBlob(fileInfo.partName(slice));
-                                }
-                            })) {
+                            try (InputStream stream = maybeRateLimitRestores(openRestoreStream(fileInfo, store))) {
                                 final byte[] buffer = new byte[Math.toIntExact(Math.min(bufferSize, fileInfo.length()))];
                                 int length;
                                 while ((length = stream.read(buffer)) > 0) {
@@ -3075,6 +3106,28 @@ public abstract class BlobStoreRepository extends AbstractLifecycleComponent imp
                     }
                 }
 
+                private InputStream openRestoreStream(BlobStoreIndexShardSnapshot.FileInfo fileInfo, Store store) {
+                    if (restoreReadAhead > 0 && fileInfo.length() > restoreRangeSize) {
+                        return new ReadAheadInputStream(fileInfo, restoreRangeSize, restoreReadAhead, executor) {
+                            @Override
+                            protected InputStream openRange(int part, long position, int length) throws IOException {
+                                // ranges may be fetched after the restore released its reference to the store so we can't assert on it
+                                if (store.isClosing()) {
+                                    throw new AlreadyClosedException("store is closing");
+                                }
+                                return container.readBlob(fileInfo.partName(part), position, length);
+                            }
+                        };
+                    }
+                    return new SlicedInputStream(fileInfo.numberOfParts()) {
+                        @Override
+                        protected InputStream openSlice(int slice) throws IOException {
+                            ensureNotClosing(store);
+                            return container.readBlob(fileInfo.partName(slice));
+                        }
+                    };
+                }
+
                 void ensureNotClosing(final Store store) throws AlreadyClosedException {
                     assert store.refCount() > 0;
                     if (store.isClosing()) {
@@ -79,6 +79,22 @@ public class ScriptCache {
         String idOrCode,
         ScriptType type,
         Map<String, String> options
+    ) {
+        return compile(context, scriptEngine, id, idOrCode, type, options, true);
+    }
+
+    /**
+     * @param checkCompilationLimit whether a compilation counts against the compilation rate limit, which is not the case for the
+     *                              compilations that warm the cache ahead of the scripts being used
+     */
+    <FactoryType> FactoryType compile(
+        ScriptContext<FactoryType> context,
+        ScriptEngine scriptEngine,
+        String id,
+        String idOrCode,
+        ScriptType type,
+        Map<String, String> options,
+        boolean checkCompilationLimit
     ) {
         String lang = scriptEngine.getType();
         CacheKey cacheKey = new CacheKey(lang, idOrCode, context.name, options);
@@ -95,7 +111,9 @@ public class ScriptCache {
                         lang, options);
                 }
                 // Check whether too many compilations have happened
-                checkCompilationLimit();
+                if (checkCompilationLimit) {
+                    checkCompilationLimit();
+                }
                 Object compiledScript = scriptEngine.compile(id, idOrCode, context, options);
                 // Since the cache key is the script content itself we don't need to
                 // invalidate/check the cache if an indexed script changes.
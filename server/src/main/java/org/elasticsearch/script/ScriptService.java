@@ -283,6 +283,25 @@ public class ScriptService implements Closeable, ClusterStateApplier, ScriptComp
      * @return a compiled script which may be used to construct instances of a script for the given context
      */
     public <FactoryType> FactoryType compile(Script script, ScriptContext<FactoryType> context) {
+        return compile(script, context, true);
+    }
+
+    /**
+     * Compiles the stored script with the given id using the given context so that it is cached before it is first used. Unlike
+     * {@link #compile(Script, ScriptContext)} this does not count against the compilation rate limit of the context.
+     */
+    void warmStoredScript(String id, ScriptContext<?> context) {
+        compile(new Script(ScriptType.STORED, null, id, Collections.emptyMap()), context, false);
+    }
+
+    /**
+     * @return the script context with the given name, or {@code null} if there is no such context
+     */
+    ScriptContext<?> getContext(String name) {
+        return contexts.get(name);
+    }
+
+    private <FactoryType> FactoryType compile(Script script, ScriptContext<FactoryType> context, boolean checkCompilationLimit) {
         Objects.requireNonNull(script);
         Objects.requireNonNull(context);
 
@@ -332,7 +351,7 @@ public class ScriptService implements Closeable, ClusterStateApplier, ScriptComp
 
         ScriptCache scriptCache = cacheHolder.get().get(context.name);
         assert scriptCache != null : "script context [" + context.name + "] has no script cache";
-        return scriptCache.compile(context, scriptEngine, id, idOrCode, type, options);
+        return scriptCache.compile(context, scriptEngine, id, idOrCode, type, options, checkCompilationLimit);
     }
 
     public boolean isLangSupported(String lang) {
@@ -0,0 +1,94 @@
+/*
+ * Copyright Elasticsearch B.V. and/or licensed to Elasticsearch B.V. under one
+ * or more contributor license agreements. Licensed under the Elastic License
+ * 2.0 and the Server Side Public License, v 1; you may not use this file except
+ * in compliance with, at your election, the Elastic License 2.0 or the Server
+ * Side Public License, v 1.
+ */
+
+package org.elasticsearch.script;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.apache.logging.log4j.message.ParameterizedMessage;
+import org.elasticsearch.cluster.ClusterChangedEvent;
+import org.elasticsearch.cluster.ClusterStateListener;
+import org.elasticsearch.common.settings.Setting;
+import org.elasticsearch.common.settings.Settings;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executor;
+import java.util.function.Function;
+
+/**
+ * Compiles the stored scripts in the background for each of the contexts listed in the {@link #WARMUP_CONTEXTS_SETTING} setting, whenever
+ * they are added or updated, including when the node receives its first cluster state. This takes the compilation of the scripts that
+ * e.g. dashboards use out of the first searches that use them after a node restarts, and these compilations do not count against the
+ * compilation rate limits.
+ */
+public class StoredScriptWarmer implements ClusterStateListener {
+
+    private static final Logger logger = LogManager.getLogger(StoredScriptWarmer.class);
+
+    public static final Setting<List<String>> WARMUP_CONTEXTS_SETTING =
+        Setting.listSetting("script.warmup_contexts", Collections.emptyList(), Function.identity(), Setting.Property.NodeScope);
+
+    private final ScriptService scriptService;
+    private final Executor executor;
+    private final List<ScriptContext<?>> contexts;
+
+    public StoredScriptWarmer(Settings settings, ScriptService scriptService, Executor executor) {
+        this.scriptService = scriptService;
+        this.executor = executor;
+        final List<ScriptContext<?>> contexts = new ArrayList<>();
+        for (String name : WARMUP_CONTEXTS_SETTING.get(settings)) {
+            final ScriptContext<?> context = scriptService.getContext(name);
+            if (context == null) {
+                throw new IllegalArgumentException(
+                    "unknown script context [" + name + "] found in setting [" + WARMUP_CONTEXTS_SETTING.getKey() + "].");
+            }
+            contexts.add(context);
+        }
+        this.contexts = Collections.unmodifiableList(contexts);
+    }
+
+    @Override
+    public void clusterChanged(ClusterChangedEvent event) {
+        if (contexts.isEmpty() || event.metadataChanged() == false) {
+            return;
+        }
+        final ScriptMetadata scriptMetadata = event.state().metadata().custom(ScriptMetadata.TYPE);
+        final ScriptMetadata previousScriptMetadata = event.previousState().metadata().custom(ScriptMetadata.TYPE);
+        if (scriptMetadata == null || scriptMetadata == previousScriptMetadata) {
+            return;
+        }
+        final List<String> ids = new ArrayList<>();
+        for (Map.Entry<String, StoredScriptSource> entry : scriptMetadata.getStoredScripts().entrySet()) {
+            final StoredScriptSource previousSource = previousScriptMetadata == null
+                ? null
+                : previousScriptMetadata.getStoredScript(entry.getKey());
+            if (entry.getValue().equals(previousSource) == false) {
+                ids.add(entry.getKey());
+            }
+        }
+        if (ids.isEmpty() == false) {
+            executor.execute(() -> warm(ids));
+        }
+    }
+
+    private void warm(List<String> ids) {
+        for (String id : ids) {
+            for (ScriptContext<?> context : contexts) {
+                try {
+                    scriptService.warmStoredScript(id, context);
+                } catch (Exception e) {
+                    // the script may not be meant for this context, or may have been deleted in the meantime
+                    logger.debug(new ParameterizedMessage("failed to warm stored script [{}] for context [{}]", id, context.name), e);
+                }
+            }
+        }
+    }
+}
@@ -26,7 +26,7 @@ import java.util.function.Function;
 public class LeafDocLookup implements Map<String, ScriptDocValues<?>> {
 
     private final Map<String, DocValuesField<?>> localCacheScriptFieldData = new HashMap<>(4);
-    private final Map<String, ScriptDocValues<?>> localCacheFieldData = new HashMap<>(4);
+    private final Map<String, CachedScriptDocValues> localCacheFieldData = new HashMap<>(4);
     private final Function<String, MappedFieldType> fieldTypeLookup;
     private final Function<MappedFieldType, IndexFieldData<?>> fieldDataLookup;
 
@@ -80,36 +80,41 @@ public class LeafDocLookup implements Map<String, ScriptDocValues<?>> {
     public ScriptDocValues<?> get(Object key) {
         // assume its a string...
         String fieldName = key.toString();
-        ScriptDocValues<?> scriptValues = localCacheFieldData.get(fieldName);
-        if (scriptValues == null) {
+        CachedScriptDocValues cached = localCacheFieldData.get(fieldName);
+        if (cached == null) {
             final MappedFieldType fieldType = fieldTypeLookup.apply(fieldName);
             if (fieldType == null) {
                 throw new IllegalArgumentException("No field found for [" + fieldName + "] in mapping");
             }
             // load fielddata on behalf of the script: otherwise it would need additional permissions
             // to deal with pagedbytes/ramusagestimator/etc
-            scriptValues = AccessController.doPrivileged(new PrivilegedAction<ScriptDocValues<?>>() {
+            ScriptDocValues<?> scriptValues = AccessController.doPrivileged(new PrivilegedAction<ScriptDocValues<?>>() {
                 @Override
                 public ScriptDocValues<?> run() {
                     return fieldDataLookup.apply(fieldType).load(reader).getScriptValues();
                 }
             });
-            localCacheFieldData.put(fieldName, scriptValues);
+            cached = new CachedScriptDocValues(scriptValues);
+            localCacheFieldData.put(fieldName, cached);
         }
-        try {
-            scriptValues.setNextDocId(docId);
-        } catch (IOException e) {
-            throw ExceptionsHelper.convertToElastic(e);
+        if (cached.docId != docId) {
+            // scripts often access the same field several times per document, e.g. to check its size before reading its value, so the
+            // values are only read once per document
+            try {
+                cached.values.setNextDocId(docId);
+            } catch (IOException e) {
+                throw ExceptionsHelper.convertToElastic(e);
+            }
+            cached.docId = docId;
         }
-        return scriptValues;
+        return cached.values;
     }
 
     @Override
     public boolean containsKey(Object key) {
         // assume its a string...
         String fieldName = key.toString();
-        ScriptDocValues<?> scriptValues = localCacheFieldData.get(fieldName);
-        return scriptValues != null || fieldTypeLookup.apply(fieldName) != null;
+        return localCacheFieldData.containsKey(fieldName) || fieldTypeLookup.apply(fieldName) != null;
     }
 
     @Override
@@ -161,4 +166,14 @@ public class LeafDocLookup implements Map<String, ScriptDocValues<?>> {
     public Set<Map.Entry<String, ScriptDocValues<?>>> entrySet() {
         throw new UnsupportedOperationException();
     }
+
+    private static final class CachedScriptDocValues {
+        private final ScriptDocValues<?> values;
+        // the document that the values were last read for, which is never a valid document initially
+        private int docId = Integer.MIN_VALUE;
+
+        private CachedScriptDocValues(ScriptDocValues<?> values) {
+            this.values = values;
+        }
+    }
 }
@@ -17,12 +17,15 @@ import org.elasticsearch.core.Tuple;
 import org.elasticsearch.common.lucene.index.SequentialStoredFieldsLeafReader;
 import org.elasticsearch.common.xcontent.XContentHelper;
 import org.elasticsearch.xcontent.XContentType;
+import org.elasticsearch.xcontent.support.filtering.FilterPath;
 import org.elasticsearch.common.xcontent.support.XContentMapValues;
 import org.elasticsearch.index.fieldvisitor.FieldsVisitor;
 import org.elasticsearch.search.fetch.subphase.FetchSourceContext;
 
 import java.io.IOException;
 import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -31,6 +34,17 @@ import static java.util.Collections.emptyMap;
 
 public class SourceLookup implements Map<String, Object> {
 
+    /**
+     * Paths with more segments than this are always extracted from the fully parsed source, because the number of filters needed to match
+     * their values in objects with dotted field names grows exponentially.
+     */
+    static final int MAX_FILTERED_PATH_SEGMENTS = 5;
+    /**
+     * Once a single document required more filtered parses than this, all further paths are extracted from the fully parsed source, since
+     * every filtered parse still needs to scan the whole document.
+     */
+    static final int MAX_FILTERED_PATHS_PER_DOCUMENT = 3;
+
     private LeafReader reader;
     CheckedBiConsumer<Integer, FieldsVisitor, IOException> fieldReader;
 
@@ -39,6 +53,11 @@ public class SourceLookup implements Map<String, Object> {
     private BytesReference sourceAsBytes;
     private Map<String, Object> source;
     private XContentType sourceContentType;
+    // the parts of the source of the current document that contain the values of the paths that were requested so far, by path
+    private final Map<String, Map<String, Object>> filteredSources = new HashMap<>();
+    // compiled filters per path, which remain valid across documents
+    private final Map<String, FilterPath[]> pathFilters = new HashMap<>();
+    private boolean alwaysParseFullSource;
 
     public XContentType sourceContentType() {
         return sourceContentType;
@@ -86,6 +105,74 @@ public class SourceLookup implements Map<String, Object> {
         return this.source;
     }
 
+    /**
+     * Returns a map that contains at least the values of the given path in the source. Unless the full source has already been parsed,
+     * this only parses the values of the path and skips over the rest of the document. The result is cached until the lookup moves to a
+     * different document.
+     */
+    private Map<String, Object> sourceForPath(String path) {
+        if (source != null || alwaysParseFullSource) {
+            return source();
+        }
+        Map<String, Object> filteredSource = filteredSources.get(path);
+        if (filteredSource != null) {
+            return filteredSource;
+        }
+        if (filteredSources.size() >= MAX_FILTERED_PATHS_PER_DOCUMENT) {
+            alwaysParseFullSource = true;
+            return source();
+        }
+        FilterPath[] filters = pathFilters.computeIfAbsent(path, SourceLookup::compileFilters);
+        if (filters == null) {
+            return source();
+        }
+        if (sourceAsBytes == null) {
+            try {
+                FieldsVisitor sourceFieldVisitor = new FieldsVisitor(true);
+                fieldReader.accept(docId, sourceFieldVisitor);
+                if (sourceFieldVisitor.source() == null) {
+                    source = emptyMap();
+                    return source;
+                }
+                sourceAsBytes = sourceFieldVisitor.source();
+            } catch (Exception e) {
+                throw new ElasticsearchParseException("failed to parse / load source", e);
+            }
+        }
+        // the content type is detected for every document, the documents of an index may have been written with different ones
+        Tuple<XContentType, Map<String, Object>> tuple = XContentHelper.convertToMap(sourceAsBytes, false, null, filters);
+        sourceContentType = tuple.v1();
+        filteredSources.put(path, tuple.v2());
+        return tuple.v2();
+    }
+
+    /**
+     * Compiles the filters that match the values of the given path in the source, whichever way the fields on the path are nested. A path
+     * {@code a.b} for instance matches both {@code {"a": {"b": 1}}} and {@code {"a.b": 1}}.
+     *
+     * @return the filters, or {@code null} if the path cannot be translated to filters
+     */
+    static FilterPath[] compileFilters(String path) {
+        if (path.isEmpty() || path.contains("*") || path.contains("\\") || path.startsWith(".") || path.endsWith(".")
+            || path.contains("..")) {
+            return null;
+        }
+        String[] segments = path.split("\\.");
+        if (segments.length > MAX_FILTERED_PATH_SEGMENTS) {
+            return null;
+        }
+        Set<String> filters = new HashSet<>();
+        // each bit of the mask tells whether the corresponding dot separates two objects or is part of a field name
+        for (int mask = 0; mask < 1 << (segments.length - 1); mask++) {
+            StringBuilder filter = new StringBuilder(segments[0]);
+            for (int i = 1; i < segments.length; i++) {
+                filter.append((mask & (1 << (i - 1))) == 0 ? "." : "\\.").append(segments[i]);
+            }
+            filters.add(filter.toString());
+        }
+        return FilterPath.compile(filters);
+    }
+
     private static Tuple<XContentType, Map<String, Object>> sourceAsMapAndType(BytesReference source) throws ElasticsearchParseException {
         return XContentHelper.convertToMap(source, false);
     }
@@ -127,11 +214,13 @@ public class SourceLookup implements Map<String, Object> {
         }
         this.source = null;
         this.sourceAsBytes = null;
+        this.filteredSources.clear();
         this.docId = docId;
     }
 
     public void setSource(BytesReference source) {
         this.sourceAsBytes = source;
+        this.filteredSources.clear();
     }
 
     public void setSourceContentType(XContentType sourceContentType) {
@@ -154,7 +243,7 @@ public class SourceLookup implements Map<String, Object> {
      * handle path expression where an array/list is navigated within.
      */
     public List<Object> extractRawValues(String path) {
-        return XContentMapValues.extractRawValues(path, source());
+        return XContentMapValues.extractRawValues(path, sourceForPath(path));
     }
 
     /**
@@ -170,7 +259,7 @@ public class SourceLookup implements Map<String, Object> {
      * @return the value associated with the path in the source or 'null' if the path does not exist.
      */
     public Object extractValue(String path, @Nullable Object nullValue) {
-        return XContentMapValues.extractValue(path, source(), nullValue);
+        return XContentMapValues.extractValue(path, sourceForPath(path), nullValue);
     }
 
     public Object filter(FetchSourceContext context) {
@@ -179,6 +268,10 @@ public class SourceLookup implements Map<String, Object> {
 
     @Override
     public Object get(Object key) {
+        if (key instanceof String && ((String) key).indexOf('.') < 0) {
+            // scripts read the source through this method, e.g. params._source.field
+            return sourceForPath((String) key).get(key);
+        }
         return source().get(key);
     }
 
@@ -14,6 +14,7 @@ import org.elasticsearch.cluster.coordination.PublishClusterStateStats;
 import org.elasticsearch.cluster.node.DiscoveryNode;
 import org.elasticsearch.cluster.service.ClusterApplierRecordingService;
 import org.elasticsearch.cluster.service.ClusterApplierRecordingService.Stats.Recording;
+import org.elasticsearch.cluster.service.ClusterStateTaskExecutorStats;
 import org.elasticsearch.cluster.service.ClusterStateUpdateStats;
 import org.elasticsearch.common.io.stream.BytesStreamOutput;
 import org.elasticsearch.common.io.stream.StreamInput;
@@ -302,6 +303,10 @@ public class NodeStatsTests extends ESTestCase {
                             deserializedPublishStats.getIncompatibleClusterStateDiffReceivedCount());
                     }
 
+                    assertEquals(
+                        discoveryStats.getClusterStateTaskExecutorStats(),
+                        deserializedDiscoveryStats.getClusterStateTaskExecutorStats());
+
                     final ClusterStateUpdateStats clusterStateUpdateStats = discoveryStats.getClusterStateUpdateStats();
                     if (clusterStateUpdateStats == null) {
                         assertNull(deserializedDiscoveryStats.getClusterStateUpdateStats());
@@ -627,7 +632,16 @@ public class NodeStatsTests extends ESTestCase {
                 randomNonNegativeLong(),
                 randomNonNegativeLong())
                 : null,
-            timeTrackerStats)
+            timeTrackerStats,
+            randomBoolean()
+                ? new ClusterStateTaskExecutorStats(
+                randomMap(1, 8, () -> new Tuple<>(randomAlphaOfLength(8), new ClusterStateTaskExecutorStats.ExecutorStats(
+                    randomNonNegativeLong(),
+                    randomNonNegativeLong(),
+                    randomTimeHistogram(),
+                    randomTimeHistogram(),
+                    randomTimeHistogram()))))
+                : null)
             : null;
         IngestStats ingestStats = null;
         if (frequently()) {
@@ -705,6 +719,14 @@ public class NodeStatsTests extends ESTestCase {
         }
     }
 
+    private static ClusterStateTaskExecutorStats.TimeHistogram randomTimeHistogram() {
+        final long[] counts = new long[ClusterStateTaskExecutorStats.TimeHistogram.BUCKET_COUNT];
+        for (int i = 0; i < counts.length; i++) {
+            counts[i] = randomLongBetween(0L, 1_000_000L);
+        }
+        return new ClusterStateTaskExecutorStats.TimeHistogram(counts, randomNonNegativeLong());
+    }
+
     private IngestStats.Stats getPipelineStats(List<IngestStats.PipelineStat> pipelineStats, String id) {
         return pipelineStats.stream().filter(p1 -> p1.getPipelineId().equals(id)).findFirst().map(p2 -> p2.getStats()).orElse(null);
     }
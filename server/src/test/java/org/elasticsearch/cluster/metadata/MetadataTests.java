@@ -56,7 +56,9 @@ import static org.hamcrest.Matchers.containsString;
 import static org.hamcrest.Matchers.empty;
 import static org.hamcrest.Matchers.equalTo;
 import static org.hamcrest.Matchers.greaterThanOrEqualTo;
+import static org.hamcrest.Matchers.hasItem;
 import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
 import static org.hamcrest.Matchers.notNullValue;
 import static org.hamcrest.Matchers.nullValue;
 import static org.hamcrest.Matchers.startsWith;
@@ -122,6 +124,40 @@ public class MetadataTests extends ESTestCase {
         }
     }
 
+    public void testIndicesLookupIsReusedIfOnlyMappingsChange() {
+        final Metadata.Builder builder = Metadata.builder();
+        final int numIndices = randomIntBetween(1, 10);
+        for (int i = 0; i < numIndices; i++) {
+            builder.put(IndexMetadata.builder("index-" + i)
+                .settings(Settings.builder().put(IndexMetadata.SETTING_VERSION_CREATED, Version.CURRENT))
+                .numberOfShards(1)
+                .numberOfReplicas(0)
+                .putAlias(AliasMetadata.builder("alias-" + (i % 3)).build()));
+        }
+        final Metadata metadata = builder.build();
+        final String indexName = "index-" + randomIntBetween(0, numIndices - 1);
+
+        final String mapping = "{\"_doc\":{\"properties\":{\"foo\":{\"type\":\"keyword\"}}}}";
+        final Metadata withNewMapping = Metadata.builder(metadata)
+            .put(IndexMetadata.builder(metadata.index(indexName)).putMapping(mapping))
+            .build();
+        assertThat(withNewMapping.index(indexName).mapping(), notNullValue());
+        assertSame(metadata.getIndicesLookup(), withNewMapping.getIndicesLookup());
+        assertSame(metadata.getConcreteAllIndices(), withNewMapping.getConcreteAllIndices());
+
+        final Metadata withNewAlias = Metadata.builder(withNewMapping)
+            .put(IndexMetadata.builder(withNewMapping.index(indexName)).putAlias(AliasMetadata.builder("new-alias").build()))
+            .build();
+        assertNotSame(withNewMapping.getIndicesLookup(), withNewAlias.getIndicesLookup());
+        assertThat(withNewAlias.getIndicesLookup().get("new-alias").getIndices(), contains(withNewAlias.index(indexName).getIndex()));
+
+        final Metadata withClosedIndex = Metadata.builder(withNewMapping)
+            .put(IndexMetadata.builder(withNewMapping.index(indexName)).state(IndexMetadata.State.CLOSE))
+            .build();
+        assertThat(Arrays.asList(withClosedIndex.getConcreteAllClosedIndices()), contains(indexName));
+        assertThat(Arrays.asList(withClosedIndex.getConcreteAllOpenIndices()), not(hasItem(indexName)));
+    }
+
     public void testFindAliasWithExclusion() {
         Metadata metadata = Metadata.builder().put(
             IndexMetadata.builder("index")
@@ -496,6 +532,41 @@ public class MetadataTests extends ESTestCase {
         assertThat(fromStreamMeta.clusterUUIDCommitted(), equalTo(originalMeta.clusterUUIDCommitted()));
     }
 
+    public void testIndicesWithEqualMappingsShareThemAfterSerialization() throws IOException {
+        final String mapping = "{\"_doc\":{\"properties\":{\"foo\":{\"type\":\"keyword\"}}}}";
+        final Metadata.Builder builder = Metadata.builder();
+        final int numIndices = randomIntBetween(2, 10);
+        for (int i = 0; i < numIndices; i++) {
+            builder.put(IndexMetadata.builder("index-" + i)
+                .settings(Settings.builder().put(IndexMetadata.SETTING_VERSION_CREATED, Version.CURRENT))
+                .numberOfShards(1)
+                .numberOfReplicas(0)
+                .putMapping(mapping));
+        }
+        final Metadata originalMeta = builder.build();
+        assertNotSame(originalMeta.index("index-0").mapping(), originalMeta.index("index-1").mapping());
+
+        final BytesStreamOutput out = new BytesStreamOutput();
+        originalMeta.writeTo(out);
+        NamedWriteableRegistry namedWriteableRegistry = new NamedWriteableRegistry(ClusterModule.getNamedWriteables());
+        final Metadata fromStreamMeta = Metadata.readFrom(
+            new NamedWriteableAwareStreamInput(out.bytes().streamInput(), namedWriteableRegistry)
+        );
+        final MappingMetadata sharedMapping = fromStreamMeta.index("index-0").mapping();
+        assertThat(sharedMapping, equalTo(originalMeta.index("index-0").mapping()));
+        for (int i = 1; i < numIndices; i++) {
+            assertSame(sharedMapping, fromStreamMeta.index("index-" + i).mapping());
+        }
+
+        final Metadata withNewIndex = Metadata.builder(fromStreamMeta).put(IndexMetadata.builder("new-index")
+            .settings(Settings.builder().put(IndexMetadata.SETTING_VERSION_CREATED, Version.CURRENT))
+            .numberOfShards(1)
+            .numberOfReplicas(0)
+            .putMapping(mapping)).build();
+        final Metadata fromDiff = withNewIndex.diff(fromStreamMeta).apply(fromStreamMeta);
+        assertSame(sharedMapping, fromDiff.index("new-index").mapping());
+    }
+
     public void testMetadataGlobalStateChangesOnClusterUUIDChanges() {
         final Metadata metadata1 = Metadata.builder().clusterUUID(UUIDs.randomBase64UUID()).clusterUUIDCommitted(randomBoolean()).build();
         final Metadata metadata2 = Metadata.builder(metadata1).clusterUUID(UUIDs.randomBase64UUID()).build();
@@ -438,6 +438,52 @@ public class MasterServiceTests extends ESTestCase {
         }
     }
 
+    static class StatsTestExecutor implements ClusterStateTaskExecutor<Object> {
+        @Override
+        public ClusterTasksResult<Object> execute(ClusterState currentState, List<Object> tasks) {
+            return ClusterTasksResult.builder().successes(tasks).build(ClusterState.builder(currentState).build());
+        }
+    }
+
+    public void testClusterStateTaskExecutorStats() throws InterruptedException {
+        final int taskCount = randomIntBetween(1, 10);
+        final CountDownLatch latch = new CountDownLatch(taskCount);
+        final StatsTestExecutor executor = new StatsTestExecutor();
+
+        try (MasterService masterService = createMasterService(true)) {
+            for (int i = 0; i < taskCount; i++) {
+                masterService.submitStateUpdateTask(
+                    "testClusterStateTaskExecutorStats",
+                    new Object(),
+                    ClusterStateTaskConfig.build(Priority.NORMAL),
+                    executor,
+                    new ClusterStateTaskListener() {
+                        @Override
+                        public void clusterStateProcessed(String source, ClusterState oldState, ClusterState newState) {
+                            latch.countDown();
+                        }
+
+                        @Override
+                        public void onFailure(String source, Exception e) {
+                            throw new AssertionError(e);
+                        }
+                    }
+                );
+            }
+            latch.await();
+
+            final Map<String, ClusterStateTaskExecutorStats.ExecutorStats> executors =
+                masterService.getClusterStateTaskExecutorStats().getExecutors();
+            assertThat(executors, hasKey("MasterServiceTests$StatsTestExecutor"));
+            final ClusterStateTaskExecutorStats.ExecutorStats stats = executors.get("MasterServiceTests$StatsTestExecutor");
+            assertThat(stats.getTaskCount(), equalTo((long) taskCount));
+            assertThat(stats.getQueueTime().getCount(), equalTo((long) taskCount));
+            assertThat(stats.getBatchCount() >= 1 && stats.getBatchCount() <= taskCount, equalTo(true));
+            assertThat(stats.getComputationTime().getCount(), equalTo(stats.getBatchCount()));
+            assertThat(stats.getPublicationTime().getCount(), equalTo(stats.getBatchCount()));
+        }
+    }
+
     public void testClusterStateBatchedUpdates() throws BrokenBarrierException, InterruptedException {
         AtomicInteger counter = new AtomicInteger();
         class Task {
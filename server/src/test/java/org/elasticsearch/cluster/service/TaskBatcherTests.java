@@ -49,10 +49,17 @@ public class TaskBatcherTests extends TaskExecutorTests {
 
     class TestTaskBatcher extends TaskBatcher {
 
+        volatile int maxBatchSize = Integer.MAX_VALUE;
+
         TestTaskBatcher(Logger logger, PrioritizedEsThreadPoolExecutor threadExecutor) {
             super(logger, threadExecutor);
         }
 
+        @Override
+        protected int maxBatchSize() {
+            return maxBatchSize;
+        }
+
         @SuppressWarnings("unchecked")
         @Override
         protected void run(Object batchingKey, List<? extends BatchedTask> tasks, String tasksSummary) {
@@ -174,6 +181,51 @@ public class TaskBatcherTests extends TaskExecutorTests {
         assertThat(executionOrder, equalTo(Arrays.asList("A0", "A1", "A2", "B3", "B4", "A5", "A6")));
     }
 
+    public void testFullBatchDoesntStarveAnotherExecutor() throws InterruptedException {
+        taskBatcher.maxBatchSize = 2;
+        final List<List<String>> batches = Collections.synchronizedList(new ArrayList<>());
+        final Semaphore allowProcessing = new Semaphore(0);
+        final Semaphore startedProcessing = new Semaphore(0);
+
+        class TaskExecutor implements TestExecutor<String> {
+
+            @Override
+            public void execute(List<String> tasks) {
+                batches.add(List.copyOf(tasks));
+                startedProcessing.release(tasks.size());
+                try {
+                    allowProcessing.acquire(tasks.size());
+                } catch (InterruptedException e) {
+                    throw new RuntimeException(e);
+                }
+            }
+        }
+
+        TaskExecutor executorA = new TaskExecutor();
+        TaskExecutor executorB = new TaskExecutor();
+
+        final ClusterStateTaskConfig config = ClusterStateTaskConfig.build(Priority.NORMAL);
+        final TestListener noopListener = (source, e) -> {
+            throw new AssertionError(e);
+        };
+        // this blocks the cluster state queue, so we can set it up right
+        submitTask("0", "A0", config, executorA, noopListener);
+        startedProcessing.acquire(1);
+
+        for (int i = 1; i <= 5; i++) {
+            submitTask(Integer.toString(i), "A" + i, config, executorA, noopListener);
+        }
+        submitTask("6", "B6", config, executorB, noopListener);
+
+        allowProcessing.release(7);
+        startedProcessing.acquire(6);
+
+        assertThat(
+            batches,
+            equalTo(List.of(List.of("A0"), List.of("A1", "A2"), List.of("B6"), List.of("A3", "A4"), List.of("A5")))
+        );
+    }
+
     static class TaskExecutor implements TestExecutor<Integer> {
         List<Integer> tasks = new ArrayList<>();
 
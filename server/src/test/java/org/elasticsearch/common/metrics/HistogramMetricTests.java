@@ -0,0 +1,50 @@
+/*
+ * Copyright Elasticsearch B.V. and/or licensed to Elasticsearch B.V. under one
+ * or more contributor license agreements. Licensed under the Elastic License
+ * 2.0 and the Server Side Public License, v 1; you may not use this file except
+ * in compliance with, at your election, the Elastic License 2.0 or the Server
+ * Side Public License, v 1.
+ */
+
+package org.elasticsearch.common.metrics;
+
+import org.elasticsearch.test.ESTestCase;
+
+import static org.hamcrest.Matchers.equalTo;
+
+public class HistogramMetricTests extends ESTestCase {
+
+    public void testBuckets() {
+        final HistogramMetric histogram = new HistogramMetric(10L, 100L, 1_000L);
+        assertThat(histogram.bucket(0L), equalTo(0));
+        assertThat(histogram.bucket(9L), equalTo(0));
+        assertThat(histogram.bucket(10L), equalTo(1));
+        assertThat(histogram.bucket(99L), equalTo(1));
+        assertThat(histogram.bucket(100L), equalTo(2));
+        assertThat(histogram.bucket(999L), equalTo(2));
+        assertThat(histogram.bucket(1_000L), equalTo(3));
+        assertThat(histogram.bucket(Long.MAX_VALUE), equalTo(3));
+    }
+
+    public void testCountsAndSum() {
+        final HistogramMetric histogram = new HistogramMetric(10L, 100L, 1_000L);
+        final long[] expectedCounts = new long[4];
+        long expectedSum = 0L;
+        final int values = randomIntBetween(0, 100);
+        for (int i = 0; i < values; i++) {
+            final long value = randomLongBetween(0L, 2_000L);
+            histogram.inc(value);
+            expectedCounts[histogram.bucket(value)] += 1;
+            expectedSum += value;
+        }
+        assertArrayEquals(expectedCounts, histogram.getBucketCounts());
+        assertThat(histogram.count(), equalTo((long) values));
+        assertThat(histogram.sum(), equalTo(expectedSum));
+        assertArrayEquals(new long[] { 10L, 100L, 1_000L }, histogram.getBucketBounds());
+    }
+
+    public void testBoundsMustBeIncreasing() {
+        final IllegalArgumentException e = expectThrows(IllegalArgumentException.class, () -> new HistogramMetric(10L, 10L));
+        assertThat(e.getMessage(), equalTo("bucket bounds must be strictly increasing but got [10, 10]"));
+    }
+}
@@ -286,6 +286,21 @@ public class IndexModuleTests extends ESTestCase {
         indexService.close("simon says", false);
     }
 
+    public void testAddIndexWarmerListener() throws IOException {
+        final IndexSettings indexSettings = IndexSettingsModule.newIndexSettings(index, settings);
+        IndexModule module = createIndexModule(indexSettings, emptyAnalysisRegistry, indexNameExpressionResolver);
+        IndexWarmer.Listener listener = (indexShard, reader) -> IndexWarmer.TerminationHandle.NO_WAIT;
+        module.addIndexWarmerListener(listener);
+
+        expectThrows(IllegalArgumentException.class, () -> module.addIndexWarmerListener(listener));
+        expectThrows(IllegalArgumentException.class, () -> module.addIndexWarmerListener(null));
+
+        IndexService indexService = newIndexService(module);
+        expectThrows(IllegalStateException.class,
+            () -> module.addIndexWarmerListener((indexShard, reader) -> IndexWarmer.TerminationHandle.NO_WAIT));
+        indexService.close("simon says", false);
+    }
+
     public void testAddSearchOperationListener() throws IOException {
         final IndexSettings indexSettings = IndexSettingsModule.newIndexSettings(index, settings);
         IndexModule module = createIndexModule(indexSettings, emptyAnalysisRegistry, indexNameExpressionResolver);
@@ -51,6 +51,16 @@ public class MapperServiceTests extends MapperServiceTestCase {
         assertThat(oldLookup.fieldTypesLookup().get("cat"), nullValue());
     }
 
+    public void testMapperSharesEqualMappingSource() throws IOException {
+        MapperService service = createMapperService(mapping(b -> b.startObject("cat").field("type", "keyword").endObject()));
+        CompressedXContent mappingSource = new CompressedXContent(service.documentMapper().mappingSource().compressedReference());
+        assertNotSame(mappingSource, service.documentMapper().mappingSource());
+
+        MapperService otherService = createMapperService(mapping(b -> {}));
+        otherService.merge(MapperService.SINGLE_MAPPING_NAME, mappingSource, MergeReason.MAPPING_RECOVERY);
+        assertSame(mappingSource, otherService.documentMapper().mappingSource());
+    }
+
     /**
      * Test that we can have at least the number of fields in new mappings that are defined by "index.mapping.total_fields.limit".
      * Any additional field should trigger an IllegalArgumentException.
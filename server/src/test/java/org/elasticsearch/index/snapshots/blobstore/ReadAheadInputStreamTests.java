@@ -0,0 +1,125 @@
+/*
+ * Copyright Elasticsearch B.V. and/or licensed to Elasticsearch B.V. under one
+ * or more contributor license agreements. Licensed under the Elastic License
+ * 2.0 and the Server Side Public License, v 1; you may not use this file except
+ * in compliance with, at your election, the Elastic License 2.0 or the Server
+ * Side Public License, v 1.
+ */
+package org.elasticsearch.index.snapshots.blobstore;
+
+import org.elasticsearch.Version;
+import org.elasticsearch.common.unit.ByteSizeValue;
+import org.elasticsearch.index.store.StoreFileMetadata;
+import org.elasticsearch.test.ESTestCase;
+import org.elasticsearch.threadpool.TestThreadPool;
+import org.elasticsearch.threadpool.ThreadPool;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.hamcrest.Matchers.equalTo;
+
+public class ReadAheadInputStreamTests extends ESTestCase {
+
+    private static final String LUCENE_VERSION = Version.CURRENT.luceneVersion.toString();
+
+    public void testReadsAllBytesInOrder() throws Exception {
+        final ThreadPool threadPool = new TestThreadPool(getTestName());
+        try {
+            final byte[] bytes = randomByteArrayOfLength(randomIntBetween(1, 10_000));
+            final long partSize = randomLongBetween(1L, bytes.length + 1L);
+            final BlobStoreIndexShardSnapshot.FileInfo fileInfo = new BlobStoreIndexShardSnapshot.FileInfo(
+                "_1",
+                new StoreFileMetadata("_0.cfs", bytes.length, "_checksum", LUCENE_VERSION),
+                new ByteSizeValue(partSize)
+            );
+            final AtomicInteger rangesOpened = new AtomicInteger();
+            final int rangeSize = randomIntBetween(1, 10_000);
+            try (
+                InputStream stream = new ReadAheadInputStream(
+                    fileInfo,
+                    rangeSize,
+                    randomIntBetween(1, 8),
+                    threadPool.executor(ThreadPool.Names.GENERIC)
+                ) {
+                    @Override
+                    protected InputStream openRange(int part, long position, int length) {
+                        assertThat(fileInfo.partBytes(part) >= position + length, equalTo(true));
+                        assertThat(length <= rangeSize, equalTo(true));
+                        rangesOpened.incrementAndGet();
+                        return new ByteArrayInputStream(bytes, Math.toIntExact(part * partSize + position), length);
+                    }
+                }
+            ) {
+                assertArrayEquals(bytes, readAll(stream));
+            }
+            assertThat(rangesOpened.get() >= fileInfo.numberOfParts(), equalTo(true));
+        } finally {
+            ThreadPool.terminate(threadPool, 10L, TimeUnit.SECONDS);
+        }
+    }
+
+    public void testMakesProgressWithoutExecutorThreads() throws IOException {
+        final byte[] bytes = randomByteArrayOfLength(randomIntBetween(1, 10_000));
+        final BlobStoreIndexShardSnapshot.FileInfo fileInfo = new BlobStoreIndexShardSnapshot.FileInfo(
+            "_1",
+            new StoreFileMetadata("_0.cfs", bytes.length, "_checksum", LUCENE_VERSION),
+            null
+        );
+        // an executor that never runs anything, like a snapshot pool whose threads are all busy restoring other files
+        final Executor stuckExecutor = command -> {};
+        try (InputStream stream = new ReadAheadInputStream(fileInfo, randomIntBetween(1, 1_000), randomIntBetween(1, 8), stuckExecutor) {
+            @Override
+            protected InputStream openRange(int part, long position, int length) {
+                assertThat(part, equalTo(0));
+                return new ByteArrayInputStream(bytes, Math.toIntExact(position), length);
+            }
+        }) {
+            assertArrayEquals(bytes, readAll(stream));
+        }
+    }
+
+    public void testPropagatesFailures() {
+        final BlobStoreIndexShardSnapshot.FileInfo fileInfo = new BlobStoreIndexShardSnapshot.FileInfo(
+            "_1",
+            new StoreFileMetadata("_0.cfs", randomIntBetween(1, 10_000), "_checksum", LUCENE_VERSION),
+            null
+        );
+        final IOException exception = expectThrows(IOException.class, () -> {
+            final int rangeSize = randomIntBetween(1, 1_000);
+            try (InputStream stream = new ReadAheadInputStream(fileInfo, rangeSize, randomIntBetween(1, 8), Runnable::run) {
+                @Override
+                protected InputStream openRange(int part, long position, int length) throws IOException {
+                    throw new IOException("simulated");
+                }
+            }) {
+                readAll(stream);
+            }
+        });
+        assertThat(exception.getMessage(), equalTo("simulated"));
+    }
+
+    private static byte[] readAll(InputStream stream) throws IOException {
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        final byte[] buffer = new byte[randomIntBetween(1, 4096)];
+        int read;
+        while ((read = randomBoolean() ? stream.read(buffer) : readSingleByte(stream, buffer)) != -1) {
+            out.write(buffer, 0, read);
+        }
+        return out.toByteArray();
+    }
+
+    private static int readSingleByte(InputStream stream, byte[] buffer) throws IOException {
+        final int b = stream.read();
+        if (b == -1) {
+            return -1;
+        }
+        buffer[0] = (byte) b;
+        return 1;
+    }
+}
@@ -9,6 +9,7 @@ package org.elasticsearch.script;
 
 import org.elasticsearch.ResourceNotFoundException;
 import org.elasticsearch.action.admin.cluster.storedscripts.GetStoredScriptRequest;
+import org.elasticsearch.cluster.ClusterChangedEvent;
 import org.elasticsearch.cluster.ClusterName;
 import org.elasticsearch.cluster.ClusterState;
 import org.elasticsearch.cluster.metadata.Metadata;
@@ -232,6 +233,45 @@ public class ScriptServiceTests extends ESTestCase {
         assertEquals(1L, getByContext(scriptService.stats(), ctx.name).getCompilations());
     }
 
+    public void testStoredScriptWarmer() throws IOException {
+        ScriptContext<?> context = randomFrom(contexts.values());
+        buildScriptService(Settings.builder()
+            .put(SCRIPT_MAX_COMPILATIONS_RATE_SETTING.getConcreteSettingForNamespace(context.name).getKey(), "1/10m")
+            .build());
+        StoredScriptWarmer warmer = new StoredScriptWarmer(
+            Settings.builder().putList(StoredScriptWarmer.WARMUP_CONTEXTS_SETTING.getKey(), context.name).build(),
+            scriptService,
+            Runnable::run
+        );
+
+        ClusterState previousState = ClusterState.builder(new ClusterName("_name")).build();
+        ClusterState state = ClusterState.builder(previousState)
+            .metadata(Metadata.builder()
+                .putCustom(ScriptMetadata.TYPE, new ScriptMetadata.Builder(null).storeScript("test1",
+                    new StoredScriptSource("test", "1+1", Collections.emptyMap())).build()))
+            .build();
+        warmer.clusterChanged(new ClusterChangedEvent("test", state, previousState));
+        assertEquals(1L, getByContext(scriptService.stats(), context.name).getCompilations());
+
+        // the stored script is cached, and warming it did not count against the compilation rate limit
+        scriptService.compile(new Script(ScriptType.STORED, null, "test1", Collections.emptyMap()), context);
+        assertEquals(1L, getByContext(scriptService.stats(), context.name).getCompilations());
+        scriptService.compile(new Script(ScriptType.INLINE, "test", "2+2", Collections.emptyMap()), context);
+        assertEquals(2L, getByContext(scriptService.stats(), context.name).getCompilations());
+
+        // unchanged stored scripts are not warmed again
+        warmer.clusterChanged(new ClusterChangedEvent("test", ClusterState.builder(state).metadata(Metadata.builder(state.metadata()))
+            .build(), state));
+        assertEquals(2L, getByContext(scriptService.stats(), context.name).getCompilations());
+
+        IllegalArgumentException e = expectThrows(IllegalArgumentException.class, () -> new StoredScriptWarmer(
+            Settings.builder().putList(StoredScriptWarmer.WARMUP_CONTEXTS_SETTING.getKey(), "unknown").build(),
+            scriptService,
+            Runnable::run
+        ));
+        assertEquals("unknown script context [unknown] found in setting [script.warmup_contexts].", e.getMessage());
+    }
+
     public void testCacheEvictionCountedInCacheEvictionsStats() throws IOException {
         ScriptContext<?> context = randomFrom(contexts.values());
         buildScriptService(Settings.builder()
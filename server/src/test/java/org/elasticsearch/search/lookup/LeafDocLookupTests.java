@@ -17,12 +17,15 @@ import org.elasticsearch.index.mapper.flattened.FlattenedFieldMapper;
 import org.elasticsearch.test.ESTestCase;
 import org.junit.Before;
 
+import java.io.IOException;
 import java.util.function.Function;
 
 import static org.mockito.AdditionalAnswers.returnsFirstArg;
 import static org.mockito.Matchers.anyObject;
 import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 public class LeafDocLookupTests extends ESTestCase {
@@ -50,6 +53,17 @@ public class LeafDocLookupTests extends ESTestCase {
         assertEquals(docValues, fetchedDocValues);
     }
 
+    public void testValuesAreReadOncePerDocument() throws IOException {
+        docLookup.setDocument(1);
+        docLookup.get("field");
+        docLookup.get("field");
+        verify(docValues, times(1)).setNextDocId(1);
+
+        docLookup.setDocument(2);
+        docLookup.get("field");
+        verify(docValues, times(1)).setNextDocId(2);
+    }
+
     public void testFieldAliases() {
         ScriptDocValues<?> fetchedDocValues = docLookup.get("alias");
         assertEquals(docValues, fetchedDocValues);
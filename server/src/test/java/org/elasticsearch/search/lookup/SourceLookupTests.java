@@ -0,0 +1,127 @@
+/*
+ * Copyright Elasticsearch B.V. and/or licensed to Elasticsearch B.V. under one
+ * or more contributor license agreements. Licensed under the Elastic License
+ * 2.0 and the Server Side Public License, v 1; you may not use this file except
+ * in compliance with, at your election, the Elastic License 2.0 or the Server
+ * Side Public License, v 1.
+ */
+package org.elasticsearch.search.lookup;
+
+import org.apache.lucene.document.Document;
+import org.apache.lucene.document.StoredField;
+import org.apache.lucene.index.DirectoryReader;
+import org.apache.lucene.index.IndexWriter;
+import org.apache.lucene.index.IndexWriterConfig;
+import org.apache.lucene.index.LeafReaderContext;
+import org.apache.lucene.store.Directory;
+import org.elasticsearch.common.bytes.BytesReference;
+import org.elasticsearch.common.compress.CompressorFactory;
+import org.elasticsearch.common.xcontent.XContentHelper;
+import org.elasticsearch.common.xcontent.support.XContentMapValues;
+import org.elasticsearch.index.mapper.SourceFieldMapper;
+import org.elasticsearch.test.ESTestCase;
+import org.elasticsearch.xcontent.XContentBuilder;
+import org.elasticsearch.xcontent.XContentFactory;
+import org.elasticsearch.xcontent.XContentType;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import static org.elasticsearch.xcontent.XContentFactory.jsonBuilder;
+import static org.hamcrest.Matchers.arrayWithSize;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.nullValue;
+
+public class SourceLookupTests extends ESTestCase {
+
+    public void testExtractValuesFromFilteredSource() throws IOException {
+        XContentBuilder source = jsonBuilder().startObject()
+            .startObject("object")
+            .field("field", 1)
+            .startObject("inner")
+            .field("field", "value")
+            .endObject()
+            .endObject()
+            .field("object.field", 2)
+            .startArray("array")
+            .startObject()
+            .field("field", 3)
+            .endObject()
+            .startObject()
+            .field("other", 4)
+            .endObject()
+            .endArray()
+            .nullField("null_field")
+            .field("big_field", randomAlphaOfLength(1024))
+            .endObject();
+        BytesReference bytes = BytesReference.bytes(source);
+        if (randomBoolean()) {
+            bytes = CompressorFactory.COMPRESSOR.compress(bytes);
+        }
+        Map<String, Object> fullSource = XContentHelper.convertToMap(bytes, false, XContentType.JSON).v2();
+
+        List<String> paths = List.of(
+            "object.field",
+            "object.inner",
+            "object.inner.field",
+            "array.field",
+            "array",
+            "null_field",
+            "missing",
+            "object.missing"
+        );
+        SourceLookup sourceLookup = new SourceLookup();
+        sourceLookup.setSource(bytes);
+        for (String path : paths) {
+            assertThat(path, sourceLookup.extractValue(path, "null"), equalTo(XContentMapValues.extractValue(path, fullSource, "null")));
+            assertThat(path, sourceLookup.extractRawValues(path), equalTo(XContentMapValues.extractRawValues(path, fullSource)));
+        }
+        assertThat(sourceLookup.get("object"), equalTo(fullSource.get("object")));
+        assertThat(sourceLookup.get("object.field"), equalTo(2));
+        assertThat(sourceLookup.get("missing"), nullValue());
+        assertThat(sourceLookup.sourceContentType(), equalTo(XContentType.JSON));
+        assertThat(sourceLookup.source(), equalTo(fullSource));
+    }
+
+    public void testExtractValuesFromDocumentsOfMixedContentTypes() throws IOException {
+        List<XContentType> contentTypes = new ArrayList<>(
+            List.of(XContentType.JSON, XContentType.SMILE, XContentType.CBOR, XContentType.YAML)
+        );
+        Collections.shuffle(contentTypes, random());
+        try (Directory dir = newDirectory(); IndexWriter iw = new IndexWriter(dir, new IndexWriterConfig())) {
+            for (int i = 0; i < contentTypes.size() * 2; i++) {
+                XContentBuilder source = XContentFactory.contentBuilder(contentTypes.get(i % contentTypes.size()))
+                    .startObject()
+                    .field("field", i)
+                    .field("other", randomAlphaOfLength(10))
+                    .endObject();
+                Document doc = new Document();
+                doc.add(new StoredField(SourceFieldMapper.NAME, BytesReference.toBytes(BytesReference.bytes(source))));
+                iw.addDocument(doc);
+            }
+            iw.forceMerge(1);
+            try (DirectoryReader reader = DirectoryReader.open(iw)) {
+                LeafReaderContext context = reader.leaves().get(0);
+                SourceLookup sourceLookup = new SourceLookup();
+                for (int docId = 0; docId < context.reader().maxDoc(); docId++) {
+                    sourceLookup.setSegmentAndDocument(context, docId);
+                    assertThat(sourceLookup.extractValue("field", null), equalTo(docId));
+                    assertThat(sourceLookup.sourceContentType(), equalTo(contentTypes.get(docId % contentTypes.size())));
+                }
+            }
+        }
+    }
+
+    public void testCompileFilters() {
+        assertThat(SourceLookup.compileFilters("field"), arrayWithSize(1));
+        assertThat(SourceLookup.compileFilters("object.field"), arrayWithSize(2));
+        assertThat(SourceLookup.compileFilters("a.b.c.d.e"), arrayWithSize(16));
+        assertThat(SourceLookup.compileFilters("a.b.c.d.e.f"), nullValue());
+        assertThat(SourceLookup.compileFilters("object.*"), nullValue());
+        assertThat(SourceLookup.compileFilters("object..field"), nullValue());
+        assertThat(SourceLookup.compileFilters(""), nullValue());
+    }
+}
@@ -79,6 +79,13 @@ public final class CcrSettings {
         Setting.positiveTimeSetting("ccr.indices.recovery.internal_action_timeout", TimeValue.timeValueSeconds(60),
             Property.Dynamic, Property.NodeScope);
 
+    /**
+     * The maximum factor by which shard follow tasks may grow the number of operations fetched per read request while the follower lags
+     * behind the leader.
+     */
+    public static final Setting<Integer> CCR_MAX_READ_REQUEST_OPERATION_COUNT_MULTIPLIER = Setting.intSetting(
+        "ccr.max_read_request_operation_count_multiplier", 1, 1, 64, Property.Dynamic, Property.NodeScope);
+
     /**
      * The settings defined by CCR.
      *
@@ -94,7 +101,8 @@ public final class CcrSettings {
                 CCR_AUTO_FOLLOW_WAIT_FOR_METADATA_TIMEOUT,
                 RECOVERY_CHUNK_SIZE,
                 INDICES_RECOVERY_MAX_CONCURRENT_FILE_CHUNKS_SETTING,
-                CCR_WAIT_FOR_METADATA_TIMEOUT);
+                CCR_WAIT_FOR_METADATA_TIMEOUT,
+                CCR_MAX_READ_REQUEST_OPERATION_COUNT_MULTIPLIER);
     }
 
     private final CombinedRateLimiter ccrRateLimiter;
@@ -77,6 +77,7 @@ public abstract class ShardFollowNodeTask extends AllocatedPersistentTask {
     private long leaderMaxSeqNo;
     private long leaderMaxSeqNoOfUpdatesOrDeletes = SequenceNumbers.UNASSIGNED_SEQ_NO;
     private long lastRequestedSeqNo;
+    private int readRequestOperationCount;
     private long followerGlobalCheckpoint = 0;
     private long followerMaxSeqNo = 0;
     private int numOutstandingReads = 0;
@@ -114,6 +115,7 @@ public abstract class ShardFollowNodeTask extends AllocatedPersistentTask {
         this.params = params;
         this.scheduler = scheduler;
         this.relativeTimeProvider = relativeTimeProvider;
+        this.readRequestOperationCount = params.getMaxReadRequestOperationCount();
         /*
          * We keep track of the most recent fetch exceptions, with the number of exceptions that we track equal to the maximum number of
          * concurrent fetches. For each failed fetch, we track the from sequence number associated with the request, and we clear the entry
@@ -205,18 +207,17 @@ public abstract class ShardFollowNodeTask extends AllocatedPersistentTask {
             numOutstandingReads++;
             sendShardChangesRequest(fromSeqNo, requestOpCount, maxRequiredSeqNo);
         }
-        final int maxReadRequestOperationCount = params.getMaxReadRequestOperationCount();
         while (hasReadBudget() && lastRequestedSeqNo < leaderGlobalCheckpoint) {
             final long from = lastRequestedSeqNo + 1;
-            final long maxRequiredSeqNo = Math.min(leaderGlobalCheckpoint, from + maxReadRequestOperationCount - 1);
+            final long maxRequiredSeqNo = Math.min(leaderGlobalCheckpoint, from + readRequestOperationCount - 1);
             final int requestOpCount;
             if (numOutstandingReads == 0) {
                 // This is the only request, we can optimistically fetch more documents if possible but not enforce max_required_seqno.
-                requestOpCount = maxReadRequestOperationCount;
+                requestOpCount = readRequestOperationCount;
             } else {
                 requestOpCount = Math.toIntExact(maxRequiredSeqNo - from + 1);
             }
-            assert 0 < requestOpCount && requestOpCount <= maxReadRequestOperationCount : "read_request_operation_count=" + requestOpCount;
+            assert 0 < requestOpCount && requestOpCount <= readRequestOperationCount : "read_request_operation_count=" + requestOpCount;
             LOGGER.trace("{}[{} ongoing reads] read from_seqno={} max_required_seqno={} batch_count={}",
                 params.getFollowShardId(), numOutstandingReads, from, maxRequiredSeqNo, requestOpCount);
             numOutstandingReads++;
@@ -231,7 +232,7 @@ public abstract class ShardFollowNodeTask extends AllocatedPersistentTask {
             numOutstandingReads++;
             long from = lastRequestedSeqNo + 1;
             LOGGER.trace("{}[{}] peek read [{}]", params.getFollowShardId(), numOutstandingReads, from);
-            sendShardChangesRequest(from, maxReadRequestOperationCount, lastRequestedSeqNo);
+            sendShardChangesRequest(from, readRequestOperationCount, lastRequestedSeqNo);
         }
     }
 
@@ -394,15 +395,44 @@ public abstract class ShardFollowNodeTask extends AllocatedPersistentTask {
                 "] is larger than the global checkpoint [" + leaderGlobalCheckpoint + "]";
             coordinateWrites();
         }
-        if (newFromSeqNo <= maxRequiredSeqNo) {
+        final boolean partialResponse = newFromSeqNo <= maxRequiredSeqNo;
+        if (partialResponse) {
             LOGGER.trace("{} received [{}] operations, enqueue partial read request [{}/{}]",
                 params.getFollowShardId(), response.getOperations().length, newFromSeqNo, maxRequiredSeqNo);
             partialReadRequests.add(Tuple.tuple(newFromSeqNo, maxRequiredSeqNo));
         }
+        adaptReadRequestOperationCount(partialResponse && response.getOperations().length > 0);
         numOutstandingReads--;
         coordinateReads();
     }
 
+    /**
+     * Grows the number of operations fetched per read request while the follower lags further behind the leader than the outstanding read
+     * requests can cover, so that a large backlog is fetched in fewer round trips to the remote cluster. Shrinks it back towards the
+     * configured {@code max_read_request_operation_count} once the responses are truncated by {@code max_read_request_size} or the
+     * follower has caught up.
+     */
+    private void adaptReadRequestOperationCount(boolean truncatedResponse) {
+        assert Thread.holdsLock(this);
+        final int configuredCount = params.getMaxReadRequestOperationCount();
+        final long maxCount = Math.max(
+            configuredCount,
+            Math.min(Math.min((long) configuredCount * getMaxReadRequestOperationCountMultiplier(), params.getMaxWriteBufferCount()),
+                Integer.MAX_VALUE)
+        );
+        final long lag = leaderGlobalCheckpoint - lastRequestedSeqNo;
+        final int previousCount = readRequestOperationCount;
+        if (truncatedResponse || lag <= configuredCount) {
+            readRequestOperationCount = Math.max(configuredCount, readRequestOperationCount / 2);
+        } else if (lag > (long) readRequestOperationCount * params.getMaxOutstandingReadRequests()) {
+            readRequestOperationCount = Math.toIntExact(Math.min(maxCount, 2L * readRequestOperationCount));
+        }
+        if (previousCount != readRequestOperationCount) {
+            LOGGER.trace("{} adapted read request operation count from [{}] to [{}], lag=[{}]",
+                params.getFollowShardId(), previousCount, readRequestOperationCount, lag);
+        }
+    }
+
     private void sendBulkShardOperationsRequest(List<Translog.Operation> operations, long leaderMaxSeqNoOfUpdatesOrDeletes,
                                                 AtomicInteger retryCounter) {
         assert leaderMaxSeqNoOfUpdatesOrDeletes != SequenceNumbers.UNASSIGNED_SEQ_NO : "mus is not replicated";
@@ -600,6 +630,14 @@ public abstract class ShardFollowNodeTask extends AllocatedPersistentTask {
 
     protected abstract Scheduler.Cancellable scheduleBackgroundRetentionLeaseRenewal(LongSupplier followerGlobalCheckpoint);
 
+    /**
+     * @return how many times larger than {@code max_read_request_operation_count} read requests may grow while the follower lags behind
+     *         the leader, {@code 1} disables the adaptive sizing of read requests
+     */
+    protected int getMaxReadRequestOperationCountMultiplier() {
+        return 1;
+    }
+
     @Override
     protected void onCancelled() {
         synchronized (this) {
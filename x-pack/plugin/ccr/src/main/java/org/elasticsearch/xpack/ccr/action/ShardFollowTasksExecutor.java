@@ -98,6 +98,7 @@ public class ShardFollowTasksExecutor extends PersistentTasksExecutor<ShardFollo
     private final IndexScopedSettings indexScopedSettings;
     private final TimeValue retentionLeaseRenewInterval;
     private volatile TimeValue waitForMetadataTimeOut;
+    private volatile int maxReadRequestOperationCountMultiplier;
 
     public ShardFollowTasksExecutor(Client client,
                                     ThreadPool threadPool,
@@ -112,6 +113,10 @@ public class ShardFollowTasksExecutor extends PersistentTasksExecutor<ShardFollo
         this.waitForMetadataTimeOut = CcrSettings.CCR_WAIT_FOR_METADATA_TIMEOUT.get(settingsModule.getSettings());
         clusterService.getClusterSettings().addSettingsUpdateConsumer(CcrSettings.CCR_WAIT_FOR_METADATA_TIMEOUT,
             newVal -> this.waitForMetadataTimeOut = newVal);
+        this.maxReadRequestOperationCountMultiplier =
+            CcrSettings.CCR_MAX_READ_REQUEST_OPERATION_COUNT_MULTIPLIER.get(settingsModule.getSettings());
+        clusterService.getClusterSettings().addSettingsUpdateConsumer(CcrSettings.CCR_MAX_READ_REQUEST_OPERATION_COUNT_MULTIPLIER,
+            newVal -> this.maxReadRequestOperationCountMultiplier = newVal);
     }
 
     @Override
@@ -411,6 +416,11 @@ public class ShardFollowTasksExecutor extends PersistentTasksExecutor<ShardFollo
                 }
             }
 
+            @Override
+            protected int getMaxReadRequestOperationCountMultiplier() {
+                return maxReadRequestOperationCountMultiplier;
+            }
+
             @Override
             protected Scheduler.Cancellable scheduleBackgroundRetentionLeaseRenewal(final LongSupplier followerGlobalCheckpoint) {
                 final String retentionLeaseId = CcrRetentionLeases.retentionLeaseId(
@@ -107,6 +107,31 @@ public class ShardFollowNodeTaskTests extends ESTestCase {
         assertThat(status.lastRequestedSeqNo(), equalTo(60L));
     }
 
+    public void testAdaptiveReadRequestOperationCount() {
+        ShardFollowTaskParams params = new ShardFollowTaskParams();
+        params.maxReadRequestOperationCount = 8;
+        params.maxOutstandingReadRequests = 1;
+        params.maxReadRequestOperationCountMultiplier = 4;
+
+        // read requests grow while the follower lags behind, up to the multiplier
+        ShardFollowNodeTask task = createShardFollowTask(params);
+        startTask(task, 1000, -1);
+        task.coordinateReads();
+        task.innerHandleReadResponse(0L, 7L, generateShardChangesResponse(0, 7, 0L, 0L, 1L, 1000L));
+        task.innerHandleReadResponse(8L, 23L, generateShardChangesResponse(8, 23, 0L, 0L, 1L, 1000L));
+        task.innerHandleReadResponse(24L, 55L, generateShardChangesResponse(24, 55, 0L, 0L, 1L, 1000L));
+        assertThat(shardChangesRequests, contains(new long[][]{{0L, 8L}, {8L, 16L}, {24L, 32L}, {56L, 32L}}));
+
+        // and shrink back once the follower has caught up
+        task = createShardFollowTask(params);
+        startTask(task, 40, -1);
+        task.coordinateReads();
+        task.innerHandleReadResponse(0L, 7L, generateShardChangesResponse(0, 7, 0L, 0L, 1L, 40L));
+        task.innerHandleReadResponse(8L, 23L, generateShardChangesResponse(8, 23, 0L, 0L, 1L, 40L));
+        task.innerHandleReadResponse(24L, 40L, generateShardChangesResponse(24, 40, 0L, 0L, 1L, 40L));
+        assertThat(shardChangesRequests, contains(new long[][]{{0L, 8L}, {8L, 16L}, {24L, 32L}, {41L, 16L}}));
+    }
+
     public void testMaxWriteBufferCount() {
         ShardFollowTaskParams params = new ShardFollowTaskParams();
         params.maxReadRequestOperationCount = 64;
@@ -1255,6 +1280,7 @@ public class ShardFollowNodeTaskTests extends ESTestCase {
         private TimeValue maxRetryDelay = TimeValue.ZERO;
         private TimeValue readPollTimeout = TimeValue.ZERO;
         private Map<String, String> headers = Collections.emptyMap();
+        private int maxReadRequestOperationCountMultiplier = 1;
     }
 
     private ShardFollowNodeTask createShardFollowTask(ShardFollowTaskParams params) {
@@ -1294,6 +1320,11 @@ public class ShardFollowNodeTaskTests extends ESTestCase {
         return new ShardFollowNodeTask(
                 1L, "type", ShardFollowTask.NAME, "description", null, Collections.emptyMap(), followTask, scheduler, System::nanoTime) {
 
+            @Override
+            protected int getMaxReadRequestOperationCountMultiplier() {
+                return params.maxReadRequestOperationCountMultiplier;
+            }
+
             @Override
             protected void innerUpdateMapping(long minRequiredMappingVersion, LongConsumer handler, Consumer<Exception> errorHandler) {
                 Exception failure = mappingUpdateFailures.poll();
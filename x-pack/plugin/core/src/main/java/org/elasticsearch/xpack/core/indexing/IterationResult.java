@@ -7,7 +7,7 @@
 
 package org.elasticsearch.xpack.core.indexing;
 
-import org.elasticsearch.action.index.IndexRequest;
+import org.elasticsearch.action.DocWriteRequest;
 
 import java.util.stream.Stream;
 
@@ -19,7 +19,7 @@ public class IterationResult<JobPosition> {
 
     private final boolean isDone;
     private final JobPosition position;
-    private final Stream<IndexRequest> toIndex;
+    private final Stream<? extends DocWriteRequest<?>> toIndex;
 
     /**
      * Constructor for the result of 1 iteration.
@@ -30,7 +30,7 @@ public class IterationResult<JobPosition> {
      *
      * Note: toIndex.empty() != isDone due to possible filtering in the specific implementation
      */
-    public IterationResult(Stream<IndexRequest> toIndex, JobPosition position, boolean isDone) {
+    public IterationResult(Stream<? extends DocWriteRequest<?>> toIndex, JobPosition position, boolean isDone) {
         this.toIndex = toIndex;
         this.position = position;
         this.isDone = isDone;
@@ -55,9 +55,9 @@ public class IterationResult<JobPosition> {
     /**
      * Stream of requests to be passed to bulk indexing.
      *
-     * @return Stream of index requests.
+     * @return Stream of index or update requests.
      */
-    public Stream<IndexRequest> getToIndex() {
+    public Stream<? extends DocWriteRequest<?>> getToIndex() {
         return toIndex;
     }
 }
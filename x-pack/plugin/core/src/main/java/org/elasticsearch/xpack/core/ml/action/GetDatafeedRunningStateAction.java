@@ -6,6 +6,7 @@
  */
 package org.elasticsearch.xpack.core.ml.action;
 
+import org.elasticsearch.Version;
 import org.elasticsearch.action.ActionType;
 import org.elasticsearch.action.support.tasks.BaseTasksRequest;
 import org.elasticsearch.action.support.tasks.BaseTasksResponse;
@@ -76,15 +77,46 @@ public class GetDatafeedRunningStateAction extends ActionType<GetDatafeedRunning
             private final boolean realTimeConfigured;
             // Has the look back finished and are we now running on "real-time" data
             private final boolean realTimeRunning;
+            // The number of records extracted since the datafeed started on this node, and the time spent waiting for them
+            private final long extractedRecordCount;
+            private final long extractionTimeMs;
 
             public RunningState(boolean realTimeConfigured, boolean realTimeRunning) {
+                this(realTimeConfigured, realTimeRunning, 0L, 0L);
+            }
+
+            public RunningState(boolean realTimeConfigured, boolean realTimeRunning, long extractedRecordCount, long extractionTimeMs) {
                 this.realTimeConfigured = realTimeConfigured;
                 this.realTimeRunning = realTimeRunning;
+                this.extractedRecordCount = extractedRecordCount;
+                this.extractionTimeMs = extractionTimeMs;
             }
 
             public RunningState(StreamInput in) throws IOException {
                 this.realTimeConfigured = in.readBoolean();
                 this.realTimeRunning = in.readBoolean();
+                if (in.getVersion().onOrAfter(Version.V_8_0_0)) {
+                    this.extractedRecordCount = in.readVLong();
+                    this.extractionTimeMs = in.readVLong();
+                } else {
+                    this.extractedRecordCount = 0L;
+                    this.extractionTimeMs = 0L;
+                }
+            }
+
+            public long getExtractedRecordCount() {
+                return extractedRecordCount;
+            }
+
+            public long getExtractionTimeMs() {
+                return extractionTimeMs;
+            }
+
+            /**
+             * The rate at which records were extracted while the datafeed waited for them, or 0 if nothing was extracted yet.
+             */
+            public double getExtractedRecordsPerSecond() {
+                return extractionTimeMs > 0 ? extractedRecordCount * 1000.0 / extractionTimeMs : 0.0;
             }
 
             @Override
@@ -92,18 +124,25 @@ public class GetDatafeedRunningStateAction extends ActionType<GetDatafeedRunning
                 if (this == o) return true;
                 if (o == null || getClass() != o.getClass()) return false;
                 RunningState that = (RunningState) o;
-                return realTimeConfigured == that.realTimeConfigured && realTimeRunning == that.realTimeRunning;
+                return realTimeConfigured == that.realTimeConfigured
+                    && realTimeRunning == that.realTimeRunning
+                    && extractedRecordCount == that.extractedRecordCount
+                    && extractionTimeMs == that.extractionTimeMs;
             }
 
             @Override
             public int hashCode() {
-                return Objects.hash(realTimeConfigured, realTimeRunning);
+                return Objects.hash(realTimeConfigured, realTimeRunning, extractedRecordCount, extractionTimeMs);
             }
 
             @Override
             public void writeTo(StreamOutput out) throws IOException {
                 out.writeBoolean(realTimeConfigured);
                 out.writeBoolean(realTimeRunning);
+                if (out.getVersion().onOrAfter(Version.V_8_0_0)) {
+                    out.writeVLong(extractedRecordCount);
+                    out.writeVLong(extractionTimeMs);
+                }
             }
 
             @Override
@@ -111,6 +150,9 @@ public class GetDatafeedRunningStateAction extends ActionType<GetDatafeedRunning
                 builder.startObject();
                 builder.field("real_time_configured", realTimeConfigured);
                 builder.field("real_time_running", realTimeRunning);
+                builder.field("extracted_record_count", extractedRecordCount);
+                builder.field("extraction_time_ms", extractionTimeMs);
+                builder.field("extracted_records_per_second", getExtractedRecordsPerSecond());
                 builder.endObject();
                 return builder;
             }
@@ -128,20 +128,39 @@ public class GetDeploymentStatsAction extends ActionType<GetDeploymentStatsActio
                 private final Long inferenceCount;
                 private final Double avgInferenceTime;
                 private final Instant lastAccess;
+                private final Integer queueDepth;
+                private final Long latencyP50;
+                private final Long latencyP95;
+                private final Long latencyP99;
                 private final RoutingStateAndReason routingState;
 
                 public static NodeStats forStartedState(DiscoveryNode node,
                                                  long inferenceCount,
                                                  double avgInferenceTime,
                                                  Instant lastAccess) {
-                    return new NodeStats(node, inferenceCount, avgInferenceTime, lastAccess,
-                        new RoutingStateAndReason(RoutingState.STARTED, null));
+                    return forStartedState(node, inferenceCount, avgInferenceTime, lastAccess, null, null, null, null);
+                }
+
+                /**
+                 * The latencies are the percentiles of the time the recent inference
+                 * calls took from being received on the node to being answered.
+                 */
+                public static NodeStats forStartedState(DiscoveryNode node,
+                                                 long inferenceCount,
+                                                 double avgInferenceTime,
+                                                 Instant lastAccess,
+                                                 @Nullable Integer queueDepth,
+                                                 @Nullable Long latencyP50,
+                                                 @Nullable Long latencyP95,
+                                                 @Nullable Long latencyP99) {
+                    return new NodeStats(node, inferenceCount, avgInferenceTime, lastAccess, queueDepth,
+                        latencyP50, latencyP95, latencyP99, new RoutingStateAndReason(RoutingState.STARTED, null));
                 }
 
                 public static NodeStats forNotStartedState(DiscoveryNode node,
                                                            RoutingState state,
                                                            String reason) {
-                    return new NodeStats(node, null, null, null,
+                    return new NodeStats(node, null, null, null, null, null, null, null,
                         new RoutingStateAndReason(state, reason));
                 }
 
@@ -149,11 +168,19 @@ public class GetDeploymentStatsAction extends ActionType<GetDeploymentStatsActio
                                  Long inferenceCount,
                                  Double avgInferenceTime,
                                  Instant lastAccess,
+                                 Integer queueDepth,
+                                 Long latencyP50,
+                                 Long latencyP95,
+                                 Long latencyP99,
                                  RoutingStateAndReason routingState) {
                     this.node = node;
                     this.inferenceCount = inferenceCount;
                     this.avgInferenceTime = avgInferenceTime;
                     this.lastAccess = lastAccess;
+                    this.queueDepth = queueDepth;
+                    this.latencyP50 = latencyP50;
+                    this.latencyP95 = latencyP95;
+                    this.latencyP99 = latencyP99;
                     this.routingState = routingState;
 
                     // if lastAccess time is null there have been no inferences
@@ -165,6 +192,10 @@ public class GetDeploymentStatsAction extends ActionType<GetDeploymentStatsActio
                     this.inferenceCount = in.readOptionalLong();
                     this.avgInferenceTime = in.readOptionalDouble();
                     this.lastAccess = in.readOptionalInstant();
+                    this.queueDepth = in.readOptionalVInt();
+                    this.latencyP50 = in.readOptionalVLong();
+                    this.latencyP95 = in.readOptionalVLong();
+                    this.latencyP99 = in.readOptionalVLong();
                     this.routingState = in.readOptionalWriteable(RoutingStateAndReason::new);
                 }
 
@@ -194,6 +225,16 @@ public class GetDeploymentStatsAction extends ActionType<GetDeploymentStatsActio
                     if (lastAccess != null) {
                         builder.timeField("last_access", "last_access_string", lastAccess.toEpochMilli());
                     }
+                    if (queueDepth != null) {
+                        builder.field("queue_depth", queueDepth);
+                    }
+                    if (latencyP50 != null) {
+                        builder.startObject("inference_latency_ms");
+                        builder.field("p50", latencyP50);
+                        builder.field("p95", latencyP95);
+                        builder.field("p99", latencyP99);
+                        builder.endObject();
+                    }
                     builder.endObject();
                     return builder;
                 }
@@ -204,6 +245,10 @@ public class GetDeploymentStatsAction extends ActionType<GetDeploymentStatsActio
                     out.writeOptionalLong(inferenceCount);
                     out.writeOptionalDouble(avgInferenceTime);
                     out.writeOptionalInstant(lastAccess);
+                    out.writeOptionalVInt(queueDepth);
+                    out.writeOptionalVLong(latencyP50);
+                    out.writeOptionalVLong(latencyP95);
+                    out.writeOptionalVLong(latencyP99);
                     out.writeOptionalWriteable(routingState);
                 }
 
@@ -216,12 +261,17 @@ public class GetDeploymentStatsAction extends ActionType<GetDeploymentStatsActio
                         Objects.equals(that.avgInferenceTime, avgInferenceTime) &&
                         Objects.equals(node, that.node) &&
                         Objects.equals(lastAccess, that.lastAccess) &&
+                        Objects.equals(queueDepth, that.queueDepth) &&
+                        Objects.equals(latencyP50, that.latencyP50) &&
+                        Objects.equals(latencyP95, that.latencyP95) &&
+                        Objects.equals(latencyP99, that.latencyP99) &&
                         Objects.equals(routingState, that.routingState);
                 }
 
                 @Override
                 public int hashCode() {
-                    return Objects.hash(node, inferenceCount, avgInferenceTime, lastAccess, routingState);
+                    return Objects.hash(node, inferenceCount, avgInferenceTime, lastAccess, queueDepth,
+                        latencyP50, latencyP95, latencyP99, routingState);
                 }
             }
 
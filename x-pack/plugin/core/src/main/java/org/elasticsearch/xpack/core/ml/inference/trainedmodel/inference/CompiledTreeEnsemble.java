@@ -0,0 +1,195 @@
+/*
+ * Copyright Elasticsearch B.V. and/or licensed to Elasticsearch B.V. under one
+ * or more contributor license agreements. Licensed under the Elastic License
+ * 2.0; you may not use this file except in compliance with the Elastic License
+ * 2.0.
+ */
+
+package org.elasticsearch.xpack.core.ml.inference.trainedmodel.inference;
+
+import org.apache.lucene.util.Accountable;
+import org.apache.lucene.util.RamUsageEstimator;
+import org.elasticsearch.common.Numbers;
+import org.elasticsearch.xpack.core.ml.job.config.Operator;
+
+import java.util.List;
+
+/**
+ * The trees of an ensemble compiled into flat arrays, so that finding the leaf of a tree walks primitive arrays
+ * indexed by node instead of following node objects.
+ *
+ * The nodes of all the trees are stored one tree after the other. For every node the arrays hold its split feature
+ * (or {@link #LEAF} for a leaf), threshold, operator, default direction and the absolute indices of its children.
+ * The values of the leaves are shared with the trees they were compiled from.
+ *
+ * The split features must already have been rewritten to index into the features of the top level ensemble.
+ */
+public final class CompiledTreeEnsemble implements Accountable {
+
+    private static final long SHALLOW_SIZE = RamUsageEstimator.shallowSizeOfInstance(CompiledTreeEnsemble.class);
+    private static final int LEAF = -1;
+
+    private static final byte OP_GT = 0;
+    private static final byte OP_GTE = 1;
+    private static final byte OP_LT = 2;
+    private static final byte OP_LTE = 3;
+
+    private final int[] roots;
+    private final int[] splitFeatures;
+    private final double[] thresholds;
+    private final byte[] operators;
+    private final boolean[] defaultLeft;
+    private final int[] leftChildren;
+    private final int[] rightChildren;
+    private final double[][] leafValues;
+
+    /**
+     * @return the compiled trees, or {@code null} if not all the models are trees
+     */
+    static CompiledTreeEnsemble compile(List<InferenceModel> models) {
+        int numNodes = 0;
+        for (InferenceModel model : models) {
+            if (model instanceof TreeInferenceModel == false) {
+                return null;
+            }
+            numNodes += ((TreeInferenceModel) model).getNodes().length;
+        }
+        return new CompiledTreeEnsemble(models, numNodes);
+    }
+
+    private CompiledTreeEnsemble(List<InferenceModel> trees, int numNodes) {
+        roots = new int[trees.size()];
+        splitFeatures = new int[numNodes];
+        thresholds = new double[numNodes];
+        operators = new byte[numNodes];
+        defaultLeft = new boolean[numNodes];
+        leftChildren = new int[numNodes];
+        rightChildren = new int[numNodes];
+        leafValues = new double[numNodes][];
+        int offset = 0;
+        for (int t = 0; t < roots.length; t++) {
+            TreeInferenceModel.Node[] nodes = ((TreeInferenceModel) trees.get(t)).getNodes();
+            roots[t] = offset;
+            for (int i = 0; i < nodes.length; i++) {
+                int node = offset + i;
+                if (nodes[i].isLeaf()) {
+                    splitFeatures[node] = LEAF;
+                    leafValues[node] = ((TreeInferenceModel.LeafNode) nodes[i]).getLeafValue();
+                } else {
+                    TreeInferenceModel.InnerNode innerNode = (TreeInferenceModel.InnerNode) nodes[i];
+                    splitFeatures[node] = innerNode.getSplitFeature();
+                    thresholds[node] = innerNode.getThreshold();
+                    operators[node] = encode(innerNode.getOperator());
+                    defaultLeft[node] = innerNode.isDefaultLeft();
+                    leftChildren[node] = offset + innerNode.getLeftChild();
+                    rightChildren[node] = offset + innerNode.getRightChild();
+                }
+            }
+            offset += nodes.length;
+        }
+    }
+
+    /**
+     * Estimates {@link #ramBytesUsed()} for the given number of trees and nodes, leaves included.
+     */
+    public static long estimateRamBytesUsed(int numTrees, int numNodes) {
+        long size = SHALLOW_SIZE;
+        size += RamUsageEstimator.alignObjectSize(RamUsageEstimator.NUM_BYTES_ARRAY_HEADER + (long) Integer.BYTES * numTrees);
+        long intArray = RamUsageEstimator.alignObjectSize(RamUsageEstimator.NUM_BYTES_ARRAY_HEADER + (long) Integer.BYTES * numNodes);
+        long byteArray = RamUsageEstimator.alignObjectSize(RamUsageEstimator.NUM_BYTES_ARRAY_HEADER + (long) numNodes);
+        size += 3 * intArray;
+        size += RamUsageEstimator.alignObjectSize(RamUsageEstimator.NUM_BYTES_ARRAY_HEADER + (long) Double.BYTES * numNodes);
+        size += 2 * byteArray;
+        size += RamUsageEstimator.alignObjectSize(
+            RamUsageEstimator.NUM_BYTES_ARRAY_HEADER + (long) RamUsageEstimator.NUM_BYTES_OBJECT_REF * numNodes);
+        return size;
+    }
+
+    private static byte encode(Operator operator) {
+        switch (operator) {
+            case GT:
+                return OP_GT;
+            case GTE:
+                return OP_GTE;
+            case LT:
+                return OP_LT;
+            case LTE:
+                return OP_LTE;
+            default:
+                throw new IllegalArgumentException("unsupported operator [" + operator + "] for inference on tree model");
+        }
+    }
+
+    /**
+     * @return the leaf values of every tree for the given features
+     */
+    double[][] treeValues(double[] features) {
+        double[][] values = new double[roots.length][];
+        for (int t = 0; t < roots.length; t++) {
+            values[t] = leafValues[findLeaf(roots[t], features)];
+        }
+        return values;
+    }
+
+    /**
+     * Same as {@link #treeValues(double[])} for many documents. The documents are passed through one tree
+     * after the other, so that the nodes of a tree stay in the CPU caches for the whole batch.
+     *
+     * @return the leaf values of every tree, by document
+     */
+    double[][][] treeValues(double[][] features) {
+        double[][][] values = new double[features.length][roots.length][];
+        for (int t = 0; t < roots.length; t++) {
+            int root = roots[t];
+            for (int doc = 0; doc < features.length; doc++) {
+                values[doc][t] = leafValues[findLeaf(root, features[doc])];
+            }
+        }
+        return values;
+    }
+
+    private int findLeaf(int node, double[] features) {
+        int splitFeature;
+        while ((splitFeature = splitFeatures[node]) != LEAF) {
+            double feature = features[splitFeature];
+            boolean left;
+            if (Numbers.isValidDouble(feature) == false) {
+                left = defaultLeft[node];
+            } else {
+                // like Operator#test, so that -0.0 is lower than 0.0 as it is when the trees are walked node by node
+                int compare = Double.compare(feature, thresholds[node]);
+                switch (operators[node]) {
+                    case OP_GT:
+                        left = compare > 0;
+                        break;
+                    case OP_GTE:
+                        left = compare >= 0;
+                        break;
+                    case OP_LT:
+                        left = compare < 0;
+                        break;
+                    default:
+                        left = compare <= 0;
+                        break;
+                }
+            }
+            node = left ? leftChildren[node] : rightChildren[node];
+        }
+        return node;
+    }
+
+    @Override
+    public long ramBytesUsed() {
+        long size = SHALLOW_SIZE;
+        size += RamUsageEstimator.sizeOf(roots);
+        size += RamUsageEstimator.sizeOf(splitFeatures);
+        size += RamUsageEstimator.sizeOf(thresholds);
+        size += RamUsageEstimator.sizeOf(operators);
+        size += RamUsageEstimator.sizeOf(defaultLeft);
+        size += RamUsageEstimator.sizeOf(leftChildren);
+        size += RamUsageEstimator.sizeOf(rightChildren);
+        // the leaf values themselves are accounted for by the trees
+        size += RamUsageEstimator.shallowSizeOf(leafValues);
+        return size;
+    }
+}
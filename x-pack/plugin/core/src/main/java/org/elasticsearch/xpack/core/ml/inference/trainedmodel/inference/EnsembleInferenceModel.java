@@ -30,6 +30,7 @@ import org.elasticsearch.xpack.core.ml.inference.trainedmodel.ensemble.Leniently
 import org.elasticsearch.xpack.core.ml.inference.trainedmodel.ensemble.OutputAggregator;
 import org.elasticsearch.xpack.core.ml.utils.ExceptionsHelper;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
@@ -90,6 +91,8 @@ public class EnsembleInferenceModel implements InferenceModel {
     private final List<String> classificationLabels;
     private final double[] classificationWeights;
     private volatile boolean preparedForInference = false;
+    // set once the feature indices are rewritten, if all the models are trees
+    private volatile CompiledTreeEnsemble compiledTrees;
 
     private EnsembleInferenceModel(List<InferenceModel> models,
                                    OutputAggregator outputAggregator,
@@ -125,7 +128,23 @@ public class EnsembleInferenceModel implements InferenceModel {
         return innerInfer(features, config, Collections.emptyMap());
     }
 
-    private InferenceResults innerInfer(double[] features, InferenceConfig config, Map<String, String> featureDecoderMap) {
+    @Override
+    public List<InferenceResults> infer(double[][] features, InferenceConfig config) {
+        CompiledTreeEnsemble trees = compiledTrees;
+        if (trees == null || config.requestingImportance()) {
+            return InferenceModel.super.infer(features, config);
+        }
+        validateForInference(config);
+        double[][][] inferenceResults = trees.treeValues(features);
+        List<InferenceResults> results = new ArrayList<>(features.length);
+        for (int i = 0; i < features.length; i++) {
+            double[] processed = outputAggregator.processValues(inferenceResults[i]);
+            results.add(buildResults(processed, new double[features[i].length][], Collections.emptyMap(), config));
+        }
+        return results;
+    }
+
+    private void validateForInference(InferenceConfig config) {
         if (config.isTargetTypeSupported(targetType) == false) {
             throw ExceptionsHelper.badRequestException(
                 "Cannot infer using configuration for [{}] when model target_type is [{}]", config.getName(), targetType.toString());
@@ -133,11 +152,20 @@ public class EnsembleInferenceModel implements InferenceModel {
         if (preparedForInference == false) {
             throw ExceptionsHelper.serverError("model is not prepared for inference");
         }
+    }
+
+    private InferenceResults innerInfer(double[] features, InferenceConfig config, Map<String, String> featureDecoderMap) {
+        validateForInference(config);
         LOGGER.debug(
             () -> new ParameterizedMessage("Inference called with feature names [{}]", Strings.arrayToCommaDelimitedString(featureNames))
         );
-        double[][] inferenceResults = new double[this.models.size()][];
         double[][] featureInfluence = new double[features.length][];
+        CompiledTreeEnsemble trees = compiledTrees;
+        if (trees != null && config.requestingImportance() == false) {
+            double[] processed = outputAggregator.processValues(trees.treeValues(features));
+            return buildResults(processed, featureInfluence, featureDecoderMap, config);
+        }
+        double[][] inferenceResults = new double[this.models.size()][];
         int i = 0;
         NullInferenceConfig subModelInferenceConfig = new NullInferenceConfig(config.requestingImportance());
         for (InferenceModel model : models) {
@@ -257,6 +285,7 @@ public class EnsembleInferenceModel implements InferenceModel {
         for (InferenceModel model : models) {
             model.rewriteFeatureIndices(featureIndexMapping);
         }
+        this.compiledTrees = CompiledTreeEnsemble.compile(models);
     }
 
     private Set<String> subModelFeatures() {
@@ -283,6 +312,9 @@ public class EnsembleInferenceModel implements InferenceModel {
             size += RamUsageEstimator.sizeOf(classificationWeights);
         }
         size += outputAggregator.ramBytesUsed();
+        if (compiledTrees != null) {
+            size += compiledTrees.ramBytesUsed();
+        }
         return size;
     }
 
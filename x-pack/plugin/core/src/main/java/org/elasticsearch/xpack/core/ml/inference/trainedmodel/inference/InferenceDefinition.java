@@ -17,6 +17,7 @@ import org.elasticsearch.xpack.core.ml.inference.trainedmodel.InferenceConfig;
 import org.elasticsearch.xpack.core.ml.inference.trainedmodel.TargetType;
 import org.elasticsearch.xpack.core.ml.utils.ExceptionsHelper;
 
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
@@ -83,6 +84,29 @@ public class InferenceDefinition {
             config.requestingImportance() ? getDecoderMap() : Collections.emptyMap());
     }
 
+    /**
+     * Infers against many documents at once. For ensembles the features of every document are extracted into
+     * an array once and the ensemble evaluates all of them together.
+     */
+    public List<InferenceResults> infer(List<Map<String, Object>> documents, InferenceConfig config) {
+        if (config.requestingImportance() || trainedModel instanceof EnsembleInferenceModel == false) {
+            // feature importance needs the decoder map, which is only applied per document
+            List<InferenceResults> results = new ArrayList<>(documents.size());
+            for (Map<String, Object> fields : documents) {
+                results.add(infer(fields, config));
+            }
+            return results;
+        }
+        String[] featureNames = trainedModel.getFeatureNames();
+        double[][] features = new double[documents.size()][];
+        for (int i = 0; i < features.length; i++) {
+            Map<String, Object> fields = documents.get(i);
+            preProcess(fields);
+            features[i] = InferenceModel.extractFeatures(featureNames, fields);
+        }
+        return trainedModel.infer(features, config);
+    }
+
     public TargetType getTargetType() {
         return this.trainedModel.targetType();
     }
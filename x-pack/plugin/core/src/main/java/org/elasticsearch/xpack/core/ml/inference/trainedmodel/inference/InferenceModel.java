@@ -14,6 +14,8 @@ import org.elasticsearch.xpack.core.ml.inference.trainedmodel.InferenceConfig;
 import org.elasticsearch.xpack.core.ml.inference.trainedmodel.InferenceHelpers;
 import org.elasticsearch.xpack.core.ml.inference.trainedmodel.TargetType;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
 
 public interface InferenceModel extends Accountable {
@@ -55,6 +57,21 @@ public interface InferenceModel extends Accountable {
      */
     InferenceResults infer(double[] features, InferenceConfig config);
 
+    /**
+     * Same as {@link InferenceModel#infer(double[], InferenceConfig)} for many documents at once.
+     * Models may override it when evaluating the documents together is cheaper than one at a time.
+     *
+     * @param features The already extracted features of each document
+     * @return The results in the order of the documents
+     */
+    default List<InferenceResults> infer(double[][] features, InferenceConfig config) {
+        List<InferenceResults> results = new ArrayList<>(features.length);
+        for (double[] documentFeatures : features) {
+            results.add(infer(documentFeatures, config));
+        }
+        return results;
+    }
+
     /**
      * @return Does the model support feature importance
      */
@@ -523,6 +523,30 @@ public class TreeInferenceModel implements InferenceModel {
             return numberSamples;
         }
 
+        Operator getOperator() {
+            return operator;
+        }
+
+        double getThreshold() {
+            return threshold;
+        }
+
+        int getSplitFeature() {
+            return splitFeature;
+        }
+
+        boolean isDefaultLeft() {
+            return defaultLeft;
+        }
+
+        int getLeftChild() {
+            return leftChild;
+        }
+
+        int getRightChild() {
+            return rightChild;
+        }
+
         private static boolean isMissing(double feature) {
             return Numbers.isValidDouble(feature) == false;
         }
@@ -181,6 +181,16 @@ public class RollupIndexerAction extends ActionType<RollupIndexerAction.Response
             return request.getRollupRequest().getRollupConfig();
         }
 
+        @Override
+        public Task createTask(long id, String type, String action, TaskId parentTaskId, Map<String, String> headers) {
+            return new RollupShardTask(id, type, action, getDescription(), parentTaskId, headers);
+        }
+
+        @Override
+        public String getDescription() {
+            return "rollup shard [" + shardId() + "] into [" + getRollupIndex() + "]";
+        }
+
         @Override
         public void writeTo(StreamOutput out) throws IOException {
             super.writeTo(out);
@@ -0,0 +1,143 @@
+/*
+ * Copyright Elasticsearch B.V. and/or licensed to Elasticsearch B.V. under one
+ * or more contributor license agreements. Licensed under the Elastic License
+ * 2.0; you may not use this file except in compliance with the Elastic License
+ * 2.0.
+ */
+package org.elasticsearch.xpack.core.rollup.action;
+
+import org.elasticsearch.common.io.stream.StreamInput;
+import org.elasticsearch.common.io.stream.StreamOutput;
+import org.elasticsearch.tasks.Task;
+import org.elasticsearch.xcontent.XContentBuilder;
+
+import java.io.IOException;
+import java.util.Objects;
+
+/**
+ * The progress of rolling up a single shard of the source index, as reported by the task of the shard request.
+ */
+public class RollupShardStatus implements Task.Status {
+
+    public static final String NAME = "rollup-shard";
+
+    private static final String TOTAL_DOCS_FIELD = "total_docs";
+    private static final String NUM_RECEIVED_FIELD = "num_received";
+    private static final String NUM_SENT_FIELD = "num_sent";
+    private static final String NUM_INDEXED_FIELD = "num_indexed";
+    private static final String NUM_FAILED_FIELD = "num_failed";
+    private static final String ELAPSED_MILLIS_FIELD = "elapsed_millis";
+    private static final String DOCS_PER_SECOND_FIELD = "docs_per_second";
+
+    private final long totalDocs;
+    private final long numReceived;
+    private final long numSent;
+    private final long numIndexed;
+    private final long numFailed;
+    private final long elapsedMillis;
+
+    public RollupShardStatus(long totalDocs, long numReceived, long numSent, long numIndexed, long numFailed, long elapsedMillis) {
+        this.totalDocs = totalDocs;
+        this.numReceived = numReceived;
+        this.numSent = numSent;
+        this.numIndexed = numIndexed;
+        this.numFailed = numFailed;
+        this.elapsedMillis = elapsedMillis;
+    }
+
+    public RollupShardStatus(StreamInput in) throws IOException {
+        this.totalDocs = in.readVLong();
+        this.numReceived = in.readVLong();
+        this.numSent = in.readVLong();
+        this.numIndexed = in.readVLong();
+        this.numFailed = in.readVLong();
+        this.elapsedMillis = in.readVLong();
+    }
+
+    /**
+     * The number of documents of the shard that are rolled up.
+     */
+    public long getTotalDocs() {
+        return totalDocs;
+    }
+
+    /**
+     * The number of documents of the shard that have been collected into buckets so far.
+     */
+    public long getNumReceived() {
+        return numReceived;
+    }
+
+    /**
+     * The number of rollup documents that have been sent to the rollup index.
+     */
+    public long getNumSent() {
+        return numSent;
+    }
+
+    public long getNumIndexed() {
+        return numIndexed;
+    }
+
+    public long getNumFailed() {
+        return numFailed;
+    }
+
+    public long getElapsedMillis() {
+        return elapsedMillis;
+    }
+
+    /**
+     * The rate at which source documents have been collected, or 0 if the rollup just started.
+     */
+    public double getDocsPerSecond() {
+        return elapsedMillis > 0 ? numReceived * 1000.0 / elapsedMillis : 0.0;
+    }
+
+    @Override
+    public String getWriteableName() {
+        return NAME;
+    }
+
+    @Override
+    public void writeTo(StreamOutput out) throws IOException {
+        out.writeVLong(totalDocs);
+        out.writeVLong(numReceived);
+        out.writeVLong(numSent);
+        out.writeVLong(numIndexed);
+        out.writeVLong(numFailed);
+        out.writeVLong(elapsedMillis);
+    }
+
+    @Override
+    public XContentBuilder toXContent(XContentBuilder builder, Params params) throws IOException {
+        builder.startObject();
+        builder.field(TOTAL_DOCS_FIELD, totalDocs);
+        builder.field(NUM_RECEIVED_FIELD, numReceived);
+        builder.field(NUM_SENT_FIELD, numSent);
+        builder.field(NUM_INDEXED_FIELD, numIndexed);
+        builder.field(NUM_FAILED_FIELD, numFailed);
+        builder.field(ELAPSED_MILLIS_FIELD, elapsedMillis);
+        builder.field(DOCS_PER_SECOND_FIELD, getDocsPerSecond());
+        builder.endObject();
+        return builder;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        RollupShardStatus that = (RollupShardStatus) o;
+        return totalDocs == that.totalDocs
+            && numReceived == that.numReceived
+            && numSent == that.numSent
+            && numIndexed == that.numIndexed
+            && numFailed == that.numFailed
+            && elapsedMillis == that.elapsedMillis;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(totalDocs, numReceived, numSent, numIndexed, numFailed, elapsedMillis);
+    }
+}
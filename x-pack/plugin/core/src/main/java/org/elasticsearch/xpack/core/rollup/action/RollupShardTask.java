@@ -0,0 +1,61 @@
+/*
+ * Copyright Elasticsearch B.V. and/or licensed to Elasticsearch B.V. under one
+ * or more contributor license agreements. Licensed under the Elastic License
+ * 2.0; you may not use this file except in compliance with the Elastic License
+ * 2.0.
+ */
+package org.elasticsearch.xpack.core.rollup.action;
+
+import org.elasticsearch.tasks.CancellableTask;
+import org.elasticsearch.tasks.TaskId;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * The task of rolling up a single shard, which keeps track of the progress of the shard indexer.
+ */
+public class RollupShardTask extends CancellableTask {
+    private volatile long totalDocs;
+    private final AtomicLong numReceived = new AtomicLong();
+    private final AtomicLong numSent = new AtomicLong();
+    private final AtomicLong numIndexed = new AtomicLong();
+    private final AtomicLong numFailed = new AtomicLong();
+
+    public RollupShardTask(long id, String type, String action, String description, TaskId parentTask, Map<String, String> headers) {
+        super(id, type, action, description, parentTask, headers);
+    }
+
+    public void setTotalDocs(long totalDocs) {
+        this.totalDocs = totalDocs;
+    }
+
+    public void addNumReceived(long count) {
+        numReceived.addAndGet(count);
+    }
+
+    public void addNumSent(long count) {
+        numSent.addAndGet(count);
+    }
+
+    public void addNumIndexed(long count) {
+        numIndexed.addAndGet(count);
+    }
+
+    public void addNumFailed(long count) {
+        numFailed.addAndGet(count);
+    }
+
+    @Override
+    public RollupShardStatus getStatus() {
+        return new RollupShardStatus(
+            totalDocs,
+            numReceived.get(),
+            numSent.get(),
+            numIndexed.get(),
+            numFailed.get(),
+            TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - getStartTimeNanos())
+        );
+    }
+}
@@ -147,6 +147,9 @@ public class SearchableSnapshotShardStats implements Writeable, ToXContentObject
         private final Counter blobStoreBytesRequested;
         private final Counter luceneBytesRead;
         private final long currentIndexCacheFills;
+        private final Counter readAheadBytes;
+        private final Counter readAheadHitBytes;
+        private final Counter prefetchedBytes;
 
         public CacheIndexInputStats(String fileExt, long numFiles, ByteSizeValue totalSize, ByteSizeValue minSize, ByteSizeValue maxSize,
                                     long openCount, long closeCount,
@@ -156,7 +159,8 @@ public class SearchableSnapshotShardStats implements Writeable, ToXContentObject
                                     Counter cachedBytesRead, Counter indexCacheBytesRead,
                                     TimedCounter cachedBytesWritten, TimedCounter directBytesRead, TimedCounter optimizedBytesRead,
                                     Counter blobStoreBytesRequested, Counter luceneBytesRead,
-                                    long currentIndexCacheFills) {
+                                    long currentIndexCacheFills,
+                                    Counter readAheadBytes, Counter readAheadHitBytes, Counter prefetchedBytes) {
             this.fileExt = fileExt;
             this.numFiles = numFiles;
             this.totalSize = totalSize;
@@ -178,6 +182,9 @@ public class SearchableSnapshotShardStats implements Writeable, ToXContentObject
             this.blobStoreBytesRequested = blobStoreBytesRequested;
             this.luceneBytesRead = luceneBytesRead;
             this.currentIndexCacheFills = currentIndexCacheFills;
+            this.readAheadBytes = readAheadBytes;
+            this.readAheadHitBytes = readAheadHitBytes;
+            this.prefetchedBytes = prefetchedBytes;
         }
 
         CacheIndexInputStats(final StreamInput in) throws IOException {
@@ -218,6 +225,15 @@ public class SearchableSnapshotShardStats implements Writeable, ToXContentObject
                 this.luceneBytesRead = new Counter(0, 0, 0, 0);
             }
             this.currentIndexCacheFills = in.readVLong();
+            if (in.getVersion().onOrAfter(Version.V_8_0_0)) {
+                this.readAheadBytes = new Counter(in);
+                this.readAheadHitBytes = new Counter(in);
+                this.prefetchedBytes = new Counter(in);
+            } else {
+                this.readAheadBytes = new Counter(0, 0, 0, 0);
+                this.readAheadHitBytes = new Counter(0, 0, 0, 0);
+                this.prefetchedBytes = new Counter(0, 0, 0, 0);
+            }
         }
 
         public static CacheIndexInputStats combine(CacheIndexInputStats cis1, CacheIndexInputStats cis2) {
@@ -247,7 +263,10 @@ public class SearchableSnapshotShardStats implements Writeable, ToXContentObject
                 cis1.optimizedBytesRead.add(cis2.optimizedBytesRead),
                 cis1.blobStoreBytesRequested.add(cis2.blobStoreBytesRequested),
                 cis1.luceneBytesRead.add(cis2.luceneBytesRead),
-                cis1.currentIndexCacheFills + cis2.currentIndexCacheFills
+                cis1.currentIndexCacheFills + cis2.currentIndexCacheFills,
+                cis1.readAheadBytes.add(cis2.readAheadBytes),
+                cis1.readAheadHitBytes.add(cis2.readAheadHitBytes),
+                cis1.prefetchedBytes.add(cis2.prefetchedBytes)
             );
         }
 
@@ -287,6 +306,11 @@ public class SearchableSnapshotShardStats implements Writeable, ToXContentObject
                 luceneBytesRead.writeTo(out);
             }
             out.writeVLong(currentIndexCacheFills);
+            if (out.getVersion().onOrAfter(Version.V_8_0_0)) {
+                readAheadBytes.writeTo(out);
+                readAheadHitBytes.writeTo(out);
+                prefetchedBytes.writeTo(out);
+            }
         }
 
         public String getFileExt() {
@@ -378,6 +402,18 @@ public class SearchableSnapshotShardStats implements Writeable, ToXContentObject
             return currentIndexCacheFills;
         }
 
+        public Counter getReadAheadBytes() {
+            return readAheadBytes;
+        }
+
+        public Counter getReadAheadHitBytes() {
+            return readAheadHitBytes;
+        }
+
+        public Counter getPrefetchedBytes() {
+            return prefetchedBytes;
+        }
+
         @Override
         public XContentBuilder toXContent(XContentBuilder builder, Params params) throws IOException {
             builder.startObject();
@@ -416,6 +452,9 @@ public class SearchableSnapshotShardStats implements Writeable, ToXContentObject
                 builder.field("blob_store_bytes_requested", getBlobStoreBytesRequested(), params);
                 builder.field("lucene_bytes_read", getLuceneBytesRead(), params);
                 builder.field("current_index_cache_fills", getCurrentIndexCacheFills());
+                builder.field("read_ahead_bytes", getReadAheadBytes(), params);
+                builder.field("read_ahead_hit_bytes", getReadAheadHitBytes(), params);
+                builder.field("prefetched_bytes", getPrefetchedBytes(), params);
             }
             return builder.endObject();
         }
@@ -449,7 +488,10 @@ public class SearchableSnapshotShardStats implements Writeable, ToXContentObject
                 && Objects.equals(optimizedBytesRead, stats.optimizedBytesRead)
                 && Objects.equals(blobStoreBytesRequested, stats.blobStoreBytesRequested)
                 && Objects.equals(luceneBytesRead, stats.luceneBytesRead)
-                && currentIndexCacheFills == stats.currentIndexCacheFills;
+                && currentIndexCacheFills == stats.currentIndexCacheFills
+                && Objects.equals(readAheadBytes, stats.readAheadBytes)
+                && Objects.equals(readAheadHitBytes, stats.readAheadHitBytes)
+                && Objects.equals(prefetchedBytes, stats.prefetchedBytes);
         }
 
         @Override
@@ -462,7 +504,8 @@ public class SearchableSnapshotShardStats implements Writeable, ToXContentObject
                 contiguousReads, nonContiguousReads,
                 cachedBytesRead, indexCacheBytesRead,
                 cachedBytesWritten, directBytesRead, optimizedBytesRead,
-                blobStoreBytesRequested, luceneBytesRead, currentIndexCacheFills);
+                blobStoreBytesRequested, luceneBytesRead, currentIndexCacheFills,
+                readAheadBytes, readAheadHitBytes, prefetchedBytes);
         }
     }
 
@@ -9,10 +9,15 @@ package org.elasticsearch.xpack.core.security.authz.accesscontrol;
 
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
+import org.apache.logging.log4j.message.ParameterizedMessage;
 import org.apache.lucene.index.IndexReader;
 import org.apache.lucene.index.IndexReaderContext;
 import org.apache.lucene.index.LeafReaderContext;
 import org.apache.lucene.index.ReaderUtil;
+import org.apache.lucene.search.BooleanClause;
+import org.apache.lucene.search.BooleanQuery;
+import org.apache.lucene.search.BoostQuery;
+import org.apache.lucene.search.ConstantScoreQuery;
 import org.apache.lucene.search.DocIdSetIterator;
 import org.apache.lucene.search.IndexSearcher;
 import org.apache.lucene.search.Query;
@@ -34,19 +39,28 @@ import org.elasticsearch.common.unit.ByteSizeValue;
 import org.elasticsearch.core.TimeValue;
 import org.elasticsearch.common.util.concurrent.ReleasableLock;
 import org.elasticsearch.common.util.set.Sets;
+import org.elasticsearch.index.IndexWarmer;
+import org.elasticsearch.index.shard.ShardId;
+import org.elasticsearch.index.shard.ShardUtils;
 import org.elasticsearch.threadpool.ThreadPool;
 
 import java.io.Closeable;
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
 import java.util.concurrent.locks.ReentrantReadWriteLock;
 
 /**
@@ -91,6 +105,13 @@ public final class DocumentSubsetBitsetCache implements IndexReader.ClosedListen
     static final Setting<ByteSizeValue> CACHE_SIZE_SETTING = Setting.memorySizeSetting("xpack.security.dls.bitset.cache.size",
             "10%", Property.NodeScope);
 
+    /**
+     * The number of distinct DLS queries most recently used on a shard that are warmed whenever new segments are exposed to searches on
+     * that shard, so that the first search after a refresh does not have to build their bitsets. Defaults to 0, which disables warming.
+     */
+    static final Setting<Integer> CACHE_WARM_QUERIES_SETTING = Setting.intSetting("xpack.security.dls.bitset.cache.warm_queries",
+            0, 0, 1024, Property.NodeScope);
+
     private static final BitSet NULL_MARKER = new FixedBitSet(0);
 
     private final Logger logger;
@@ -112,8 +133,22 @@ public final class DocumentSubsetBitsetCache implements IndexReader.ClosedListen
     private final Map<IndexReader.CacheKey, Set<BitsetCacheKey>> keysByIndex;
     private final AtomicLong cacheFullWarningTime;
 
+    private final Executor warmerExecutor;
+    private final int maxWarmQueries;
+    private final long warmQueriesTtlInNanos;
+    /**
+     * The queries most recently used to search each shard, with the time at which they were last used, in access order.
+     * Only used if warming is enabled, access to each map must be synchronized on that map.
+     */
+    private final Map<ShardId, LinkedHashMap<Query, Long>> recentQueriesByShard;
+
+    private final LongAdder hitCount = new LongAdder();
+    private final LongAdder missCount = new LongAdder();
+    private final LongAdder buildTimeInNanos = new LongAdder();
+    private final LongAdder warmedCount = new LongAdder();
+
     public DocumentSubsetBitsetCache(Settings settings, ThreadPool threadPool) {
-        this(settings, threadPool.executor(ThreadPool.Names.GENERIC));
+        this(settings, threadPool.executor(ThreadPool.Names.GENERIC), threadPool.executor(ThreadPool.Names.WARMER));
     }
 
     /**
@@ -122,6 +157,16 @@ public final class DocumentSubsetBitsetCache implements IndexReader.ClosedListen
      *                        it is sometimes necessary to run an asynchronous task to synchronize the internal state.
      */
     protected DocumentSubsetBitsetCache(Settings settings, ExecutorService cleanupExecutor) {
+        this(settings, cleanupExecutor, cleanupExecutor);
+    }
+
+    /**
+     * @param settings The global settings object for this node
+     * @param cleanupExecutor An executor on which the cache cleanup tasks can be run. Due to the way the cache is structured internally,
+     *                        it is sometimes necessary to run an asynchronous task to synchronize the internal state.
+     * @param warmerExecutor An executor on which the bitsets of recently used queries are built for new segments.
+     */
+    protected DocumentSubsetBitsetCache(Settings settings, ExecutorService cleanupExecutor, Executor warmerExecutor) {
         this.logger = LogManager.getLogger(getClass());
 
         final ReentrantReadWriteLock readWriteLock = new ReentrantReadWriteLock();
@@ -140,6 +185,11 @@ public final class DocumentSubsetBitsetCache implements IndexReader.ClosedListen
 
         this.keysByIndex = new ConcurrentHashMap<>();
         this.cacheFullWarningTime = new AtomicLong(0);
+
+        this.warmerExecutor = warmerExecutor;
+        this.maxWarmQueries = CACHE_WARM_QUERIES_SETTING.get(settings);
+        this.warmQueriesTtlInNanos = ttl.nanos() > 0 ? ttl.nanos() : Long.MAX_VALUE;
+        this.recentQueriesByShard = new ConcurrentHashMap<>();
     }
 
     @Override
@@ -193,6 +243,14 @@ public final class DocumentSubsetBitsetCache implements IndexReader.ClosedListen
         // to the index without issue.
         keysByIndex.clear();
         bitsetCache.invalidateAll();
+        recentQueriesByShard.clear();
+    }
+
+    /**
+     * Forgets about the queries recently used to search the given shard, which must be called when the shard is closed.
+     */
+    public void onShardClosed(ShardId shardId) {
+        recentQueriesByShard.remove(shardId);
     }
 
     int entryCount() {
@@ -212,6 +270,15 @@ public final class DocumentSubsetBitsetCache implements IndexReader.ClosedListen
      */
     @Nullable
     public BitSet getBitSet(final Query query, final LeafReaderContext context) throws ExecutionException {
+        final Query canonicalQuery = canonicalize(query);
+        if (maxWarmQueries > 0) {
+            recordRecentQuery(canonicalQuery, context);
+        }
+        return getBitSet(canonicalQuery, context, false);
+    }
+
+    @Nullable
+    private BitSet getBitSet(final Query query, final LeafReaderContext context, boolean warming) throws ExecutionException {
         final IndexReader.CacheHelper coreCacheHelper = context.reader().getCoreCacheHelper();
         if (coreCacheHelper == null) {
             try {
@@ -225,7 +292,9 @@ public final class DocumentSubsetBitsetCache implements IndexReader.ClosedListen
         final BitsetCacheKey cacheKey = new BitsetCacheKey(indexKey, query);
 
         try (ReleasableLock ignored = cacheModificationLock.acquire()) {
+            final boolean[] computed = new boolean[1];
             final BitSet bitSet = bitsetCache.computeIfAbsent(cacheKey, ignore1 -> {
+                computed[0] = true;
                 // This ensures all insertions into the set are guarded by ConcurrentHashMap's atomicity guarantees.
                 keysByIndex.compute(indexKey, (ignore2, set) -> {
                     if (set == null) {
@@ -250,6 +319,15 @@ public final class DocumentSubsetBitsetCache implements IndexReader.ClosedListen
                 }
                 return result;
             });
+            if (warming) {
+                if (computed[0]) {
+                    warmedCount.increment();
+                }
+            } else if (computed[0]) {
+                missCount.increment();
+            } else {
+                hitCount.increment();
+            }
             if (bitSet == NULL_MARKER) {
                 return null;
             } else {
@@ -263,15 +341,145 @@ public final class DocumentSubsetBitsetCache implements IndexReader.ClosedListen
         final IndexReaderContext topLevelContext = ReaderUtil.getTopLevelContext(context);
         final IndexSearcher searcher = new IndexSearcher(topLevelContext);
         searcher.setQueryCache(null);
-        final Weight weight = searcher.createWeight(searcher.rewrite(query), ScoreMode.COMPLETE_NO_SCORES, 1f);
-        final Scorer s = weight.scorer(context);
-        if (s == null) {
-            return null;
-        } else {
-            return bitSetFromDocIterator(s.iterator(), context.reader().maxDoc());
+        final long startTimeInNanos = System.nanoTime();
+        try {
+            final Weight weight = searcher.createWeight(searcher.rewrite(query), ScoreMode.COMPLETE_NO_SCORES, 1f);
+            final Scorer s = weight.scorer(context);
+            if (s == null) {
+                return null;
+            } else {
+                return bitSetFromDocIterator(s.iterator(), context.reader().maxDoc());
+            }
+        } finally {
+            buildTimeInNanos.add(System.nanoTime() - startTimeInNanos);
         }
     }
 
+    /**
+     * Rewrites the given query into a form that matches the same documents, so that queries which only differ in scoring or in the
+     * duplication or order of their clauses share the same cached bitsets. For instance, users with different roles whose (templated)
+     * queries evaluate to the same query should share bitsets.
+     */
+    static Query canonicalize(Query query) {
+        if (query instanceof BoostQuery) {
+            return canonicalize(((BoostQuery) query).getQuery());
+        } else if (query instanceof ConstantScoreQuery) {
+            return canonicalize(((ConstantScoreQuery) query).getQuery());
+        } else if (query instanceof BooleanQuery) {
+            final BooleanQuery booleanQuery = (BooleanQuery) query;
+            final int minimumNumberShouldMatch = booleanQuery.getMinimumNumberShouldMatch();
+            if (minimumNumberShouldMatch > 1) {
+                // duplicate optional clauses count more than once
+                return query;
+            }
+            final Set<Query> required = new LinkedHashSet<>();
+            final Set<Query> optional = new LinkedHashSet<>();
+            final Set<Query> prohibited = new LinkedHashSet<>();
+            for (BooleanClause clause : booleanQuery.clauses()) {
+                final Query canonicalClause = canonicalize(clause.getQuery());
+                switch (clause.getOccur()) {
+                    case MUST:
+                    case FILTER:
+                        required.add(canonicalClause);
+                        break;
+                    case SHOULD:
+                        optional.add(canonicalClause);
+                        break;
+                    case MUST_NOT:
+                        prohibited.add(canonicalClause);
+                        break;
+                    default:
+                        throw new IllegalStateException("unknown occur [" + clause.getOccur() + "]");
+                }
+            }
+            if (minimumNumberShouldMatch == 1 && optional.isEmpty()) {
+                // matches no documents
+                return query;
+            }
+            if (minimumNumberShouldMatch == 0 && required.isEmpty() == false) {
+                // optional clauses only contribute to the score
+                optional.clear();
+            }
+            if (required.isEmpty() && optional.isEmpty()) {
+                // purely negative queries match no documents
+                return query;
+            }
+            if (prohibited.isEmpty()) {
+                if (required.size() == 1 && optional.isEmpty()) {
+                    return required.iterator().next();
+                } else if (optional.size() == 1 && required.isEmpty()) {
+                    return optional.iterator().next();
+                }
+            }
+            final BooleanQuery.Builder builder = new BooleanQuery.Builder();
+            required.forEach(clause -> builder.add(clause, BooleanClause.Occur.FILTER));
+            optional.forEach(clause -> builder.add(clause, BooleanClause.Occur.SHOULD));
+            prohibited.forEach(clause -> builder.add(clause, BooleanClause.Occur.MUST_NOT));
+            if (optional.isEmpty() == false) {
+                builder.setMinimumNumberShouldMatch(1);
+            }
+            return builder.build();
+        }
+        return query;
+    }
+
+    private void recordRecentQuery(Query query, LeafReaderContext context) {
+        final ShardId shardId = ShardUtils.extractShardId(context.reader());
+        if (shardId == null) {
+            return;
+        }
+        final LinkedHashMap<Query, Long> recentQueries = recentQueriesByShard.computeIfAbsent(shardId,
+            ignored -> new LinkedHashMap<>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<Query, Long> eldest) {
+                    return size() > maxWarmQueries;
+                }
+            });
+        final long now = System.nanoTime();
+        synchronized (recentQueries) {
+            recentQueries.put(query, now);
+        }
+    }
+
+    /**
+     * Creates a listener that builds the bitsets of the queries recently used to search a shard for the new segments of that shard,
+     * before they are exposed to searches.
+     */
+    public IndexWarmer.Listener createWarmer() {
+        return (indexShard, reader) -> {
+            final LinkedHashMap<Query, Long> recentQueries = recentQueriesByShard.get(indexShard.shardId());
+            if (recentQueries == null) {
+                return IndexWarmer.TerminationHandle.NO_WAIT;
+            }
+            final List<Query> warmUp = new ArrayList<>();
+            final long now = System.nanoTime();
+            synchronized (recentQueries) {
+                // queries that have not been used for longer than their bitsets would stay in the cache are not worth warming
+                recentQueries.values().removeIf(lastUsed -> now - lastUsed > warmQueriesTtlInNanos);
+                warmUp.addAll(recentQueries.keySet());
+            }
+            if (warmUp.isEmpty()) {
+                return IndexWarmer.TerminationHandle.NO_WAIT;
+            }
+            final CountDownLatch latch = new CountDownLatch(reader.leaves().size() * warmUp.size());
+            for (final LeafReaderContext ctx : reader.leaves()) {
+                for (final Query query : warmUp) {
+                    warmerExecutor.execute(() -> {
+                        try {
+                            getBitSet(query, ctx, true);
+                        } catch (Exception e) {
+                            logger.warn(() -> new ParameterizedMessage("failed to warm DLS bitset for [{}] on [{}]",
+                                query, indexShard.shardId()), e);
+                        } finally {
+                            latch.countDown();
+                        }
+                    });
+                }
+            }
+            return latch::await;
+        };
+    }
+
     private void maybeLogCacheFullWarning() {
         final long nextLogTime = cacheFullWarningTime.get();
         final long now = System.currentTimeMillis();
@@ -287,7 +495,7 @@ public final class DocumentSubsetBitsetCache implements IndexReader.ClosedListen
     }
 
     public static List<Setting<?>> getSettings() {
-        return List.of(CACHE_TTL_SETTING, CACHE_SIZE_SETTING);
+        return List.of(CACHE_TTL_SETTING, CACHE_SIZE_SETTING, CACHE_WARM_QUERIES_SETTING);
     }
 
     public Map<String, Object> usageStats() {
@@ -295,7 +503,11 @@ public final class DocumentSubsetBitsetCache implements IndexReader.ClosedListen
         return Map.of(
             "count", entryCount(),
             "memory", ram.toString(),
-            "memory_in_bytes", ram.getBytes()
+            "memory_in_bytes", ram.getBytes(),
+            "hits", hitCount.sum(),
+            "misses", missCount.sum(),
+            "warmed", warmedCount.sum(),
+            "build_time_in_millis", TimeUnit.NANOSECONDS.toMillis(buildTimeInNanos.sum())
         );
     }
 
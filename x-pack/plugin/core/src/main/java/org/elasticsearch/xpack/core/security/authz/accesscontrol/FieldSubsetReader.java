@@ -29,12 +29,15 @@ import org.apache.lucene.util.FilterIterator;
 import org.apache.lucene.util.automaton.CharacterRunAutomaton;
 import org.elasticsearch.common.bytes.BytesArray;
 import org.elasticsearch.common.bytes.BytesReference;
+import org.elasticsearch.common.io.stream.BytesStreamOutput;
 import org.elasticsearch.common.logging.LoggerMessageFormat;
 import org.elasticsearch.common.lucene.index.SequentialStoredFieldsLeafReader;
+import org.elasticsearch.xcontent.DeprecationHandler;
+import org.elasticsearch.xcontent.NamedXContentRegistry;
 import org.elasticsearch.xcontent.XContentBuilder;
 import org.elasticsearch.common.xcontent.XContentHelper;
+import org.elasticsearch.xcontent.XContentParser;
 import org.elasticsearch.xcontent.XContentType;
-import org.elasticsearch.core.Tuple;
 import org.elasticsearch.index.mapper.FieldNamesFieldMapper;
 import org.elasticsearch.index.mapper.SourceFieldMapper;
 
@@ -221,6 +224,140 @@ public final class FieldSubsetReader extends SequentialStoredFieldsLeafReader {
         return filtered;
     }
 
+    /**
+     * Filter a source by a {@link CharacterRunAutomaton} that defines the fields to retain, with the same semantics as
+     * {@link #filter(Map, CharacterRunAutomaton, int)}. The source is read in a single pass over its tokens and retained values are copied
+     * to the output as they are read, so the source is never materialized as a map.
+     */
+    static BytesReference filter(BytesReference source, CharacterRunAutomaton includeAutomaton) throws IOException {
+        final XContentType xContentType = XContentHelper.xContentType(source);
+        try (XContentParser parser = XContentHelper.createParser(NamedXContentRegistry.EMPTY,
+                DeprecationHandler.THROW_UNSUPPORTED_OPERATION, source, xContentType)) {
+            if (parser.nextToken() != XContentParser.Token.START_OBJECT) {
+                throw new IllegalArgumentException("expected an object as source but got [" + parser.currentToken() + "]");
+            }
+            final XContentBuilder builder = new XContentBuilder(xContentType.xContent(), new BytesStreamOutput(source.length()));
+            builder.startObject();
+            new SourceFilter(parser, builder, includeAutomaton).filterObject(new PendingContainer(null, null, false, true), 0);
+            builder.endObject();
+            return BytesReference.bytes(builder);
+        }
+    }
+
+    /**
+     * An object or array of the source whose start has not been written to the output yet, because it is only retained if at least one
+     * of its values is retained.
+     */
+    private static final class PendingContainer {
+        private final PendingContainer parent;
+        private final String fieldName; // null for the elements of an array
+        private final boolean array;
+        private boolean written;
+
+        private PendingContainer(PendingContainer parent, String fieldName, boolean array, boolean written) {
+            this.parent = parent;
+            this.fieldName = fieldName;
+            this.array = array;
+            this.written = written;
+        }
+    }
+
+    private static final class SourceFilter {
+        private final XContentParser parser;
+        private final XContentBuilder builder;
+        private final CharacterRunAutomaton includeAutomaton;
+
+        private SourceFilter(XContentParser parser, XContentBuilder builder, CharacterRunAutomaton includeAutomaton) {
+            this.parser = parser;
+            this.builder = builder;
+            this.includeAutomaton = includeAutomaton;
+        }
+
+        /** Writes the start of the given container and of all its enclosing containers that have not been written yet. */
+        private void write(PendingContainer container) throws IOException {
+            if (container.written) {
+                return;
+            }
+            write(container.parent);
+            if (container.fieldName != null) {
+                builder.field(container.fieldName);
+            }
+            if (container.array) {
+                builder.startArray();
+            } else {
+                builder.startObject();
+            }
+            container.written = true;
+        }
+
+        /** Filters the fields of the object the parser is positioned on, up to and including its end. */
+        private void filterObject(PendingContainer object, int initialState) throws IOException {
+            XContentParser.Token token;
+            while ((token = parser.nextToken()) != XContentParser.Token.END_OBJECT) {
+                assert token == XContentParser.Token.FIELD_NAME : token;
+                final String key = parser.currentName();
+                token = parser.nextToken();
+
+                int state = step(includeAutomaton, key, initialState);
+                if (state == -1) {
+                    parser.skipChildren();
+                    continue;
+                }
+
+                if (token == XContentParser.Token.START_OBJECT) {
+                    state = includeAutomaton.step(state, '.');
+                    if (state == -1) {
+                        parser.skipChildren();
+                        continue;
+                    }
+                    final PendingContainer inner = new PendingContainer(object, key, false, false);
+                    filterObject(inner, state);
+                    if (inner.written) {
+                        builder.endObject();
+                    }
+                } else if (token == XContentParser.Token.START_ARRAY) {
+                    final PendingContainer inner = new PendingContainer(object, key, true, false);
+                    filterArray(inner, state);
+                    if (inner.written) {
+                        builder.endArray();
+                    }
+                } else if (includeAutomaton.isAccept(state)) {
+                    write(object);
+                    builder.field(key);
+                    builder.copyCurrentStructure(parser);
+                }
+            }
+        }
+
+        /** Filters the elements of the array the parser is positioned on, up to and including its end. */
+        private void filterArray(PendingContainer array, int initialState) throws IOException {
+            XContentParser.Token token;
+            while ((token = parser.nextToken()) != XContentParser.Token.END_ARRAY) {
+                if (token == XContentParser.Token.START_OBJECT) {
+                    final int state = includeAutomaton.step(initialState, '.');
+                    if (state == -1) {
+                        parser.skipChildren();
+                        continue;
+                    }
+                    // objects in arrays are retained even if none of their fields are, like the map based filter does
+                    write(array);
+                    builder.startObject();
+                    filterObject(new PendingContainer(array, null, false, true), state);
+                    builder.endObject();
+                } else if (token == XContentParser.Token.START_ARRAY) {
+                    final PendingContainer inner = new PendingContainer(array, null, true, false);
+                    filterArray(inner, initialState);
+                    if (inner.written) {
+                        builder.endArray();
+                    }
+                } else if (includeAutomaton.isAccept(initialState)) {
+                    write(array);
+                    builder.copyCurrentStructure(parser);
+                }
+            }
+        }
+    }
+
     /** Step through all characters of the provided string, and return the
      *  resulting state, or -1 if that did not lead to a valid state. */
     private static int step(CharacterRunAutomaton automaton, String key, int state) {
@@ -336,12 +473,8 @@ public final class FieldSubsetReader extends SequentialStoredFieldsLeafReader {
         @Override
         public void binaryField(FieldInfo fieldInfo, byte[] value) throws IOException {
             if (SourceFieldMapper.NAME.equals(fieldInfo.name)) {
-                // for _source, parse, filter out the fields we care about, and serialize back downstream
-                BytesReference bytes = new BytesArray(value);
-                Tuple<XContentType, Map<String, Object>> result = XContentHelper.convertToMap(bytes, true);
-                Map<String, Object> transformedSource = filter(result.v2(), filter, 0);
-                XContentBuilder xContentBuilder = XContentBuilder.builder(result.v1().xContent()).map(transformedSource);
-                visitor.binaryField(fieldInfo, BytesReference.toBytes(BytesReference.bytes(xContentBuilder)));
+                // for _source, filter out the fields we care about while streaming it back downstream
+                visitor.binaryField(fieldInfo, BytesReference.toBytes(filter(new BytesArray(value), filter)));
             } else {
                 visitor.binaryField(fieldInfo, value);
             }
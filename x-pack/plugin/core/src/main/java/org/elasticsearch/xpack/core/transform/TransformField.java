@@ -39,6 +39,7 @@ public final class TransformField {
     public static final ParseField DOCS_PER_SECOND = new ParseField("docs_per_second");
     public static final ParseField DATES_AS_EPOCH_MILLIS = new ParseField("dates_as_epoch_millis");
     public static final ParseField ALIGN_CHECKPOINTS = new ParseField("align_checkpoints");
+    public static final ParseField INCREMENTAL = new ParseField("incremental");
     public static final ParseField FIELD = new ParseField("field");
     public static final ParseField SYNC = new ParseField("sync");
     public static final ParseField TIME = new ParseField("time");
@@ -83,6 +84,9 @@ public final class TransformField {
     public static final String TRANSFORM = "transform";
     public static final String TRANSFORM_SIGNATURE = "transform";
 
+    // field of the destination documents of incremental transforms, holding the last checkpoint that was merged into them
+    public static final String INCREMENTAL_CHECKPOINT_FIELD = "_transform_checkpoint";
+
     /**
      * Parameter to indicate whether we are serialising to X Content for internal storage. Default the field is invisible (e.g. for get
      * API's)
@@ -38,12 +38,13 @@ public class SettingsConfig implements Writeable, ToXContentObject {
     private static final float DEFAULT_DOCS_PER_SECOND = -1F;
     private static final int DEFAULT_DATES_AS_EPOCH_MILLIS = -1;
     private static final int DEFAULT_ALIGN_CHECKPOINTS = -1;
+    private static final int DEFAULT_INCREMENTAL = -1;
 
     private static ConstructingObjectParser<SettingsConfig, Void> createParser(boolean lenient) {
         ConstructingObjectParser<SettingsConfig, Void> parser = new ConstructingObjectParser<>(
             "transform_config_settings",
             lenient,
-            args -> new SettingsConfig((Integer) args[0], (Float) args[1], (Integer) args[2], (Integer) args[3])
+            args -> new SettingsConfig((Integer) args[0], (Float) args[1], (Integer) args[2], (Integer) args[3], (Integer) args[4])
         );
         parser.declareIntOrNull(optionalConstructorArg(), DEFAULT_MAX_PAGE_SEARCH_SIZE, TransformField.MAX_PAGE_SEARCH_SIZE);
         parser.declareFloatOrNull(optionalConstructorArg(), DEFAULT_DOCS_PER_SECOND, TransformField.DOCS_PER_SECOND);
@@ -61,6 +62,13 @@ public class SettingsConfig implements Writeable, ToXContentObject {
             TransformField.ALIGN_CHECKPOINTS,
             ValueType.BOOLEAN_OR_NULL
         );
+        // this boolean requires 4 possible values: true, false, not_specified, default, therefore using a custom parser
+        parser.declareField(
+            optionalConstructorArg(),
+            p -> p.currentToken() == XContentParser.Token.VALUE_NULL ? DEFAULT_INCREMENTAL : p.booleanValue() ? 1 : 0,
+            TransformField.INCREMENTAL,
+            ValueType.BOOLEAN_OR_NULL
+        );
         return parser;
     }
 
@@ -68,25 +76,48 @@ public class SettingsConfig implements Writeable, ToXContentObject {
     private final Float docsPerSecond;
     private final Integer datesAsEpochMillis;
     private final Integer alignCheckpoints;
+    private final Integer incremental;
 
     public SettingsConfig() {
-        this(null, null, (Integer) null, (Integer) null);
+        this(null, null, (Integer) null, (Integer) null, (Integer) null);
     }
 
     public SettingsConfig(Integer maxPageSearchSize, Float docsPerSecond, Boolean datesAsEpochMillis, Boolean alignCheckpoints) {
+        this(maxPageSearchSize, docsPerSecond, datesAsEpochMillis, alignCheckpoints, null);
+    }
+
+    public SettingsConfig(
+        Integer maxPageSearchSize,
+        Float docsPerSecond,
+        Boolean datesAsEpochMillis,
+        Boolean alignCheckpoints,
+        Boolean incremental
+    ) {
         this(
             maxPageSearchSize,
             docsPerSecond,
             datesAsEpochMillis == null ? null : datesAsEpochMillis ? 1 : 0,
-            alignCheckpoints == null ? null : alignCheckpoints ? 1 : 0
+            alignCheckpoints == null ? null : alignCheckpoints ? 1 : 0,
+            incremental == null ? null : incremental ? 1 : 0
         );
     }
 
     public SettingsConfig(Integer maxPageSearchSize, Float docsPerSecond, Integer datesAsEpochMillis, Integer alignCheckpoints) {
+        this(maxPageSearchSize, docsPerSecond, datesAsEpochMillis, alignCheckpoints, (Integer) null);
+    }
+
+    public SettingsConfig(
+        Integer maxPageSearchSize,
+        Float docsPerSecond,
+        Integer datesAsEpochMillis,
+        Integer alignCheckpoints,
+        Integer incremental
+    ) {
         this.maxPageSearchSize = maxPageSearchSize;
         this.docsPerSecond = docsPerSecond;
         this.datesAsEpochMillis = datesAsEpochMillis;
         this.alignCheckpoints = alignCheckpoints;
+        this.incremental = incremental;
     }
 
     public SettingsConfig(final StreamInput in) throws IOException {
@@ -102,6 +133,11 @@ public class SettingsConfig implements Writeable, ToXContentObject {
         } else {
             this.alignCheckpoints = DEFAULT_ALIGN_CHECKPOINTS;
         }
+        if (in.getVersion().onOrAfter(Version.V_8_0_0)) {
+            this.incremental = in.readOptionalInt();
+        } else {
+            this.incremental = DEFAULT_INCREMENTAL;
+        }
     }
 
     public Integer getMaxPageSearchSize() {
@@ -128,6 +164,14 @@ public class SettingsConfig implements Writeable, ToXContentObject {
         return alignCheckpoints;
     }
 
+    public Boolean getIncremental() {
+        return incremental != null ? incremental > 0 : null;
+    }
+
+    public Integer getIncrementalForUpdate() {
+        return incremental;
+    }
+
     public ActionRequestValidationException validate(ActionRequestValidationException validationException) {
         if (maxPageSearchSize != null && (maxPageSearchSize < 10 || maxPageSearchSize > MultiBucketConsumerService.DEFAULT_MAX_BUCKETS)) {
             validationException = addValidationError(
@@ -155,6 +199,9 @@ public class SettingsConfig implements Writeable, ToXContentObject {
         if (out.getVersion().onOrAfter(Version.V_7_15_0)) {
             out.writeOptionalInt(alignCheckpoints);
         }
+        if (out.getVersion().onOrAfter(Version.V_8_0_0)) {
+            out.writeOptionalInt(incremental);
+        }
     }
 
     @Override
@@ -173,6 +220,9 @@ public class SettingsConfig implements Writeable, ToXContentObject {
         if (alignCheckpoints != null && (alignCheckpoints.equals(DEFAULT_ALIGN_CHECKPOINTS) == false)) {
             builder.field(TransformField.ALIGN_CHECKPOINTS.getPreferredName(), alignCheckpoints > 0 ? true : false);
         }
+        if (incremental != null && (incremental.equals(DEFAULT_INCREMENTAL) == false)) {
+            builder.field(TransformField.INCREMENTAL.getPreferredName(), incremental > 0 ? true : false);
+        }
         builder.endObject();
         return builder;
     }
@@ -190,12 +240,13 @@ public class SettingsConfig implements Writeable, ToXContentObject {
         return Objects.equals(maxPageSearchSize, that.maxPageSearchSize)
             && Objects.equals(docsPerSecond, that.docsPerSecond)
             && Objects.equals(datesAsEpochMillis, that.datesAsEpochMillis)
-            && Objects.equals(alignCheckpoints, that.alignCheckpoints);
+            && Objects.equals(alignCheckpoints, that.alignCheckpoints)
+            && Objects.equals(incremental, that.incremental);
     }
 
     @Override
     public int hashCode() {
-        return Objects.hash(maxPageSearchSize, docsPerSecond, datesAsEpochMillis, alignCheckpoints);
+        return Objects.hash(maxPageSearchSize, docsPerSecond, datesAsEpochMillis, alignCheckpoints, incremental);
     }
 
     @Override
@@ -212,6 +263,7 @@ public class SettingsConfig implements Writeable, ToXContentObject {
         private Float docsPerSecond;
         private Integer datesAsEpochMillis;
         private Integer alignCheckpoints;
+        private Integer incremental;
 
         /**
          * Default builder
@@ -228,6 +280,7 @@ public class SettingsConfig implements Writeable, ToXContentObject {
             this.docsPerSecond = base.docsPerSecond;
             this.datesAsEpochMillis = base.datesAsEpochMillis;
             this.alignCheckpoints = base.alignCheckpoints;
+            this.incremental = base.incremental;
         }
 
         /**
@@ -287,6 +340,22 @@ public class SettingsConfig implements Writeable, ToXContentObject {
             return this;
         }
 
+        /**
+         * Whether continuous checkpoints merge the aggregations of the new source documents into the documents already in the
+         * destination index instead of recomputing the changed buckets over the whole source.
+         *
+         * Only applies if all aggregations can be merged, otherwise the changed buckets are recomputed regardless.
+         *
+         * An explicit `null` resets to default.
+         *
+         * @param incremental true if the results of continuous checkpoints should be merged into the destination index.
+         * @return the {@link Builder} with incremental set.
+         */
+        public Builder setIncremental(Boolean incremental) {
+            this.incremental = incremental == null ? DEFAULT_INCREMENTAL : incremental ? 1 : 0;
+            return this;
+        }
+
         /**
          * Update settings according to given settings config.
          *
@@ -314,12 +383,15 @@ public class SettingsConfig implements Writeable, ToXContentObject {
                     ? null
                     : update.getAlignCheckpointsForUpdate();
             }
+            if (update.getIncrementalForUpdate() != null) {
+                this.incremental = update.getIncrementalForUpdate().equals(DEFAULT_INCREMENTAL) ? null : update.getIncrementalForUpdate();
+            }
 
             return this;
         }
 
         public SettingsConfig build() {
-            return new SettingsConfig(maxPageSearchSize, docsPerSecond, datesAsEpochMillis, alignCheckpoints);
+            return new SettingsConfig(maxPageSearchSize, docsPerSecond, datesAsEpochMillis, alignCheckpoints, incremental);
         }
     }
 }
@@ -616,7 +616,8 @@ public class TransformConfig extends AbstractDiffable<TransformConfig> implement
                     maxPageSearchSize,
                     builder.getSettings().getDocsPerSecond(),
                     builder.getSettings().getDatesAsEpochMillis(),
-                    builder.getSettings().getAlignCheckpoints()
+                    builder.getSettings().getAlignCheckpoints(),
+                    builder.getSettings().getIncremental()
                 )
             );
         }
@@ -628,7 +629,8 @@ public class TransformConfig extends AbstractDiffable<TransformConfig> implement
                     builder.getSettings().getMaxPageSearchSize(),
                     builder.getSettings().getDocsPerSecond(),
                     true,
-                    builder.getSettings().getAlignCheckpoints()
+                    builder.getSettings().getAlignCheckpoints(),
+                    builder.getSettings().getIncremental()
                 )
             );
         }
@@ -640,7 +642,8 @@ public class TransformConfig extends AbstractDiffable<TransformConfig> implement
                     builder.getSettings().getMaxPageSearchSize(),
                     builder.getSettings().getDocsPerSecond(),
                     builder.getSettings().getDatesAsEpochMillis(),
-                    false
+                    false,
+                    builder.getSettings().getIncremental()
                 )
             );
         }
@@ -17,7 +17,7 @@ import java.util.stream.Stream;
 public class GetDatafeedRunningStateActionResponseTests extends AbstractWireSerializingTestCase<Response> {
 
     static Response.RunningState randomRunningState() {
-        return new Response.RunningState(randomBoolean(), randomBoolean());
+        return new Response.RunningState(randomBoolean(), randomBoolean(), randomNonNegativeLong(), randomNonNegativeLong());
     }
 
     @Override
@@ -119,6 +119,9 @@ public class GetDatafeedStatsActionResponseTests extends AbstractWireSerializing
         Map<String, Object> runningStateMap = (Map<String, Object>) dfStatsMap.get("running_state");
         assertThat(runningStateMap, hasKey("real_time_configured"));
         assertThat(runningStateMap, hasKey("real_time_running"));
+        assertThat(runningStateMap, hasKey("extracted_record_count"));
+        assertThat(runningStateMap, hasKey("extraction_time_ms"));
+        assertThat(runningStateMap, hasKey("extracted_records_per_second"));
 
         Map<String, Object> nodeMap = (Map<String, Object>) dfStatsMap.get("node");
         assertThat(nodeMap, hasEntry("id", "df-node-id"));
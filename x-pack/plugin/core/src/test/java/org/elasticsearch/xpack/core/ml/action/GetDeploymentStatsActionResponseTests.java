@@ -182,11 +182,16 @@ public class GetDeploymentStatsActionResponseTests extends AbstractWireSerializi
         for (int i = 0; i < numNodes; i++) {
             var node = new DiscoveryNode("node_" + i, new TransportAddress(InetAddress.getLoopbackAddress(), 9300), Version.CURRENT);
             if (randomBoolean()) {
+                boolean hasLatencies = randomBoolean();
                 nodeStatsList.add(GetDeploymentStatsAction.Response.AllocationStats.NodeStats.forStartedState(
                     node,
                     randomNonNegativeLong(),
                     randomDoubleBetween(0.0, 100.0, true),
-                    Instant.now()
+                    Instant.now(),
+                    randomBoolean() ? null : randomIntBetween(0, 1024),
+                    hasLatencies ? randomLongBetween(0, 100) : null,
+                    hasLatencies ? randomLongBetween(100, 1000) : null,
+                    hasLatencies ? randomLongBetween(1000, 10000) : null
                 ));
             } else {
                 nodeStatsList.add(GetDeploymentStatsAction.Response.AllocationStats.NodeStats.forNotStartedState(
@@ -14,9 +14,12 @@ import org.elasticsearch.search.SearchModule;
 import org.elasticsearch.test.ESTestCase;
 import org.elasticsearch.xpack.core.ml.inference.MlInferenceNamedXContentProvider;
 import org.elasticsearch.xpack.core.ml.inference.results.ClassificationInferenceResults;
+import org.elasticsearch.xpack.core.ml.inference.results.InferenceResults;
+import org.elasticsearch.xpack.core.ml.inference.results.RawInferenceResults;
 import org.elasticsearch.xpack.core.ml.inference.results.SingleValueInferenceResults;
 import org.elasticsearch.xpack.core.ml.inference.results.TopClassEntry;
 import org.elasticsearch.xpack.core.ml.inference.trainedmodel.ClassificationConfig;
+import org.elasticsearch.xpack.core.ml.inference.trainedmodel.NullInferenceConfig;
 import org.elasticsearch.xpack.core.ml.inference.trainedmodel.RegressionConfig;
 import org.elasticsearch.xpack.core.ml.inference.trainedmodel.TargetType;
 import org.elasticsearch.xpack.core.ml.inference.trainedmodel.ensemble.Ensemble;
@@ -438,6 +441,72 @@ public class EnsembleInferenceModelTests extends ESTestCase {
                 0.00001));
     }
 
+    public void testBatchInferenceMatchesTrees() throws IOException {
+        List<String> featureNames = Stream.generate(() -> randomAlphaOfLength(10)).limit(randomIntBetween(1, 10))
+            .collect(Collectors.toList());
+        EnsembleInferenceModel ensemble = serializeFromTrainedModel(EnsembleTests.createRandom(TargetType.REGRESSION, featureNames));
+        assertBatchInferenceMatchesTrees(ensemble, randomFeatures(ensemble));
+
+        // a split on 0.0 with every operator: -0.0 is lower than 0.0 when the trees are walked node by node
+        List<String> zeroFeatureNames = Collections.singletonList("foo");
+        List<Tree> trees = new ArrayList<>();
+        for (Operator operator : Operator.values()) {
+            trees.add(Tree.builder()
+                .setFeatureNames(zeroFeatureNames)
+                .setNodes(
+                    TreeNode.builder(0)
+                        .setSplitFeature(0)
+                        .setOperator(operator)
+                        .setLeftChild(1)
+                        .setRightChild(2)
+                        .setThreshold(0.0)
+                        .setNumberSamples(2L),
+                    // a distinct power of two per tree, so that the sum tells which leaf every tree picked
+                    TreeNode.builder(1).setLeafValue(1 << trees.size()).setNumberSamples(1L),
+                    TreeNode.builder(2).setLeafValue(0.0).setNumberSamples(1L))
+                .build());
+        }
+        EnsembleInferenceModel zeroEnsemble = serializeFromTrainedModel(Ensemble.builder()
+            .setOutputAggregator(new WeightedSum((double[]) null))
+            .setTrainedModels(trees)
+            .setFeatureNames(zeroFeatureNames)
+            .build());
+        double[][] features = randomFeatures(zeroEnsemble);
+        features[0] = new double[] { 0.0 };
+        if (features.length > 1) {
+            features[1] = new double[] { -0.0 };
+        }
+        assertBatchInferenceMatchesTrees(zeroEnsemble, features);
+    }
+
+    private static double[][] randomFeatures(EnsembleInferenceModel ensemble) {
+        double[][] features = new double[randomIntBetween(1, 50)][];
+        for (int i = 0; i < features.length; i++) {
+            features[i] = Stream.generate(() -> randomFrom(Double.NaN, 0.0, -0.0, randomDoubleBetween(-1.0, 1.0, true)))
+                .limit(ensemble.getFeatureNames().length)
+                .mapToDouble(Double::doubleValue)
+                .toArray();
+        }
+        return features;
+    }
+
+    private void assertBatchInferenceMatchesTrees(EnsembleInferenceModel ensemble, double[][] features) {
+        List<InferenceResults> results = ensemble.infer(features, RegressionConfig.EMPTY_PARAMS);
+        assertThat(results.size(), is(features.length));
+        for (int i = 0; i < features.length; i++) {
+            // walk the trees node by node
+            double[][] treeValues = new double[ensemble.getModels().size()][];
+            for (int t = 0; t < treeValues.length; t++) {
+                treeValues[t] = ((RawInferenceResults) ensemble.getModels().get(t).infer(features[i], new NullInferenceConfig(false)))
+                    .getValue();
+            }
+            double expected = ensemble.getOutputAggregator().aggregate(ensemble.getOutputAggregator().processValues(treeValues));
+            assertThat(((SingleValueInferenceResults) results.get(i)).value(), closeTo(expected, eps));
+            assertThat(((SingleValueInferenceResults) ensemble.infer(features[i], RegressionConfig.EMPTY_PARAMS)).value(),
+                closeTo(expected, eps));
+        }
+    }
+
     public void testFeatureImportance() throws IOException {
         List<String> featureNames = Arrays.asList("foo", "bar");
         Tree tree1 = Tree.builder()
@@ -0,0 +1,35 @@
+/*
+ * Copyright Elasticsearch B.V. and/or licensed to Elasticsearch B.V. under one
+ * or more contributor license agreements. Licensed under the Elastic License
+ * 2.0; you may not use this file except in compliance with the Elastic License
+ * 2.0.
+ */
+package org.elasticsearch.xpack.core.rollup.action;
+
+import org.elasticsearch.common.io.stream.Writeable;
+import org.elasticsearch.test.AbstractWireSerializingTestCase;
+
+public class RollupShardStatusTests extends AbstractWireSerializingTestCase<RollupShardStatus> {
+
+    @Override
+    protected RollupShardStatus createTestInstance() {
+        return new RollupShardStatus(
+            randomNonNegativeLong(),
+            randomNonNegativeLong(),
+            randomNonNegativeLong(),
+            randomNonNegativeLong(),
+            randomNonNegativeLong(),
+            randomNonNegativeLong()
+        );
+    }
+
+    @Override
+    protected Writeable.Reader<RollupShardStatus> instanceReader() {
+        return RollupShardStatus::new;
+    }
+
+    public void testDocsPerSecond() {
+        assertEquals(0.0, new RollupShardStatus(100, 0, 0, 0, 0, 0).getDocsPerSecond(), 0.0);
+        assertEquals(50.0, new RollupShardStatus(100, 100, 10, 10, 0, 2000).getDocsPerSecond(), 0.0);
+    }
+}
@@ -19,9 +19,15 @@ import org.apache.lucene.index.IndexWriter;
 import org.apache.lucene.index.IndexWriterConfig;
 import org.apache.lucene.index.LeafReaderContext;
 import org.apache.lucene.index.NoMergePolicy;
+import org.apache.lucene.index.Term;
+import org.apache.lucene.search.BooleanClause;
+import org.apache.lucene.search.BooleanQuery;
+import org.apache.lucene.search.BoostQuery;
+import org.apache.lucene.search.ConstantScoreQuery;
 import org.apache.lucene.search.DocIdSetIterator;
 import org.apache.lucene.search.IndexSearcher;
 import org.apache.lucene.search.Query;
+import org.apache.lucene.search.TermQuery;
 import org.apache.lucene.store.Directory;
 import org.apache.lucene.util.BitSet;
 import org.apache.lucene.util.BitSetIterator;
@@ -30,6 +36,7 @@ import org.elasticsearch.client.Client;
 import org.elasticsearch.common.CheckedBiConsumer;
 import org.elasticsearch.core.CheckedConsumer;
 import org.elasticsearch.common.logging.Loggers;
+import org.elasticsearch.common.lucene.index.ElasticsearchDirectoryReader;
 import org.elasticsearch.common.settings.Settings;
 import org.elasticsearch.index.IndexSettings;
 import org.elasticsearch.index.mapper.FieldMapper;
@@ -40,6 +47,7 @@ import org.elasticsearch.index.mapper.MockFieldMapper;
 import org.elasticsearch.index.query.QueryBuilders;
 import org.elasticsearch.index.query.SearchExecutionContext;
 import org.elasticsearch.index.query.TermQueryBuilder;
+import org.elasticsearch.index.shard.IndexShard;
 import org.elasticsearch.index.shard.ShardId;
 import org.elasticsearch.test.ESTestCase;
 import org.elasticsearch.test.IndexSettingsModule;
@@ -473,6 +481,94 @@ public class DocumentSubsetBitsetCacheTests extends ESTestCase {
         }
     }
 
+    public void testEquivalentQueriesShareBitSet() throws Exception {
+        final DocumentSubsetBitsetCache cache = newCache(Settings.EMPTY);
+        runTestOnIndex((searchExecutionContext, leafContext) -> {
+            final Query query = QueryBuilders.termQuery("field-1", "value-1").toQuery(searchExecutionContext);
+            final BitSet bitSet = cache.getBitSet(query, leafContext);
+            assertThat(bitSet, notNullValue());
+
+            // e.g. the query of a user whose two roles have templated queries that evaluate to the same query
+            final Query duplicated = new BooleanQuery.Builder()
+                .add(QueryBuilders.termQuery("field-1", "value-1").toQuery(searchExecutionContext), BooleanClause.Occur.SHOULD)
+                .add(new BoostQuery(QueryBuilders.termQuery("field-1", "value-1").toQuery(searchExecutionContext), 2f),
+                    BooleanClause.Occur.SHOULD)
+                .setMinimumNumberShouldMatch(1)
+                .build();
+            assertThat(cache.getBitSet(duplicated, leafContext), sameInstance(bitSet));
+            assertThat(cache.entryCount(), equalTo(1));
+            assertThat(cache.usageStats().get("hits"), equalTo(1L));
+            assertThat(cache.usageStats().get("misses"), equalTo(1L));
+        });
+    }
+
+    public void testCanonicalize() {
+        final Query a = new TermQuery(new Term("field", "a"));
+        final Query b = new TermQuery(new Term("field", "b"));
+        assertThat(DocumentSubsetBitsetCache.canonicalize(new ConstantScoreQuery(new BoostQuery(a, 3f))), equalTo(a));
+        assertThat(DocumentSubsetBitsetCache.canonicalize(new BooleanQuery.Builder()
+            .add(a, BooleanClause.Occur.MUST).add(b, BooleanClause.Occur.SHOULD).build()), equalTo(a));
+        assertThat(DocumentSubsetBitsetCache.canonicalize(new BooleanQuery.Builder()
+            .add(a, BooleanClause.Occur.MUST).add(b, BooleanClause.Occur.FILTER).build()),
+            equalTo(DocumentSubsetBitsetCache.canonicalize(new BooleanQuery.Builder()
+                .add(b, BooleanClause.Occur.FILTER).add(new BoostQuery(a, 2f), BooleanClause.Occur.FILTER).build())));
+
+        // queries whose semantics depend on clause counts are left untouched
+        final Query purelyNegative = new BooleanQuery.Builder().add(a, BooleanClause.Occur.MUST_NOT).build();
+        assertThat(DocumentSubsetBitsetCache.canonicalize(purelyNegative), sameInstance(purelyNegative));
+        final Query minimumShouldMatch = new BooleanQuery.Builder()
+            .add(a, BooleanClause.Occur.SHOULD).add(a, BooleanClause.Occur.SHOULD).setMinimumNumberShouldMatch(2).build();
+        assertThat(DocumentSubsetBitsetCache.canonicalize(minimumShouldMatch), sameInstance(minimumShouldMatch));
+        final Query noOptionalClauses = new BooleanQuery.Builder()
+            .add(a, BooleanClause.Occur.FILTER).setMinimumNumberShouldMatch(1).build();
+        assertThat(DocumentSubsetBitsetCache.canonicalize(noOptionalClauses), sameInstance(noOptionalClauses));
+    }
+
+    public void testRecentlyUsedQueriesAreWarmed() throws Exception {
+        final Settings settings = Settings.builder().put(DocumentSubsetBitsetCache.CACHE_WARM_QUERIES_SETTING.getKey(), 1).build();
+        final DocumentSubsetBitsetCache cache = new DocumentSubsetBitsetCache(settings, singleThreadExecutor, singleThreadExecutor);
+        final ShardId shardId = new ShardId("idx", "_na_", 0);
+        final IndexShard indexShard = mock(IndexShard.class);
+        when(indexShard.shardId()).thenReturn(shardId);
+        final Query query = new TermQuery(new Term("field", "value"));
+
+        try (Directory directory = newDirectory();
+             IndexWriter iw = new IndexWriter(directory, new IndexWriterConfig().setMergePolicy(NoMergePolicy.INSTANCE))) {
+            final Document document = new Document();
+            document.add(new StringField("field", "value", Field.Store.NO));
+            iw.addDocument(document);
+            iw.commit();
+            try (ElasticsearchDirectoryReader reader = ElasticsearchDirectoryReader.wrap(DirectoryReader.open(iw), shardId)) {
+                // nothing to warm as long as no query was used
+                cache.createWarmer().warmReader(indexShard, reader).awaitTermination();
+                assertThat(cache.entryCount(), equalTo(0));
+                assertThat(cache.getBitSet(query, reader.leaves().get(0)), notNullValue());
+            }
+
+            iw.addDocument(document);
+            iw.commit();
+            try (ElasticsearchDirectoryReader reader = ElasticsearchDirectoryReader.wrap(DirectoryReader.open(iw), shardId)) {
+                assertThat(reader.leaves().size(), equalTo(2));
+                cache.createWarmer().warmReader(indexShard, reader).awaitTermination();
+                assertThat(cache.entryCount(), equalTo(2));
+                assertThat(cache.usageStats().get("warmed"), equalTo(1L));
+                for (LeafReaderContext leaf : reader.leaves()) {
+                    assertThat(cache.getBitSet(query, leaf), notNullValue());
+                }
+                assertThat(cache.usageStats().get("hits"), equalTo(2L));
+                assertThat(cache.usageStats().get("misses"), equalTo(1L));
+            }
+
+            cache.onShardClosed(shardId);
+            iw.addDocument(document);
+            iw.commit();
+            try (ElasticsearchDirectoryReader reader = ElasticsearchDirectoryReader.wrap(DirectoryReader.open(iw), shardId)) {
+                cache.createWarmer().warmReader(indexShard, reader).awaitTermination();
+                assertThat(cache.usageStats().get("warmed"), equalTo(1L));
+            }
+        }
+    }
+
     public void testRoleBitSets() throws Exception {
         int maxDocs = randomIntBetween(1, 1024);
         int numDocs = 0;
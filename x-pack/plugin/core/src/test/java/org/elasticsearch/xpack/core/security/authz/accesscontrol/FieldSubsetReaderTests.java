@@ -54,11 +54,14 @@ import org.elasticsearch.cluster.metadata.IndexMetadata;
 import org.elasticsearch.cluster.metadata.MappingMetadata;
 import org.elasticsearch.cluster.metadata.Metadata;
 import org.elasticsearch.common.Strings;
+import org.elasticsearch.common.bytes.BytesReference;
 import org.elasticsearch.common.collect.ImmutableOpenMap;
 import org.elasticsearch.common.lucene.index.SequentialStoredFieldsLeafReader;
 import org.elasticsearch.common.settings.Settings;
 import org.elasticsearch.common.xcontent.XContentHelper;
+import org.elasticsearch.xcontent.XContentBuilder;
 import org.elasticsearch.xcontent.XContentType;
+import org.elasticsearch.core.Tuple;
 import org.elasticsearch.core.internal.io.IOUtils;
 import org.elasticsearch.index.mapper.FieldNamesFieldMapper;
 import org.elasticsearch.index.mapper.SourceFieldMapper;
@@ -740,6 +743,24 @@ public class FieldSubsetReaderTests extends ESTestCase {
         assertEquals(expected, filtered);
     }
 
+    public void testStreamingSourceFilteringDuelWithMapFiltering() throws IOException {
+        final Map<String, Object> map = XContentHelper.convertToMap(XContentType.JSON.xContent(),
+            "{\"foo\":\"value\",\"bar\":[{\"foo\":\"1\"},{\"baz\":\"2\"},3,[4,{\"baz\":5}],{}],"
+                + "\"baz\":{\"bar\":42,\"baz\":{\"foo\":null,\"qux\":[]},\"empty\":{}},\"qux\":[[],[[6.5]],true]}", true);
+        final XContentType xContentType = randomFrom(XContentType.JSON, XContentType.SMILE, XContentType.CBOR, XContentType.YAML);
+        final BytesReference source = BytesReference.bytes(XContentBuilder.builder(xContentType.xContent()).map(map));
+        for (String pattern : List.of("foo", "bar", "bar.baz", "baz.*", "*.bar", "*.foo", "baz.baz.*", "qux", "*", "missing", "b*.ba*")) {
+            final Automaton patternAutomaton = Automatons.patterns(pattern);
+            final CharacterRunAutomaton include = new CharacterRunAutomaton(randomBoolean() ? patternAutomaton
+                : Operations.minus(Automata.makeAnyString(), patternAutomaton, Operations.DEFAULT_DETERMINIZE_WORK_LIMIT));
+
+            final BytesReference filtered = FieldSubsetReader.filter(source, include);
+            final Tuple<XContentType, Map<String, Object>> actual = XContentHelper.convertToMap(filtered, false);
+            assertEquals(xContentType, actual.v1());
+            assertEquals(pattern, FieldSubsetReader.filter(XContentHelper.convertToMap(source, false).v2(), include, 0), actual.v2());
+        }
+    }
+
     /**
      * test special handling for _field_names field.
      */
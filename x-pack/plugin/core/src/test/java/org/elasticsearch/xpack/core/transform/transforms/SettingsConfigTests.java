@@ -34,12 +34,19 @@ public class SettingsConfigTests extends AbstractSerializingTransformTestCase<Se
             randomBoolean() ? null : randomIntBetween(10, 10_000),
             randomBoolean() ? null : randomFloat(),
             randomBoolean() ? null : randomIntBetween(0, 1),
+            randomBoolean() ? null : randomIntBetween(0, 1),
             randomBoolean() ? null : randomIntBetween(0, 1)
         );
     }
 
     public static SettingsConfig randomNonEmptySettingsConfig() {
-        return new SettingsConfig(randomIntBetween(10, 10_000), randomFloat(), randomIntBetween(0, 1), randomIntBetween(0, 1));
+        return new SettingsConfig(
+            randomIntBetween(10, 10_000),
+            randomFloat(),
+            randomIntBetween(0, 1),
+            randomIntBetween(0, 1),
+            randomIntBetween(0, 1)
+        );
     }
 
     @Before
@@ -82,6 +89,9 @@ public class SettingsConfigTests extends AbstractSerializingTransformTestCase<Se
 
         assertThat(fromString("{\"align_checkpoints\" : null}").getAlignCheckpointsForUpdate(), equalTo(-1));
         assertNull(fromString("{}").getAlignCheckpointsForUpdate());
+
+        assertThat(fromString("{\"incremental\" : null}").getIncrementalForUpdate(), equalTo(-1));
+        assertNull(fromString("{}").getIncrementalForUpdate());
     }
 
     public void testUpdateUsingBuilder() throws IOException {
@@ -89,7 +99,8 @@ public class SettingsConfigTests extends AbstractSerializingTransformTestCase<Se
             fromString("{\"max_page_search_size\" : 10000, "
                 + "\"docs_per_second\" :42, "
                 + "\"dates_as_epoch_millis\": true, "
-                + "\"align_checkpoints\": false}");
+                + "\"align_checkpoints\": false, "
+                + "\"incremental\": true}");
 
         SettingsConfig.Builder builder = new SettingsConfig.Builder(config);
         builder.update(fromString("{\"max_page_search_size\" : 100}"));
@@ -98,22 +109,26 @@ public class SettingsConfigTests extends AbstractSerializingTransformTestCase<Se
         assertThat(builder.build().getDocsPerSecond(), equalTo(42F));
         assertThat(builder.build().getDatesAsEpochMillisForUpdate(), equalTo(1));
         assertThat(builder.build().getAlignCheckpointsForUpdate(), equalTo(0));
+        assertThat(builder.build().getIncrementalForUpdate(), equalTo(1));
 
         builder.update(fromString("{\"max_page_search_size\" : null}"));
         assertNull(builder.build().getMaxPageSearchSize());
         assertThat(builder.build().getDocsPerSecond(), equalTo(42F));
         assertThat(builder.build().getDatesAsEpochMillisForUpdate(), equalTo(1));
         assertThat(builder.build().getAlignCheckpointsForUpdate(), equalTo(0));
+        assertThat(builder.build().getIncrementalForUpdate(), equalTo(1));
 
         builder.update(
             fromString("{\"max_page_search_size\" : 77, "
                 + "\"docs_per_second\" :null, "
                 + "\"dates_as_epoch_millis\": null, "
-                + "\"align_checkpoints\": null}"));
+                + "\"align_checkpoints\": null, "
+                + "\"incremental\": null}"));
         assertThat(builder.build().getMaxPageSearchSize(), equalTo(77));
         assertNull(builder.build().getDocsPerSecond());
         assertNull(builder.build().getDatesAsEpochMillisForUpdate());
         assertNull(builder.build().getAlignCheckpointsForUpdate());
+        assertNull(builder.build().getIncrementalForUpdate());
     }
 
     public void testOmmitDefaultsOnWriteParser() throws IOException {
@@ -147,6 +162,12 @@ public class SettingsConfigTests extends AbstractSerializingTransformTestCase<Se
 
         settingsAsMap = xContentToMap(config);
         assertTrue(settingsAsMap.isEmpty());
+
+        config = fromString("{\"incremental\" : null}");
+        assertThat(config.getIncrementalForUpdate(), equalTo(-1));
+
+        settingsAsMap = xContentToMap(config);
+        assertTrue(settingsAsMap.isEmpty());
     }
 
     public void testOmmitDefaultsOnWriteBuilder() throws IOException {
@@ -180,6 +201,12 @@ public class SettingsConfigTests extends AbstractSerializingTransformTestCase<Se
 
         settingsAsMap = xContentToMap(config);
         assertTrue(settingsAsMap.isEmpty());
+
+        config = new SettingsConfig.Builder().setIncremental(null).build();
+        assertThat(config.getIncrementalForUpdate(), equalTo(-1));
+
+        settingsAsMap = xContentToMap(config);
+        assertTrue(settingsAsMap.isEmpty());
     }
 
     private Map<String, Object> xContentToMap(ToXContent xcontent) throws IOException {
@@ -11,6 +11,7 @@ import org.elasticsearch.index.query.BoolQueryBuilder;
 import org.elasticsearch.index.query.QueryBuilder;
 import org.elasticsearch.index.query.RangeQueryBuilder;
 import org.elasticsearch.search.builder.SearchSourceBuilder;
+import org.elasticsearch.xpack.eql.execution.search.KeyFilterQueryBuilder;
 import org.elasticsearch.xpack.eql.execution.search.Ordinal;
 import org.elasticsearch.xpack.eql.execution.search.QueryRequest;
 import org.elasticsearch.xpack.eql.execution.search.RuntimeUtils;
@@ -22,6 +23,7 @@ import java.util.List;
 import java.util.Set;
 
 import static java.util.Collections.emptyList;
+import static java.util.Collections.singletonList;
 import static org.elasticsearch.index.query.QueryBuilders.boolQuery;
 import static org.elasticsearch.index.query.QueryBuilders.existsQuery;
 import static org.elasticsearch.index.query.QueryBuilders.rangeQuery;
@@ -42,21 +44,36 @@ public class BoxedQueryRequest implements QueryRequest {
     // arbitrary low number
     // TODO: performance testing to find the sweet spot
     public static final int MAX_TERMS = 128;
+    // the clauses of the query matching the keys as a whole, which must stay well below the maximum number of clauses of a query
+    // (1024 by default) as the query of the stage, to which it is added, has clauses as well
+    static final int MAX_SEQUENCES_CLAUSES = 512;
 
+    private final String timestampField;
     private final RangeQueryBuilder timestampRange;
     private final SearchSourceBuilder searchSource;
 
     private final List<String> keys;
+    private final boolean keyFilterQueries;
     private List<QueryBuilder> keyFilters;
 
     private Ordinal from, to;
     private Ordinal after;
 
     public BoxedQueryRequest(QueryRequest original, String timestamp, List<String> keyNames) {
+        this(original, timestamp, keyNames, false);
+    }
+
+    /**
+     * @param keyFilterQueries whether the shards support {@link KeyFilterQueryBuilder}, which is then used to filter on keys
+     *                         with too many values for a terms query
+     */
+    public BoxedQueryRequest(QueryRequest original, String timestamp, List<String> keyNames, boolean keyFilterQueries) {
         searchSource = original.searchSource();
+        timestampField = timestamp;
         // setup range queries and preserve their reference to simplify the update
         timestampRange = rangeQuery(timestamp).timeZone("UTC").format("epoch_millis");
         keys = keyNames;
+        this.keyFilterQueries = keyFilterQueries;
         RuntimeUtils.addFilter(timestampRange, searchSource);
     }
 
@@ -100,6 +117,17 @@ public class BoxedQueryRequest implements QueryRequest {
      * Can be removed through null.
      */
     public BoxedQueryRequest keys(List<List<Object>> values) {
+        return keys(values, null);
+    }
+
+    /**
+     * Sets keys / terms to filter on, each with the earliest ordinal (or null) of the in-flight sequences with that key.
+     * When there are not too many keys and key fields, each key is matched as a whole and restricted to the events that occur after
+     * its ordinal, so that shards only return hits that can extend a sequence. Otherwise, or without ordinals, each key
+     * field is filtered on its own through {@link #keys(List)}.
+     * Can be removed through null.
+     */
+    public BoxedQueryRequest keys(List<List<Object>> values, List<Ordinal> starts) {
         List<QueryBuilder> newFilters;
 
         if (CollectionUtils.isEmpty(values)) {
@@ -108,6 +136,8 @@ public class BoxedQueryRequest implements QueryRequest {
                 return this;
             }
             newFilters = emptyList();
+        } else if (starts != null && values.size() <= BoxedQueryRequest.MAX_TERMS && sequencesClauses(starts) <= MAX_SEQUENCES_CLAUSES) {
+            newFilters = singletonList(sequencesQuery(values, starts));
         } else {
             // iterate on all possible values for a given key
             newFilters = new ArrayList<>(values.size());
@@ -126,16 +156,22 @@ public class BoxedQueryRequest implements QueryRequest {
                     }
                 }
 
-                // too many unique terms, don't filter on the keys
+                String key = keys.get(keyIndex);
+
+                // too many unique terms for a terms query, filter through their approximate set if possible
                 if (keyValues.size() > BoxedQueryRequest.MAX_TERMS) {
-                    newFilters = emptyList();
-                    break;
+                    KeyFilterQueryBuilder keyFilter = keyFilterQueries ? KeyFilterQueryBuilder.of(key, keyValues, hasNullValue) : null;
+                    if (keyFilter == null) {
+                        // don't filter on the keys
+                        newFilters = emptyList();
+                        break;
+                    }
+                    newFilters.add(keyFilter);
+                    continue;
                 }
 
                 QueryBuilder query = null;
 
-                String key = keys.get(keyIndex);
-
                 if (keyValues.size() == 1) {
                     query = termQuery(key, keyValues.iterator().next());
                 } else if (keyValues.size() > 1) {
@@ -165,6 +201,37 @@ public class BoxedQueryRequest implements QueryRequest {
         return this;
     }
 
+    /**
+     * The number of clauses of {@link #sequencesQuery}: for every key, its own clause and one per key field and for its start.
+     */
+    private int sequencesClauses(List<Ordinal> starts) {
+        int clauses = 0;
+        for (Ordinal start : starts) {
+            clauses += 1 + keys.size() + (start != null ? 1 : 0);
+        }
+        return clauses;
+    }
+
+    private QueryBuilder sequencesQuery(List<List<Object>> values, List<Ordinal> starts) {
+        // in filter context, at least one of the should clauses has to match
+        BoolQueryBuilder sequences = boolQuery();
+        for (int i = 0; i < values.size(); i++) {
+            List<Object> value = values.get(i);
+            BoolQueryBuilder sequence = boolQuery();
+            for (int keyIndex = 0; keyIndex < keys.size(); keyIndex++) {
+                String key = keys.get(keyIndex);
+                Object keyValue = value.get(keyIndex);
+                sequence.filter(keyValue == null ? boolQuery().mustNot(existsQuery(key)) : termQuery(key, keyValue));
+            }
+            Ordinal start = starts.get(i);
+            if (start != null) {
+                sequence.filter(rangeQuery(timestampField).timeZone("UTC").format("epoch_millis").gte(start.timestamp().toString()));
+            }
+            sequences.should(sequence);
+        }
+        return sequences;
+    }
+
     public Ordinal after() {
         return after;
     }
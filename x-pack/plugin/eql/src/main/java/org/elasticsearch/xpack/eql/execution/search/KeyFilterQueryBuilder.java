@@ -0,0 +1,300 @@
+/*
+ * Copyright Elasticsearch B.V. and/or licensed to Elasticsearch B.V. under one
+ * or more contributor license agreements. Licensed under the Elastic License
+ * 2.0; you may not use this file except in compliance with the Elastic License
+ * 2.0.
+ */
+
+package org.elasticsearch.xpack.eql.execution.search;
+
+import org.apache.lucene.index.DocValues;
+import org.apache.lucene.index.LeafReaderContext;
+import org.apache.lucene.index.SortedNumericDocValues;
+import org.apache.lucene.index.SortedSetDocValues;
+import org.apache.lucene.search.ConstantScoreScorer;
+import org.apache.lucene.search.ConstantScoreWeight;
+import org.apache.lucene.search.DocIdSetIterator;
+import org.apache.lucene.search.IndexSearcher;
+import org.apache.lucene.search.MatchAllDocsQuery;
+import org.apache.lucene.search.MatchNoDocsQuery;
+import org.apache.lucene.search.Query;
+import org.apache.lucene.search.QueryVisitor;
+import org.apache.lucene.search.ScoreMode;
+import org.apache.lucene.search.Scorer;
+import org.apache.lucene.search.TwoPhaseIterator;
+import org.apache.lucene.search.Weight;
+import org.apache.lucene.util.BytesRef;
+import org.elasticsearch.common.ParsingException;
+import org.elasticsearch.common.Randomness;
+import org.elasticsearch.common.hash.MurmurHash3;
+import org.elasticsearch.common.io.stream.StreamInput;
+import org.elasticsearch.common.io.stream.StreamOutput;
+import org.elasticsearch.common.util.SetBackedScalingCuckooFilter;
+import org.elasticsearch.core.Nullable;
+import org.elasticsearch.index.mapper.KeywordFieldMapper;
+import org.elasticsearch.index.mapper.MappedFieldType;
+import org.elasticsearch.index.mapper.NumberFieldMapper;
+import org.elasticsearch.index.mapper.NumberFieldMapper.NumberType;
+import org.elasticsearch.index.query.AbstractQueryBuilder;
+import org.elasticsearch.index.query.SearchExecutionContext;
+import org.elasticsearch.xcontent.XContentBuilder;
+import org.elasticsearch.xcontent.XContentParser;
+
+import java.io.IOException;
+import java.util.Collection;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Filters the documents on the values of a join key field, through an approximate set of the key values of the in-flight sequences.
+ * Used by the stage queries of a sequence instead of a {@code terms} query once there are too many values, so that the size of the
+ * queries stays bounded regardless of the cardinality of the keys. The set has no false negatives, so no document that a {@code terms}
+ * query would match is missed. The additional documents that it lets through are discarded by the sequence matching.
+ *
+ * The values are read from doc values, which is supported for keyword and integral numeric fields. On any other field all documents
+ * match.
+ */
+public class KeyFilterQueryBuilder extends AbstractQueryBuilder<KeyFilterQueryBuilder> {
+
+    public static final String NAME = "eql_key_filter";
+
+    // the number of distinct values that are tracked exactly before the filter converts to cuckoo filters
+    static final int THRESHOLD = 10_000;
+    static final double FPP = 0.01;
+
+    private static final Set<String> INTEGRAL_TYPES = Set.of(
+        NumberType.LONG.typeName(),
+        NumberType.INTEGER.typeName(),
+        NumberType.SHORT.typeName(),
+        NumberType.BYTE.typeName()
+    );
+
+    private final String field;
+    private final boolean numeric;
+    private final boolean includeMissing;
+    private final SetBackedScalingCuckooFilter filter;
+
+    KeyFilterQueryBuilder(String field, boolean numeric, boolean includeMissing, SetBackedScalingCuckooFilter filter) {
+        this.field = field;
+        this.numeric = numeric;
+        this.includeMissing = includeMissing;
+        this.filter = filter;
+    }
+
+    public KeyFilterQueryBuilder(StreamInput in) throws IOException {
+        super(in);
+        field = in.readString();
+        numeric = in.readBoolean();
+        includeMissing = in.readBoolean();
+        filter = new SetBackedScalingCuckooFilter(in, Randomness.get());
+    }
+
+    /**
+     * Creates a filter on the given key values, which need to be either all strings or all integral numbers.
+     *
+     * @param includeMissing whether documents without a value for the field match as well
+     * @return the filter or null if the values are of other or mixed types
+     */
+    @Nullable
+    public static KeyFilterQueryBuilder of(String field, Collection<Object> values, boolean includeMissing) {
+        if (values.isEmpty()) {
+            return null;
+        }
+        boolean numeric = isIntegral(values.iterator().next());
+        SetBackedScalingCuckooFilter filter = new SetBackedScalingCuckooFilter(THRESHOLD, Randomness.get(), FPP);
+        for (Object value : values) {
+            if (numeric && isIntegral(value)) {
+                filter.add(((Number) value).longValue());
+            } else if (numeric == false && value instanceof String) {
+                filter.add(new BytesRef((String) value));
+            } else {
+                return null;
+            }
+        }
+        return new KeyFilterQueryBuilder(field, numeric, includeMissing, filter);
+    }
+
+    private static boolean isIntegral(Object value) {
+        return value instanceof Long || value instanceof Integer || value instanceof Short || value instanceof Byte;
+    }
+
+    public static KeyFilterQueryBuilder fromXContent(XContentParser parser) {
+        throw new ParsingException(parser.getTokenLocation(), "[" + NAME + "] queries are internal to EQL and cannot be parsed");
+    }
+
+    public String fieldName() {
+        return field;
+    }
+
+    boolean numeric() {
+        return numeric;
+    }
+
+    SetBackedScalingCuckooFilter filter() {
+        return filter;
+    }
+
+    @Override
+    protected void doWriteTo(StreamOutput out) throws IOException {
+        out.writeString(field);
+        out.writeBoolean(numeric);
+        out.writeBoolean(includeMissing);
+        filter.writeTo(out);
+    }
+
+    @Override
+    protected void doXContent(XContentBuilder builder, Params params) throws IOException {
+        builder.startObject(NAME);
+        builder.field("field", field);
+        builder.field("numeric", numeric);
+        builder.field("include_missing", includeMissing);
+        builder.field("filter_size_in_bytes", filter.getSizeInBytes());
+        printBoostAndQueryName(builder);
+        builder.endObject();
+    }
+
+    @Override
+    protected Query doToQuery(SearchExecutionContext context) {
+        MappedFieldType fieldType = context.getFieldType(field);
+        if (fieldType == null) {
+            return includeMissing ? new MatchAllDocsQuery() : new MatchNoDocsQuery("unmapped field [" + field + "]");
+        }
+        boolean supported = numeric
+            ? fieldType instanceof NumberFieldMapper.NumberFieldType && INTEGRAL_TYPES.contains(fieldType.typeName())
+            : fieldType instanceof KeywordFieldMapper.KeywordFieldType;
+        if (supported == false || fieldType.hasDocValues() == false) {
+            // the values of the documents cannot be compared with the filter, leave it to the sequence matching
+            return new MatchAllDocsQuery();
+        }
+        return new KeyFilterQuery(field, numeric, includeMissing, filter);
+    }
+
+    @Override
+    public String getWriteableName() {
+        return NAME;
+    }
+
+    @Override
+    protected boolean doEquals(KeyFilterQueryBuilder other) {
+        return field.equals(other.field)
+            && numeric == other.numeric
+            && includeMissing == other.includeMissing
+            && filter.equals(other.filter);
+    }
+
+    @Override
+    protected int doHashCode() {
+        return Objects.hash(field, numeric, includeMissing, filter);
+    }
+
+    static class KeyFilterQuery extends Query {
+
+        private final String field;
+        private final boolean numeric;
+        private final boolean includeMissing;
+        // shared by the queries of all the local shards, so it is only read and every iterator hashes into its own scratch
+        private final SetBackedScalingCuckooFilter filter;
+
+        KeyFilterQuery(String field, boolean numeric, boolean includeMissing, SetBackedScalingCuckooFilter filter) {
+            this.field = field;
+            this.numeric = numeric;
+            this.includeMissing = includeMissing;
+            this.filter = filter;
+        }
+
+        @Override
+        public Weight createWeight(IndexSearcher searcher, ScoreMode scoreMode, float boost) {
+            return new ConstantScoreWeight(this, boost) {
+
+                @Override
+                public Scorer scorer(LeafReaderContext context) throws IOException {
+                    DocIdSetIterator approximation = DocIdSetIterator.all(context.reader().maxDoc());
+                    TwoPhaseIterator twoPhase = numeric
+                        ? numericMatches(approximation, DocValues.getSortedNumeric(context.reader(), field))
+                        : bytesMatches(approximation, DocValues.getSortedSet(context.reader(), field));
+                    return new ConstantScoreScorer(this, score(), scoreMode, twoPhase);
+                }
+
+                @Override
+                public boolean isCacheable(LeafReaderContext ctx) {
+                    return DocValues.isCacheable(ctx, field);
+                }
+            };
+        }
+
+        private TwoPhaseIterator numericMatches(DocIdSetIterator approximation, SortedNumericDocValues values) {
+            return new TwoPhaseIterator(approximation) {
+                @Override
+                public boolean matches() throws IOException {
+                    if (values.advanceExact(approximation.docID()) == false) {
+                        return includeMissing;
+                    }
+                    for (int i = 0; i < values.docValueCount(); i++) {
+                        if (filter.mightContain(values.nextValue())) {
+                            return true;
+                        }
+                    }
+                    return false;
+                }
+
+                @Override
+                public float matchCost() {
+                    return 10f;
+                }
+            };
+        }
+
+        private TwoPhaseIterator bytesMatches(DocIdSetIterator approximation, SortedSetDocValues values) {
+            return new TwoPhaseIterator(approximation) {
+                private final MurmurHash3.Hash128 scratchHash = new MurmurHash3.Hash128();
+
+                @Override
+                public boolean matches() throws IOException {
+                    if (values.advanceExact(approximation.docID()) == false) {
+                        return includeMissing;
+                    }
+                    for (long ord = values.nextOrd(); ord != SortedSetDocValues.NO_MORE_ORDS; ord = values.nextOrd()) {
+                        if (filter.mightContain(values.lookupOrd(ord), scratchHash)) {
+                            return true;
+                        }
+                    }
+                    return false;
+                }
+
+                @Override
+                public float matchCost() {
+                    return 100f;
+                }
+            };
+        }
+
+        @Override
+        public void visit(QueryVisitor visitor) {
+            if (visitor.acceptField(field)) {
+                visitor.visitLeaf(this);
+            }
+        }
+
+        @Override
+        public String toString(String field) {
+            return "KeyFilterQuery(" + this.field + ")";
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (sameClassAs(obj) == false) {
+                return false;
+            }
+            KeyFilterQuery other = (KeyFilterQuery) obj;
+            return field.equals(other.field)
+                && numeric == other.numeric
+                && includeMissing == other.includeMissing
+                && filter.equals(other.filter);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(classHash(), field, numeric, includeMissing, filter);
+        }
+    }
+}
@@ -87,6 +87,23 @@ class KeyToSequences implements Accountable {
         return sequenceEntry == null ? null : sequenceEntry.until;
     }
 
+    /**
+     * Returns the earliest ordinal across the in-flight sequences of the given key or null if there are none.
+     */
+    Ordinal start(SequenceKey key) {
+        SequenceEntry sequenceEntry = keyToSequences.get(key);
+        Ordinal start = null;
+        if (sequenceEntry != null) {
+            for (SequenceGroup group : sequenceEntry.groups) {
+                Ordinal groupStart = group != null ? group.start() : null;
+                if (groupStart != null && (start == null || groupStart.before(start))) {
+                    start = groupStart;
+                }
+            }
+        }
+        return start;
+    }
+
     void add(int stage, Sequence sequence) {
         SequenceKey key = sequence.key();
         SequenceEntry info = keyToSequences.computeIfAbsent(key, k -> new SequenceEntry(listSize));
@@ -118,6 +118,13 @@ abstract class OrdinalGroup<E> implements Iterable<Ordinal>, Accountable {
         return elements.isEmpty();
     }
 
+    /**
+     * Returns the smallest ordinal in the group or null if the group is empty.
+     */
+    Ordinal start() {
+        return start;
+    }
+
     @Override
     public Iterator<Ordinal> iterator() {
         return new Iterator<>() {
@@ -19,7 +19,9 @@ import org.elasticsearch.xpack.eql.execution.search.Limit;
 import org.elasticsearch.xpack.eql.execution.search.Ordinal;
 
 import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.TreeSet;
 
@@ -256,8 +258,18 @@ public class SequenceMatcher {
         return false;
     }
 
-    Set<SequenceKey> keys(int stage) {
-        return stageToKeys.keys(stage);
+    /**
+     * Returns the keys in-flight on the given stage, each with the earliest ordinal of its in-flight sequences on any stage.
+     * Since sequences only move forward, hits with a key that occur before its ordinal cannot extend any sequence.
+     * The ordinal is null for keys without in-flight sequences.
+     */
+    Map<SequenceKey, Ordinal> keysWithStart(int stage) {
+        Set<SequenceKey> keys = stageToKeys.keys(stage);
+        Map<SequenceKey, Ordinal> keysWithStart = new LinkedHashMap<>(keys.size());
+        for (SequenceKey key : keys) {
+            keysWithStart.put(key, keyToSequences.start(key));
+        }
+        return keysWithStart;
     }
 
     Set<SequenceKey> keys() {
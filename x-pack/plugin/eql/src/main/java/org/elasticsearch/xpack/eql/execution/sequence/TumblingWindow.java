@@ -26,6 +26,7 @@ import org.elasticsearch.xpack.eql.session.Payload.Type;
 import org.elasticsearch.xpack.eql.util.ReversedIterator;
 import org.elasticsearch.xpack.ql.util.ActionListeners;
 
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Iterator;
 import java.util.LinkedHashMap;
@@ -522,12 +523,23 @@ public class TumblingWindow implements Executable {
         // add constraints if possible
         if (keyStage >= 0 || keyStage == Integer.MIN_VALUE) {
             // negative means all keys and is used by until
-            Set<SequenceKey> keys = keyStage == Integer.MIN_VALUE ? matcher.keys() : matcher.keys(keyStage);
-            int size = keys.size();
-            if (size > 0) {
-                request.keys(keys.stream().map(SequenceKey::asList).collect(toList()));
+            if (keyStage == Integer.MIN_VALUE) {
+                Set<SequenceKey> keys = matcher.keys();
+                request.keys(keys.isEmpty() ? null : keys.stream().map(SequenceKey::asList).collect(toList()));
             } else {
-                request.keys(null);
+                // the earliest ordinal of each key allows the shards to discard the hits that cannot extend its sequences
+                Map<SequenceKey, Ordinal> keys = matcher.keysWithStart(keyStage);
+                if (keys.isEmpty()) {
+                    request.keys(null);
+                } else {
+                    List<List<Object>> values = new ArrayList<>(keys.size());
+                    List<Ordinal> starts = new ArrayList<>(keys.size());
+                    for (Map.Entry<SequenceKey, Ordinal> entry : keys.entrySet()) {
+                        values.add(entry.getKey().asList());
+                        starts.add(entry.getValue());
+                    }
+                    request.keys(values, starts);
+                }
             }
         }
         // otherwise make sure to reset any previous filters
@@ -29,6 +29,7 @@ import org.elasticsearch.monitor.jvm.JvmInfo;
 import org.elasticsearch.plugins.ActionPlugin;
 import org.elasticsearch.plugins.CircuitBreakerPlugin;
 import org.elasticsearch.plugins.Plugin;
+import org.elasticsearch.plugins.SearchPlugin;
 import org.elasticsearch.repositories.RepositoriesService;
 import org.elasticsearch.rest.RestController;
 import org.elasticsearch.rest.RestHandler;
@@ -42,6 +43,7 @@ import org.elasticsearch.xpack.eql.EqlInfoTransportAction;
 import org.elasticsearch.xpack.eql.EqlUsageTransportAction;
 import org.elasticsearch.xpack.eql.action.EqlSearchAction;
 import org.elasticsearch.xpack.eql.execution.PlanExecutor;
+import org.elasticsearch.xpack.eql.execution.search.KeyFilterQueryBuilder;
 import org.elasticsearch.xpack.ql.index.IndexResolver;
 import org.elasticsearch.xpack.ql.type.DefaultDataTypeRegistry;
 import java.util.Collection;
@@ -49,7 +51,7 @@ import java.util.Collections;
 import java.util.List;
 import java.util.function.Supplier;
 
-public class EqlPlugin extends Plugin implements ActionPlugin, CircuitBreakerPlugin {
+public class EqlPlugin extends Plugin implements ActionPlugin, CircuitBreakerPlugin, SearchPlugin {
 
     private static final String CIRCUIT_BREAKER_NAME = "eql_sequence";
     private static final long CIRCUIT_BREAKER_LIMIT = (long)((0.50) * JvmInfo.jvmInfo().getMem().getHeapMax().getBytes());
@@ -90,6 +92,11 @@ public class EqlPlugin extends Plugin implements ActionPlugin, CircuitBreakerPlu
         return List.of(EQL_ENABLED_SETTING);
     }
 
+    @Override
+    public List<QuerySpec<?>> getQueries() {
+        return List.of(new QuerySpec<>(KeyFilterQueryBuilder.NAME, KeyFilterQueryBuilder::new, KeyFilterQueryBuilder::fromXContent));
+    }
+
     @Override
     public List<ActionHandler<? extends ActionRequest, ? extends ActionResponse>> getActions() {
         return List.of(
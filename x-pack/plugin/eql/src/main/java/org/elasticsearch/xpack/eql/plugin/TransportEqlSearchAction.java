@@ -8,6 +8,7 @@ package org.elasticsearch.xpack.eql.plugin;
 
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
+import org.elasticsearch.Version;
 import org.elasticsearch.action.ActionListener;
 import org.elasticsearch.action.ActionListenerResponseHandler;
 import org.elasticsearch.action.support.ActionFilters;
@@ -155,9 +156,13 @@ public class TransportEqlSearchAction extends HandledTransportAction<EqlSearchRe
                 .size(request.size())
                 .fetchSize(request.fetchSize());
 
+            // only the node connected to is known of a remote cluster, its other nodes may be on older versions
+            boolean localOnly = clusterAliases.stream().allMatch(RemoteClusterAware.LOCAL_CLUSTER_GROUP_KEY::equals);
+            Version minNodeVersion = localOnly ? clusterService.state().nodes().getMinNodeVersion() : null;
             EqlConfiguration cfg = new EqlConfiguration(request.indices(), zoneId, username, clusterName, filter,
                 request.runtimeMappings(), fetchFields, timeout, request.indicesOptions(), request.fetchSize(),
-                clientId, new TaskId(nodeId, task.getId()), task, remoteClusterRegistry::versionIncompatibleClusters);
+                clientId, new TaskId(nodeId, task.getId()), task, remoteClusterRegistry::versionIncompatibleClusters,
+                minNodeVersion);
             executeRequestWithRetryAttempt(clusterService, listener::onFailure,
                 onFailure -> planExecutor.eql(cfg, request.query(), params,
                     wrap(r -> listener.onResponse(createResponse(r, task.getExecutionId())), onFailure)),
@@ -7,6 +7,7 @@
 
 package org.elasticsearch.xpack.eql.session;
 
+import org.elasticsearch.Version;
 import org.elasticsearch.action.support.IndicesOptions;
 import org.elasticsearch.common.Strings;
 import org.elasticsearch.core.Nullable;
@@ -31,6 +32,7 @@ public class EqlConfiguration extends org.elasticsearch.xpack.ql.session.Configu
     private final TaskId taskId;
     private final EqlSearchTask task;
     private final int fetchSize;
+    private final Version minNodeVersion;
 
     @Nullable
     private final QueryBuilder filter;
@@ -42,7 +44,7 @@ public class EqlConfiguration extends org.elasticsearch.xpack.ql.session.Configu
     public EqlConfiguration(String[] indices, ZoneId zi, String username, String clusterName, QueryBuilder filter,
                             Map<String, Object> runtimeMappings, List<FieldAndFormat> fetchFields, TimeValue requestTimeout,
                             IndicesOptions indicesOptions, int fetchSize, String clientId, TaskId taskId, EqlSearchTask task,
-                            Function<String, Collection<String>> versionIncompatibleClusters) {
+                            Function<String, Collection<String>> versionIncompatibleClusters, @Nullable Version minNodeVersion) {
         super(zi, username, clusterName, versionIncompatibleClusters);
 
         this.indices = indices;
@@ -55,6 +57,7 @@ public class EqlConfiguration extends org.elasticsearch.xpack.ql.session.Configu
         this.taskId = taskId;
         this.task = task;
         this.fetchSize = fetchSize;
+        this.minNodeVersion = minNodeVersion;
     }
 
     public String[] indices() {
@@ -100,4 +103,13 @@ public class EqlConfiguration extends org.elasticsearch.xpack.ql.session.Configu
     public TaskId getTaskId() {
         return taskId;
     }
+
+    /**
+     * The version of the oldest node holding the searched shards, which determines the queries that can be sent to them.
+     * Null when remote clusters are searched, since the versions of their nodes are not known.
+     */
+    @Nullable
+    public Version minNodeVersion() {
+        return minNodeVersion;
+    }
 }
@@ -0,0 +1,145 @@
+/*
+ * Copyright Elasticsearch B.V. and/or licensed to Elasticsearch B.V. under one
+ * or more contributor license agreements. Licensed under the Elastic License
+ * 2.0; you may not use this file except in compliance with the Elastic License
+ * 2.0.
+ */
+
+package org.elasticsearch.xpack.eql.execution.assembler;
+
+import org.elasticsearch.index.query.BoolQueryBuilder;
+import org.elasticsearch.index.query.QueryBuilder;
+import org.elasticsearch.index.query.RangeQueryBuilder;
+import org.elasticsearch.index.query.TermsQueryBuilder;
+import org.elasticsearch.search.builder.SearchSourceBuilder;
+import org.elasticsearch.test.ESTestCase;
+import org.elasticsearch.xpack.eql.execution.search.KeyFilterQueryBuilder;
+import org.elasticsearch.xpack.eql.execution.search.Ordinal;
+import org.elasticsearch.xpack.eql.execution.search.Timestamp;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.elasticsearch.index.query.QueryBuilders.boolQuery;
+import static org.elasticsearch.index.query.QueryBuilders.existsQuery;
+import static org.elasticsearch.index.query.QueryBuilders.termQuery;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.instanceOf;
+
+public class BoxedQueryRequestTests extends ESTestCase {
+
+    private static BoxedQueryRequest request() {
+        SearchSourceBuilder source = new SearchSourceBuilder();
+        return new BoxedQueryRequest(() -> source, "@timestamp", List.of("host", "user"));
+    }
+
+    private static List<QueryBuilder> filters(BoxedQueryRequest request) {
+        return ((BoolQueryBuilder) request.searchSource().query()).filter();
+    }
+
+    public void testKeysWithStartsAreFilteredTogether() {
+        BoxedQueryRequest request = request();
+        request.keys(
+            List.of(List.of("h1", "u1"), Arrays.asList("h2", null)),
+            Arrays.asList(new Ordinal(Timestamp.of("1000"), null, 0), null)
+        );
+
+        List<QueryBuilder> filters = filters(request);
+        // the timestamp range of the box and the key filter
+        assertThat(filters, hasSize(2));
+        BoolQueryBuilder sequences = (BoolQueryBuilder) filters.get(1);
+        assertThat(sequences.should(), hasSize(2));
+
+        BoolQueryBuilder first = (BoolQueryBuilder) sequences.should().get(0);
+        assertThat(first.filter(), hasSize(3));
+        assertThat(first.filter().get(0), equalTo(termQuery("host", "h1")));
+        assertThat(first.filter().get(1), equalTo(termQuery("user", "u1")));
+        RangeQueryBuilder range = (RangeQueryBuilder) first.filter().get(2);
+        assertThat(range.fieldName(), equalTo("@timestamp"));
+        assertThat(range.from(), equalTo("1000"));
+
+        BoolQueryBuilder second = (BoolQueryBuilder) sequences.should().get(1);
+        assertThat(second.filter(), hasSize(2));
+        assertThat(second.filter().get(0), equalTo(termQuery("host", "h2")));
+        assertThat(second.filter().get(1), equalTo(boolQuery().mustNot(existsQuery("user"))));
+
+        request.keys(null);
+        assertThat(filters(request), hasSize(1));
+    }
+
+    public void testManyKeysWithStartsFallBackToFieldFilters() {
+        BoxedQueryRequest request = request();
+        List<List<Object>> values = new ArrayList<>();
+        List<Ordinal> starts = new ArrayList<>();
+        for (int i = 0; i <= BoxedQueryRequest.MAX_TERMS; i++) {
+            values.add(List.of("h1", "u" + i));
+            starts.add(new Ordinal(Timestamp.of(Integer.toString(i)), null, 0));
+        }
+        request.keys(values, starts);
+
+        List<QueryBuilder> filters = filters(request);
+        // too many user values, so neither the key fields nor the starts are filtered on
+        assertThat(filters, hasSize(1));
+        assertThat(filters.get(0), instanceOf(RangeQueryBuilder.class));
+    }
+
+    public void testManyKeyFieldsWithStartsFallBackToFieldFilters() {
+        List<String> keyNames = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            keyNames.add("key" + i);
+        }
+        SearchSourceBuilder source = new SearchSourceBuilder();
+        BoxedQueryRequest request = new BoxedQueryRequest(() -> source, "@timestamp", keyNames);
+        // few enough keys for a terms query per field, but too many clauses to match each of them as a whole
+        int numKeys = BoxedQueryRequest.MAX_SEQUENCES_CLAUSES / (keyNames.size() + 2) + 1;
+        assertThat(numKeys <= BoxedQueryRequest.MAX_TERMS, equalTo(true));
+        List<List<Object>> values = new ArrayList<>();
+        List<Ordinal> starts = new ArrayList<>();
+        for (int i = 0; i < numKeys; i++) {
+            List<Object> value = new ArrayList<>();
+            for (int k = 0; k < keyNames.size(); k++) {
+                value.add("v" + k + "-" + i);
+            }
+            values.add(value);
+            starts.add(new Ordinal(Timestamp.of(Integer.toString(i)), null, 0));
+        }
+        request.keys(values, starts);
+
+        List<QueryBuilder> filters = filters(request);
+        // the timestamp range of the box and a terms query per key field
+        assertThat(filters, hasSize(1 + keyNames.size()));
+        for (int k = 0; k < keyNames.size(); k++) {
+            TermsQueryBuilder terms = (TermsQueryBuilder) filters.get(k + 1);
+            assertThat(terms.fieldName(), equalTo("key" + k));
+            assertThat(terms.values(), hasSize(numKeys));
+        }
+
+        // with fewer keys, they are matched as a whole again
+        request.keys(values.subList(0, numKeys - 1), starts.subList(0, numKeys - 1));
+        filters = filters(request);
+        assertThat(filters, hasSize(2));
+        assertThat(((BoolQueryBuilder) filters.get(1)).should(), hasSize(numKeys - 1));
+    }
+
+    public void testManyKeysAreFilteredThroughKeyFilterQuery() {
+        BoxedQueryRequest request = new BoxedQueryRequest(() -> new SearchSourceBuilder(), "@timestamp", List.of("host", "user"), true);
+        List<List<Object>> values = new ArrayList<>();
+        for (int i = 0; i <= BoxedQueryRequest.MAX_TERMS; i++) {
+            values.add(List.of("h1", "u" + i));
+        }
+        request.keys(values);
+
+        List<QueryBuilder> filters = filters(request);
+        assertThat(filters, hasSize(3));
+        assertThat(filters.get(1), equalTo(termQuery("host", "h1")));
+        assertThat(filters.get(2), instanceOf(KeyFilterQueryBuilder.class));
+        assertThat(((KeyFilterQueryBuilder) filters.get(2)).fieldName(), equalTo("user"));
+
+        // values of mixed types cannot be put in a key filter
+        values.add(List.of("h1", 1L));
+        request.keys(values);
+        assertThat(filters(request), hasSize(1));
+    }
+}
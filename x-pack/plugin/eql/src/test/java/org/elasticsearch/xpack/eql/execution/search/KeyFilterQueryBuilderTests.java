@@ -0,0 +1,150 @@
+/*
+ * Copyright Elasticsearch B.V. and/or licensed to Elasticsearch B.V. under one
+ * or more contributor license agreements. Licensed under the Elastic License
+ * 2.0; you may not use this file except in compliance with the Elastic License
+ * 2.0.
+ */
+
+package org.elasticsearch.xpack.eql.execution.search;
+
+import org.apache.lucene.document.Document;
+import org.apache.lucene.document.SortedNumericDocValuesField;
+import org.apache.lucene.document.SortedSetDocValuesField;
+import org.apache.lucene.index.IndexReader;
+import org.apache.lucene.index.RandomIndexWriter;
+import org.apache.lucene.search.IndexSearcher;
+import org.apache.lucene.store.Directory;
+import org.apache.lucene.util.BytesRef;
+import org.elasticsearch.common.io.stream.BytesStreamOutput;
+import org.elasticsearch.common.io.stream.StreamInput;
+import org.elasticsearch.test.ESTestCase;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.everyItem;
+import static org.hamcrest.Matchers.greaterThanOrEqualTo;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.notNullValue;
+import static org.hamcrest.Matchers.nullValue;
+
+public class KeyFilterQueryBuilderTests extends ESTestCase {
+
+    public void testOf() {
+        assertThat(KeyFilterQueryBuilder.of("field", List.of(), false), nullValue());
+        assertThat(KeyFilterQueryBuilder.of("field", List.of("a", 1L), false), nullValue());
+        assertThat(KeyFilterQueryBuilder.of("field", List.of(1L, "a"), false), nullValue());
+        assertThat(KeyFilterQueryBuilder.of("field", List.of(1.5d), false), nullValue());
+        assertThat(KeyFilterQueryBuilder.of("field", List.of("a", "b"), false), notNullValue());
+        assertThat(KeyFilterQueryBuilder.of("field", List.of(1L, 2, (short) 3), true), notNullValue());
+    }
+
+    public void testSerialization() throws IOException {
+        KeyFilterQueryBuilder builder = randomBoolean()
+            ? KeyFilterQueryBuilder.of("field", List.of("a", "b", "c"), randomBoolean())
+            : KeyFilterQueryBuilder.of("field", List.of(1L, 2L, 3L), randomBoolean());
+        try (BytesStreamOutput out = new BytesStreamOutput()) {
+            builder.writeTo(out);
+            try (StreamInput in = out.bytes().streamInput()) {
+                assertThat(new KeyFilterQueryBuilder(in), equalTo(builder));
+            }
+        }
+    }
+
+    public void testKeywordValues() throws IOException {
+        try (Directory dir = newDirectory(); RandomIndexWriter iw = new RandomIndexWriter(random(), dir)) {
+            for (String value : new String[] { "a", "b", "c" }) {
+                Document doc = new Document();
+                doc.add(new SortedSetDocValuesField("field", new BytesRef(value)));
+                iw.addDocument(doc);
+            }
+            iw.addDocument(new Document());
+            try (IndexReader reader = iw.getReader()) {
+                IndexSearcher searcher = newSearcher(reader);
+                KeyFilterQueryBuilder builder = KeyFilterQueryBuilder.of("field", List.of("a", "c", "d"), false);
+                assertThat(searcher.count(query(builder, false)), equalTo(2));
+                assertThat(searcher.count(query(builder, true)), equalTo(3));
+            }
+        }
+    }
+
+    public void testNumericValues() throws IOException {
+        try (Directory dir = newDirectory(); RandomIndexWriter iw = new RandomIndexWriter(random(), dir)) {
+            for (long value = 0; value < 10; value++) {
+                Document doc = new Document();
+                doc.add(new SortedNumericDocValuesField("field", value));
+                doc.add(new SortedNumericDocValuesField("field", value + 100));
+                iw.addDocument(doc);
+            }
+            iw.addDocument(new Document());
+            try (IndexReader reader = iw.getReader()) {
+                IndexSearcher searcher = newSearcher(reader);
+                KeyFilterQueryBuilder builder = KeyFilterQueryBuilder.of("field", List.of(1L, 3L, 105L, 200L), false);
+                assertThat(searcher.count(query(builder, false)), equalTo(3));
+                assertThat(searcher.count(query(builder, true)), equalTo(4));
+            }
+        }
+    }
+
+    /**
+     * The builder is not serialized for the local shards, so the queries of all these shards share its filter.
+     */
+    public void testConcurrentSearchesShareFilter() throws Exception {
+        int numValues = KeyFilterQueryBuilder.THRESHOLD * 2;
+        List<Object> keys = new ArrayList<>();
+        try (Directory dir = newDirectory(); RandomIndexWriter iw = new RandomIndexWriter(random(), dir)) {
+            for (int i = 0; i < numValues; i++) {
+                Document doc = new Document();
+                doc.add(new SortedSetDocValuesField("field", new BytesRef("value_" + i)));
+                iw.addDocument(doc);
+                if (i % 2 == 0) {
+                    keys.add("value_" + i);
+                }
+            }
+            try (IndexReader reader = iw.getReader()) {
+                KeyFilterQueryBuilder builder = KeyFilterQueryBuilder.of("field", keys, false);
+                IndexSearcher searcher = new IndexSearcher(reader);
+                searcher.setQueryCache(null);
+                int expected = searcher.count(query(builder, false));
+                // no false negatives
+                assertThat(expected, greaterThanOrEqualTo(keys.size()));
+
+                int numThreads = randomIntBetween(2, 8);
+                CountDownLatch start = new CountDownLatch(1);
+                List<Integer> counts = new CopyOnWriteArrayList<>();
+                List<Exception> failures = new CopyOnWriteArrayList<>();
+                List<Thread> threads = new ArrayList<>(numThreads);
+                for (int t = 0; t < numThreads; t++) {
+                    Thread thread = new Thread(() -> {
+                        try {
+                            start.await();
+                            for (int i = 0; i < 5; i++) {
+                                counts.add(searcher.count(query(builder, false)));
+                            }
+                        } catch (Exception e) {
+                            failures.add(e);
+                        }
+                    });
+                    thread.start();
+                    threads.add(thread);
+                }
+                start.countDown();
+                for (Thread thread : threads) {
+                    thread.join();
+                }
+                assertThat(failures, empty());
+                assertThat(counts, hasSize(numThreads * 5));
+                assertThat(counts, everyItem(equalTo(expected)));
+            }
+        }
+    }
+
+    private static KeyFilterQueryBuilder.KeyFilterQuery query(KeyFilterQueryBuilder builder, boolean includeMissing) {
+        return new KeyFilterQueryBuilder.KeyFilterQuery(builder.fieldName(), builder.numeric(), includeMissing, builder.filter());
+    }
+}
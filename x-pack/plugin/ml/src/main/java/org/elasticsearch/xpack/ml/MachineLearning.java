@@ -597,6 +597,19 @@ public class MachineLearning extends Plugin implements SystemIndexPlugin,
             Setting.Property.NodeScope
         );
 
+    /**
+     * The maximum number of time chunks a datafeed extracts concurrently during lookback.
+     * The extracted data is still written to the job in time order.
+     */
+    public static final Setting<Integer> DATAFEED_MAX_CONCURRENT_CHUNKS = Setting.intSetting(
+            "xpack.ml.datafeed_max_concurrent_chunks",
+            2,
+            1,
+            8,
+            Property.Dynamic,
+            Setting.Property.NodeScope
+        );
+
     private static final Logger logger = LogManager.getLogger(MachineLearning.class);
 
     private final Settings settings;
@@ -651,7 +664,8 @@ public class MachineLearning extends Plugin implements SystemIndexPlugin,
                 NIGHTLY_MAINTENANCE_REQUESTS_PER_SECOND,
                 USE_AUTO_MACHINE_MEMORY_PERCENT,
                 MAX_ML_NODE_SIZE,
-                DELAYED_DATA_CHECK_FREQ
+                DELAYED_DATA_CHECK_FREQ,
+                DATAFEED_MAX_CONCURRENT_CHUNKS
             );
     }
 
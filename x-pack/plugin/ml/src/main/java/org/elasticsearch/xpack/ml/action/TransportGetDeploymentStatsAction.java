@@ -171,7 +171,11 @@ public class TransportGetDeploymentStatsAction extends TransportTasksAction<Trai
                 clusterService.localNode(),
                 stats.get().getTimingStats().getCount(),
                 stats.get().getTimingStats().getAverage(),
-                stats.get().getLastUsed()));
+                stats.get().getLastUsed(),
+                stats.get().getQueueDepth(),
+                stats.get().getLatencyP50(),
+                stats.get().getLatencyP95(),
+                stats.get().getLatencyP99()));
         } else {
             // if there are no stats the process is missing.
             // Either because it is starting or stopped
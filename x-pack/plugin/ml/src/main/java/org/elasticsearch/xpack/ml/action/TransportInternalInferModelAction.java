@@ -106,17 +106,8 @@ public class TransportInternalInferModelAction extends HandledTransportAction<Re
     private void getModelAndInfer(Request request, Response.Builder responseBuilder, ActionListener<Response> listener) {
         ActionListener<LocalModel> getModelListener = ActionListener.wrap(
             model -> {
-                TypedChainTaskExecutor<InferenceResults> typedChainTaskExecutor =
-                    new TypedChainTaskExecutor<>(client.threadPool().executor(ThreadPool.Names.SAME),
-                        // run through all tasks
-                        r -> true,
-                        // Always fail immediately and return an error
-                        ex -> true);
-                request.getObjectsToInfer().forEach(stringObjectMap ->
-                    typedChainTaskExecutor.add(chainedTask ->
-                        model.infer(stringObjectMap, request.getUpdate(), chainedTask)));
-
-                typedChainTaskExecutor.execute(ActionListener.wrap(
+                // all the documents are inferred in one go, which lets ensembles evaluate them together
+                model.infer(request.getObjectsToInfer(), request.getUpdate(), ActionListener.wrap(
                     inferenceResultsInterfaces -> {
                         model.release();
                         listener.onResponse(responseBuilder.setInferenceResults(inferenceResultsInterfaces)
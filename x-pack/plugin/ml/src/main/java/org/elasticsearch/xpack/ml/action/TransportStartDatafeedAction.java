@@ -609,7 +609,7 @@ public class TransportStartDatafeedAction extends TransportMasterNodeAction<Star
                     return new GetDatafeedRunningStateAction.Response.RunningState(endTime == null,false);
                 }
             }
-            return new GetDatafeedRunningStateAction.Response.RunningState(endTime == null, datafeedRunner.finishedLookBack(this));
+            return datafeedRunner.getRunningState(this, endTime == null);
         }
     }
 
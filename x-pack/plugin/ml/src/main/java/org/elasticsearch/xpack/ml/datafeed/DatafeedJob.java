@@ -44,6 +44,7 @@ import java.util.Date;
 import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.function.Supplier;
 
@@ -77,6 +78,9 @@ class DatafeedJob {
     private volatile boolean isIsolated;
     private volatile boolean haveEverSeenData;
     private volatile long consecutiveDelayedDataBuckets;
+    // only updated by the thread running the datafeed, which holds the datafeed job lock
+    private volatile long extractedRecordCount;
+    private volatile long extractionTimeNanos;
 
     DatafeedJob(String jobId, DataDescription dataDescription, long frequencyMs, long queryDelayMs,
                 DataExtractorFactory dataExtractorFactory, DatafeedTimingStatsReporter timingStatsReporter, Client client,
@@ -322,6 +326,20 @@ class DatafeedJob {
         return running.get();
     }
 
+    /**
+     * The number of records that were extracted and posted to the job since the datafeed started.
+     */
+    public long getExtractedRecordCount() {
+        return extractedRecordCount;
+    }
+
+    /**
+     * The time spent waiting for the data extractor since the datafeed started.
+     */
+    public long getExtractionTimeMs() {
+        return TimeUnit.NANOSECONDS.toMillis(extractionTimeNanos);
+    }
+
     private void run(long start, long end, FlushJobAction.Request flushRequest) throws IOException {
         if (end <= start) {
             return;
@@ -343,8 +361,10 @@ class DatafeedJob {
             }
 
             Optional<InputStream> extractedData;
+            long extractionStartNanos = System.nanoTime();
             try {
                 extractedData = dataExtractor.next();
+                extractionTimeNanos += System.nanoTime() - extractionStartNanos;
             } catch (Exception e) {
                 LOGGER.error(new ParameterizedMessage("[{}] error while extracting data", jobId), e);
                 // When extraction problems are encountered, we do not want to advance time.
@@ -395,6 +415,7 @@ class DatafeedJob {
                     break;
                 }
                 recordCount += counts.getProcessedRecordCount();
+                extractedRecordCount += counts.getProcessedRecordCount();
                 haveEverSeenData |= (recordCount > 0);
                 if (counts.getLatestRecordTimeStamp() != null) {
                     lastEndTimeMs = counts.getLatestRecordTimeStamp().getTime();
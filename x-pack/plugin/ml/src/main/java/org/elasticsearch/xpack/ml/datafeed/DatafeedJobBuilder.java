@@ -33,6 +33,7 @@ import java.util.List;
 import java.util.Objects;
 import java.util.function.Supplier;
 
+import static org.elasticsearch.xpack.ml.MachineLearning.DATAFEED_MAX_CONCURRENT_CHUNKS;
 import static org.elasticsearch.xpack.ml.MachineLearning.DELAYED_DATA_CHECK_FREQ;
 
 public class DatafeedJobBuilder {
@@ -47,6 +48,7 @@ public class DatafeedJobBuilder {
     private final String nodeName;
 
     private volatile long delayedDataCheckFreq;
+    private volatile int maxConcurrentChunks;
 
     public DatafeedJobBuilder(Client client, NamedXContentRegistry xContentRegistry, AnomalyDetectionAuditor auditor,
                               AnnotationPersister annotationPersister, Supplier<Long> currentTimeSupplier,
@@ -61,12 +63,18 @@ public class DatafeedJobBuilder {
         this.nodeName = clusterService.getNodeName();
         this.delayedDataCheckFreq = DELAYED_DATA_CHECK_FREQ.get(settings).millis();
         clusterService.getClusterSettings().addSettingsUpdateConsumer(DELAYED_DATA_CHECK_FREQ, this::setDelayedDataCheckFreq);
+        this.maxConcurrentChunks = DATAFEED_MAX_CONCURRENT_CHUNKS.get(settings);
+        clusterService.getClusterSettings().addSettingsUpdateConsumer(DATAFEED_MAX_CONCURRENT_CHUNKS, this::setMaxConcurrentChunks);
     }
 
     private void setDelayedDataCheckFreq(TimeValue value) {
         this.delayedDataCheckFreq = value.millis();
     }
 
+    private void setMaxConcurrentChunks(int maxConcurrentChunks) {
+        this.maxConcurrentChunks = maxConcurrentChunks;
+    }
+
     void build(TransportStartDatafeedAction.DatafeedTask task, DatafeedContext context, ActionListener<DatafeedJob> listener) {
         final ParentTaskAssigningClient parentTaskAssigningClient = new ParentTaskAssigningClient(client, task.getParentTaskId());
         final DatafeedConfig datafeedConfig = context.getDatafeedConfig();
@@ -133,6 +141,7 @@ public class DatafeedJobBuilder {
             job,
             xContentRegistry,
             timingStatsReporter,
+            maxConcurrentChunks,
             dataExtractorFactoryHandler);
     }
 
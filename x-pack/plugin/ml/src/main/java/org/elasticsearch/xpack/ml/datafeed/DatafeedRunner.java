@@ -26,6 +26,7 @@ import org.elasticsearch.threadpool.Scheduler;
 import org.elasticsearch.threadpool.ThreadPool;
 import org.elasticsearch.xpack.core.ml.MlTasks;
 import org.elasticsearch.xpack.core.ml.action.CloseJobAction;
+import org.elasticsearch.xpack.core.ml.action.GetDatafeedRunningStateAction;
 import org.elasticsearch.xpack.core.ml.action.StartDatafeedAction;
 import org.elasticsearch.xpack.core.ml.datafeed.DatafeedState;
 import org.elasticsearch.xpack.core.ml.job.config.JobState;
@@ -204,6 +205,20 @@ public class DatafeedRunner {
         return holder != null && holder.isLookbackFinished();
     }
 
+    public GetDatafeedRunningStateAction.Response.RunningState getRunningState(TransportStartDatafeedAction.DatafeedTask task,
+                                                                              boolean realTimeConfigured) {
+        Holder holder = runningDatafeedsOnThisNode.get(task.getAllocationId());
+        if (holder == null) {
+            return new GetDatafeedRunningStateAction.Response.RunningState(realTimeConfigured, false);
+        }
+        return new GetDatafeedRunningStateAction.Response.RunningState(
+            realTimeConfigured,
+            holder.isLookbackFinished(),
+            holder.datafeedJob.getExtractedRecordCount(),
+            holder.datafeedJob.getExtractionTimeMs()
+        );
+    }
+
     // Important: Holder must be created and assigned to DatafeedTask before setting state to started,
     // otherwise if a stop datafeed call is made immediately after the start datafeed call we could cancel
     // the DatafeedTask without stopping datafeed, which causes the datafeed to keep on running.
@@ -20,7 +20,7 @@ import java.util.Objects;
  * {@link DatafeedTimingStatsReporter} class handles the logic of persisting {@link DatafeedTimingStats} if they changed significantly
  * since the last time they were persisted.
  *
- * This class is not thread-safe.
+ * The reporting methods are synchronized as chunked datafeeds may search several chunks concurrently.
  */
 public class DatafeedTimingStatsReporter {
 
@@ -50,14 +50,14 @@ public class DatafeedTimingStatsReporter {
     }
 
     /** Gets current timing stats. */
-    public DatafeedTimingStats getCurrentTimingStats() {
+    public synchronized DatafeedTimingStats getCurrentTimingStats() {
         return new DatafeedTimingStats(currentTimingStats);
     }
 
     /**
      * Reports how much time did the search request execution take.
      */
-    public void reportSearchDuration(TimeValue searchDuration) {
+    public synchronized void reportSearchDuration(TimeValue searchDuration) {
         if (searchDuration == null) {
             return;
         }
@@ -68,7 +68,7 @@ public class DatafeedTimingStatsReporter {
     /**
      * Reports the data counts received from the autodetect process.
      */
-    public void reportDataCounts(DataCounts dataCounts) {
+    public synchronized void reportDataCounts(DataCounts dataCounts) {
         if (dataCounts == null) {
             return;
         }
@@ -80,7 +80,7 @@ public class DatafeedTimingStatsReporter {
     }
 
     /** Finishes reporting of timing stats. Makes timing stats persisted immediately. */
-    public void finishReporting() {
+    public synchronized void finishReporting() {
         // Don't flush if current timing stats are identical to the persisted ones
         if (currentTimingStats.equals(persistedTimingStats) == false) {
             flush(WriteRequest.RefreshPolicy.IMMEDIATE);
@@ -30,20 +30,37 @@ import org.elasticsearch.xpack.ml.datafeed.extractor.scroll.ScrollDataExtractorF
 public interface DataExtractorFactory {
     DataExtractor newExtractor(long start, long end);
 
+    /**
+     * Creates a {@code DataExtractorFactory} for the given datafeed-job combination that extracts chunks one at a time.
+     */
+    static void create(Client client,
+                       DatafeedConfig datafeed,
+                       Job job,
+                       NamedXContentRegistry xContentRegistry,
+                       DatafeedTimingStatsReporter timingStatsReporter,
+                       ActionListener<DataExtractorFactory> listener) {
+        create(client, datafeed, job, xContentRegistry, timingStatsReporter, 1, listener);
+    }
+
     /**
      * Creates a {@code DataExtractorFactory} for the given datafeed-job combination.
+     *
+     * @param maxConcurrentChunks the maximum number of time chunks searched concurrently when the datafeed is chunked
      */
     static void create(Client client,
                        DatafeedConfig datafeed,
                        Job job,
                        NamedXContentRegistry xContentRegistry,
                        DatafeedTimingStatsReporter timingStatsReporter,
+                       int maxConcurrentChunks,
                        ActionListener<DataExtractorFactory> listener) {
         final boolean hasAggs = datafeed.hasAggregations();
         final boolean isComposite = hasAggs && datafeed.hasCompositeAgg(xContentRegistry);
         ActionListener<DataExtractorFactory> factoryHandler = ActionListener.wrap(
             factory -> listener.onResponse(datafeed.getChunkingConfig().isEnabled()
-                ? new ChunkedDataExtractorFactory(client, datafeed, job, xContentRegistry, factory, timingStatsReporter) : factory)
+                ? new ChunkedDataExtractorFactory(client, datafeed, job, xContentRegistry, factory, timingStatsReporter,
+                    maxConcurrentChunks)
+                : factory)
             , listener::onFailure
         );
 
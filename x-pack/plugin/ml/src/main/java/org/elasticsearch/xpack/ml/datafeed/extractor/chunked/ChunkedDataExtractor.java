@@ -8,6 +8,8 @@ package org.elasticsearch.xpack.ml.datafeed.extractor.chunked;
 
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
+import org.apache.logging.log4j.message.ParameterizedMessage;
+import org.elasticsearch.ElasticsearchException;
 import org.elasticsearch.action.ActionRequestBuilder;
 import org.elasticsearch.action.search.SearchAction;
 import org.elasticsearch.action.search.SearchRequest;
@@ -30,9 +32,17 @@ import org.elasticsearch.xpack.ml.datafeed.extractor.aggregation.RollupDataExtra
 
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
 import java.util.NoSuchElementException;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
 
 /**
  * A wrapper {@link DataExtractor} that can be used with other extractors in order to perform
@@ -45,9 +55,15 @@ import java.util.Optional;
  * when necessary, and to jump the search forward to the time where the earliest data can be found.
  * If a search for a chunk returns empty, the set up is performed again for the remaining time.
  *
+ * <p> When more than one concurrent chunk is allowed, the chunks following the current one are searched ahead
+ * on the given executor. Each of them buffers at most {@link #MAX_PREFETCHED_PAGES} pages, and the pages are
+ * returned strictly in time order, so the job sees exactly the data a sequential extraction would produce.
+ * The chunks searched ahead are discarded whenever the chunked search is set up again.
+ *
  * <p> Cancellation's behaviour depends on the delegate extractor.
  *
- * <p> Note that this class is NOT thread-safe.
+ * <p> Note that this class is NOT thread-safe. Only the chunks searched ahead are handed to other threads,
+ * and they are only read by the caller once their search has completed.
  */
 public class ChunkedDataExtractor implements DataExtractor {
 
@@ -66,11 +82,18 @@ public class ChunkedDataExtractor implements DataExtractor {
     /** Let us set a minimum chunk span of 1 minute */
     private static final long MIN_CHUNK_SPAN = 60000L;
 
+    /** The maximum number of pages a chunk that is searched ahead buffers before waiting for the caller */
+    static final int MAX_PREFETCHED_PAGES = 4;
+
     private final Client client;
     private final DataExtractorFactory dataExtractorFactory;
     private final ChunkedDataExtractorContext context;
     private final DataSummaryFactory dataSummaryFactory;
     private final DatafeedTimingStatsReporter timingStatsReporter;
+    private final int maxConcurrentChunks;
+    private final Executor executor;
+    private final Deque<PrefetchedChunk> prefetchedChunks = new ArrayDeque<>();
+    private final Deque<Optional<InputStream>> currentPages = new ArrayDeque<>();
     private long currentStart;
     private long currentEnd;
     private long chunkSpan;
@@ -82,10 +105,26 @@ public class ChunkedDataExtractor implements DataExtractor {
             DataExtractorFactory dataExtractorFactory,
             ChunkedDataExtractorContext context,
             DatafeedTimingStatsReporter timingStatsReporter) {
+        this(client, dataExtractorFactory, context, timingStatsReporter, 1, null);
+    }
+
+    public ChunkedDataExtractor(
+            Client client,
+            DataExtractorFactory dataExtractorFactory,
+            ChunkedDataExtractorContext context,
+            DatafeedTimingStatsReporter timingStatsReporter,
+            int maxConcurrentChunks,
+            Executor executor) {
         this.client = Objects.requireNonNull(client);
         this.dataExtractorFactory = Objects.requireNonNull(dataExtractorFactory);
         this.context = Objects.requireNonNull(context);
         this.timingStatsReporter = Objects.requireNonNull(timingStatsReporter);
+        if (maxConcurrentChunks > 1) {
+            this.executor = Objects.requireNonNull(executor);
+        } else {
+            this.executor = null;
+        }
+        this.maxConcurrentChunks = maxConcurrentChunks;
         this.currentStart = context.start;
         this.currentEnd = context.start;
         this.isCancelled = false;
@@ -94,7 +133,7 @@ public class ChunkedDataExtractor implements DataExtractor {
 
     @Override
     public boolean hasNext() {
-        boolean currentHasNext = currentExtractor != null && currentExtractor.hasNext();
+        boolean currentHasNext = currentPages.isEmpty() == false || (currentExtractor != null && currentExtractor.hasNext());
         if (isCancelled()) {
             return currentHasNext;
         }
@@ -112,10 +151,17 @@ public class ChunkedDataExtractor implements DataExtractor {
             setUpChunkedSearch();
         }
 
-        return getNextStream();
+        try {
+            return getNextStream();
+        } catch (IOException | RuntimeException e) {
+            discardPrefetchedChunks();
+            throw e;
+        }
     }
 
     private void setUpChunkedSearch() {
+        // the chunks searched ahead were aligned to the previous set up
+        discardPrefetchedChunks();
         DataSummary dataSummary = dataSummaryFactory.buildDataSummary();
         if (dataSummary.hasData()) {
             currentStart = context.timeAligner.alignToFloor(dataSummary.earliestTime());
@@ -138,13 +184,13 @@ public class ChunkedDataExtractor implements DataExtractor {
         while (hasNext()) {
             boolean isNewSearch = false;
 
-            if (currentExtractor == null || currentExtractor.hasNext() == false) {
+            if (currentExtractor == null || (currentPages.isEmpty() && currentExtractor.hasNext() == false)) {
                 // First search or the current search finished; we can advance to the next search
                 advanceTime();
                 isNewSearch = true;
             }
 
-            Optional<InputStream> nextStream = currentExtractor.next();
+            Optional<InputStream> nextStream = nextInCurrentChunk();
             if (nextStream.isPresent()) {
                 return nextStream;
             }
@@ -158,11 +204,52 @@ public class ChunkedDataExtractor implements DataExtractor {
         return Optional.empty();
     }
 
-    private void advanceTime() {
+    private Optional<InputStream> nextInCurrentChunk() throws IOException {
+        if (currentPages.isEmpty() == false) {
+            return currentPages.poll();
+        }
+        return currentExtractor.hasNext() ? currentExtractor.next() : Optional.empty();
+    }
+
+    private void advanceTime() throws IOException {
         currentStart = currentEnd;
         currentEnd = Math.min(currentStart + chunkSpan, context.end);
-        currentExtractor = dataExtractorFactory.newExtractor(currentStart, currentEnd);
+        PrefetchedChunk prefetchedChunk = prefetchedChunks.poll();
+        if (prefetchedChunk != null) {
+            assert prefetchedChunk.start == currentStart && prefetchedChunk.end == currentEnd;
+            currentExtractor = prefetchedChunk.extractor;
+            currentPages.addAll(prefetchedChunk.awaitPages());
+        } else {
+            currentExtractor = dataExtractorFactory.newExtractor(currentStart, currentEnd);
+        }
         LOGGER.trace("[{}] advances time to [{}, {})", context.jobId, currentStart, currentEnd);
+        prefetchChunks();
+    }
+
+    /**
+     * Starts searching the chunks that follow the current one, so that up to {@code maxConcurrentChunks} chunks are in flight.
+     */
+    private void prefetchChunks() {
+        if (maxConcurrentChunks <= 1 || isCancelled()) {
+            return;
+        }
+        long prefetchEnd = prefetchedChunks.isEmpty() ? currentEnd : prefetchedChunks.peekLast().end;
+        while (prefetchedChunks.size() < maxConcurrentChunks - 1 && prefetchEnd < context.end) {
+            long prefetchStart = prefetchEnd;
+            prefetchEnd = Math.min(prefetchStart + chunkSpan, context.end);
+            PrefetchedChunk prefetchedChunk = new PrefetchedChunk(prefetchStart, prefetchEnd,
+                dataExtractorFactory.newExtractor(prefetchStart, prefetchEnd));
+            prefetchedChunk.start(executor);
+            prefetchedChunks.add(prefetchedChunk);
+            LOGGER.trace("[{}] searching ahead in [{}, {})", context.jobId, prefetchStart, prefetchEnd);
+        }
+    }
+
+    private void discardPrefetchedChunks() {
+        PrefetchedChunk prefetchedChunk;
+        while ((prefetchedChunk = prefetchedChunks.poll()) != null) {
+            prefetchedChunk.discard(executor);
+        }
     }
 
     @Override
@@ -175,6 +262,7 @@ public class ChunkedDataExtractor implements DataExtractor {
         if (currentExtractor != null) {
             currentExtractor.cancel();
         }
+        discardPrefetchedChunks();
         isCancelled = true;
     }
 
@@ -187,6 +275,77 @@ public class ChunkedDataExtractor implements DataExtractor {
         return context;
     }
 
+    /**
+     * A chunk whose first pages are searched on another thread while the caller still consumes the chunks before it.
+     */
+    private class PrefetchedChunk {
+
+        private final long start;
+        private final long end;
+        private final DataExtractor extractor;
+        private volatile boolean discarded;
+        private CompletableFuture<List<Optional<InputStream>>> pages;
+
+        private PrefetchedChunk(long start, long end, DataExtractor extractor) {
+            this.start = start;
+            this.end = end;
+            this.extractor = extractor;
+        }
+
+        private void start(Executor executor) {
+            pages = CompletableFuture.supplyAsync(this::searchPages, executor);
+        }
+
+        private List<Optional<InputStream>> searchPages() {
+            List<Optional<InputStream>> searchedPages = new ArrayList<>();
+            try {
+                while (discarded == false && searchedPages.size() < MAX_PREFETCHED_PAGES && extractor.hasNext()) {
+                    searchedPages.add(extractor.next());
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            return searchedPages;
+        }
+
+        private List<Optional<InputStream>> awaitPages() throws IOException {
+            try {
+                return pages.get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new ElasticsearchException("[" + context.jobId + "] interrupted while waiting for chunk search", e);
+            } catch (ExecutionException e) {
+                Throwable cause = e.getCause();
+                if (cause instanceof UncheckedIOException) {
+                    throw ((UncheckedIOException) cause).getCause();
+                }
+                if (cause instanceof RuntimeException) {
+                    throw (RuntimeException) cause;
+                }
+                throw new ElasticsearchException(cause);
+            }
+        }
+
+        /**
+         * Stops the search and, once it has stopped, lets the extractor run to the end of its cancellation so that it
+         * releases its search resources (e.g. clears its scroll).
+         */
+        private void discard(Executor executor) {
+            discarded = true;
+            extractor.cancel();
+            pages.whenCompleteAsync((searchedPages, e) -> {
+                try {
+                    while (extractor.hasNext()) {
+                        extractor.next();
+                    }
+                } catch (Exception drainException) {
+                    LOGGER.debug(() -> new ParameterizedMessage("[{}] failed to stop search for chunk [{}, {})",
+                        context.jobId, start, end), drainException);
+                }
+            }, executor);
+        }
+    }
+
     private class DataSummaryFactory {
 
         /**
@@ -10,6 +10,7 @@ import org.elasticsearch.client.Client;
 import org.elasticsearch.xcontent.NamedXContentRegistry;
 import org.elasticsearch.xpack.core.ml.datafeed.DatafeedConfig;
 import org.elasticsearch.xpack.core.ml.datafeed.extractor.DataExtractor;
+import org.elasticsearch.xpack.ml.MachineLearning;
 import org.elasticsearch.xpack.ml.datafeed.DatafeedTimingStatsReporter;
 import org.elasticsearch.xpack.ml.datafeed.extractor.DataExtractorFactory;
 import org.elasticsearch.xpack.core.ml.job.config.Job;
@@ -25,6 +26,7 @@ public class ChunkedDataExtractorFactory implements DataExtractorFactory {
     private final DataExtractorFactory dataExtractorFactory;
     private final NamedXContentRegistry xContentRegistry;
     private final DatafeedTimingStatsReporter timingStatsReporter;
+    private final int maxConcurrentChunks;
 
     public ChunkedDataExtractorFactory(Client client,
                                        DatafeedConfig datafeedConfig,
@@ -32,12 +34,23 @@ public class ChunkedDataExtractorFactory implements DataExtractorFactory {
                                        NamedXContentRegistry xContentRegistry,
                                        DataExtractorFactory dataExtractorFactory,
                                        DatafeedTimingStatsReporter timingStatsReporter) {
+        this(client, datafeedConfig, job, xContentRegistry, dataExtractorFactory, timingStatsReporter, 1);
+    }
+
+    public ChunkedDataExtractorFactory(Client client,
+                                       DatafeedConfig datafeedConfig,
+                                       Job job,
+                                       NamedXContentRegistry xContentRegistry,
+                                       DataExtractorFactory dataExtractorFactory,
+                                       DatafeedTimingStatsReporter timingStatsReporter,
+                                       int maxConcurrentChunks) {
         this.client = Objects.requireNonNull(client);
         this.datafeedConfig = Objects.requireNonNull(datafeedConfig);
         this.job = Objects.requireNonNull(job);
         this.dataExtractorFactory = Objects.requireNonNull(dataExtractorFactory);
         this.xContentRegistry = xContentRegistry;
         this.timingStatsReporter = Objects.requireNonNull(timingStatsReporter);
+        this.maxConcurrentChunks = maxConcurrentChunks;
     }
 
     @Override
@@ -59,6 +72,10 @@ public class ChunkedDataExtractorFactory implements DataExtractorFactory {
                 datafeedConfig.getIndicesOptions(),
                 datafeedConfig.getRuntimeMappings()
             );
+        if (maxConcurrentChunks > 1) {
+            return new ChunkedDataExtractor(client, dataExtractorFactory, dataExtractorContext, timingStatsReporter,
+                maxConcurrentChunks, client.threadPool().executor(MachineLearning.UTILITY_THREAD_POOL_NAME));
+        }
         return new ChunkedDataExtractor(client, dataExtractorFactory, dataExtractorContext, timingStatsReporter);
     }
 
@@ -38,6 +38,7 @@ import org.elasticsearch.xpack.core.ml.inference.trainedmodel.InferenceConfig;
 import org.elasticsearch.xpack.core.ml.inference.trainedmodel.NlpConfig;
 import org.elasticsearch.xpack.core.ml.inference.trainedmodel.TrainedModelLocation;
 import org.elasticsearch.xpack.core.ml.inference.trainedmodel.VocabularyConfig;
+import org.elasticsearch.xpack.core.ml.inference.trainedmodel.ZeroShotClassificationConfig;
 import org.elasticsearch.xpack.core.ml.job.messages.Messages;
 import org.elasticsearch.xpack.core.ml.utils.ExceptionsHelper;
 import org.elasticsearch.xpack.ml.MachineLearning;
@@ -51,17 +52,23 @@ import org.elasticsearch.xpack.ml.inference.pytorch.process.PyTorchStateStreamer
 
 import java.io.IOException;
 import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicLong;
 import java.util.function.Consumer;
+import java.util.stream.Collectors;
 
 import static org.elasticsearch.xpack.core.ClientHelper.ML_ORIGIN;
 import static org.elasticsearch.xpack.core.ClientHelper.executeAsyncWithOrigin;
@@ -71,22 +78,53 @@ public class DeploymentManager {
     private static final Logger logger = LogManager.getLogger(DeploymentManager.class);
     private static final AtomicLong requestIdCounter = new AtomicLong(1);
 
+    /**
+     * The maximum number of inference calls sent to the native process in a single request
+     */
+    static final int DEFAULT_MAX_BATCH_SIZE = 16;
+
+    /**
+     * How long the first queued inference call of a batch waits for other calls to join it
+     */
+    static final TimeValue DEFAULT_BATCH_WINDOW = TimeValue.timeValueMillis(5);
+
+    /**
+     * The maximum number of inference calls waiting to be sent to the native process,
+     * further calls are rejected until the process catches up
+     */
+    static final int DEFAULT_QUEUE_CAPACITY = 1024;
+
+    private static final int LATENCY_WINDOW_SIZE = 1024;
+
     private final Client client;
     private final NamedXContentRegistry xContentRegistry;
     private final PyTorchProcessFactory pyTorchProcessFactory;
     private final ExecutorService executorServiceForDeployment;
     private final ExecutorService executorServiceForProcess;
     private final ThreadPool threadPool;
+    private final int maxBatchSize;
+    private final TimeValue batchWindow;
+    private final int queueCapacity;
     private final ConcurrentMap<Long, ProcessContext> processContextByAllocation = new ConcurrentHashMap<>();
 
     public DeploymentManager(Client client, NamedXContentRegistry xContentRegistry,
                              ThreadPool threadPool, PyTorchProcessFactory pyTorchProcessFactory) {
+        this(client, xContentRegistry, threadPool, pyTorchProcessFactory,
+            DEFAULT_MAX_BATCH_SIZE, DEFAULT_BATCH_WINDOW, DEFAULT_QUEUE_CAPACITY);
+    }
+
+    DeploymentManager(Client client, NamedXContentRegistry xContentRegistry,
+                      ThreadPool threadPool, PyTorchProcessFactory pyTorchProcessFactory,
+                      int maxBatchSize, TimeValue batchWindow, int queueCapacity) {
         this.client = Objects.requireNonNull(client);
         this.xContentRegistry = Objects.requireNonNull(xContentRegistry);
         this.pyTorchProcessFactory = Objects.requireNonNull(pyTorchProcessFactory);
         this.threadPool = Objects.requireNonNull(threadPool);
         this.executorServiceForDeployment = threadPool.executor(MachineLearning.UTILITY_THREAD_POOL_NAME);
         this.executorServiceForProcess = threadPool.executor(MachineLearning.JOB_COMMS_THREAD_POOL_NAME);
+        this.maxBatchSize = maxBatchSize;
+        this.batchWindow = Objects.requireNonNull(batchWindow);
+        this.queueCapacity = queueCapacity;
     }
 
     public void startDeployment(TrainedModelDeploymentTask task, ActionListener<TrainedModelDeploymentTask> listener) {
@@ -95,10 +133,19 @@ public class DeploymentManager {
 
     public Optional<ModelStats> getStats(TrainedModelDeploymentTask task) {
         return Optional.ofNullable(processContextByAllocation.get(task.getId()))
-            .map(processContext ->
-                new ModelStats(processContext.getResultProcessor().getTimingStats(),
-                    processContext.getResultProcessor().getLastUsed())
-            );
+            .map(DeploymentManager::buildStats);
+    }
+
+    private static ModelStats buildStats(ProcessContext processContext) {
+        long[] latencies = processContext.latencies.percentiles(50.0, 95.0, 99.0);
+        return new ModelStats(
+            processContext.getResultProcessor().getTimingStats(),
+            processContext.getResultProcessor().getLastUsed(),
+            processContext.requestQueue.size(),
+            latencies == null ? null : TimeUnit.NANOSECONDS.toMillis(latencies[0]),
+            latencies == null ? null : TimeUnit.NANOSECONDS.toMillis(latencies[1]),
+            latencies == null ? null : TimeUnit.NANOSECONDS.toMillis(latencies[2])
+        );
     }
 
     private void doStartDeployment(TrainedModelDeploymentTask task, ActionListener<TrainedModelDeploymentTask> finalListener) {
@@ -231,18 +278,39 @@ public class DeploymentManager {
         }
 
         final long requestId = requestIdCounter.getAndIncrement();
-        executorServiceForProcess.execute(new InferenceAction(requestId, timeout, processContext, config, doc, threadPool, listener));
+        // Inputs are tokenized on the utility pool so that concurrent calls are tokenized in parallel,
+        // the process context then sends the tokenized calls to the native process in batches
+        executorServiceForDeployment.execute(new InferenceAction(requestId, timeout, processContext, config, doc, threadPool, listener));
+    }
+
+    /**
+     * Extract the result of a single inference call from the result of the batch it was sent in.
+     * Outputs by token are padded to the longest input of the batch so are cut back to the length
+     * of the call's own input.
+     */
+    static PyTorchResult batchItemResult(PyTorchResult batchResult, int index, int longestSequenceLength, int sequenceLength) {
+        double[][] inference = batchResult.getInferenceResult()[index];
+        if (inference.length == longestSequenceLength && sequenceLength < longestSequenceLength) {
+            inference = Arrays.copyOf(inference, sequenceLength);
+        }
+        return new PyTorchResult(batchResult.getRequestId(), new double[][][] { inference }, batchResult.getTimeMs(), null);
     }
 
     static class InferenceAction extends AbstractRunnable {
         private final long requestId;
         private final TimeValue timeout;
+        private final long startNanos;
         private final Scheduler.Cancellable timeoutHandler;
         private final ProcessContext processContext;
         private final InferenceConfig config;
         private final Map<String, Object> doc;
         private final ActionListener<InferenceResults> listener;
         private final AtomicBoolean notified = new AtomicBoolean();
+        // Set before the action is queued and read by the thread that takes it off the queue
+        private TokenizationResult tokenization;
+        private NlpTask.RequestBuilder requestBuilder;
+        private NlpTask.ResultProcessor resultProcessor;
+        private long queuedNanos;
 
         InferenceAction(
             long requestId,
@@ -255,6 +323,7 @@ public class DeploymentManager {
         ) {
             this.requestId = requestId;
             this.timeout = timeout;
+            this.startNanos = System.nanoTime();
             this.processContext = processContext;
             this.config = config;
             this.doc = doc;
@@ -280,6 +349,7 @@ public class DeploymentManager {
         void onSuccess(InferenceResults inferenceResults) {
             timeoutHandler.cancel();
             if (notified.compareAndSet(false, true)) {
+                processContext.recordLatency(System.nanoTime() - startNanos);
                 listener.onResponse(inferenceResults);
                 return;
             }
@@ -299,92 +369,54 @@ public class DeploymentManager {
             );
         }
 
-        @Override
-        protected void doRun() throws Exception {
-            final String requestIdStr = String.valueOf(requestId);
-            try {
-                // The request builder expect a list of inputs which are then batched.
-                // TODO batching was implemented for expected use-cases such as zero-shot
-                // classification but is not used here.
-                List<String> text = Collections.singletonList(NlpTask.extractInput(processContext.modelInput.get(), doc));
-                NlpTask.Processor processor = processContext.nlpTaskProcessor.get();
-                processor.validateInputs(text);
-                assert config instanceof NlpConfig;
-                NlpTask.Request request = processor.getRequestBuilder((NlpConfig) config).buildRequest(text, requestIdStr);
-                logger.trace(() -> "Inference Request "+ request.processInput.utf8ToString());
-                PyTorchResultProcessor.PendingResult pendingResult = processContext.getResultProcessor().registerRequest(requestIdStr);
-                processContext.process.get().writeInferenceRequest(request.processInput);
-                waitForResult(
-                    processContext,
-                    pendingResult,
-                    request.tokenization,
-                    requestIdStr,
-                    timeout,
-                    processor.getResultProcessor((NlpConfig) config),
-                    ActionListener.wrap(this::onSuccess,this::onFailure)
-                );
-            } catch (IOException e) {
-                logger.error(new ParameterizedMessage("[{}] error writing to process", processContext.task.getModelId()), e);
-                onFailure(ExceptionsHelper.serverError("error writing to process", e));
-            } catch (Exception e) {
-                onFailure(e);
-            } finally {
-                processContext.getResultProcessor().requestIgnored(String.valueOf(requestId));
-            }
+        boolean isNotified() {
+            return notified.get();
         }
 
-        private void waitForResult(ProcessContext processContext,
-                                   PyTorchResultProcessor.PendingResult pendingResult,
-                                   TokenizationResult tokenization,
-                                   String requestId,
-                                   TimeValue timeout,
-                                   NlpTask.ResultProcessor inferenceResultsProcessor,
-                                   ActionListener<InferenceResults> listener) {
-            try {
-                PyTorchResult pyTorchResult = processContext.getResultProcessor().waitForResult(
-                    processContext.process.get(),
-                    requestId,
-                    pendingResult,
-                    timeout
-                );
-                if (pyTorchResult == null) {
-                    listener.onFailure(
-                        new ElasticsearchStatusException("timeout [{}] waiting for inference result", RestStatus.TOO_MANY_REQUESTS, timeout)
-                    );
-                    return;
-                }
+        /**
+         * Calls with a single input can share a request with other calls. Zero-shot
+         * classification uses the batch for the labels of its single input.
+         */
+        boolean isBatchable() {
+            return tokenization.getTokenizations().size() == 1
+                && tokenization.getLongestSequenceLength() > 0
+                && config instanceof ZeroShotClassificationConfig == false;
+        }
 
-                if (pyTorchResult.isError()) {
-                    listener.onFailure(new ElasticsearchStatusException(pyTorchResult.getError(),
-                        RestStatus.INTERNAL_SERVER_ERROR));
-                    return;
-                }
+        long remainingNanos() {
+            return timeout.nanos() - (System.nanoTime() - startNanos);
+        }
 
-                logger.debug(() -> new ParameterizedMessage(
-                    "[{}] retrieved result for request [{}]", processContext.task.getModelId(), requestId));
-                InferenceResults results = inferenceResultsProcessor.processResult(tokenization, pyTorchResult);
-                logger.debug(() -> new ParameterizedMessage(
-                    "[{}] processed result for request [{}]", processContext.task.getModelId(), requestId));
-                listener.onResponse(results);
-            } catch (InterruptedException e) {
-                listener.onFailure(e);
-            }
+        @Override
+        protected void doRun() throws Exception {
+            List<String> text = Collections.singletonList(NlpTask.extractInput(processContext.modelInput.get(), doc));
+            NlpTask.Processor processor = processContext.nlpTaskProcessor.get();
+            processor.validateInputs(text);
+            assert config instanceof NlpConfig;
+            requestBuilder = processor.getRequestBuilder((NlpConfig) config);
+            resultProcessor = processor.getResultProcessor((NlpConfig) config);
+            tokenization = requestBuilder.tokenize(text);
+            processContext.enqueue(this);
         }
     }
 
     class ProcessContext {
 
         private final TrainedModelDeploymentTask task;
-        private final SetOnce<NativePyTorchProcess> process = new SetOnce<>();
-        private final SetOnce<NlpTask.Processor> nlpTaskProcessor = new SetOnce<>();
-        private final SetOnce<TrainedModelInput> modelInput = new SetOnce<>();
+        final SetOnce<NativePyTorchProcess> process = new SetOnce<>();
+        final SetOnce<NlpTask.Processor> nlpTaskProcessor = new SetOnce<>();
+        final SetOnce<TrainedModelInput> modelInput = new SetOnce<>();
         private final PyTorchResultProcessor resultProcessor;
         private final PyTorchStateStreamer stateStreamer;
+        private final BlockingQueue<InferenceAction> requestQueue;
+        private final AtomicBoolean draining = new AtomicBoolean();
+        private final RecentLatencies latencies = new RecentLatencies(LATENCY_WINDOW_SIZE);
 
         ProcessContext(TrainedModelDeploymentTask task, ExecutorService executorService) {
             this.task = Objects.requireNonNull(task);
             resultProcessor = new PyTorchResultProcessor(task.getModelId());
             this.stateStreamer = new PyTorchStateStreamer(client, executorService, xContentRegistry);
+            this.requestQueue = new ArrayBlockingQueue<>(queueCapacity);
         }
 
         PyTorchResultProcessor getResultProcessor() {
@@ -397,6 +429,10 @@ public class DeploymentManager {
 
         synchronized void stopProcess() {
             resultProcessor.stop();
+            InferenceAction queued;
+            while ((queued = requestQueue.poll()) != null) {
+                queued.onFailure(new IllegalStateException("[" + task.getModelId() + "] inference canceled as process is stopping"));
+            }
             if (process.get() == null) {
                 return;
             }
@@ -416,6 +452,172 @@ public class DeploymentManager {
             };
         }
 
+        void recordLatency(long nanos) {
+            latencies.record(nanos);
+        }
+
+        /**
+         * Queue a tokenized inference call to be sent to the native process.
+         * A single thread at a time takes the queued calls and sends them in batches,
+         * which also keeps the writes to the process from interleaving.
+         */
+        void enqueue(InferenceAction action) {
+            action.queuedNanos = System.nanoTime();
+            if (requestQueue.offer(action) == false) {
+                action.onFailure(new ElasticsearchStatusException(
+                    "[{}] inference queue is full with [{}] waiting requests",
+                    RestStatus.TOO_MANY_REQUESTS,
+                    task.getModelId(),
+                    queueCapacity
+                ));
+                return;
+            }
+            if (draining.compareAndSet(false, true)) {
+                executorServiceForProcess.execute(this::drainQueue);
+            }
+        }
+
+        private void drainQueue() {
+            do {
+                try {
+                    sendQueuedRequests();
+                } catch (Exception e) {
+                    logger.error(new ParameterizedMessage("[{}] failed sending queued inference requests", task.getModelId()), e);
+                } finally {
+                    draining.set(false);
+                }
+                // Calls queued after the last poll but before the flag was cleared would otherwise wait for the next call
+            } while (requestQueue.isEmpty() == false && draining.compareAndSet(false, true));
+        }
+
+        private void sendQueuedRequests() {
+            InferenceAction first;
+            while ((first = requestQueue.poll()) != null) {
+                List<InferenceAction> batch = new ArrayList<>(maxBatchSize);
+                batch.add(first);
+                InferenceAction unbatchable = null;
+                if (first.isBatchable()) {
+                    // The window starts when the first call was queued so calls that already waited behind
+                    // a busy process do not wait again
+                    long deadline = first.queuedNanos + batchWindow.nanos();
+                    while (batch.size() < maxBatchSize) {
+                        InferenceAction next = pollUntil(deadline);
+                        if (next == null) {
+                            break;
+                        }
+                        if (next.isBatchable() == false) {
+                            unbatchable = next;
+                            break;
+                        }
+                        batch.add(next);
+                    }
+                }
+                sendBatch(batch);
+                if (unbatchable != null) {
+                    sendBatch(Collections.singletonList(unbatchable));
+                }
+            }
+        }
+
+        private InferenceAction pollUntil(long deadlineNanos) {
+            try {
+                return requestQueue.poll(Math.max(deadlineNanos - System.nanoTime(), 0), TimeUnit.NANOSECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return null;
+            }
+        }
+
+        private void sendBatch(List<InferenceAction> queued) {
+            // calls that timed out while queued are not worth sending
+            List<InferenceAction> batch = queued.stream().filter(action -> action.isNotified() == false).collect(Collectors.toList());
+            if (batch.isEmpty()) {
+                return;
+            }
+            final String batchId = batch.size() == 1 ?
+                String.valueOf(batch.get(0).requestId) :
+                String.valueOf(requestIdCounter.getAndIncrement());
+            final TokenizationResult tokenization = batch.size() == 1 ?
+                batch.get(0).tokenization :
+                TokenizationResult.combine(batch.stream().map(action -> action.tokenization).collect(Collectors.toList()));
+            try {
+                NlpTask.Request request = batch.get(0).requestBuilder.buildRequest(tokenization, batchId);
+                logger.trace(() -> "Inference Request "+ request.processInput.utf8ToString());
+                PyTorchResultProcessor.PendingResult pendingResult = resultProcessor.registerRequest(batchId, batch.size());
+                process.get().writeInferenceRequest(request.processInput);
+                executorServiceForDeployment.execute(() -> waitForResult(batch, batchId, tokenization, pendingResult));
+            } catch (IOException e) {
+                logger.error(new ParameterizedMessage("[{}] error writing to process", task.getModelId()), e);
+                resultProcessor.requestIgnored(batchId);
+                batch.forEach(action -> action.onFailure(ExceptionsHelper.serverError("error writing to process", e)));
+            } catch (Exception e) {
+                resultProcessor.requestIgnored(batchId);
+                batch.forEach(action -> action.onFailure(e));
+            }
+        }
+
+        private void waitForResult(List<InferenceAction> batch,
+                                   String batchId,
+                                   TokenizationResult tokenization,
+                                   PyTorchResultProcessor.PendingResult pendingResult) {
+            try {
+                long timeoutNanos = batch.stream().mapToLong(InferenceAction::remainingNanos).max().orElse(0L);
+                PyTorchResult pyTorchResult = resultProcessor.waitForResult(
+                    process.get(),
+                    batchId,
+                    pendingResult,
+                    TimeValue.timeValueNanos(Math.max(timeoutNanos, 0L))
+                );
+                if (pyTorchResult == null) {
+                    batch.forEach(action -> action.onFailure(new ElasticsearchStatusException(
+                        "timeout [{}] waiting for inference result", RestStatus.TOO_MANY_REQUESTS, action.timeout)));
+                    return;
+                }
+
+                if (pyTorchResult.isError()) {
+                    batch.forEach(action -> action.onFailure(
+                        new ElasticsearchStatusException(pyTorchResult.getError(), RestStatus.INTERNAL_SERVER_ERROR)));
+                    return;
+                }
+
+                logger.debug(() -> new ParameterizedMessage(
+                    "[{}] retrieved result for request [{}] of [{}] inference calls", task.getModelId(), batchId, batch.size()));
+                if (batch.size() == 1) {
+                    processResult(batch.get(0), pyTorchResult);
+                    return;
+                }
+                if (pyTorchResult.getInferenceResult() == null || pyTorchResult.getInferenceResult().length != batch.size()) {
+                    batch.forEach(action -> action.onFailure(ExceptionsHelper.serverError(
+                        "expected results for [{}] inputs from batched request [{}]", batch.size(), batchId)));
+                    return;
+                }
+                for (int i = 0; i < batch.size(); i++) {
+                    InferenceAction action = batch.get(i);
+                    processResult(action, batchItemResult(
+                        pyTorchResult,
+                        i,
+                        tokenization.getLongestSequenceLength(),
+                        action.tokenization.getLongestSequenceLength()
+                    ));
+                }
+            } catch (InterruptedException e) {
+                batch.forEach(action -> action.onFailure(e));
+            } finally {
+                resultProcessor.requestIgnored(batchId);
+            }
+        }
+
+        private void processResult(InferenceAction action, PyTorchResult pyTorchResult) {
+            try {
+                InferenceResults results = action.resultProcessor.processResult(action.tokenization, pyTorchResult);
+                logger.debug(() -> new ParameterizedMessage(
+                    "[{}] processed result for request [{}]", task.getModelId(), action.requestId));
+                action.onSuccess(results);
+            } catch (Exception e) {
+                action.onFailure(e);
+            }
+        }
+
         void loadModel(TrainedModelLocation modelLocation, ActionListener<Boolean> listener) {
             if (modelLocation instanceof IndexLocation) {
                 process.get().loadModel(task.getModelId(), ((IndexLocation) modelLocation).getIndexName(), stateStreamer, listener);
@@ -7,6 +7,8 @@
 
 package org.elasticsearch.xpack.ml.inference.deployment;
 
+import org.elasticsearch.core.Nullable;
+
 import java.time.Instant;
 import java.util.LongSummaryStatistics;
 
@@ -14,10 +16,23 @@ public class ModelStats {
 
     private final LongSummaryStatistics timingStats;
     private final Instant lastUsed;
+    private final int queueDepth;
+    private final Long latencyP50;
+    private final Long latencyP95;
+    private final Long latencyP99;
 
-    ModelStats(LongSummaryStatistics timingStats, Instant lastUsed) {
+    ModelStats(LongSummaryStatistics timingStats,
+               Instant lastUsed,
+               int queueDepth,
+               @Nullable Long latencyP50,
+               @Nullable Long latencyP95,
+               @Nullable Long latencyP99) {
         this.timingStats = timingStats;
         this.lastUsed = lastUsed;
+        this.queueDepth = queueDepth;
+        this.latencyP50 = latencyP50;
+        this.latencyP95 = latencyP95;
+        this.latencyP99 = latencyP99;
     }
 
     public LongSummaryStatistics getTimingStats() {
@@ -27,4 +42,30 @@ public class ModelStats {
     public Instant getLastUsed() {
         return lastUsed;
     }
+
+    /**
+     * The number of inference calls waiting to be sent to the native process
+     */
+    public int getQueueDepth() {
+        return queueDepth;
+    }
+
+    /**
+     * The percentiles of the time in milliseconds the recent inference calls took
+     * from being received to being answered, or {@code null} if there were none
+     */
+    @Nullable
+    public Long getLatencyP50() {
+        return latencyP50;
+    }
+
+    @Nullable
+    public Long getLatencyP95() {
+        return latencyP95;
+    }
+
+    @Nullable
+    public Long getLatencyP99() {
+        return latencyP99;
+    }
 }
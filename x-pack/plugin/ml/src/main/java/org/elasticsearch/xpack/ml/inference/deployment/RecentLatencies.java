@@ -0,0 +1,49 @@
+/*
+ * Copyright Elasticsearch B.V. and/or licensed to Elasticsearch B.V. under one
+ * or more contributor license agreements. Licensed under the Elastic License
+ * 2.0; you may not use this file except in compliance with the Elastic License
+ * 2.0.
+ */
+
+package org.elasticsearch.xpack.ml.inference.deployment;
+
+import java.util.Arrays;
+
+/**
+ * Keeps the latencies of the most recent inference calls so that
+ * their percentiles can be reported without keeping every latency.
+ */
+final class RecentLatencies {
+
+    private final long[] latencies;
+    private int size;
+    private int next;
+
+    RecentLatencies(int capacity) {
+        this.latencies = new long[capacity];
+    }
+
+    synchronized void record(long latency) {
+        latencies[next] = latency;
+        next = (next + 1) % latencies.length;
+        size = Math.min(size + 1, latencies.length);
+    }
+
+    /**
+     * @param percentiles The percentiles to compute, between 0 and 100
+     * @return The nearest rank of each percentile, or {@code null} if no latency has been recorded
+     */
+    synchronized long[] percentiles(double... percentiles) {
+        if (size == 0) {
+            return null;
+        }
+        long[] sorted = Arrays.copyOf(latencies, size);
+        Arrays.sort(sorted);
+        long[] values = new long[percentiles.length];
+        for (int i = 0; i < percentiles.length; i++) {
+            int rank = (int) Math.ceil(percentiles[i] / 100.0 * size);
+            values[i] = sorted[Math.max(rank - 1, 0)];
+        }
+        return values;
+    }
+}
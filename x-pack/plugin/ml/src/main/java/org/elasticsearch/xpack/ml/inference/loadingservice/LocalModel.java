@@ -22,8 +22,11 @@ import org.elasticsearch.xpack.core.ml.utils.MapHelper;
 import org.elasticsearch.xpack.ml.inference.TrainedModelStatsService;
 
 import java.io.Closeable;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.atomic.AtomicLong;
@@ -164,6 +167,56 @@ public class LocalModel implements Closeable {
         }
     }
 
+    /**
+     * Infers against many documents at once, which lets ensembles of trees evaluate all the documents together.
+     * Documents that contain none of the fields of the model get a warning, as with single document inference.
+     */
+    public void infer(List<Map<String, Object>> documents, InferenceConfigUpdate update, ActionListener<List<InferenceResults>> listener) {
+        if (update.isSupported(this.inferenceConfig) == false) {
+            listener.onFailure(ExceptionsHelper.badRequestException(
+                "Model [{}] has inference config of type [{}] which is not supported by inference request of type [{}]",
+                this.modelId,
+                this.inferenceConfig.getName(),
+                update.getName()));
+            return;
+        }
+        try {
+            long countBefore = currentInferenceCount.sum();
+            InferenceResults[] results = new InferenceResults[documents.size()];
+            List<Map<String, Object>> toInfer = new ArrayList<>(documents.size());
+            List<Integer> toInferPositions = new ArrayList<>(documents.size());
+            for (int i = 0; i < results.length; i++) {
+                statsAccumulator.incInference();
+                currentInferenceCount.increment();
+
+                Map<String, Object> fields = documents.get(i);
+                LocalModel.mapFieldsIfNecessary(fields, defaultFieldMap);
+                Map<String, Object> flattenedFields = MapHelper.dotCollapse(fields, fieldNames);
+                if (flattenedFields.isEmpty()) {
+                    statsAccumulator.incMissingFields();
+                    results[i] = new WarningInferenceResults(Messages.getMessage(INFERENCE_WARNING_ALL_FIELDS_MISSING, modelId));
+                } else {
+                    toInfer.add(flattenedFields);
+                    toInferPositions.add(i);
+                }
+            }
+            if (toInfer.isEmpty() == false) {
+                List<InferenceResults> inferenceResults = trainedModelDefinition.infer(toInfer, update.apply(inferenceConfig));
+                for (int i = 0; i < inferenceResults.size(); i++) {
+                    results[toInferPositions.get(i)] = inferenceResults.get(i);
+                }
+            }
+            // persist if the batch went past a multiple of the quotient, like a single document inference reaching it would
+            if ((countBefore + 1) / persistenceQuotient != (currentInferenceCount.sum() + 1) / persistenceQuotient) {
+                persistStats(false);
+            }
+            listener.onResponse(Arrays.asList(results));
+        } catch (Exception e) {
+            statsAccumulator.incFailure();
+            listener.onFailure(e);
+        }
+    }
+
     public InferenceResults infer(Map<String, Object> fields, InferenceConfigUpdate update) throws Exception {
         AtomicReference<InferenceResults> result = new AtomicReference<>();
         AtomicReference<Exception> exception = new AtomicReference<>();
@@ -12,6 +12,7 @@ import org.elasticsearch.xcontent.ConstructingObjectParser;
 import org.elasticsearch.xcontent.XContentBuilder;
 import org.elasticsearch.xcontent.XContentParser;
 import org.elasticsearch.xpack.core.ml.inference.trainedmodel.ensemble.LogisticRegression;
+import org.elasticsearch.xpack.core.ml.inference.trainedmodel.inference.CompiledTreeEnsemble;
 import org.elasticsearch.xpack.core.ml.inference.trainedmodel.inference.EnsembleInferenceModel;
 
 import java.io.IOException;
@@ -94,6 +95,11 @@ public class EnsembleSizeInfo implements TrainedModelSizeInfo {
         size += sizeOfStringCollection(featureNameLengths);
         size += LogisticRegression.SHALLOW_SIZE + sizeOfDoubleArray(numOutputProcessorWeights);
         size += sizeOfDoubleArray(numClassificationWeights);
+        // the trees are also compiled into flat arrays for inference
+        size += CompiledTreeEnsemble.estimateRamBytesUsed(
+            treeSizeInfos.size(),
+            treeSizeInfos.stream().mapToInt(TreeSizeInfo::getTotalNumNodes).sum()
+        );
         return alignObjectSize(size);
     }
 
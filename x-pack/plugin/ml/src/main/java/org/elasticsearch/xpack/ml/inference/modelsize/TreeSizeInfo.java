@@ -75,6 +75,13 @@ public class TreeSizeInfo implements Accountable, ToXContentObject {
         return alignObjectSize(size);
     }
 
+    /**
+     * @return the number of nodes of the tree, leaves included
+     */
+    int getTotalNumNodes() {
+        return numLeaves + numNodes;
+    }
+
     @Override
     public XContentBuilder toXContent(XContentBuilder builder, Params params) throws IOException {
         builder.startObject();
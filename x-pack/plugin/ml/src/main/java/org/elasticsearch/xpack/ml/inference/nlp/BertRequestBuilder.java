@@ -38,10 +38,12 @@ public class BertRequestBuilder implements NlpTask.RequestBuilder {
                 " token in its vocabulary");
         }
 
-        TokenizationResult tokenization = tokenizer.buildTokenizationResult(
-            inputs.stream().map(tokenizer::tokenize).collect(Collectors.toList())
-        );
-        return buildRequest(tokenization, requestId);
+        return buildRequest(tokenize(inputs), requestId);
+    }
+
+    @Override
+    public TokenizationResult tokenize(List<String> inputs) {
+        return tokenizer.buildTokenizationResult(inputs.stream().map(tokenizer::tokenize).collect(Collectors.toList()));
     }
 
     @Override
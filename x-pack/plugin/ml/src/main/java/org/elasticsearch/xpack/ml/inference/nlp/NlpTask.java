@@ -54,6 +54,12 @@ public class NlpTask {
             int apply(TokenizationResult.Tokenization tokenization, int index);
         }
 
+        /**
+         * Tokenize the inputs without building the request, so that the tokenizations
+         * of several inputs can be combined into a single request
+         */
+        TokenizationResult tokenize(List<String> inputs);
+
         Request buildRequest(List<String> inputs, String requestId) throws IOException;
 
         Request buildRequest(TokenizationResult tokenizationResult, String requestId) throws IOException;
@@ -43,6 +43,24 @@ public class TokenizationResult {
         return maxLength;
     }
 
+    /**
+     * Combines results tokenized with the same vocabulary into a
+     * single result holding all their tokenizations in order
+     *
+     * @param results The results to combine, must not be empty
+     * @return The combined result
+     */
+    public static TokenizationResult combine(List<TokenizationResult> results) {
+        TokenizationResult combined = new TokenizationResult(results.get(0).vocab);
+        for (TokenizationResult result : results) {
+            assert result.vocab == combined.vocab;
+            for (Tokenization tokenization : result.tokenizations) {
+                combined.addTokenization(tokenization);
+            }
+        }
+        return combined;
+    }
+
     public static class Tokenization {
 
         private final String inputSeqs;
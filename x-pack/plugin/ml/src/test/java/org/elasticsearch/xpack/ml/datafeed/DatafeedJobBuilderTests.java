@@ -68,6 +68,7 @@ public class DatafeedJobBuilderTests extends ESTestCase {
         jobResultsPersister = mock(JobResultsPersister.class);
         ClusterSettings clusterSettings = new ClusterSettings(Settings.EMPTY,
             new HashSet<>(Arrays.asList(MachineLearning.DELAYED_DATA_CHECK_FREQ,
+                MachineLearning.DATAFEED_MAX_CONCURRENT_CHUNKS,
                 MasterService.MASTER_SERVICE_SLOW_TASK_LOGGING_THRESHOLD_SETTING,
                 OperationRouting.USE_ADAPTIVE_REPLICA_SELECTION_SETTING,
                 ClusterService.USER_DEFINED_METADATA,
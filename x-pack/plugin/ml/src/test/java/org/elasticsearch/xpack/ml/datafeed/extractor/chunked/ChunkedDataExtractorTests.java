@@ -74,6 +74,10 @@ public class ChunkedDataExtractorTests extends ESTestCase {
             super(client, dataExtractorFactory, createContext(start, end, hasAggregations, histogramInterval), timingStatsReporter);
         }
 
+        TestDataExtractor(long start, long end, int maxConcurrentChunks) {
+            super(client, dataExtractorFactory, createContext(start, end), timingStatsReporter, maxConcurrentChunks, Runnable::run);
+        }
+
         @Override
         protected SearchResponse executeSearchRequest(ActionRequestBuilder<SearchRequest, SearchResponse> searchRequestBuilder) {
             capturedSearchRequests.add(searchRequestBuilder.request());
@@ -156,6 +160,42 @@ public class ChunkedDataExtractorTests extends ESTestCase {
         assertThat(searchRequest, not(containsString("\"sort\"")));
     }
 
+    public void testExtractionGivenSpecifiedChunkAndConcurrentChunks() throws IOException {
+        chunkSpan = TimeValue.timeValueSeconds(1);
+        TestDataExtractor extractor = new TestDataExtractor(1000L, 4300L, 3);
+        extractor.setNextResponse(createSearchResponse(10L, 1000L, 4200L));
+
+        InputStream inputStream1 = mock(InputStream.class);
+        InputStream inputStream2 = mock(InputStream.class);
+        InputStream inputStream3 = mock(InputStream.class);
+        InputStream inputStream4 = mock(InputStream.class);
+        InputStream inputStream5 = mock(InputStream.class);
+
+        when(dataExtractorFactory.newExtractor(1000L, 2000L)).thenReturn(new StubSubExtractor(inputStream1));
+        when(dataExtractorFactory.newExtractor(2000L, 3000L)).thenReturn(new StubSubExtractor(inputStream2, inputStream3));
+        when(dataExtractorFactory.newExtractor(3000L, 4000L)).thenReturn(new StubSubExtractor(inputStream4));
+        when(dataExtractorFactory.newExtractor(4000L, 4300L)).thenReturn(new StubSubExtractor(inputStream5));
+
+        assertThat(extractor.hasNext(), is(true));
+        assertEquals(inputStream1, extractor.next().get());
+
+        // the chunks following the current one are searched ahead, but their data is returned in time order
+        verify(dataExtractorFactory).newExtractor(2000L, 3000L);
+        verify(dataExtractorFactory).newExtractor(3000L, 4000L);
+        assertEquals(inputStream2, extractor.next().get());
+        assertEquals(inputStream3, extractor.next().get());
+        assertEquals(inputStream4, extractor.next().get());
+        assertEquals(inputStream5, extractor.next().get());
+        assertThat(extractor.hasNext(), is(true));
+        assertThat(extractor.next().isPresent(), is(false));
+        assertThat(extractor.hasNext(), is(false));
+
+        verify(dataExtractorFactory).newExtractor(1000L, 2000L);
+        verify(dataExtractorFactory).newExtractor(4000L, 4300L);
+        Mockito.verifyNoMoreInteractions(dataExtractorFactory);
+        assertThat(capturedSearchRequests.size(), equalTo(1));
+    }
+
     public void testExtractionGivenSpecifiedChunkAndAggs() throws IOException {
         chunkSpan = TimeValue.timeValueSeconds(1);
         TestDataExtractor extractor = new TestDataExtractor(1000L, 2300L, true, 1000L);
@@ -8,25 +8,45 @@
 package org.elasticsearch.xpack.ml.inference.deployment;
 
 import org.elasticsearch.action.ActionListener;
+import org.elasticsearch.action.support.PlainActionFuture;
 import org.elasticsearch.client.Client;
+import org.elasticsearch.common.bytes.BytesReference;
+import org.elasticsearch.common.xcontent.XContentHelper;
 import org.elasticsearch.core.TimeValue;
 import org.elasticsearch.test.ESTestCase;
 import org.elasticsearch.threadpool.ScalingExecutorBuilder;
 import org.elasticsearch.threadpool.TestThreadPool;
 import org.elasticsearch.threadpool.ThreadPool;
+import org.elasticsearch.xcontent.XContentType;
+import org.elasticsearch.xpack.core.ml.inference.TrainedModelInput;
 import org.elasticsearch.xpack.core.ml.inference.results.InferenceResults;
+import org.elasticsearch.xpack.core.ml.inference.results.PyTorchPassThroughResults;
 import org.elasticsearch.xpack.core.ml.inference.results.WarningInferenceResults;
+import org.elasticsearch.xpack.core.ml.inference.trainedmodel.BertTokenization;
 import org.elasticsearch.xpack.core.ml.inference.trainedmodel.PassThroughConfig;
+import org.elasticsearch.xpack.ml.inference.nlp.NlpTask;
+import org.elasticsearch.xpack.ml.inference.nlp.Vocabulary;
+import org.elasticsearch.xpack.ml.inference.nlp.tokenizers.BertTokenizer;
 import org.elasticsearch.xpack.ml.inference.pytorch.process.NativePyTorchProcess;
 import org.elasticsearch.xpack.ml.inference.pytorch.process.PyTorchResultProcessor;
 import org.junit.After;
 import org.junit.Before;
 
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
 
 import static org.elasticsearch.xpack.ml.MachineLearning.JOB_COMMS_THREAD_POOL_NAME;
 import static org.elasticsearch.xpack.ml.MachineLearning.UTILITY_THREAD_POOL_NAME;
+import static org.hamcrest.Matchers.contains;
 import static org.hamcrest.Matchers.equalTo;
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
 
@@ -119,6 +139,135 @@ public class DeploymentManagerTests extends ESTestCase {
         assertThat(listener.responseCounts, equalTo(1));
     }
 
+    public void testInferBatchesQueuedRequests() throws Exception {
+        List<String> vocab = List.of("Elastic", "##search", "fun", "is",
+            BertTokenizer.CLASS_TOKEN, BertTokenizer.SEPARATOR_TOKEN, BertTokenizer.PAD_TOKEN);
+        PassThroughConfig config = new PassThroughConfig(null, new BertTokenization(null, null, 512), null);
+        List<String> inputs = List.of("Elasticsearch fun", "fun", "Elasticsearch is fun");
+
+        EchoingProcess echoingProcess = new EchoingProcess();
+        DeploymentManager manager = new DeploymentManager(
+            mock(Client.class),
+            xContentRegistry(),
+            tp,
+            (task, executorService, onProcessCrash) -> echoingProcess.process,
+            inputs.size(),
+            TimeValue.timeValueSeconds(30),
+            DeploymentManager.DEFAULT_QUEUE_CAPACITY
+        );
+        TrainedModelDeploymentTask task = mock(TrainedModelDeploymentTask.class);
+        when(task.getModelId()).thenReturn("test_model");
+        DeploymentManager.ProcessContext processContext = manager.new ProcessContext(task, tp.executor(UTILITY_THREAD_POOL_NAME));
+        processContext.modelInput.set(new TrainedModelInput(List.of("text")));
+        processContext.nlpTaskProcessor.set(new NlpTask(config, new Vocabulary(vocab, "test_model")).createProcessor());
+        processContext.startProcess();
+        tp.executor(JOB_COMMS_THREAD_POOL_NAME).execute(() -> processContext.getResultProcessor().process(echoingProcess.process));
+
+        try {
+            List<PlainActionFuture<InferenceResults>> futures = new ArrayList<>();
+            for (int i = 0; i < inputs.size(); i++) {
+                PlainActionFuture<InferenceResults> future = PlainActionFuture.newFuture();
+                futures.add(future);
+                tp.executor(UTILITY_THREAD_POOL_NAME).execute(new DeploymentManager.InferenceAction(
+                    i,
+                    TimeValue.timeValueSeconds(30),
+                    processContext,
+                    config,
+                    Map.of("text", inputs.get(i)),
+                    tp,
+                    future
+                ));
+            }
+
+            // the echoed tokens of each input are not padded to the longest input of the batch
+            assertThat(((PyTorchPassThroughResults) futures.get(0).actionGet()).getInference(),
+                equalTo(new double[][] { { 4 }, { 0 }, { 1 }, { 2 }, { 5 } }));
+            assertThat(((PyTorchPassThroughResults) futures.get(1).actionGet()).getInference(),
+                equalTo(new double[][] { { 4 }, { 2 }, { 5 } }));
+            assertThat(((PyTorchPassThroughResults) futures.get(2).actionGet()).getInference(),
+                equalTo(new double[][] { { 4 }, { 0 }, { 1 }, { 3 }, { 2 }, { 5 } }));
+        } finally {
+            echoingProcess.results.add(EchoingProcess.END);
+        }
+
+        assertThat(echoingProcess.batchSizes, contains(3));
+        assertThat(processContext.getResultProcessor().getTimingStats().getCount(), equalTo(3L));
+    }
+
+    public void testBatchItemResult() {
+        double[][][] byToken = new double[][][] {
+            { { 1.0, 1.1 }, { 2.0, 2.1 }, { 3.0, 3.1 } },
+            { { 4.0, 4.1 }, { 5.0, 5.1 }, { 6.0, 6.1 } } };
+        PyTorchResult batchResult = new PyTorchResult("batch", byToken, 10L, null);
+
+        PyTorchResult itemResult = DeploymentManager.batchItemResult(batchResult, 1, 3, 2);
+        assertThat(itemResult.getInferenceResult(), equalTo(new double[][][] { { { 4.0, 4.1 }, { 5.0, 5.1 } } }));
+        assertThat(itemResult.getTimeMs(), equalTo(10L));
+
+        itemResult = DeploymentManager.batchItemResult(batchResult, 0, 3, 3);
+        assertThat(itemResult.getInferenceResult(), equalTo(new double[][][] { byToken[0] }));
+
+        // a single output for the whole input is left alone
+        double[][][] byInput = new double[][][] { { { 0.2, 0.8 } }, { { 0.6, 0.4 } } };
+        itemResult = DeploymentManager.batchItemResult(new PyTorchResult("batch", byInput, 10L, null), 1, 3, 2);
+        assertThat(itemResult.getInferenceResult(), equalTo(new double[][][] { { { 0.6, 0.4 } } }));
+    }
+
+    /**
+     * Stands in for the native process, answering each request with
+     * its own tokens so the shape of the result matches the request.
+     */
+    private static class EchoingProcess {
+        private static final PyTorchResult END = new PyTorchResult("end", null, null, null);
+
+        private final NativePyTorchProcess process = mock(NativePyTorchProcess.class);
+        private final BlockingQueue<PyTorchResult> results = new LinkedBlockingQueue<>();
+        private final List<Integer> batchSizes = Collections.synchronizedList(new ArrayList<>());
+
+        EchoingProcess() throws IOException {
+            when(process.isProcessAlive()).thenReturn(true);
+            when(process.readResults()).thenReturn(new Iterator<>() {
+                private PyTorchResult next;
+
+                @Override
+                public boolean hasNext() {
+                    if (next == null) {
+                        try {
+                            next = results.take();
+                        } catch (InterruptedException e) {
+                            Thread.currentThread().interrupt();
+                            return false;
+                        }
+                    }
+                    return next != END;
+                }
+
+                @Override
+                public PyTorchResult next() {
+                    PyTorchResult result = next;
+                    next = null;
+                    return result;
+                }
+            });
+            doAnswer(invocation -> {
+                echo((BytesReference) invocation.getArguments()[0]);
+                return null;
+            }).when(process).writeInferenceRequest(any());
+        }
+
+        @SuppressWarnings("unchecked")
+        private void echo(BytesReference request) {
+            Map<String, Object> requestAsMap = XContentHelper.convertToMap(request, false, XContentType.JSON).v2();
+            List<List<Integer>> tokens = (List<List<Integer>>) requestAsMap.get("tokens");
+            batchSizes.add(tokens.size());
+            double[][][] inference = new double[tokens.size()][][];
+            for (int i = 0; i < tokens.size(); i++) {
+                inference[i] = tokens.get(i).stream().map(token -> new double[] { token }).toArray(double[][]::new);
+            }
+            results.add(new PyTorchResult((String) requestAsMap.get("request_id"), inference, 1L, null));
+        }
+    }
+
     private static class ListenerCounter implements ActionListener<InferenceResults> {
         private int responseCounts;
         private int failureCounts;
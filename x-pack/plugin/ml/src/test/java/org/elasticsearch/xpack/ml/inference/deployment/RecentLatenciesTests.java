@@ -0,0 +1,37 @@
+/*
+ * Copyright Elasticsearch B.V. and/or licensed to Elasticsearch B.V. under one
+ * or more contributor license agreements. Licensed under the Elastic License
+ * 2.0; you may not use this file except in compliance with the Elastic License
+ * 2.0.
+ */
+
+package org.elasticsearch.xpack.ml.inference.deployment;
+
+import org.elasticsearch.test.ESTestCase;
+
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.nullValue;
+
+public class RecentLatenciesTests extends ESTestCase {
+
+    public void testPercentiles() {
+        RecentLatencies latencies = new RecentLatencies(100);
+        assertThat(latencies.percentiles(50.0, 99.0), nullValue());
+
+        for (int i = 100; i > 0; i--) {
+            latencies.record(i);
+        }
+        assertThat(latencies.percentiles(0.0, 50.0, 95.0, 99.0, 100.0), equalTo(new long[] { 1, 50, 95, 99, 100 }));
+    }
+
+    public void testKeepsOnlyMostRecent() {
+        RecentLatencies latencies = new RecentLatencies(10);
+        for (int i = 0; i < 10; i++) {
+            latencies.record(1000);
+        }
+        for (int i = 0; i < 10; i++) {
+            latencies.record(i + 1);
+        }
+        assertThat(latencies.percentiles(50.0, 100.0), equalTo(new long[] { 5, 10 }));
+    }
+}
@@ -164,6 +164,7 @@ public class IndexRecoveryMonitoringDocTests extends BaseMonitoringDocTestCase<I
                     + "            \"reused_in_bytes\": 0,"
                     + "            \"recovered_in_bytes\": 0,"
                     + "            \"recovered_from_snapshot_in_bytes\": 0,"
+                    + "            \"recovered_per_sec_in_bytes\": 0,"
                     + "            \"percent\": \"0.0%%\""
                     + "          },"
                     + "          \"files\": {"
@@ -19,6 +19,7 @@ import org.elasticsearch.common.settings.IndexScopedSettings;
 import org.elasticsearch.common.settings.Settings;
 import org.elasticsearch.common.settings.SettingsFilter;
 import org.elasticsearch.common.settings.SettingsModule;
+import org.elasticsearch.common.util.concurrent.EsExecutors;
 import org.elasticsearch.env.Environment;
 import org.elasticsearch.env.NodeEnvironment;
 import org.elasticsearch.persistent.PersistentTasksExecutor;
@@ -90,6 +91,7 @@ public class Rollup extends Plugin implements ActionPlugin, PersistentTaskPlugin
     public static final int CURRENT_ROLLUP_VERSION = ROLLUP_VERSION_V2;
 
     public static final String TASK_THREAD_POOL_NAME = RollupField.NAME + "_indexing";
+    public static final String SHARD_INDEXER_THREAD_POOL_NAME = RollupField.NAME + "_shard_indexer";
 
     public static final String ROLLUP_TEMPLATE_VERSION_FIELD = "rollup-version";
 
@@ -183,7 +185,21 @@ public class Rollup extends Plugin implements ActionPlugin, PersistentTaskPlugin
             false
         );
 
-        return Collections.singletonList(indexing);
+        if (RollupV2.isEnabled() == false) {
+            return Collections.singletonList(indexing);
+        }
+
+        // collects the documents of a shard that is rolled up, one thread per group of segments
+        FixedExecutorBuilder shardIndexer = new FixedExecutorBuilder(
+            settings,
+            Rollup.SHARD_INDEXER_THREAD_POOL_NAME,
+            Math.max(1, EsExecutors.allocatedProcessors(settings) / 2),
+            -1,
+            "xpack.rollup.shard_indexer_thread_pool",
+            false
+        );
+
+        return List.of(indexing, shardIndexer);
     }
 
     @Override
@@ -7,8 +7,11 @@
 
 package org.elasticsearch.xpack.rollup.v2;
 
+import org.elasticsearch.common.io.stream.StreamInput;
+import org.elasticsearch.common.io.stream.StreamOutput;
 import org.elasticsearch.xpack.core.rollup.job.MetricConfig;
 
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
@@ -39,6 +42,16 @@ class FieldMetricsProducer {
 
         abstract Number get();
 
+        /**
+         * Write the state of the metric, so that it can be combined with the state of other metrics of the same bucket.
+         */
+        abstract void writePartial(StreamOutput out) throws IOException;
+
+        /**
+         * Combine the metric with a state written by {@link #writePartial(StreamOutput)}.
+         */
+        abstract void mergePartial(StreamInput in) throws IOException;
+
         abstract void reset();
     }
 
@@ -59,6 +72,19 @@ class FieldMetricsProducer {
             return max;
         }
 
+        @Override
+        void writePartial(StreamOutput out) throws IOException {
+            out.writeOptionalDouble(max);
+        }
+
+        @Override
+        void mergePartial(StreamInput in) throws IOException {
+            Double value = in.readOptionalDouble();
+            if (value != null) {
+                collect(value);
+            }
+        }
+
         @Override
         void reset() {
             max = null;
@@ -82,6 +108,19 @@ class FieldMetricsProducer {
             return min;
         }
 
+        @Override
+        void writePartial(StreamOutput out) throws IOException {
+            out.writeOptionalDouble(min);
+        }
+
+        @Override
+        void mergePartial(StreamInput in) throws IOException {
+            Double value = in.readOptionalDouble();
+            if (value != null) {
+                collect(value);
+            }
+        }
+
         @Override
         void reset() {
             min = null;
@@ -106,6 +145,16 @@ class FieldMetricsProducer {
             return sum;
         }
 
+        @Override
+        void writePartial(StreamOutput out) throws IOException {
+            out.writeDouble(sum);
+        }
+
+        @Override
+        void mergePartial(StreamInput in) throws IOException {
+            sum += in.readDouble();
+        }
+
         @Override
         void reset() {
             sum = 0;
@@ -129,6 +178,16 @@ class FieldMetricsProducer {
             return count;
         }
 
+        @Override
+        void writePartial(StreamOutput out) throws IOException {
+            out.writeVLong(count);
+        }
+
+        @Override
+        void mergePartial(StreamInput in) throws IOException {
+            count += in.readVLong();
+        }
+
         @Override
         void reset() {
             count = 0;
@@ -8,22 +8,27 @@ package org.elasticsearch.xpack.rollup.v2;
 
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
+import org.apache.logging.log4j.message.ParameterizedMessage;
 import org.apache.lucene.document.LongPoint;
 import org.apache.lucene.index.LeafReaderContext;
 import org.apache.lucene.index.PointValues;
+import org.apache.lucene.search.BulkScorer;
 import org.apache.lucene.search.CollectionTerminatedException;
-import org.apache.lucene.search.Collector;
 import org.apache.lucene.search.DocIdSetIterator;
 import org.apache.lucene.search.LeafCollector;
 import org.apache.lucene.search.Query;
 import org.apache.lucene.search.Scorable;
 import org.apache.lucene.search.ScoreMode;
+import org.apache.lucene.search.Weight;
 import org.apache.lucene.store.Directory;
 import org.apache.lucene.store.FilterDirectory;
 import org.apache.lucene.store.IOContext;
 import org.apache.lucene.store.IndexOutput;
 import org.apache.lucene.util.BytesRef;
+import org.apache.lucene.util.BytesRefBuilder;
 import org.apache.lucene.util.BytesRefIterator;
+import org.elasticsearch.ElasticsearchException;
+import org.elasticsearch.ExceptionsHelper;
 import org.elasticsearch.action.bulk.BackoffPolicy;
 import org.elasticsearch.action.bulk.BulkItemResponse;
 import org.elasticsearch.action.bulk.BulkProcessor;
@@ -53,6 +58,7 @@ import org.elasticsearch.search.aggregations.bucket.histogram.DateHistogramAggre
 import org.elasticsearch.search.aggregations.bucket.histogram.DateHistogramInterval;
 import org.elasticsearch.xpack.core.rollup.RollupActionConfig;
 import org.elasticsearch.xpack.core.rollup.RollupActionDateHistogramGroupConfig;
+import org.elasticsearch.xpack.core.rollup.action.RollupShardTask;
 import org.elasticsearch.xpack.core.rollup.job.HistogramGroupConfig;
 import org.elasticsearch.xpack.core.rollup.job.MetricConfig;
 import org.elasticsearch.xpack.core.rollup.job.TermsGroupConfig;
@@ -66,21 +72,34 @@ import java.util.Arrays;
 import java.util.Collections;
 import java.util.Comparator;
 import java.util.HashMap;
-import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.PriorityQueue;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicLong;
 import java.util.stream.Collectors;
 
 /**
  * An indexer for rollup that sorts the buckets from the provided source shard on disk and send them
  * to the target rollup index.
+ *
+ * The segments of the shard are split into groups that are collected concurrently, each into its own sorter. Documents
+ * that follow each other with the same bucket key, which is the norm when the index is sorted on the group fields, are
+ * combined before they are written to the sorter. The sorted runs are merged when the buckets are built, while the bulk
+ * request of the previous batch of buckets is executed.
  */
 class RollupShardIndexer {
     private static final Logger logger = LogManager.getLogger(RollupShardIndexer.class);
 
+    private static final long BULK_CLOSE_TIMEOUT_MINUTES = 10;
+
+    private final RollupShardTask task;
     private final IndexShard indexShard;
     private final Client client;
     private final RollupActionConfig config;
@@ -96,28 +115,40 @@ class RollupShardIndexer {
     private final List<FieldValueFetcher> groupFieldFetchers;
     private final List<FieldValueFetcher> metricsFieldFetchers;
 
-    private final CompressingOfflineSorter sorter;
+    private final ExecutorService executor;
+    // the segments collected by each worker, and the sorter used for its results
+    private final List<List<LeafReaderContext>> workerLeaves;
+    private final List<CompressingOfflineSorter> sorters;
 
     private final BulkProcessor bulkProcessor;
     private final AtomicLong numSent = new AtomicLong();
     private final AtomicLong numIndexed = new AtomicLong();
 
     // for testing
-    final Set<String> tmpFiles = new HashSet<>();
-    final Set<String> tmpFilesDeleted = new HashSet<>();
+    final Set<String> tmpFiles = ConcurrentHashMap.newKeySet();
+    final Set<String> tmpFilesDeleted = ConcurrentHashMap.newKeySet();
 
+    /**
+     * @param executor the executor the segments of the shard are collected on, in addition to the calling thread
+     * @param maxWorkers the maximum number of groups of segments that are collected concurrently
+     */
     RollupShardIndexer(
+        RollupShardTask task,
         Client client,
         IndexService indexService,
         ShardId shardId,
         RollupActionConfig config,
         String tmpIndex,
-        int ramBufferSizeMB
+        int ramBufferSizeMB,
+        ExecutorService executor,
+        int maxWorkers
     ) {
+        this.task = task;
         this.client = client;
         this.indexShard = indexService.getShard(shardId.id());
         this.config = config;
         this.tmpIndex = tmpIndex;
+        this.executor = executor;
 
         this.searcher = indexShard.acquireSearcher("rollup");
         Closeable toClose = searcher;
@@ -175,7 +206,13 @@ class RollupShardIndexer {
                 this.metricsFieldFetchers = Collections.emptyList();
             }
 
-            this.sorter = new CompressingOfflineSorter(dir, "rollup-", keyComparator(), ramBufferSizeMB);
+            this.workerLeaves = partitionLeaves(searcher.getIndexReader().leaves(), maxWorkers);
+            // the workers share the memory of a single sorter
+            final int workerRamBufferSizeMB = Math.max(2, ramBufferSizeMB / workerLeaves.size());
+            this.sorters = new ArrayList<>(workerLeaves.size());
+            for (int i = 0; i < workerLeaves.size(); i++) {
+                sorters.add(new CompressingOfflineSorter(dir, "rollup-", keyComparator(), workerRamBufferSizeMB));
+            }
             toClose = null;
         } finally {
             IOUtils.closeWhileHandlingException(toClose);
@@ -197,27 +234,74 @@ class RollupShardIndexer {
     }
 
     public long execute() throws IOException {
+        task.setTotalDocs(searcher.getIndexReader().numDocs());
         Long bucket = Long.MIN_VALUE;
-        try (searcher; bulkProcessor) {
-            do {
-                bucket = computeBucket(bucket);
-            } while (bucket != null);
+        try (searcher) {
+            try {
+                do {
+                    task.ensureNotCancelled();
+                    bucket = computeBucket(bucket);
+                } while (bucket != null);
+            } finally {
+                awaitBulkRequests();
+            }
         }
         // TODO: check that numIndexed == numSent, otherwise throw an exception
-        logger.info("Successfully sent [" + numIndexed.get() + "], indexed [" + numIndexed.get() + "]");
+        logger.info("Successfully sent [" + numSent.get() + "], indexed [" + numIndexed.get() + "]");
         return numIndexed.get();
     }
 
+    /**
+     * Split the segments into at most {@code maxWorkers} groups of about the same number of documents.
+     */
+    static List<List<LeafReaderContext>> partitionLeaves(List<LeafReaderContext> leaves, int maxWorkers) {
+        final int numWorkers = Math.max(1, Math.min(maxWorkers, leaves.size()));
+        final List<List<LeafReaderContext>> partitions = new ArrayList<>(numWorkers);
+        final long[] numDocs = new long[numWorkers];
+        for (int i = 0; i < numWorkers; i++) {
+            partitions.add(new ArrayList<>());
+        }
+        // assign the largest segments first, each to the group with the fewest documents
+        final List<LeafReaderContext> sortedLeaves = new ArrayList<>(leaves);
+        sortedLeaves.sort(Comparator.comparingInt((LeafReaderContext leaf) -> leaf.reader().maxDoc()).reversed());
+        for (LeafReaderContext leaf : sortedLeaves) {
+            int smallest = 0;
+            for (int i = 1; i < numWorkers; i++) {
+                if (numDocs[i] < numDocs[smallest]) {
+                    smallest = i;
+                }
+            }
+            partitions.get(smallest).add(leaf);
+            numDocs[smallest] += leaf.reader().maxDoc();
+        }
+        return partitions;
+    }
+
+    private void awaitBulkRequests() {
+        try {
+            if (bulkProcessor.awaitClose(BULK_CLOSE_TIMEOUT_MINUTES, TimeUnit.MINUTES) == false) {
+                throw new ElasticsearchException("timed out waiting for the bulk requests of shard [{}]", indexShard.shardId());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ElasticsearchException("interrupted while waiting for the bulk requests of shard [{}]", e, indexShard.shardId());
+        }
+    }
+
     private BulkProcessor createBulkProcessor() {
         final BulkProcessor.Listener listener = new BulkProcessor.Listener() {
             @Override
             public void beforeBulk(long executionId, BulkRequest request) {
                 numSent.addAndGet(request.numberOfActions());
+                task.addNumSent(request.numberOfActions());
             }
 
             @Override
             public void afterBulk(long executionId, BulkRequest request, BulkResponse response) {
-                numIndexed.addAndGet(request.numberOfActions());
+                long failed = Arrays.stream(response.getItems()).filter(BulkItemResponse::isFailed).count();
+                numIndexed.addAndGet(request.numberOfActions() - failed);
+                task.addNumIndexed(request.numberOfActions() - failed);
+                task.addNumFailed(failed);
                 if (response.hasFailures()) {
                     Map<String, String> failures = Arrays.stream(response.getItems())
                         .filter(BulkItemResponse::isFailed)
@@ -236,13 +320,18 @@ class RollupShardIndexer {
             public void afterBulk(long executionId, BulkRequest request, Throwable failure) {
                 long items = request.numberOfActions();
                 numSent.addAndGet(-items);
+                task.addNumFailed(items);
+                logger.error(
+                    () -> new ParameterizedMessage("failed to index rollup documents of shard [{}]", indexShard.shardId()),
+                    failure
+                );
             }
         };
         return BulkProcessor.builder(client::bulk, listener, "rollup-shard-indexer")
             .setBulkActions(10000)
             .setBulkSize(new ByteSizeValue(1, ByteSizeUnit.MB))
-            // execute the bulk request on the same thread
-            .setConcurrentRequests(0)
+            // send a bulk request while the buckets of the next one are computed
+            .setConcurrentRequests(1)
             .setBackoffPolicy(BackoffPolicy.exponentialBackoff(TimeValue.timeValueMillis(1000), 3))
             .build();
     }
@@ -293,11 +382,20 @@ class RollupShardIndexer {
             return null;
         }
         long nextRoundingLastValue = rounding.nextRoundingValue(nextRounding) - 1;
-        try (XExternalRefSorter externalSorter = new XExternalRefSorter(sorter)) {
+        List<XExternalRefSorter> externalSorters = new ArrayList<>(sorters.size());
+        try {
+            for (CompressingOfflineSorter sorter : sorters) {
+                externalSorters.add(new XExternalRefSorter(sorter));
+            }
             Query rangeQuery = LongPoint.newRangeQuery(timestampField.name(), nextRounding, nextRoundingLastValue);
-            searcher.search(rangeQuery, new BucketCollector(nextRounding, externalSorter));
+            Weight weight = searcher.createWeight(searcher.rewrite(rangeQuery), ScoreMode.COMPLETE_NO_SCORES, 1f);
+            collectBucket(nextRounding, weight, externalSorters);
 
-            BytesRefIterator it = externalSorter.iterator();
+            List<BytesRefIterator> sortedRuns = new ArrayList<>(externalSorters.size());
+            for (XExternalRefSorter externalSorter : externalSorters) {
+                sortedRuns.add(externalSorter.iterator());
+            }
+            BytesRefIterator it = sortedRuns.size() == 1 ? sortedRuns.get(0) : new MergingIterator(sortedRuns, keyComparator());
             BytesRef next = it.next();
 
             List<FieldMetricsProducer> fieldsMetrics = FieldMetricsProducer.buildMetrics(config.getMetricsConfig());
@@ -315,16 +413,12 @@ class RollupShardIndexer {
                             producer.reset();
                         }
                     }
+                    docCount += in.readVInt();
                     for (FieldMetricsProducer field : fieldsMetrics) {
-                        int size = in.readVInt();
-                        for (int i = 0; i < size; i++) {
-                            double value = in.readDouble();
-                            for (FieldMetricsProducer.Metric metric : field.metrics) {
-                                metric.collect(value);
-                            }
+                        for (FieldMetricsProducer.Metric metric : field.metrics) {
+                            metric.mergePartial(in);
                         }
                     }
-                    ++docCount;
                     lastKey = key;
                 }
                 next = it.next();
@@ -332,10 +426,51 @@ class RollupShardIndexer {
             if (lastKey != null) {
                 indexBucket(lastKey, fieldsMetrics, docCount);
             }
+        } finally {
+            IOUtils.close(externalSorters);
         }
         return nextRoundingLastValue;
     }
 
+    /**
+     * Collect the documents of the bucket, each group of segments into its own sorter. The first group is collected
+     * on the calling thread, the others on the executor.
+     */
+    private void collectBucket(long timestamp, Weight weight, List<XExternalRefSorter> externalSorters) throws IOException {
+        List<Future<?>> futures = new ArrayList<>(workerLeaves.size() - 1);
+        Exception failure = null;
+        try {
+            for (int i = 1; i < workerLeaves.size(); i++) {
+                BucketCollector collector = new BucketCollector(timestamp, externalSorters.get(i));
+                List<LeafReaderContext> leaves = workerLeaves.get(i);
+                futures.add(executor.submit(() -> {
+                    collector.collect(weight, leaves);
+                    return null;
+                }));
+            }
+            new BucketCollector(timestamp, externalSorters.get(0)).collect(weight, workerLeaves.get(0));
+        } catch (Exception e) {
+            failure = e;
+        }
+        // the sorters must not be closed while other workers still write to them
+        for (Future<?> future : futures) {
+            try {
+                future.get();
+            } catch (ExecutionException e) {
+                Exception cause = e.getCause() instanceof Exception ? (Exception) e.getCause() : e;
+                failure = ExceptionsHelper.useOrSuppress(failure, cause);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                failure = ExceptionsHelper.useOrSuppress(failure, e);
+            }
+        }
+        if (failure instanceof IOException) {
+            throw (IOException) failure;
+        } else if (failure != null) {
+            throw ExceptionsHelper.convertToRuntime(failure);
+        }
+    }
+
     private Long findNextRounding(long lastRounding) throws IOException {
         Long nextRounding = null;
         for (LeafReaderContext leafReaderContext : searcher.getIndexReader().leaves()) {
@@ -423,25 +558,50 @@ class RollupShardIndexer {
         }
     }
 
-    private class BucketCollector implements Collector {
+    /**
+     * Collects the documents of a group of segments into a sorter. The documents of a bucket key are combined with the
+     * previous documents while they have the same key, so that a single entry is sorted for all of them.
+     */
+    private class BucketCollector {
         private final long timestamp;
         private final XExternalRefSorter externalSorter;
 
+        private final BytesStreamOutput out = new BytesStreamOutput();
+        private final BytesRefBuilder pendingKey = new BytesRefBuilder();
+        private final List<FieldMetricsProducer> pendingMetrics = FieldMetricsProducer.buildMetrics(config.getMetricsConfig());
+        private int pendingDocCount = 0;
+
         private BucketCollector(long timestamp, XExternalRefSorter externalSorter) {
             this.externalSorter = externalSorter;
             this.timestamp = timestamp;
         }
 
-        @Override
-        public LeafCollector getLeafCollector(LeafReaderContext context) {
+        void collect(Weight weight, List<LeafReaderContext> leaves) throws IOException {
+            for (LeafReaderContext leaf : leaves) {
+                BulkScorer scorer = weight.bulkScorer(leaf);
+                if (scorer == null) {
+                    continue;
+                }
+                LeafBucketCollector leafCollector = getLeafCollector(leaf);
+                try {
+                    scorer.score(leafCollector, leaf.reader().getLiveDocs());
+                } catch (CollectionTerminatedException e) {
+                    // the segment has no more matching documents
+                }
+                task.addNumReceived(leafCollector.numDocs);
+            }
+            flush();
+            // sort while the other workers are still collecting
+            externalSorter.sort();
+        }
+
+        private LeafBucketCollector getLeafCollector(LeafReaderContext context) {
             final List<FormattedDocValues> groupFieldLeaves = leafFetchers(context, groupFieldFetchers);
             final List<FormattedDocValues> metricsFieldLeaves = leafFetchers(context, metricsFieldFetchers);
-            return new LeafCollector() {
-                @Override
-                public void setScorer(Scorable scorer) {}
-
+            return new LeafBucketCollector() {
                 @Override
                 public void collect(int docID) throws IOException {
+                    ++numDocs;
                     List<List<Object>> combinationKeys = new ArrayList<>();
                     for (FormattedDocValues leafField : groupFieldLeaves) {
                         if (leafField.advanceExact(docID)) {
@@ -455,37 +615,65 @@ class RollupShardIndexer {
                         }
                     }
 
-                    final BytesRef valueBytes;
-                    try (BytesStreamOutput out = new BytesStreamOutput()) {
-                        for (FormattedDocValues formattedDocValues : metricsFieldLeaves) {
-                            if (formattedDocValues.advanceExact(docID)) {
-                                out.writeVInt(formattedDocValues.docValueCount());
-                                for (int i = 0; i < formattedDocValues.docValueCount(); i++) {
-                                    Object obj = formattedDocValues.nextValue();
-                                    if (obj instanceof Number == false) {
-                                        throw new IllegalArgumentException("Expected [Number], got [" + obj.getClass() + "]");
-                                    }
-                                    out.writeDouble(((Number) obj).doubleValue());
+                    final double[][] values = new double[metricsFieldLeaves.size()][];
+                    for (int field = 0; field < metricsFieldLeaves.size(); field++) {
+                        FormattedDocValues formattedDocValues = metricsFieldLeaves.get(field);
+                        if (formattedDocValues.advanceExact(docID)) {
+                            values[field] = new double[formattedDocValues.docValueCount()];
+                            for (int i = 0; i < values[field].length; i++) {
+                                Object obj = formattedDocValues.nextValue();
+                                if (obj instanceof Number == false) {
+                                    throw new IllegalArgumentException("Expected [Number], got [" + obj.getClass() + "]");
                                 }
-                            } else {
-                                out.writeVInt(0);
+                                values[field][i] = ((Number) obj).doubleValue();
                             }
+                        } else {
+                            values[field] = new double[0];
                         }
-                        valueBytes = out.bytes().toBytesRef();
                     }
                     for (List<Object> groupFields : cartesianProduct(combinationKeys)) {
-                        try (BytesStreamOutput out = new BytesStreamOutput()) {
-                            BytesRef keyBytes = encodeKey(timestamp, groupFields);
-                            out.writeInt(keyBytes.length);
-                            out.writeBytes(keyBytes.bytes, keyBytes.offset, keyBytes.length);
-                            out.writeBytes(valueBytes.bytes, valueBytes.offset, valueBytes.length);
-                            externalSorter.add(out.bytes().toBytesRef());
+                        BytesRef keyBytes = encodeKey(timestamp, groupFields);
+                        if (pendingDocCount > 0 && pendingKey.get().bytesEquals(keyBytes) == false) {
+                            flush();
+                        }
+                        if (pendingDocCount == 0) {
+                            pendingKey.copyBytes(keyBytes);
+                        }
+                        ++pendingDocCount;
+                        for (int field = 0; field < pendingMetrics.size(); field++) {
+                            for (double value : values[field]) {
+                                for (FieldMetricsProducer.Metric metric : pendingMetrics.get(field).metrics) {
+                                    metric.collect(value);
+                                }
+                            }
                         }
                     }
                 }
             };
         }
 
+        /**
+         * Write the key, the number of documents and the state of the metrics of the pending documents to the sorter.
+         */
+        private void flush() throws IOException {
+            if (pendingDocCount == 0) {
+                return;
+            }
+            out.reset();
+            BytesRef keyBytes = pendingKey.get();
+            out.writeInt(keyBytes.length);
+            out.writeBytes(keyBytes.bytes, keyBytes.offset, keyBytes.length);
+            out.writeVInt(pendingDocCount);
+            for (FieldMetricsProducer field : pendingMetrics) {
+                for (FieldMetricsProducer.Metric metric : field.metrics) {
+                    metric.writePartial(out);
+                }
+                field.reset();
+            }
+            externalSorter.add(out.bytes().toBytesRef());
+            pendingDocCount = 0;
+        }
+
         private List<FormattedDocValues> leafFetchers(LeafReaderContext context, List<FieldValueFetcher> fetchers) {
             List<FormattedDocValues> leaves = new ArrayList<>();
             for (FieldValueFetcher fetcher : fetchers) {
@@ -493,10 +681,54 @@ class RollupShardIndexer {
             }
             return leaves;
         }
+    }
+
+    private abstract static class LeafBucketCollector implements LeafCollector {
+        long numDocs = 0;
+
+        @Override
+        public void setScorer(Scorable scorer) {}
+    }
+
+    /**
+     * Merges the sorted runs of the workers into a single sorted sequence.
+     */
+    static class MergingIterator implements BytesRefIterator {
+        private final PriorityQueue<SortedRun> queue;
+        // the run the last returned sequence belongs to, which must only be advanced once the sequence was consumed
+        private SortedRun current;
+
+        MergingIterator(List<BytesRefIterator> iterators, Comparator<BytesRef> comparator) throws IOException {
+            this.queue = new PriorityQueue<>(iterators.size(), (o1, o2) -> comparator.compare(o1.next, o2.next));
+            for (BytesRefIterator iterator : iterators) {
+                SortedRun run = new SortedRun(iterator);
+                if (run.advance()) {
+                    queue.add(run);
+                }
+            }
+        }
 
         @Override
-        public ScoreMode scoreMode() {
-            return ScoreMode.COMPLETE_NO_SCORES;
+        public BytesRef next() throws IOException {
+            if (current != null && current.advance()) {
+                queue.add(current);
+            }
+            current = queue.poll();
+            return current == null ? null : current.next;
+        }
+    }
+
+    private static class SortedRun {
+        private final BytesRefIterator iterator;
+        private BytesRef next;
+
+        SortedRun(BytesRefIterator iterator) {
+            this.iterator = iterator;
+        }
+
+        boolean advance() throws IOException {
+            next = iterator.next();
+            return next != null;
         }
     }
 
@@ -26,9 +26,11 @@ import org.elasticsearch.common.io.stream.StreamInput;
 import org.elasticsearch.index.IndexService;
 import org.elasticsearch.indices.IndicesService;
 import org.elasticsearch.tasks.Task;
+import org.elasticsearch.threadpool.ThreadPool;
 import org.elasticsearch.transport.TransportService;
 import org.elasticsearch.xpack.core.ClientHelper;
 import org.elasticsearch.xpack.core.rollup.action.RollupIndexerAction;
+import org.elasticsearch.xpack.core.rollup.action.RollupShardTask;
 
 import java.io.IOException;
 import java.util.Arrays;
@@ -36,6 +38,7 @@ import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.atomic.AtomicReferenceArray;
 
+import static org.elasticsearch.xpack.rollup.Rollup.SHARD_INDEXER_THREAD_POOL_NAME;
 import static org.elasticsearch.xpack.rollup.Rollup.TASK_THREAD_POOL_NAME;
 
 /**
@@ -54,6 +57,7 @@ public class TransportRollupIndexerAction extends TransportBroadcastAction<
     private final Client client;
     private final ClusterService clusterService;
     private final IndicesService indicesService;
+    private final ThreadPool threadPool;
 
     @Inject
     public TransportRollupIndexerAction(
@@ -77,6 +81,7 @@ public class TransportRollupIndexerAction extends TransportBroadcastAction<
         this.client = new OriginSettingClient(client, ClientHelper.ROLLUP_ORIGIN);
         this.clusterService = clusterService;
         this.indicesService = indicesService;
+        this.threadPool = transportService.getThreadPool();
     }
 
     @Override
@@ -119,12 +124,15 @@ public class TransportRollupIndexerAction extends TransportBroadcastAction<
         IndexService indexService = indicesService.indexService(request.shardId().getIndex());
         String tmpIndexName = ".rolluptmp-" + request.getRollupIndex();
         RollupShardIndexer indexer = new RollupShardIndexer(
+            (RollupShardTask) task,
             client,
             indexService,
             request.shardId(),
             request.getRollupConfig(),
             tmpIndexName,
-            SORTER_RAM_SIZE_MB
+            SORTER_RAM_SIZE_MB,
+            threadPool.executor(SHARD_INDEXER_THREAD_POOL_NAME),
+            threadPool.info(SHARD_INDEXER_THREAD_POOL_NAME).getMax()
         );
         indexer.execute();
         return new RollupIndexerAction.ShardResponse(request.shardId());
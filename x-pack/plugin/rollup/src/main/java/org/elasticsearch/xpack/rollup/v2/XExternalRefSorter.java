@@ -25,6 +25,7 @@ import org.apache.lucene.store.Directory;
 import org.apache.lucene.store.IOContext;
 import org.apache.lucene.store.IndexOutput;
 import org.apache.lucene.util.BytesRef;
+import org.apache.lucene.util.BytesRefBuilder;
 import org.apache.lucene.util.BytesRefIterator;
 import org.apache.lucene.util.OfflineSorter;
 import org.elasticsearch.core.internal.io.IOUtils;
@@ -43,6 +44,9 @@ class XExternalRefSorter implements BytesRefSorter, Closeable {
     private CompressingOfflineSorter.Writer writer;
     private IndexOutput input;
     private String sortedFileName;
+    // whether the sequences were added in sorted order, in which case the file does not need to be sorted
+    private boolean inputSorted = true;
+    private final BytesRefBuilder last = new BytesRefBuilder();
 
     /**
      * Will buffer all sequences to a temporary file and then sort (all on-disk).
@@ -58,28 +62,47 @@ class XExternalRefSorter implements BytesRefSorter, Closeable {
         if (writer == null) {
             throw new IllegalStateException();
         }
+        if (inputSorted) {
+            if (last.length() > 0 && sorter.getComparator().compare(last.get(), utf8) > 0) {
+                inputSorted = false;
+            } else {
+                last.copyBytes(utf8);
+            }
+        }
         writer.write(utf8);
     }
 
-    @Override
-    public BytesRefIterator iterator() throws IOException {
+    /**
+     * Sort the sequences that were added so far, unless they were already added in sorted order.
+     * This is done by {@link #iterator()} if it was not called before.
+     */
+    public void sort() throws IOException {
         if (sortedFileName == null) {
             closeWriter();
 
-            boolean success = false;
-            try {
-                sortedFileName = sorter.sort(input.getName());
-                success = true;
-            } finally {
-                if (success) {
-                    sorter.getDirectory().deleteFile(input.getName());
-                } else {
-                    deleteFilesIgnoringExceptions(sorter.getDirectory(), input.getName());
+            if (inputSorted) {
+                sortedFileName = input.getName();
+            } else {
+                boolean success = false;
+                try {
+                    sortedFileName = sorter.sort(input.getName());
+                    success = true;
+                } finally {
+                    if (success) {
+                        sorter.getDirectory().deleteFile(input.getName());
+                    } else {
+                        deleteFilesIgnoringExceptions(sorter.getDirectory(), input.getName());
+                    }
                 }
             }
 
             input = null;
         }
+    }
+
+    @Override
+    public BytesRefIterator iterator() throws IOException {
+        sort();
 
         OfflineSorter.ByteSequencesReader reader = sorter.getReader(
             sorter.getDirectory().openChecksumInput(sortedFileName, IOContext.READONCE),
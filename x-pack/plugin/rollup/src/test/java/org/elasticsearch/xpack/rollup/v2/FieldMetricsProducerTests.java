@@ -0,0 +1,81 @@
+/*
+ * Copyright Elasticsearch B.V. and/or licensed to Elasticsearch B.V. under one
+ * or more contributor license agreements. Licensed under the Elastic License
+ * 2.0; you may not use this file except in compliance with the Elastic License
+ * 2.0.
+ */
+
+package org.elasticsearch.xpack.rollup.v2;
+
+import org.elasticsearch.common.io.stream.BytesStreamOutput;
+import org.elasticsearch.common.io.stream.StreamInput;
+import org.elasticsearch.test.ESTestCase;
+import org.elasticsearch.xpack.core.rollup.job.MetricConfig;
+
+import java.io.IOException;
+import java.util.List;
+
+import static org.hamcrest.Matchers.equalTo;
+
+public class FieldMetricsProducerTests extends ESTestCase {
+
+    private static final List<MetricConfig> METRICS = List.of(new MetricConfig("field", List.of("min", "max", "sum", "value_count")));
+
+    /**
+     * Merging the partial states of any split of the values gives the same metrics as collecting all the values.
+     */
+    public void testMergePartials() throws IOException {
+        final FieldMetricsProducer expected = FieldMetricsProducer.buildMetrics(METRICS).get(0);
+        final FieldMetricsProducer merged = FieldMetricsProducer.buildMetrics(METRICS).get(0);
+        final FieldMetricsProducer partial = FieldMetricsProducer.buildMetrics(METRICS).get(0);
+
+        final int numPartials = randomIntBetween(1, 10);
+        for (int i = 0; i < numPartials; i++) {
+            // whole numbers, so that the sums do not depend on the order of the additions
+            final int numValues = randomIntBetween(0, 20);
+            for (int j = 0; j < numValues; j++) {
+                final double value = randomIntBetween(-1000, 1000);
+                for (int m = 0; m < expected.metrics.size(); m++) {
+                    expected.metrics.get(m).collect(value);
+                    partial.metrics.get(m).collect(value);
+                }
+            }
+            mergePartial(partial, merged);
+            partial.reset();
+        }
+
+        for (int m = 0; m < expected.metrics.size(); m++) {
+            final FieldMetricsProducer.Metric metric = merged.metrics.get(m);
+            assertThat(metric.name, metric.get(), equalTo(expected.metrics.get(m).get()));
+        }
+    }
+
+    public void testMergeEmptyPartial() throws IOException {
+        final FieldMetricsProducer merged = FieldMetricsProducer.buildMetrics(METRICS).get(0);
+        final double value = randomDouble();
+        for (FieldMetricsProducer.Metric metric : merged.metrics) {
+            metric.collect(value);
+        }
+
+        mergePartial(FieldMetricsProducer.buildMetrics(METRICS).get(0), merged);
+
+        for (FieldMetricsProducer.Metric metric : merged.metrics) {
+            final Number expected = metric.name.equals("value_count") ? (Number) 1L : (Number) value;
+            assertThat(metric.name, metric.get(), equalTo(expected));
+        }
+    }
+
+    private static void mergePartial(FieldMetricsProducer from, FieldMetricsProducer into) throws IOException {
+        try (BytesStreamOutput out = new BytesStreamOutput()) {
+            for (FieldMetricsProducer.Metric metric : from.metrics) {
+                metric.writePartial(out);
+            }
+            try (StreamInput in = out.bytes().streamInput()) {
+                for (FieldMetricsProducer.Metric metric : into.metrics) {
+                    metric.mergePartial(in);
+                }
+                assertThat(in.available(), equalTo(0));
+            }
+        }
+    }
+}
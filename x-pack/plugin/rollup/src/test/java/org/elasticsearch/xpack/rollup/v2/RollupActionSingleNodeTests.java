@@ -46,7 +46,9 @@ import org.elasticsearch.search.aggregations.metrics.MaxAggregationBuilder;
 import org.elasticsearch.search.aggregations.metrics.MinAggregationBuilder;
 import org.elasticsearch.search.aggregations.metrics.SumAggregationBuilder;
 import org.elasticsearch.search.aggregations.metrics.ValueCountAggregationBuilder;
+import org.elasticsearch.tasks.TaskId;
 import org.elasticsearch.test.ESSingleNodeTestCase;
+import org.elasticsearch.threadpool.ThreadPool;
 import org.elasticsearch.xcontent.XContentBuilder;
 import org.elasticsearch.xcontent.XContentFactory;
 import org.elasticsearch.xpack.aggregatemetric.AggregateMetricMapperPlugin;
@@ -59,6 +61,7 @@ import org.elasticsearch.xpack.core.rollup.RollupActionConfig;
 import org.elasticsearch.xpack.core.rollup.RollupActionDateHistogramGroupConfig;
 import org.elasticsearch.xpack.core.rollup.RollupActionGroupConfig;
 import org.elasticsearch.xpack.core.rollup.action.RollupAction;
+import org.elasticsearch.xpack.core.rollup.action.RollupShardTask;
 import org.elasticsearch.xpack.core.rollup.job.HistogramGroupConfig;
 import org.elasticsearch.xpack.core.rollup.job.MetricConfig;
 import org.elasticsearch.xpack.core.rollup.job.TermsGroupConfig;
@@ -165,10 +168,22 @@ public class RollupActionSingleNodeTests extends ESSingleNodeTestCase {
         IndexShard shard = indexService.getShard(0);
 
         // re-use source index as temp index for test
-        RollupShardIndexer indexer = new RollupShardIndexer(client(), indexService, shard.shardId(), config, index, 2);
+        RollupShardTask task = new RollupShardTask(randomNonNegativeLong(), "transport", "rollup", "", TaskId.EMPTY_TASK_ID, Map.of());
+        RollupShardIndexer indexer = new RollupShardIndexer(
+            task,
+            client(),
+            indexService,
+            shard.shardId(),
+            config,
+            index,
+            2,
+            getInstanceFromNode(ThreadPool.class).generic(),
+            randomIntBetween(1, 4)
+        );
         indexer.execute();
         // assert that files are deleted
         assertThat(indexer.tmpFilesDeleted, equalTo(indexer.tmpFiles));
+        assertThat(task.getStatus().getNumReceived(), equalTo(task.getStatus().getTotalDocs()));
     }
 
     public void testCannotRollupToExistingIndex() throws Exception {
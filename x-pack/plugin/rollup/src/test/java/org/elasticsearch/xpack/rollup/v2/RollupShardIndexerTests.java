@@ -0,0 +1,127 @@
+/*
+ * Copyright Elasticsearch B.V. and/or licensed to Elasticsearch B.V. under one
+ * or more contributor license agreements. Licensed under the Elastic License
+ * 2.0; you may not use this file except in compliance with the Elastic License
+ * 2.0.
+ */
+
+package org.elasticsearch.xpack.rollup.v2;
+
+import org.apache.lucene.document.Document;
+import org.apache.lucene.index.DirectoryReader;
+import org.apache.lucene.index.IndexWriter;
+import org.apache.lucene.index.IndexWriterConfig;
+import org.apache.lucene.index.LeafReaderContext;
+import org.apache.lucene.index.NoMergePolicy;
+import org.apache.lucene.store.Directory;
+import org.apache.lucene.util.BytesRef;
+import org.apache.lucene.util.BytesRefBuilder;
+import org.apache.lucene.util.BytesRefIterator;
+import org.elasticsearch.test.ESTestCase;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.hamcrest.Matchers.containsInAnyOrder;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.lessThanOrEqualTo;
+
+public class RollupShardIndexerTests extends ESTestCase {
+
+    public void testPartitionLeaves() throws IOException {
+        final int numSegments = randomIntBetween(1, 20);
+        try (Directory dir = newDirectory()) {
+            try (IndexWriter writer = new IndexWriter(dir, new IndexWriterConfig().setMergePolicy(NoMergePolicy.INSTANCE))) {
+                for (int i = 0; i < numSegments; i++) {
+                    final int numDocs = randomIntBetween(1, 100);
+                    for (int j = 0; j < numDocs; j++) {
+                        writer.addDocument(new Document());
+                    }
+                    writer.flush();
+                }
+            }
+            try (DirectoryReader reader = DirectoryReader.open(dir)) {
+                final List<LeafReaderContext> leaves = reader.leaves();
+                assertThat(leaves.size(), equalTo(numSegments));
+
+                final int maxWorkers = randomIntBetween(1, 8);
+                final List<List<LeafReaderContext>> partitions = RollupShardIndexer.partitionLeaves(leaves, maxWorkers);
+                assertThat(partitions.size(), equalTo(Math.min(maxWorkers, numSegments)));
+
+                // every segment is collected by exactly one worker, and every worker collects at least one segment
+                final List<LeafReaderContext> partitioned = partitions.stream().flatMap(List::stream).collect(Collectors.toList());
+                assertThat(partitioned, containsInAnyOrder(leaves.toArray()));
+                for (List<LeafReaderContext> partition : partitions) {
+                    assertFalse(partition.isEmpty());
+                }
+
+                // the workers get about the same number of documents, at most a segment apart
+                final long[] numDocs = partitions.stream()
+                    .mapToLong(partition -> partition.stream().mapToLong(leaf -> leaf.reader().maxDoc()).sum())
+                    .toArray();
+                final long largestSegment = leaves.stream().mapToLong(leaf -> leaf.reader().maxDoc()).max().getAsLong();
+                final long mostDocs = Arrays.stream(numDocs).max().getAsLong();
+                final long fewestDocs = Arrays.stream(numDocs).min().getAsLong();
+                assertThat(mostDocs - fewestDocs, lessThanOrEqualTo(largestSegment));
+            }
+        }
+    }
+
+    public void testPartitionNoLeaves() {
+        final List<List<LeafReaderContext>> partitions = RollupShardIndexer.partitionLeaves(
+            Collections.emptyList(),
+            randomIntBetween(1, 8)
+        );
+        assertThat(partitions.size(), equalTo(1));
+        assertThat(partitions.get(0), empty());
+    }
+
+    public void testMergingIterator() throws IOException {
+        final int numRuns = randomIntBetween(1, 8);
+        final List<BytesRef> expected = new ArrayList<>();
+        final List<BytesRefIterator> runs = new ArrayList<>(numRuns);
+        for (int i = 0; i < numRuns; i++) {
+            // short values so that the runs share some of them
+            final List<BytesRef> run = new ArrayList<>();
+            final int numValues = randomIntBetween(0, 50);
+            for (int j = 0; j < numValues; j++) {
+                run.add(new BytesRef(randomAlphaOfLengthBetween(0, 2)));
+            }
+            Collections.sort(run);
+            expected.addAll(run);
+            runs.add(reusingIterator(run));
+        }
+        Collections.sort(expected);
+
+        final BytesRefIterator merged = new RollupShardIndexer.MergingIterator(runs, Comparator.naturalOrder());
+        final List<BytesRef> actual = new ArrayList<>();
+        for (BytesRef next = merged.next(); next != null; next = merged.next()) {
+            actual.add(BytesRef.deepCopyOf(next));
+        }
+        assertThat(actual, equalTo(expected));
+        assertNull(merged.next());
+    }
+
+    /**
+     * Like the readers of the sorted files, return the values in the same {@link BytesRef}, which must therefore
+     * not be advanced before the value was consumed.
+     */
+    private static BytesRefIterator reusingIterator(List<BytesRef> values) {
+        final Iterator<BytesRef> iterator = values.iterator();
+        final BytesRefBuilder spare = new BytesRefBuilder();
+        return () -> {
+            if (iterator.hasNext() == false) {
+                return null;
+            }
+            spare.copyBytes(iterator.next());
+            return spare.get();
+        };
+    }
+}
@@ -0,0 +1,94 @@
+/*
+ * Copyright Elasticsearch B.V. and/or licensed to Elasticsearch B.V. under one
+ * or more contributor license agreements. Licensed under the Elastic License
+ * 2.0; you may not use this file except in compliance with the Elastic License
+ * 2.0.
+ */
+
+package org.elasticsearch.xpack.rollup.v2;
+
+import org.apache.lucene.store.ByteBuffersDirectory;
+import org.apache.lucene.store.Directory;
+import org.apache.lucene.store.FilterDirectory;
+import org.apache.lucene.store.IOContext;
+import org.apache.lucene.store.IndexOutput;
+import org.apache.lucene.util.BytesRef;
+import org.apache.lucene.util.BytesRefIterator;
+import org.elasticsearch.test.ESTestCase;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+
+import static org.hamcrest.Matchers.emptyArray;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.greaterThan;
+
+public class XExternalRefSorterTests extends ESTestCase {
+
+    public void testAlreadySortedInputIsNotSorted() throws IOException {
+        final List<BytesRef> values = randomValues();
+        Collections.sort(values);
+        try (CountingDirectory dir = new CountingDirectory(new ByteBuffersDirectory())) {
+            assertThat(sortAndRead(dir, values), equalTo(values));
+            // only the file the values were written to
+            assertThat(dir.tempOutputs, equalTo(1));
+            assertThat(dir.listAll(), emptyArray());
+        }
+    }
+
+    public void testUnsortedInputIsSorted() throws IOException {
+        final List<BytesRef> values = randomValues();
+        values.add(new BytesRef("b"));
+        values.add(new BytesRef("a"));
+        try (CountingDirectory dir = new CountingDirectory(new ByteBuffersDirectory())) {
+            final List<BytesRef> sorted = sortAndRead(dir, values);
+            Collections.sort(values);
+            assertThat(sorted, equalTo(values));
+            // the sorted file is written in addition to the input
+            assertThat(dir.tempOutputs, greaterThan(1));
+            assertThat(dir.listAll(), emptyArray());
+        }
+    }
+
+    private static List<BytesRef> randomValues() {
+        final int numValues = randomIntBetween(0, 100);
+        final List<BytesRef> values = new ArrayList<>(numValues);
+        for (int i = 0; i < numValues; i++) {
+            values.add(new BytesRef(randomAlphaOfLengthBetween(1, 10)));
+        }
+        return values;
+    }
+
+    private static List<BytesRef> sortAndRead(Directory dir, List<BytesRef> values) throws IOException {
+        final CompressingOfflineSorter sorter = new CompressingOfflineSorter(dir, "test-", Comparator.naturalOrder(), 2);
+        final List<BytesRef> result = new ArrayList<>(values.size());
+        try (XExternalRefSorter externalSorter = new XExternalRefSorter(sorter)) {
+            for (BytesRef value : values) {
+                externalSorter.add(value);
+            }
+            externalSorter.sort();
+            final BytesRefIterator it = externalSorter.iterator();
+            for (BytesRef next = it.next(); next != null; next = it.next()) {
+                result.add(BytesRef.deepCopyOf(next));
+            }
+        }
+        return result;
+    }
+
+    private static class CountingDirectory extends FilterDirectory {
+        private int tempOutputs = 0;
+
+        CountingDirectory(Directory in) {
+            super(in);
+        }
+
+        @Override
+        public IndexOutput createTempOutput(String prefix, String suffix, IOContext context) throws IOException {
+            tempOutputs++;
+            return super.createTempOutput(prefix, suffix, context);
+        }
+    }
+}
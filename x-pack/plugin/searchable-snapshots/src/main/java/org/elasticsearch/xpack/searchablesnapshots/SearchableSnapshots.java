@@ -198,6 +198,25 @@ public class SearchableSnapshots extends Plugin implements IndexStorePlugin, Eng
         Setting.Property.NodeScope,
         Setting.Property.NotCopyableOnResize
     );
+    // The file extensions that are fetched into the shared cache as soon as a partially mounted shard is opened
+    public static final Setting<List<String>> SNAPSHOT_PARTIAL_PREFETCH_FILE_TYPES_SETTING = Setting.listSetting(
+        "index.store.snapshot.partial.prefetch_file_types",
+        Collections.emptyList(),
+        Function.identity(),
+        Setting.Property.IndexScope,
+        Setting.Property.NodeScope,
+        Setting.Property.NotCopyableOnResize
+    );
+    // The number of ranges that are fetched into the shared cache ahead of sequential reads on a partially mounted shard
+    public static final Setting<Integer> SNAPSHOT_PARTIAL_READ_AHEAD_RANGES_SETTING = Setting.intSetting(
+        "index.store.snapshot.partial.read_ahead_ranges",
+        0,
+        0,
+        16,
+        Setting.Property.IndexScope,
+        Setting.Property.NodeScope,
+        Setting.Property.NotCopyableOnResize
+    );
     public static final Setting<ByteSizeValue> SNAPSHOT_UNCACHED_CHUNK_SIZE_SETTING = Setting.byteSizeSetting(
         "index.store.snapshot.uncached_chunk_size",
         new ByteSizeValue(-1, ByteSizeUnit.BYTES),
@@ -296,6 +315,8 @@ public class SearchableSnapshots extends Plugin implements IndexStorePlugin, Eng
             SNAPSHOT_CACHE_PREWARM_ENABLED_SETTING,
             SNAPSHOT_CACHE_EXCLUDED_FILE_TYPES_SETTING,
             SNAPSHOT_UNCACHED_CHUNK_SIZE_SETTING,
+            SNAPSHOT_PARTIAL_PREFETCH_FILE_TYPES_SETTING,
+            SNAPSHOT_PARTIAL_READ_AHEAD_RANGES_SETTING,
             DELETE_SEARCHABLE_SNAPSHOT_ON_INDEX_DELETION,
             SearchableSnapshotsSettings.SNAPSHOT_PARTIAL_SETTING,
             SNAPSHOT_BLOB_CACHE_METADATA_FILES_MAX_LENGTH_SETTING,
@@ -313,6 +334,7 @@ public class SearchableSnapshots extends Plugin implements IndexStorePlugin, Eng
             FrozenCacheService.SNAPSHOT_CACHE_MAX_FREQ_SETTING,
             FrozenCacheService.SNAPSHOT_CACHE_DECAY_INTERVAL_SETTING,
             FrozenCacheService.SNAPSHOT_CACHE_MIN_TIME_DELTA_SETTING,
+            FrozenCacheService.SNAPSHOT_CACHE_EVICTION_POLICY_SETTING,
             BlobStoreCacheMaintenanceService.SNAPSHOT_SNAPSHOT_CLEANUP_INTERVAL_SETTING,
             BlobStoreCacheMaintenanceService.SNAPSHOT_SNAPSHOT_CLEANUP_KEEP_ALIVE_SETTING,
             BlobStoreCacheMaintenanceService.SNAPSHOT_SNAPSHOT_CLEANUP_BATCH_SIZE_SETTING,
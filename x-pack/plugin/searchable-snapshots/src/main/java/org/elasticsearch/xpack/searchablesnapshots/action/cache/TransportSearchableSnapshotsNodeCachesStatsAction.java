@@ -6,6 +6,7 @@
  */
 package org.elasticsearch.xpack.searchablesnapshots.action.cache;
 
+import org.elasticsearch.Version;
 import org.elasticsearch.action.ActionType;
 import org.elasticsearch.action.FailedNodeException;
 import org.elasticsearch.action.support.ActionFilters;
@@ -134,7 +135,11 @@ public class TransportSearchableSnapshotsNodeCachesStatsAction extends Transport
             frozenCacheStats.getWriteBytes(),
             frozenCacheStats.getReadCount(),
             frozenCacheStats.getReadBytes(),
-            frozenCacheStats.getEvictCount()
+            frozenCacheStats.getEvictCount(),
+            frozenCacheStats.getEvictionPolicy().toString(),
+            frozenCacheStats.getHitCount(),
+            frozenCacheStats.getMissCount(),
+            frozenCacheStats.getAdmissionRejectedCount()
         );
     }
 
@@ -178,6 +183,10 @@ public class TransportSearchableSnapshotsNodeCachesStatsAction extends Transport
         private final long reads;
         private final long bytesRead;
         private final long evictions;
+        private final String evictionPolicy;
+        private final long hits;
+        private final long misses;
+        private final long admissionsRejected;
 
         public NodeCachesStatsResponse(
             DiscoveryNode node,
@@ -188,7 +197,11 @@ public class TransportSearchableSnapshotsNodeCachesStatsAction extends Transport
             long bytesWritten,
             long reads,
             long bytesRead,
-            long evictions
+            long evictions,
+            String evictionPolicy,
+            long hits,
+            long misses,
+            long admissionsRejected
         ) {
             super(node);
             this.numRegions = numRegions;
@@ -199,6 +212,10 @@ public class TransportSearchableSnapshotsNodeCachesStatsAction extends Transport
             this.reads = reads;
             this.bytesRead = bytesRead;
             this.evictions = evictions;
+            this.evictionPolicy = evictionPolicy;
+            this.hits = hits;
+            this.misses = misses;
+            this.admissionsRejected = admissionsRejected;
         }
 
         public NodeCachesStatsResponse(StreamInput in) throws IOException {
@@ -211,6 +228,17 @@ public class TransportSearchableSnapshotsNodeCachesStatsAction extends Transport
             this.reads = in.readVLong();
             this.bytesRead = in.readVLong();
             this.evictions = in.readVLong();
+            if (in.getVersion().onOrAfter(Version.V_8_0_0)) {
+                this.evictionPolicy = in.readString();
+                this.hits = in.readVLong();
+                this.misses = in.readVLong();
+                this.admissionsRejected = in.readVLong();
+            } else {
+                this.evictionPolicy = FrozenCacheService.EvictionPolicy.LFU.toString();
+                this.hits = 0L;
+                this.misses = 0L;
+                this.admissionsRejected = 0L;
+            }
         }
 
         @Override
@@ -224,6 +252,12 @@ public class TransportSearchableSnapshotsNodeCachesStatsAction extends Transport
             out.writeVLong(reads);
             out.writeVLong(bytesRead);
             out.writeVLong(evictions);
+            if (out.getVersion().onOrAfter(Version.V_8_0_0)) {
+                out.writeString(evictionPolicy);
+                out.writeVLong(hits);
+                out.writeVLong(misses);
+                out.writeVLong(admissionsRejected);
+            }
         }
 
         @Override
@@ -237,6 +271,11 @@ public class TransportSearchableSnapshotsNodeCachesStatsAction extends Transport
                     builder.field("writes", writes);
                     builder.humanReadableField("bytes_written_in_bytes", "bytes_written", ByteSizeValue.ofBytes(bytesWritten));
                     builder.field("evictions", evictions);
+                    builder.field("eviction_policy", evictionPolicy);
+                    builder.field("hits", hits);
+                    builder.field("misses", misses);
+                    builder.field("hit_ratio", getHitRatio());
+                    builder.field("admissions_rejected", admissionsRejected);
                     builder.field("num_regions", numRegions);
                     builder.humanReadableField("size_in_bytes", "size", ByteSizeValue.ofBytes(size));
                     builder.humanReadableField("region_size_in_bytes", "region_size", ByteSizeValue.ofBytes(regionSize));
@@ -278,6 +317,27 @@ public class TransportSearchableSnapshotsNodeCachesStatsAction extends Transport
         public long getEvictions() {
             return evictions;
         }
+
+        public String getEvictionPolicy() {
+            return evictionPolicy;
+        }
+
+        public long getHits() {
+            return hits;
+        }
+
+        public long getMisses() {
+            return misses;
+        }
+
+        public double getHitRatio() {
+            final long lookups = hits + misses;
+            return lookups == 0L ? 0.0d : (double) hits / lookups;
+        }
+
+        public long getAdmissionsRejected() {
+            return admissionsRejected;
+        }
     }
 
     public static class NodesCachesStatsResponse extends BaseNodesResponse<NodeCachesStatsResponse> implements ToXContentObject {
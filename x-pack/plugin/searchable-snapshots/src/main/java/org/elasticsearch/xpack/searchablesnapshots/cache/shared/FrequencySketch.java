@@ -0,0 +1,79 @@
+/*
+ * Copyright Elasticsearch B.V. and/or licensed to Elasticsearch B.V. under one
+ * or more contributor license agreements. Licensed under the Elastic License
+ * 2.0; you may not use this file except in compliance with the Elastic License
+ * 2.0.
+ */
+
+package org.elasticsearch.xpack.searchablesnapshots.cache.shared;
+
+/**
+ * A count-min sketch that estimates how often a key has been accessed recently, including keys that are not (or no longer) in the cache.
+ * Counters saturate at {@link #MAX_COUNT} and are all halved once the number of recorded accesses reaches a sample size proportional to
+ * the width of the sketch, so that keys which were popular a long time ago do not keep a high estimate forever.
+ *
+ * This class is not thread-safe, callers must synchronize accesses.
+ */
+final class FrequencySketch {
+
+    static final int MAX_COUNT = 15;
+
+    private static final int[] SEEDS = new int[] { 0x97cb3127, 0xcb3a3c2b, 0x2e6f8d9b, 0x5f356495 };
+    private static final int MAX_WIDTH = 1 << 20;
+
+    private final byte[][] counters;
+    private final int mask;
+    private final int sampleSize;
+    private int additions;
+
+    FrequencySketch(int expectedEntries) {
+        final int width = Integer.highestOneBit(Math.max(64, Math.min(MAX_WIDTH, expectedEntries)) - 1) << 1;
+        this.counters = new byte[SEEDS.length][width];
+        this.mask = width - 1;
+        this.sampleSize = 10 * width;
+    }
+
+    private int index(int hash, int row) {
+        int h = (hash ^ SEEDS[row]) * 0x9E3779B9;
+        h ^= h >>> 16;
+        return h & mask;
+    }
+
+    /**
+     * Records an access to the key with the given hash
+     */
+    void increment(int hash) {
+        boolean added = false;
+        for (int row = 0; row < counters.length; row++) {
+            final int i = index(hash, row);
+            if (counters[row][i] < MAX_COUNT) {
+                counters[row][i]++;
+                added = true;
+            }
+        }
+        if (added && ++additions >= sampleSize) {
+            reset();
+        }
+    }
+
+    /**
+     * @return the estimated number of recent accesses to the key with the given hash, which is never lower than the actual number unless
+     *         the counters have been aged or saturated
+     */
+    int frequency(int hash) {
+        int frequency = MAX_COUNT;
+        for (int row = 0; row < counters.length; row++) {
+            frequency = Math.min(frequency, counters[row][index(hash, row)]);
+        }
+        return frequency;
+    }
+
+    private void reset() {
+        for (byte[] row : counters) {
+            for (int i = 0; i < row.length; i++) {
+                row[i] = (byte) (row[i] >>> 1);
+            }
+        }
+        additions /= 2;
+    }
+}
@@ -32,6 +32,7 @@ import org.elasticsearch.core.TimeValue;
 import org.elasticsearch.env.Environment;
 import org.elasticsearch.env.NodeEnvironment;
 import org.elasticsearch.index.shard.ShardId;
+import org.elasticsearch.index.store.LuceneFilesExtensions;
 import org.elasticsearch.monitor.fs.FsProbe;
 import org.elasticsearch.node.NodeRoleSettings;
 import org.elasticsearch.threadpool.ThreadPool;
@@ -45,6 +46,7 @@ import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
@@ -224,6 +226,34 @@ public class FrozenCacheService implements Releasable {
         Setting.Property.NodeScope
     );
 
+    /**
+     * The policy used to pick and admit regions in the shared cache when it is full.
+     */
+    public enum EvictionPolicy {
+        /**
+         * Evicts the least frequently used region that can be evicted, and always admits the new region in its place.
+         */
+        LFU,
+        /**
+         * Evicts like {@link #LFU} but only admits the new region if it has been accessed more often than the region it would replace,
+         * according to a frequency sketch that also remembers regions that are not in the cache. Regions of Lucene metadata files are
+         * always admitted. This prevents one-off sequential scans from flushing frequently accessed regions out of the cache.
+         */
+        TINY_LFU;
+
+        @Override
+        public String toString() {
+            return name().toLowerCase(Locale.ROOT);
+        }
+    }
+
+    public static final Setting<EvictionPolicy> SNAPSHOT_CACHE_EVICTION_POLICY_SETTING = Setting.enumSetting(
+        EvictionPolicy.class,
+        SHARED_CACHE_SETTINGS_PREFIX + "eviction_policy",
+        EvictionPolicy.LFU,
+        Setting.Property.NodeScope
+    );
+
     private static final Logger logger = LogManager.getLogger(FrozenCacheService.class);
 
     private final ConcurrentHashMap<RegionKey, Entry<CacheFileRegion>> keyMapping;
@@ -243,6 +273,8 @@ public class FrozenCacheService implements Releasable {
     private final Entry<CacheFileRegion>[] freqs;
     private final int maxFreq;
     private final long minTimeDelta;
+    private final EvictionPolicy evictionPolicy;
+    private final FrequencySketch frequencySketch; // only used by EvictionPolicy#TINY_LFU
 
     private final AtomicReference<CacheFileRegion>[] regionOwners; // to assert exclusive access of regions
 
@@ -256,6 +288,10 @@ public class FrozenCacheService implements Releasable {
 
     private final LongAdder evictCount = new LongAdder();
 
+    private final LongAdder hitCount = new LongAdder();
+    private final LongAdder missCount = new LongAdder();
+    private final LongAdder admissionRejectedCount = new LongAdder();
+
     @SuppressWarnings({ "unchecked", "rawtypes" })
     public FrozenCacheService(NodeEnvironment environment, Settings settings, ThreadPool threadPool) {
         this.currentTimeSupplier = threadPool::relativeTimeInMillis;
@@ -285,6 +321,8 @@ public class FrozenCacheService implements Releasable {
         this.maxFreq = SNAPSHOT_CACHE_MAX_FREQ_SETTING.get(settings);
         this.minTimeDelta = SNAPSHOT_CACHE_MIN_TIME_DELTA_SETTING.get(settings).millis();
         freqs = new Entry[maxFreq];
+        this.evictionPolicy = SNAPSHOT_CACHE_EVICTION_POLICY_SETTING.get(settings);
+        this.frequencySketch = evictionPolicy == EvictionPolicy.TINY_LFU ? new FrequencySketch(numRegions) : null;
         try {
             sharedBytes = new SharedBytes(numRegions, regionSize, environment, writeBytes::add, readBytes::add);
         } catch (IOException e) {
@@ -380,18 +418,21 @@ public class FrozenCacheService implements Releasable {
                 assert entry.freq == 0;
                 assert entry.prev == null;
                 assert entry.next == null;
+                missCount.increment();
                 final Integer freeSlot = freeRegions.poll();
                 if (freeSlot != null) {
                     // no need to evict an item, just add
                     entry.chunk.sharedBytesPos = freeSlot;
                     assert regionOwners[freeSlot].compareAndSet(null, entry.chunk);
                     synchronized (this) {
+                        recordAccess(regionKey);
                         pushEntryToBack(entry);
                     }
                 } else {
                     // need to evict something
                     synchronized (this) {
-                        maybeEvict();
+                        recordAccess(regionKey);
+                        maybeEvict(regionKey);
                     }
                     final Integer freeSlotRetry = freeRegions.poll();
                     if (freeSlotRetry != null) {
@@ -408,7 +449,9 @@ public class FrozenCacheService implements Releasable {
                 }
             } else {
                 // check if we need to promote item
+                hitCount.increment();
                 synchronized (this) {
+                    recordAccess(regionKey);
                     if (now - entry.lastAccessed >= minTimeDelta && entry.freq + 1 < maxFreq) {
                         unlink(entry);
                         entry.freq++;
@@ -440,7 +483,11 @@ public class FrozenCacheService implements Releasable {
             writeCount.sum(),
             writeBytes.sum(),
             readCount.sum(),
-            readBytes.sum()
+            readBytes.sum(),
+            evictionPolicy,
+            hitCount.sum(),
+            missCount.sum(),
+            admissionRejectedCount.sum()
         );
     }
 
@@ -473,10 +520,42 @@ public class FrozenCacheService implements Releasable {
         return true;
     }
 
-    private void maybeEvict() {
+    private void recordAccess(RegionKey regionKey) {
+        assert Thread.holdsLock(this);
+        if (frequencySketch != null) {
+            frequencySketch.increment(regionKey.hashCode());
+        }
+    }
+
+    /**
+     * @return {@code true} if the given candidate region should take the place of the given victim region in the cache
+     */
+    private boolean admit(RegionKey candidate, RegionKey victim) {
         assert Thread.holdsLock(this);
+        if (frequencySketch == null) {
+            return true;
+        }
+        final LuceneFilesExtensions extension = LuceneFilesExtensions.fromFile(candidate.file.getFileName());
+        if (extension != null && extension.isMetadata()) {
+            // metadata files are small and read by every search on the shard, it is always worth having them in cache
+            return true;
+        }
+        return frequencySketch.frequency(candidate.hashCode()) > frequencySketch.frequency(victim.hashCode());
+    }
+
+    private void maybeEvict(RegionKey candidate) {
+        assert Thread.holdsLock(this);
+        boolean admitted = false;
         for (int i = 0; i < maxFreq; i++) {
             for (Entry<CacheFileRegion> entry = freqs[i]; entry != null; entry = entry.next) {
+                if (admitted == false && entry.chunk.refCount() <= 1 && entry.chunk.isEvicted() == false) {
+                    // the first region that can be evicted is the least frequently used one, only evict it if the candidate is worth it
+                    if (admit(candidate, entry.chunk.regionKey) == false) {
+                        admissionRejectedCount.increment();
+                        return;
+                    }
+                    admitted = true;
+                }
                 boolean evicted = entry.chunk.tryEvict();
                 if (evicted) {
                     unlink(entry);
@@ -928,7 +1007,7 @@ public class FrozenCacheService implements Releasable {
 
     public static class Stats {
 
-        public static final Stats EMPTY = new Stats(0, 0L, 0L, 0L, 0L, 0L, 0L, 0L);
+        public static final Stats EMPTY = new Stats(0, 0L, 0L, 0L, 0L, 0L, 0L, 0L, EvictionPolicy.LFU, 0L, 0L, 0L);
 
         private final int numberOfRegions;
         private final long size;
@@ -938,6 +1017,10 @@ public class FrozenCacheService implements Releasable {
         private final long writeBytes;
         private final long readCount;
         private final long readBytes;
+        private final EvictionPolicy evictionPolicy;
+        private final long hitCount;
+        private final long missCount;
+        private final long admissionRejectedCount;
 
         private Stats(
             int numberOfRegions,
@@ -947,7 +1030,11 @@ public class FrozenCacheService implements Releasable {
             long writeCount,
             long writeBytes,
             long readCount,
-            long readBytes
+            long readBytes,
+            EvictionPolicy evictionPolicy,
+            long hitCount,
+            long missCount,
+            long admissionRejectedCount
         ) {
             this.numberOfRegions = numberOfRegions;
             this.size = size;
@@ -957,6 +1044,10 @@ public class FrozenCacheService implements Releasable {
             this.writeBytes = writeBytes;
             this.readCount = readCount;
             this.readBytes = readBytes;
+            this.evictionPolicy = evictionPolicy;
+            this.hitCount = hitCount;
+            this.missCount = missCount;
+            this.admissionRejectedCount = admissionRejectedCount;
         }
 
         public int getNumberOfRegions() {
@@ -990,5 +1081,21 @@ public class FrozenCacheService implements Releasable {
         public long getReadBytes() {
             return readBytes;
         }
+
+        public EvictionPolicy getEvictionPolicy() {
+            return evictionPolicy;
+        }
+
+        public long getHitCount() {
+            return hitCount;
+        }
+
+        public long getMissCount() {
+            return missCount;
+        }
+
+        public long getAdmissionRejectedCount() {
+            return admissionRejectedCount;
+        }
     }
 }
@@ -57,6 +57,10 @@ public class IndexInputStats {
 
     private final Counter luceneBytesRead = new Counter();
 
+    private final Counter readAheadBytes = new Counter();
+    private final Counter readAheadHitBytes = new Counter();
+    private final Counter prefetchedBytes = new Counter();
+
     public IndexInputStats(long numFiles, long totalSize, long minSize, long maxSize, LongSupplier currentTimeNanos) {
         this(numFiles, totalSize, minSize, maxSize, SEEKING_THRESHOLD.getBytes(), currentTimeNanos);
     }
@@ -155,6 +159,18 @@ public class IndexInputStats {
         luceneBytesRead.add(bytesRead);
     }
 
+    public void addReadAheadBytes(long bytes) {
+        readAheadBytes.add(bytes);
+    }
+
+    public void addReadAheadHitBytes(long bytes) {
+        readAheadHitBytes.add(bytes);
+    }
+
+    public void addPrefetchedBytes(long bytes) {
+        prefetchedBytes.add(bytes);
+    }
+
     public long getNumFiles() {
         return numFiles;
     }
@@ -231,6 +247,27 @@ public class IndexInputStats {
         return luceneBytesRead;
     }
 
+    /**
+     * @return the bytes requested by asynchronous read-ahead after sequential reads were detected, whether they were already cached or not
+     */
+    public Counter getReadAheadBytes() {
+        return readAheadBytes;
+    }
+
+    /**
+     * @return the bytes requested by asynchronous read-ahead that were subsequently read by the same index input
+     */
+    public Counter getReadAheadHitBytes() {
+        return readAheadHitBytes;
+    }
+
+    /**
+     * @return the bytes fetched from the blob store into the cache by prefetching files when the shard was opened
+     */
+    public Counter getPrefetchedBytes() {
+        return prefetchedBytes;
+    }
+
     @SuppressForbidden(reason = "Handles Long.MIN_VALUE before using Math.abs()")
     public boolean isLargeSeek(long delta) {
         return delta != Long.MIN_VALUE && Math.abs(delta) > seekingThreshold;
@@ -95,6 +95,8 @@ import static org.elasticsearch.xpack.searchablesnapshots.SearchableSnapshots.SN
 import static org.elasticsearch.xpack.searchablesnapshots.SearchableSnapshots.SNAPSHOT_CACHE_PREWARM_ENABLED_SETTING;
 import static org.elasticsearch.xpack.searchablesnapshots.SearchableSnapshots.SNAPSHOT_INDEX_ID_SETTING;
 import static org.elasticsearch.xpack.searchablesnapshots.SearchableSnapshots.SNAPSHOT_INDEX_NAME_SETTING;
+import static org.elasticsearch.xpack.searchablesnapshots.SearchableSnapshots.SNAPSHOT_PARTIAL_PREFETCH_FILE_TYPES_SETTING;
+import static org.elasticsearch.xpack.searchablesnapshots.SearchableSnapshots.SNAPSHOT_PARTIAL_READ_AHEAD_RANGES_SETTING;
 import static org.elasticsearch.xpack.searchablesnapshots.SearchableSnapshots.SNAPSHOT_REPOSITORY_NAME_SETTING;
 import static org.elasticsearch.xpack.searchablesnapshots.SearchableSnapshots.SNAPSHOT_REPOSITORY_UUID_SETTING;
 import static org.elasticsearch.xpack.searchablesnapshots.SearchableSnapshots.SNAPSHOT_SNAPSHOT_ID_SETTING;
@@ -130,6 +132,8 @@ public class SearchableSnapshotDirectory extends BaseDirectory {
     private final boolean useCache;
     private final boolean prewarmCache;
     private final Set<String> excludedFileTypes;
+    private final Set<String> prefetchFileTypes;
+    private final int readAheadRanges;
     private final long uncachedChunkSize; // if negative use BlobContainer#readBlobPreferredLength, see #getUncachedChunkSize()
     private final Path cacheDir;
     private final ShardPath shardPath;
@@ -178,6 +182,10 @@ public class SearchableSnapshotDirectory extends BaseDirectory {
         this.partial = SNAPSHOT_PARTIAL_SETTING.get(indexSettings);
         this.prewarmCache = partial == false && useCache ? SNAPSHOT_CACHE_PREWARM_ENABLED_SETTING.get(indexSettings) : false;
         this.excludedFileTypes = new HashSet<>(SNAPSHOT_CACHE_EXCLUDED_FILE_TYPES_SETTING.get(indexSettings));
+        this.prefetchFileTypes = partial && useCache
+            ? new HashSet<>(SNAPSHOT_PARTIAL_PREFETCH_FILE_TYPES_SETTING.get(indexSettings))
+            : Collections.emptySet();
+        this.readAheadRanges = SNAPSHOT_PARTIAL_READ_AHEAD_RANGES_SETTING.get(indexSettings);
         this.uncachedChunkSize = SNAPSHOT_UNCACHED_CHUNK_SIZE_SETTING.get(indexSettings).getBytes();
         this.blobStoreCacheMaxLength = SNAPSHOT_BLOB_CACHE_METADATA_FILES_MAX_LENGTH_SETTING.get(indexSettings);
         this.threadPool = threadPool;
@@ -228,6 +236,7 @@ public class SearchableSnapshotDirectory extends BaseDirectory {
                     cleanExistingRegularShardFiles();
                     waitForPendingEvictions();
                     this.recoveryState = (SearchableSnapshotRecoveryState) recoveryState;
+                    prefetchFrozenCache();
                     prewarmCache(preWarmListener);
                 }
             }
@@ -453,6 +462,13 @@ public class SearchableSnapshotDirectory extends BaseDirectory {
         return ext != null && excludedFileTypes.contains(ext);
     }
 
+    /**
+     * @return the number of ranges to fetch asynchronously into the shared cache ahead of sequential reads, or {@code 0} if disabled
+     */
+    public int getReadAheadRanges() {
+        return readAheadRanges;
+    }
+
     public boolean isRecoveryFinalized() {
         SearchableSnapshotRecoveryState recoveryState = this.recoveryState;
         if (recoveryState == null) return false;
@@ -482,6 +498,40 @@ public class SearchableSnapshotDirectory extends BaseDirectory {
         cacheService.waitForCacheFilesEvictionIfNeeded(snapshotId.getUUID(), indexId.getName(), shardId);
     }
 
+    /**
+     * Asynchronously fetches the files of partially mounted shards whose extension is listed in
+     * {@link SearchableSnapshots#SNAPSHOT_PARTIAL_PREFETCH_FILE_TYPES_SETTING} into the shared cache, so that the first searches do not
+     * have to wait for the blob store to load terms indices, doc values metadata or points indices. Unlike prewarming, prefetching does
+     * not block the recovery of the shard.
+     */
+    private void prefetchFrozenCache() {
+        if (prefetchFileTypes.isEmpty()) {
+            return;
+        }
+        assert partial;
+        for (BlobStoreIndexShardSnapshot.FileInfo file : snapshot().indexFiles()) {
+            if (file.metadata().hashEqualsContents()
+                || file.length() == 0L
+                || isExcludedFromCache(file.physicalName())
+                || prefetchFileTypes.contains(getNonNullFileExt(file.physicalName())) == false) {
+                continue;
+            }
+            try {
+                final IndexInput input = openInput(file.physicalName(), IOContext.READ);
+                assert input instanceof FrozenIndexInput : "expected frozen index input but got " + input.getClass();
+                ((FrozenIndexInput) input).prefetch(ByteRange.of(0L, file.length())).whenComplete(bytes -> {
+                    logger.debug("{} file [{}] prefetched", shardId, file.physicalName());
+                    input.close();
+                }, e -> {
+                    logger.debug(() -> new ParameterizedMessage("{} prefetching failed for file [{}]", shardId, file.physicalName()), e);
+                    IOUtils.closeWhileHandlingException(input);
+                });
+            } catch (Exception e) {
+                logger.warn(() -> new ParameterizedMessage("{} unable to prefetch file [{}]", shardId, file.physicalName()), e);
+            }
+        }
+    }
+
     private void prewarmCache(ActionListener<Void> listener) {
         if (prewarmCache == false) {
             recoveryState.setPreWarmComplete();
@@ -19,6 +19,7 @@ import org.elasticsearch.common.unit.ByteSizeValue;
 import org.elasticsearch.index.snapshots.blobstore.BlobStoreIndexShardSnapshot.FileInfo;
 import org.elasticsearch.xpack.searchablesnapshots.cache.common.ByteRange;
 import org.elasticsearch.xpack.searchablesnapshots.cache.shared.FrozenCacheService.FrozenCacheFile;
+import org.elasticsearch.xpack.searchablesnapshots.cache.shared.FrozenCacheService.RangeMissingHandler;
 import org.elasticsearch.xpack.searchablesnapshots.cache.shared.SharedBytes;
 import org.elasticsearch.xpack.searchablesnapshots.store.IndexInputStats;
 import org.elasticsearch.xpack.searchablesnapshots.store.SearchableSnapshotDirectory;
@@ -38,7 +39,19 @@ public class FrozenIndexInput extends MetadataCachingIndexInput {
 
     private static final Logger logger = LogManager.getLogger(FrozenIndexInput.class);
 
+    /**
+     * Number of consecutive contiguous reads after which the reads are considered sequential and ranges are read ahead.
+     */
+    static final int SEQUENTIAL_READS_BEFORE_READ_AHEAD = 4;
+
     private final FrozenCacheFile frozenCacheFile;
+    private final int readAheadRanges;
+
+    // the following are only used to read ahead sequential reads and are adjusted by each clone/slice independently
+    private int sequentialReads;
+    // absolute range of bytes requested by read-ahead that have not been read yet
+    private long readAheadStart;
+    private long readAheadEnd;
 
     public FrozenIndexInput(
         String name,
@@ -101,6 +114,9 @@ public class FrozenIndexInput extends MetadataCachingIndexInput {
             footerBlobCacheByteRange
         );
         this.frozenCacheFile = frozenCacheFile;
+        this.readAheadRanges = directory.getReadAheadRanges();
+        this.readAheadStart = offset;
+        this.readAheadEnd = offset;
     }
 
     @Override
@@ -154,14 +170,7 @@ public class FrozenIndexInput extends MetadataCachingIndexInput {
                     luceneByteBufLock,
                     stopAsyncReads
                 ),
-                (channel, channelPos, relativePos, len, progressUpdater) -> {
-                    final long startTimeNanos = stats.currentTimeNanos();
-                    final long streamStartPosition = rangeToWrite.start() + relativePos;
-
-                    try (InputStream input = openInputStreamFromBlobStore(streamStartPosition, len)) {
-                        writeCacheFile(channel, input, channelPos, relativePos, len, progressUpdater, startTimeNanos);
-                    }
-                },
+                fillCacheRangeFromBlobStore(rangeToWrite),
                 directory.cacheFetchAsyncExecutor()
             );
 
@@ -171,11 +180,98 @@ public class FrozenIndexInput extends MetadataCachingIndexInput {
 
             preventAsyncBufferChanges.run();
             b.position(originalByteBufPosition + bytesRead); // mark all bytes as accounted for
+            maybeReadAhead(position, length, rangeToWrite);
         } finally {
             preventAsyncBufferChanges.run();
         }
     }
 
+    private RangeMissingHandler fillCacheRangeFromBlobStore(ByteRange rangeToWrite) {
+        return (channel, channelPos, relativePos, len, progressUpdater) -> {
+            final long startTimeNanos = stats.currentTimeNanos();
+            final long streamStartPosition = rangeToWrite.start() + relativePos;
+
+            try (InputStream input = openInputStreamFromBlobStore(streamStartPosition, len)) {
+                writeCacheFile(channel, input, channelPos, relativePos, len, progressUpdater, startTimeNanos);
+            }
+        };
+    }
+
+    /**
+     * Asynchronously populates the shared cache with the given range of the file without reading it. Parts of the range that are already
+     * cached are not fetched again.
+     *
+     * @param range the range to fetch, relative to the start of the file
+     * @return a listener that is completed once the whole range is available in the cache
+     */
+    public StepListener<Integer> prefetch(ByteRange range) {
+        final RangeMissingHandler writer = fillCacheRangeFromBlobStore(range);
+        return frozenCacheFile.populateAndRead(
+            range,
+            range,
+            (channel, channelPos, relativePos, len) -> toIntBytes(len),
+            (channel, channelPos, relativePos, len, progressUpdater) -> {
+                writer.fillCacheRange(channel, channelPos, relativePos, len, progressUpdater);
+                stats.addPrefetchedBytes(len);
+            },
+            directory.cacheFetchAsyncExecutor()
+        );
+    }
+
+    /**
+     * Tracks the reads of this index input and, once they look sequential, asynchronously fetches the ranges that follow the range that
+     * was just read into the shared cache so that the next reads do not have to wait for the blob store.
+     */
+    private void maybeReadAhead(long position, int length, ByteRange rangeRead) {
+        final long end = position + length;
+        final long hitStart = Math.max(position, readAheadStart);
+        final long hitEnd = Math.min(end, readAheadEnd);
+        if (hitStart < hitEnd) {
+            stats.addReadAheadHitBytes(hitEnd - hitStart);
+        }
+        if (end > readAheadStart) {
+            readAheadStart = Math.min(end, readAheadEnd);
+        }
+
+        if (readAheadRanges == 0) {
+            return;
+        }
+        if (position != lastReadPosition) {
+            sequentialReads = 0;
+            return;
+        }
+        if (++sequentialReads < SEQUENTIAL_READS_BEFORE_READ_AHEAD) {
+            return;
+        }
+        final long start = Math.max(readAheadEnd, rangeRead.end());
+        final long limit = Math.min(rangeRead.end() + readAheadRanges * getDefaultRangeSize(), this.offset + length());
+        if (start >= limit) {
+            return;
+        }
+        if (start != readAheadEnd) {
+            readAheadStart = start;
+        }
+        readAheadEnd = limit;
+        final ByteRange rangeToReadAhead = ByteRange.of(start, limit);
+        stats.addReadAheadBytes(rangeToReadAhead.length());
+        logger.trace("read ahead [{}] of [{}] after [{}] sequential reads", rangeToReadAhead, this, sequentialReads);
+        try {
+            frozenCacheFile.populateAndRead(
+                rangeToReadAhead,
+                rangeToReadAhead,
+                (channel, channelPos, relativePos, len) -> toIntBytes(len),
+                fillCacheRangeFromBlobStore(rangeToReadAhead),
+                directory.cacheFetchAsyncExecutor()
+            ).whenComplete(
+                bytes -> {},
+                e -> logger.debug(() -> new ParameterizedMessage("failed to read ahead [{}] of [{}]", rangeToReadAhead, this), e)
+            );
+        } catch (Exception e) {
+            // read-ahead is best effort, for instance there might be no free region left in the shared cache
+            logger.debug(() -> new ParameterizedMessage("failed to read ahead [{}] of [{}]", rangeToReadAhead, this), e);
+        }
+    }
+
     private static int positionalWrite(SharedBytes.IO fc, long start, ByteBuffer byteBuffer) throws IOException {
         assert assertCurrentThreadMayWriteCacheFile();
         byteBuffer.flip();
@@ -7,6 +7,7 @@
 
 package org.elasticsearch.xpack.searchablesnapshots.cache.shared;
 
+import org.apache.lucene.store.AlreadyClosedException;
 import org.elasticsearch.cluster.node.DiscoveryNodeRole;
 import org.elasticsearch.common.settings.Settings;
 import org.elasticsearch.common.settings.SettingsException;
@@ -207,6 +208,63 @@ public class FrozenCacheServiceTests extends ESTestCase {
         }
     }
 
+    public void testTinyLfuAdmission() throws IOException {
+        Settings settings = Settings.builder()
+            .put(NODE_NAME_SETTING.getKey(), "node")
+            .put(FrozenCacheService.SNAPSHOT_CACHE_SIZE_SETTING.getKey(), new ByteSizeValue(size(200)).getStringRep())
+            .put(FrozenCacheService.SNAPSHOT_CACHE_REGION_SIZE_SETTING.getKey(), new ByteSizeValue(size(100)).getStringRep())
+            .put(FrozenCacheService.SNAPSHOT_CACHE_EVICTION_POLICY_SETTING.getKey(), "tiny_lfu")
+            .put("path.home", createTempDir())
+            .build();
+        final DeterministicTaskQueue taskQueue = new DeterministicTaskQueue();
+        try (
+            NodeEnvironment environment = new NodeEnvironment(settings, TestEnvironment.newEnvironment(settings));
+            FrozenCacheService cacheService = new FrozenCacheService(environment, settings, taskQueue.getThreadPool())
+        ) {
+            final CacheKey hotKey = generateCacheKey();
+            final CacheFileRegion hotRegion0 = cacheService.get(hotKey, size(250), 0);
+            final CacheFileRegion hotRegion1 = cacheService.get(hotKey, size(250), 1);
+            final int hotAccesses = randomIntBetween(2, 5);
+            for (int i = 1; i < hotAccesses; i++) {
+                assertSame(hotRegion0, cacheService.get(hotKey, size(250), 0));
+                assertSame(hotRegion1, cacheService.get(hotKey, size(250), 1));
+            }
+            assertEquals(0, cacheService.freeRegionCount());
+
+            // a region that is read less often than the least frequently used region is not admitted
+            final CacheKey scanKey = generateCacheKey();
+            for (int i = 0; i < hotAccesses; i++) {
+                expectThrows(AlreadyClosedException.class, () -> cacheService.get(scanKey, size(250), 0));
+            }
+            assertFalse(hotRegion0.isEvicted());
+            assertFalse(hotRegion1.isEvicted());
+
+            // until it has been read more often than it
+            final CacheFileRegion scanRegion = cacheService.get(scanKey, size(250), 0);
+            assertTrue(hotRegion0.isEvicted());
+            assertFalse(hotRegion1.isEvicted());
+            assertFalse(scanRegion.isEvicted());
+
+            // regions of metadata files are always admitted
+            final CacheKey metadataKey = new CacheKey(
+                randomAlphaOfLength(10),
+                randomAlphaOfLength(10),
+                new ShardId(randomAlphaOfLength(10), randomAlphaOfLength(10), randomInt(10)),
+                "_0.si"
+            );
+            final CacheFileRegion metadataRegion = cacheService.get(metadataKey, size(50), 0);
+            assertFalse(metadataRegion.isEvicted());
+            assertTrue(hotRegion1.isEvicted());
+
+            final FrozenCacheService.Stats stats = cacheService.getStats();
+            assertThat(stats.getEvictionPolicy(), equalTo(FrozenCacheService.EvictionPolicy.TINY_LFU));
+            assertThat(stats.getHitCount(), equalTo(2L * (hotAccesses - 1)));
+            assertThat(stats.getMissCount(), equalTo(2L + hotAccesses + 2L));
+            assertThat(stats.getAdmissionRejectedCount(), equalTo((long) hotAccesses));
+            assertThat(stats.getEvictCount(), equalTo(2L));
+        }
+    }
+
     public void testCacheSizeRejectedOnNonFrozenNodes() {
         String cacheSize = randomBoolean() ? new ByteSizeValue(size(500)).getStringRep() : new RatioValue(between(1, 100)).toString();
         final Settings settings = Settings.builder()
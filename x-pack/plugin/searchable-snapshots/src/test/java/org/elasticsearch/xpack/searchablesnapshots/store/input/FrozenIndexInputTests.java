@@ -7,6 +7,7 @@
 
 package org.elasticsearch.xpack.searchablesnapshots.store.input;
 
+import org.apache.lucene.store.IOContext;
 import org.apache.lucene.store.IndexInput;
 import org.elasticsearch.Version;
 import org.elasticsearch.action.ActionListener;
@@ -31,6 +32,7 @@ import org.elasticsearch.xpack.searchablesnapshots.cache.common.TestUtils;
 import org.elasticsearch.xpack.searchablesnapshots.cache.full.CacheService;
 import org.elasticsearch.xpack.searchablesnapshots.cache.shared.FrozenCacheService;
 import org.elasticsearch.xpack.searchablesnapshots.cache.shared.SharedBytes;
+import org.elasticsearch.xpack.searchablesnapshots.store.IndexInputStats;
 import org.elasticsearch.xpack.searchablesnapshots.store.SearchableSnapshotDirectory;
 
 import java.io.IOException;
@@ -39,13 +41,25 @@ import java.nio.file.Path;
 import java.util.List;
 
 import static org.elasticsearch.xpack.searchablesnapshots.cache.full.CacheService.resolveSnapshotCache;
+import static org.hamcrest.Matchers.greaterThan;
 import static org.hamcrest.Matchers.instanceOf;
+import static org.hamcrest.Matchers.lessThanOrEqualTo;
 
 public class FrozenIndexInputTests extends AbstractSearchableSnapshotsTestCase {
 
     private static final ShardId SHARD_ID = new ShardId(new Index("_index_name", "_index_id"), 0);
 
     public void testRandomReads() throws IOException {
+        doTestRandomReads(Settings.EMPTY);
+    }
+
+    public void testRandomReadsWithReadAhead() throws IOException {
+        doTestRandomReads(
+            Settings.builder().put(SearchableSnapshots.SNAPSHOT_PARTIAL_READ_AHEAD_RANGES_SETTING.getKey(), randomIntBetween(1, 4)).build()
+        );
+    }
+
+    private void doTestRandomReads(Settings directorySettings) throws IOException {
         final String fileName = randomAlphaOfLength(5) + randomFileExtension();
         final Tuple<String, byte[]> bytes = randomChecksumBytes(randomIntBetween(1, 100_000));
 
@@ -106,7 +120,8 @@ public class FrozenIndexInputTests extends AbstractSearchableSnapshotsTestCase {
                 snapshotId,
                 fileData,
                 shardPath,
-                cacheDir
+                cacheDir,
+                directorySettings
             )
         ) {
             cacheService.start();
@@ -124,6 +139,70 @@ public class FrozenIndexInputTests extends AbstractSearchableSnapshotsTestCase {
         }
     }
 
+    public void testSequentialReadsTriggerReadAhead() throws IOException {
+        final String fileName = randomAlphaOfLength(5) + ".tip";
+        final Tuple<String, byte[]> bytes = randomChecksumBytes(randomIntBetween(64 * SharedBytes.PAGE_SIZE, 128 * SharedBytes.PAGE_SIZE));
+
+        final byte[] fileData = bytes.v2();
+        final FileInfo fileInfo = new FileInfo(
+            randomAlphaOfLength(10),
+            new StoreFileMetadata(fileName, fileData.length, bytes.v1(), Version.CURRENT.luceneVersion.toString()),
+            new ByteSizeValue(fileData.length)
+        );
+
+        final Settings settings = Settings.builder()
+            .put(FrozenCacheService.SNAPSHOT_CACHE_REGION_SIZE_SETTING.getKey(), new ByteSizeValue(16 * SharedBytes.PAGE_SIZE))
+            .put(FrozenCacheService.SHARED_CACHE_RANGE_SIZE_SETTING.getKey(), new ByteSizeValue(SharedBytes.PAGE_SIZE))
+            .put(FrozenCacheService.SNAPSHOT_CACHE_SIZE_SETTING.getKey(), new ByteSizeValue(16 * 16 * SharedBytes.PAGE_SIZE))
+            .put("path.home", createTempDir())
+            .build();
+        final Environment environment = TestEnvironment.newEnvironment(settings);
+        for (Path path : environment.dataFiles()) {
+            Files.createDirectories(path);
+        }
+        SnapshotId snapshotId = new SnapshotId("_name", "_uuid");
+        final Path shardDir = randomShardPath(SHARD_ID);
+        final ShardPath shardPath = new ShardPath(false, shardDir, shardDir, SHARD_ID);
+        final Path cacheDir = Files.createDirectories(resolveSnapshotCache(shardDir).resolve(snapshotId.getUUID()));
+        try (
+            NodeEnvironment nodeEnvironment = new NodeEnvironment(settings, environment);
+            FrozenCacheService frozenCacheService = new FrozenCacheService(nodeEnvironment, settings, threadPool);
+            CacheService cacheService = randomCacheService();
+            TestSearchableSnapshotDirectory directory = new TestSearchableSnapshotDirectory(
+                frozenCacheService,
+                cacheService,
+                fileInfo,
+                snapshotId,
+                fileData,
+                shardPath,
+                cacheDir,
+                Settings.builder()
+                    .put(SearchableSnapshots.SNAPSHOT_PARTIAL_READ_AHEAD_RANGES_SETTING.getKey(), randomIntBetween(1, 4))
+                    .build()
+            )
+        ) {
+            cacheService.start();
+            directory.loadSnapshot(createRecoveryState(true), ActionListener.wrap(() -> {}));
+
+            final byte[] result = new byte[fileData.length];
+            try (IndexInput indexInput = directory.openInput(fileName, IOContext.DEFAULT)) {
+                assertThat(indexInput, instanceOf(FrozenIndexInput.class));
+                int position = 0;
+                while (position < result.length) {
+                    final int length = Math.min(randomIntBetween(1, 1024), result.length - position);
+                    indexInput.readBytes(result, position, length);
+                    position += length;
+                }
+            }
+            assertArrayEquals(fileData, result);
+
+            final IndexInputStats inputStats = directory.getStats().get("tip");
+            assertThat(inputStats.getReadAheadBytes().total(), greaterThan(0L));
+            assertThat(inputStats.getReadAheadHitBytes().total(), greaterThan(0L));
+            assertThat(inputStats.getReadAheadHitBytes().total(), lessThanOrEqualTo(inputStats.getReadAheadBytes().total()));
+        }
+    }
+
     private class TestSearchableSnapshotDirectory extends SearchableSnapshotDirectory {
 
         TestSearchableSnapshotDirectory(
@@ -133,7 +212,8 @@ public class FrozenIndexInputTests extends AbstractSearchableSnapshotsTestCase {
             SnapshotId snapshotId,
             byte[] fileData,
             ShardPath shardPath,
-            Path cacheDir
+            Path cacheDir,
+            Settings directorySettings
         ) {
             super(
                 () -> TestUtils.singleBlobContainer(fileInfo.partName(0), fileData),
@@ -144,6 +224,7 @@ public class FrozenIndexInputTests extends AbstractSearchableSnapshotsTestCase {
                 new IndexId(SHARD_ID.getIndex().getName(), SHARD_ID.getIndex().getUUID()),
                 SHARD_ID,
                 Settings.builder()
+                    .put(directorySettings)
                     .put(SearchableSnapshotsSettings.SNAPSHOT_PARTIAL_SETTING.getKey(), true)
                     .put(SearchableSnapshots.SNAPSHOT_CACHE_ENABLED_SETTING.getKey(), true)
                     .build(),
@@ -49,6 +49,9 @@ import org.elasticsearch.env.Environment;
 import org.elasticsearch.env.NodeEnvironment;
 import org.elasticsearch.http.HttpServerTransport;
 import org.elasticsearch.index.IndexModule;
+import org.elasticsearch.index.shard.IndexEventListener;
+import org.elasticsearch.index.shard.IndexShard;
+import org.elasticsearch.index.shard.ShardId;
 import org.elasticsearch.indices.ExecutorNames;
 import org.elasticsearch.indices.SystemIndexDescriptor;
 import org.elasticsearch.indices.breaker.CircuitBreakerService;
@@ -229,6 +232,7 @@ import org.elasticsearch.xpack.security.authc.service.ServiceAccountService;
 import org.elasticsearch.xpack.security.authc.support.SecondaryAuthenticator;
 import org.elasticsearch.xpack.security.authc.support.mapper.NativeRoleMappingStore;
 import org.elasticsearch.xpack.security.authz.AuthorizationService;
+import org.elasticsearch.xpack.security.authz.AuthorizedIndicesCache;
 import org.elasticsearch.xpack.security.authz.DlsFlsRequestCacheDifferentiator;
 import org.elasticsearch.xpack.security.authz.SecuritySearchOperationListener;
 import org.elasticsearch.xpack.security.authz.accesscontrol.OptOutQueryCache;
@@ -462,7 +466,7 @@ public class Security extends Plugin implements SystemIndexPlugin, IngestPlugin,
                                         IndexNameExpressionResolver expressionResolver) throws Exception {
         logger.info("Security is {}", enabled ? "enabled" : "disabled");
         if (enabled == false) {
-            return Collections.singletonList(new SecurityUsageServices(null, null, null, null));
+            return Collections.singletonList(new SecurityUsageServices(null, null, null, null, null, null));
         }
 
         scriptServiceReference.set(scriptService);
@@ -643,7 +647,8 @@ public class Security extends Plugin implements SystemIndexPlugin, IngestPlugin,
         securityActionFilter.set(new SecurityActionFilter(authcService.get(), authzService, auditTrailService, getLicenseState(),
             threadPool, securityContext.get(), destructiveOperations));
 
-        components.add(new SecurityUsageServices(realms, allRolesStore, nativeRoleMappingStore, ipFilter.get()));
+        components.add(new SecurityUsageServices(realms, allRolesStore, nativeRoleMappingStore, ipFilter.get(), authzService,
+            apiKeyService));
 
         cacheInvalidatorRegistry.validate();
 
@@ -793,6 +798,7 @@ public class Security extends Plugin implements SystemIndexPlugin, IngestPlugin,
         settingsList.addAll(CompositeRolesStore.getSettings());
         settingsList.addAll(DocumentSubsetBitsetCache.getSettings());
         settingsList.add(FieldPermissionsCache.CACHE_SIZE_SETTING);
+        settingsList.add(AuthorizedIndicesCache.CACHE_SIZE_SETTING);
         settingsList.add(TokenService.TOKEN_EXPIRATION);
         settingsList.add(TokenService.DELETE_INTERVAL);
         settingsList.add(TokenService.DELETE_TIMEOUT);
@@ -881,6 +887,14 @@ public class Security extends Plugin implements SystemIndexPlugin, IngestPlugin,
 
                             return queryCache;
                         });
+                // builds the bitsets of recently used role queries for new segments before they are exposed to searches
+                module.addIndexWarmerListener(dlsBitsetCache.get().createWarmer());
+                module.addIndexEventListener(new IndexEventListener() {
+                    @Override
+                    public void afterIndexShardClosed(ShardId shardId, IndexShard indexShard, Settings indexSettings) {
+                        dlsBitsetCache.get().onShardClosed(shardId);
+                    }
+                });
             }
 
             // in order to prevent scroll ids from being maliciously crafted and/or guessed, a listener is added that
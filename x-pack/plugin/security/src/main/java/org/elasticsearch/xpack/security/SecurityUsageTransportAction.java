@@ -27,8 +27,10 @@ import org.elasticsearch.xpack.core.action.XPackUsageFeatureTransportAction;
 import org.elasticsearch.xpack.core.security.SecurityFeatureSetUsage;
 import org.elasticsearch.xpack.core.security.user.AnonymousUser;
 import org.elasticsearch.xpack.security.audit.logfile.LoggingAuditTrail;
+import org.elasticsearch.xpack.security.authc.ApiKeyService;
 import org.elasticsearch.xpack.security.authc.Realms;
 import org.elasticsearch.xpack.security.authc.support.mapper.NativeRoleMappingStore;
+import org.elasticsearch.xpack.security.authz.AuthorizationService;
 import org.elasticsearch.xpack.security.authz.store.CompositeRolesStore;
 import org.elasticsearch.xpack.security.operator.OperatorPrivileges;
 import org.elasticsearch.xpack.security.transport.filter.IPFilter;
@@ -54,6 +56,8 @@ public class SecurityUsageTransportAction extends XPackUsageFeatureTransportActi
     private final CompositeRolesStore rolesStore;
     private final NativeRoleMappingStore roleMappingStore;
     private final IPFilter ipFilter;
+    private final AuthorizationService authzService;
+    private final ApiKeyService apiKeyService;
 
     @Inject
     public SecurityUsageTransportAction(TransportService transportService, ClusterService clusterService, ThreadPool threadPool,
@@ -67,6 +71,8 @@ public class SecurityUsageTransportAction extends XPackUsageFeatureTransportActi
         this.rolesStore = securityServices.rolesStore;
         this.roleMappingStore = securityServices.roleMappingStore;
         this.ipFilter = securityServices.ipFilter;
+        this.authzService = securityServices.authzService;
+        this.apiKeyService = securityServices.apiKeyService;
     }
 
     @Override
@@ -74,7 +80,7 @@ public class SecurityUsageTransportAction extends XPackUsageFeatureTransportActi
                                    ActionListener<XPackUsageFeatureResponse> listener) {
         Map<String, Object> sslUsage = sslUsage(settings);
         Map<String, Object> tokenServiceUsage = tokenServiceUsage(settings);
-        Map<String, Object> apiKeyServiceUsage = apiKeyServiceUsage(settings);
+        Map<String, Object> apiKeyServiceUsage = apiKeyServiceUsage(settings, apiKeyService);
         Map<String, Object> auditUsage = auditUsage(settings);
         Map<String, Object> ipFilterUsage = ipFilterUsage(ipFilter);
         Map<String, Object> anonymousUsage = singletonMap("enabled", AnonymousUser.isAnonymousEnabled(settings));
@@ -101,7 +107,13 @@ public class SecurityUsageTransportAction extends XPackUsageFeatureTransportActi
 
         final ActionListener<Map<String, Object>> rolesStoreUsageListener =
                 ActionListener.wrap(rolesStoreUsage -> {
-                    rolesUsageRef.set(rolesStoreUsage);
+                    if (authzService != null && enabled) {
+                        final Map<String, Object> usage = new HashMap<>(rolesStoreUsage);
+                        usage.put("authorized_indices", authzService.usageStats());
+                        rolesUsageRef.set(usage);
+                    } else {
+                        rolesUsageRef.set(rolesStoreUsage);
+                    }
                     doCountDown.run();
                 }, listener::onFailure);
 
@@ -153,8 +165,12 @@ public class SecurityUsageTransportAction extends XPackUsageFeatureTransportActi
         return singletonMap("enabled", TOKEN_SERVICE_ENABLED_SETTING.get(settings));
     }
 
-    static Map<String, Object> apiKeyServiceUsage(Settings settings) {
-        return singletonMap("enabled", API_KEY_SERVICE_ENABLED_SETTING.get(settings));
+    static Map<String, Object> apiKeyServiceUsage(Settings settings, @Nullable ApiKeyService apiKeyService) {
+        final boolean enabled = API_KEY_SERVICE_ENABLED_SETTING.get(settings);
+        if (apiKeyService == null || enabled == false || XPackSettings.SECURITY_ENABLED.get(settings) == false) {
+            return singletonMap("enabled", enabled);
+        }
+        return Map.of("enabled", true, "authentication", apiKeyService.usageStats());
     }
 
     static Map<String, Object> auditUsage(Settings settings) {
@@ -46,10 +46,12 @@ import org.elasticsearch.common.cache.RemovalNotification.RemovalReason;
 import org.elasticsearch.common.hash.MessageDigests;
 import org.elasticsearch.common.logging.DeprecationCategory;
 import org.elasticsearch.common.logging.DeprecationLogger;
+import org.elasticsearch.common.metrics.HistogramMetric;
 import org.elasticsearch.common.settings.SecureString;
 import org.elasticsearch.common.settings.Setting;
 import org.elasticsearch.common.settings.Setting.Property;
 import org.elasticsearch.common.settings.Settings;
+import org.elasticsearch.common.util.concurrent.ConcurrentCollections;
 import org.elasticsearch.common.util.concurrent.EsRejectedExecutionException;
 import org.elasticsearch.common.util.concurrent.FutureUtils;
 import org.elasticsearch.common.util.concurrent.ListenableFuture;
@@ -112,6 +114,7 @@ import java.util.Base64;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
@@ -214,6 +217,7 @@ public class ApiKeyService {
     private static final long EVICTION_WARNING_THRESHOLD = 15L * EVICTION_MONITOR_INTERVAL_SECONDS; // 15 eviction per sec = 4500 in 5 min
     private final AtomicLong lastEvictionCheckedAt = new AtomicLong(0);
     private final LongAdder evictionCounter = new LongAdder();
+    private final AuthenticationStats authenticationStats = new AuthenticationStats();
 
     public ApiKeyService(Settings settings, Clock clock, Client client, SecurityIndexManager securityIndex,
                          ClusterService clusterService, CacheInvalidatorRegistry cacheInvalidatorRegistry, ThreadPool threadPool) {
@@ -406,6 +410,13 @@ public class ApiKeyService {
 
     void loadApiKeyAndValidateCredentials(ThreadContext ctx, ApiKeyCredentials credentials,
                                           ActionListener<AuthenticationResult> listener) {
+        final long startTimeInNanos = System.nanoTime();
+        doLoadApiKeyAndValidateCredentials(ctx, credentials,
+            ActionListener.runBefore(listener, () -> authenticationStats.onAuthenticated(System.nanoTime() - startTimeInNanos)));
+    }
+
+    private void doLoadApiKeyAndValidateCredentials(ThreadContext ctx, ApiKeyCredentials credentials,
+                                                    ActionListener<AuthenticationResult> listener) {
         final String docId = credentials.getId();
 
         Consumer<ApiKeyDoc> validator = apiKeyDoc ->
@@ -421,6 +432,10 @@ public class ApiKeyService {
         if (apiKeyDocCache != null) {
             ApiKeyDoc existing = apiKeyDocCache.get(docId);
             if (existing != null) {
+                authenticationStats.docCacheHits.increment();
+                if (apiKeyDocCache.tryStartRefresh(docId)) {
+                    refreshApiKeyDoc(ctx, docId);
+                }
                 validator.accept(existing);
                 return;
             }
@@ -465,6 +480,34 @@ public class ApiKeyService {
             client::get);
     }
 
+    /**
+     * Reloads the document of an API key whose cache entry is about to expire, so that the requests authenticating with a frequently used
+     * API key keep being served from the doc cache instead of all having to wait for the document to be fetched once the entry expired.
+     */
+    private void refreshApiKeyDoc(ThreadContext ctx, String docId) {
+        final long invalidationCount = apiKeyDocCache.getInvalidationCount();
+        final GetRequest getRequest = client
+            .prepareGet(SECURITY_MAIN_ALIAS, docId)
+            .setFetchSource(true)
+            .request();
+        executeAsyncWithOrigin(ctx, SECURITY_ORIGIN, getRequest, ActionListener.runAfter(ActionListener.<GetResponse>wrap(response -> {
+                authenticationStats.docRefreshes.increment();
+                if (response.isExists()) {
+                    try (XContentParser parser = XContentHelper.createParser(
+                        NamedXContentRegistry.EMPTY, LoggingDeprecationHandler.INSTANCE,
+                        response.getSourceAsBytesRef(), XContentType.JSON)) {
+                        apiKeyDocCache.putIfNoInvalidationSince(docId, ApiKeyDoc.fromXContent(parser), invalidationCount);
+                    }
+                } else {
+                    apiKeyDocCache.invalidate(List.of(docId));
+                    apiKeyAuthCache.invalidate(docId);
+                }
+            },
+            e -> logger.debug(new ParameterizedMessage("failed to refresh the cached document of API key [{}]", docId), e)),
+            () -> apiKeyDocCache.onRefreshDone(docId)),
+            client::get);
+    }
+
     /**
      * This method is kept for BWC and should only be used for authentication objects created before v7.9.0.
      * For authentication of newer versions, use {@link #getApiKeyIdAndRoleBytes}
@@ -627,6 +670,7 @@ public class ApiKeyService {
                 }
 
                 if (valueAlreadyInCache.get()) {
+                    authenticationStats.authCacheHits.increment();
                     listenableCacheEntry.addListener(ActionListener.wrap(result -> {
                             if (result.success) {
                                 if (result.verify(credentials.getKey())) {
@@ -644,6 +688,7 @@ public class ApiKeyService {
                         }, listener::onFailure),
                         threadPool.generic(), threadPool.getThreadContext());
                 } else {
+                    authenticationStats.hashVerifications.increment();
                     verifyKeyAgainstHash(apiKeyDoc.hash, credentials, ActionListener.wrap(
                         verified -> {
                             listenableCacheEntry.onResponse(new CachedApiKeyHashResult(verified, credentials.getKey()));
@@ -657,6 +702,7 @@ public class ApiKeyService {
                     ));
                 }
             } else {
+                authenticationStats.hashVerifications.increment();
                 verifyKeyAgainstHash(apiKeyDoc.hash, credentials, ActionListener.wrap(
                     verified -> {
                         if (verified) {
@@ -1211,6 +1257,13 @@ public class ApiKeyService {
         };
     }
 
+    /**
+     * @return statistics about the API key authentications that were handled by this node
+     */
+    public Map<String, Object> usageStats() {
+        return authenticationStats.toMap();
+    }
+
     // package private for test
     LongAdder getEvictionCounter() {
         return evictionCounter;
@@ -1272,6 +1325,53 @@ public class ApiKeyService {
         }
     }
 
+    /**
+     * Counts the API key authentications handled by this node, and how many of them could be served from the caches, and records how long
+     * they took in a histogram. The histogram has exponentially growing buckets so that the few authentications that had to fetch the
+     * API key document or to hash the key stand out from those that were fully served from the caches.
+     */
+    private static final class AuthenticationStats {
+        private final HistogramMetric histogram = new HistogramMetric(1L, 5L, 10L, 50L, 100L, 500L, 1000L);
+        private final LongAdder timeInNanos = new LongAdder();
+        private final LongAdder docCacheHits = new LongAdder();
+        private final LongAdder docRefreshes = new LongAdder();
+        private final LongAdder authCacheHits = new LongAdder();
+        private final LongAdder hashVerifications = new LongAdder();
+
+        void onAuthenticated(long tookInNanos) {
+            timeInNanos.add(tookInNanos);
+            histogram.inc(TimeUnit.NANOSECONDS.toMillis(tookInNanos));
+        }
+
+        Map<String, Object> toMap() {
+            final long[] bounds = histogram.getBucketBounds();
+            final long[] counts = histogram.getBucketCounts();
+            long count = 0L;
+            final List<Map<String, Object>> buckets = new ArrayList<>(counts.length);
+            for (int i = 0; i < counts.length; i++) {
+                count += counts[i];
+                final Map<String, Object> bucket = new LinkedHashMap<>();
+                if (i > 0) {
+                    bucket.put("from_millis", bounds[i - 1]);
+                }
+                if (i < bounds.length) {
+                    bucket.put("to_millis", bounds[i]);
+                }
+                bucket.put("count", counts[i]);
+                buckets.add(bucket);
+            }
+            return Map.of(
+                "count", count,
+                "time_in_millis", TimeUnit.NANOSECONDS.toMillis(timeInNanos.sum()),
+                "doc_cache_hits", docCacheHits.sum(),
+                "doc_refreshes", docRefreshes.sum(),
+                "auth_cache_hits", authCacheHits.sum(),
+                "hash_verifications", hashVerifications.sum(),
+                "histogram", buckets
+            );
+        }
+    }
+
     final class CachedApiKeyHashResult {
         final boolean success;
         final char[] hash;
@@ -1430,12 +1530,23 @@ public class ApiKeyService {
         private final Cache<String, ApiKeyService.CachedApiKeyDoc> docCache;
         private final Cache<String, BytesReference> roleDescriptorsBytesCache;
         private final LockingAtomicCounter lockingAtomicCounter;
+        // the time at which each entry of the doc cache was written, and the entries that are currently being refreshed
+        private final Map<String, Long> writeTimesInNanos = ConcurrentCollections.newConcurrentMap();
+        private final Set<String> refreshing = ConcurrentCollections.newConcurrentSet();
+        private final long refreshAfterNanos;
 
         ApiKeyDocCache(TimeValue ttl, int maximumWeight) {
             this.docCache = CacheBuilder.<String, ApiKeyService.CachedApiKeyDoc>builder()
                 .setMaximumWeight(maximumWeight)
                 .setExpireAfterWrite(ttl)
+                .removalListener(notification -> {
+                    if (notification.getRemovalReason() != RemovalReason.REPLACED) {
+                        writeTimesInNanos.remove(notification.getKey());
+                    }
+                })
                 .build();
+            // entries are refreshed in the background once they have been in the cache for 80% of their TTL
+            this.refreshAfterNanos = ttl.getNanos() - ttl.getNanos() / 5;
             // We don't use the doc TTL because that TTL is very low to avoid the risk of
             // caching an invalidated API key. But role descriptors are immutable and may be shared between
             // multiple API keys, so we cache for longer and rely on the weight to manage the cache size.
@@ -1462,10 +1573,27 @@ public class ApiKeyService {
             return lockingAtomicCounter.get();
         }
 
+        /**
+         * @return {@code true} if the entry for the given document is about to expire and is not already being refreshed, in which case
+         *         the caller must refresh it and then call {@link #onRefreshDone(String)}
+         */
+        public boolean tryStartRefresh(String docId) {
+            final Long writeTimeInNanos = writeTimesInNanos.get(docId);
+            if (writeTimeInNanos == null || System.nanoTime() - writeTimeInNanos < refreshAfterNanos) {
+                return false;
+            }
+            return refreshing.add(docId);
+        }
+
+        public void onRefreshDone(String docId) {
+            refreshing.remove(docId);
+        }
+
         public void putIfNoInvalidationSince(String docId, ApiKeyDoc apiKeyDoc, long invalidationCount) {
             final CachedApiKeyDoc cachedApiKeyDoc = apiKeyDoc.toCachedApiKeyDoc();
             lockingAtomicCounter.compareAndRun(invalidationCount, () -> {
                 docCache.put(docId, cachedApiKeyDoc);
+                writeTimesInNanos.put(docId, System.nanoTime());
                 try {
                     roleDescriptorsBytesCache.computeIfAbsent(
                         cachedApiKeyDoc.roleDescriptorsHash, k -> apiKeyDoc.roleDescriptorsBytes);
@@ -1487,6 +1615,7 @@ public class ApiKeyService {
             lockingAtomicCounter.increment();
             logger.debug("Invalidating all API key doc cache and descriptor cache");
             docCache.invalidateAll();
+            writeTimesInNanos.clear();
             roleDescriptorsBytesCache.invalidateAll();
         }
     }
@@ -122,7 +122,7 @@ public class AuthorizationService {
     private final AuthenticationFailureHandler authcFailureHandler;
     private final ThreadContext threadContext;
     private final AnonymousUser anonymousUser;
-    private final AuthorizationEngine rbacEngine;
+    private final RBACEngine rbacEngine;
     private final AuthorizationEngine authorizationEngine;
     private final Set<RequestInterceptor> requestInterceptors;
     private final XPackLicenseState licenseState;
@@ -163,6 +163,13 @@ public class AuthorizationService {
         getAuthorizationEngine(authentication).getUserPrivileges(authentication, getAuthorizationInfoFromContext(), request, listener);
     }
 
+    /**
+     * @return usage statistics of the built-in role based authorization engine
+     */
+    public Map<String, Object> usageStats() {
+        return rbacEngine.usageStats();
+    }
+
     private AuthorizationInfo getAuthorizationInfoFromContext() {
         return Objects.requireNonNull(threadContext.getTransient(AUTHORIZATION_INFO_KEY), "authorization info is missing from context");
     }
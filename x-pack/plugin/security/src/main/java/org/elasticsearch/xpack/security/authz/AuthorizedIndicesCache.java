@@ -0,0 +1,233 @@
+/*
+ * Copyright Elasticsearch B.V. and/or licensed to Elasticsearch B.V. under one
+ * or more contributor license agreements. Licensed under the Elastic License
+ * 2.0; you may not use this file except in compliance with the Elastic License
+ * 2.0.
+ */
+package org.elasticsearch.xpack.security.authz;
+
+import org.apache.lucene.util.RamUsageEstimator;
+import org.elasticsearch.cluster.metadata.IndexAbstraction;
+import org.elasticsearch.common.cache.Cache;
+import org.elasticsearch.common.cache.CacheBuilder;
+import org.elasticsearch.common.settings.Setting;
+import org.elasticsearch.common.settings.Setting.Property;
+import org.elasticsearch.common.settings.Settings;
+import org.elasticsearch.common.unit.ByteSizeValue;
+import org.elasticsearch.index.Index;
+import org.elasticsearch.xpack.core.security.authz.permission.Role;
+
+import java.lang.ref.WeakReference;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Predicate;
+
+import static org.elasticsearch.xpack.core.security.SecurityField.setting;
+
+/**
+ * Caches the names of the indices, aliases and data streams that a {@link Role} is authorized to access for an action. An entry is valid
+ * for the indices lookup of a single {@link org.elasticsearch.cluster.metadata.Metadata} instance. When the metadata changes, the entry
+ * is recomputed incrementally: the decision made for an index abstraction that already existed with the same shape in the previous lookup
+ * is reused, and only new or changed abstractions are tested against the role. This relies on the role's index matcher depending only on
+ * the name and the type of an abstraction and on whether it belongs to a data stream, which is the case for
+ * {@link org.elasticsearch.xpack.core.security.authz.permission.IndicesPermission}.
+ *
+ * Entries are keyed on the identity of the role, so roles that are rebuilt (e.g. after the roles cache has been cleared) simply miss
+ * the cache and their stale entries are eventually evicted.
+ *
+ * The decisions of an entry are kept in arrays sorted by name, one byte per index abstraction, so that they can be matched against the
+ * next lookup in a single pass. The cache is bounded by the estimated memory usage of its entries ({@link #CACHE_SIZE_SETTING}), which
+ * grows with the number of index abstractions of the cluster and with the number of authorized ones.
+ */
+public final class AuthorizedIndicesCache {
+
+    public static final Setting<ByteSizeValue> CACHE_SIZE_SETTING = Setting.memorySizeSetting(
+        setting("authz.store.roles.authorized_indices.cache.size"), "1%", Property.NodeScope);
+
+    // an entry of the HashSet of authorized indices: the node and about two slots of the table, the names are shared with the metadata
+    private static final long AUTHORIZED_INDEX_BYTES = RamUsageEstimator.alignObjectSize(
+        RamUsageEstimator.NUM_BYTES_OBJECT_HEADER + Integer.BYTES + 3L * RamUsageEstimator.NUM_BYTES_OBJECT_REF)
+        + 2L * RamUsageEstimator.NUM_BYTES_OBJECT_REF;
+
+    private static final byte ALLOWED = 1;
+    private static final byte IN_DATA_STREAM = 2;
+
+    private final long maxWeightBytes;
+    private final Cache<Key, CachedIndices> cache;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder refreshes = new LongAdder();
+
+    AuthorizedIndicesCache(Settings settings) {
+        this.maxWeightBytes = CACHE_SIZE_SETTING.get(settings).getBytes();
+        this.cache = maxWeightBytes <= 0 ? null : CacheBuilder.<Key, CachedIndices>builder()
+            .setMaximumWeight(maxWeightBytes)
+            .weigher((key, cachedIndices) -> cachedIndices.ramBytesUsed())
+            .build();
+    }
+
+    /**
+     * @return the names of the indices, aliases and data streams in {@code lookup} that {@code role} is authorized to access for the given
+     *         action, possibly from the cache
+     */
+    Set<String> get(Role role, String action, boolean includeDataStreams, Map<String, IndexAbstraction> lookup) {
+        final Predicate<IndexAbstraction> predicate = role.allowedIndicesMatcher(action);
+        if (cache == null) {
+            misses.increment();
+            return resolve(predicate, includeDataStreams, lookup);
+        }
+        final Key key = new Key(role, action, includeDataStreams);
+        final CachedIndices previous = cache.get(key);
+        if (previous != null && previous.lookup.get() == lookup) {
+            hits.increment();
+            return previous.authorizedIndices;
+        }
+        if (previous == null) {
+            misses.increment();
+        } else {
+            refreshes.increment();
+        }
+        final CachedIndices cachedIndices = compute(predicate, includeDataStreams, lookup, previous);
+        if (cachedIndices.ramBytesUsed() <= maxWeightBytes) {
+            cache.put(key, cachedIndices);
+        } else if (previous != null) {
+            // an entry that does not fit would evict all the others, so do not cache it and drop the outdated one
+            cache.invalidate(key, previous);
+        }
+        return cachedIndices.authorizedIndices;
+    }
+
+    /**
+     * Resolves the names of the indices, aliases and data streams in {@code lookup} that match the given predicate without using the cache
+     */
+    static Set<String> resolve(Predicate<IndexAbstraction> predicate, boolean includeDataStreams, Map<String, IndexAbstraction> lookup) {
+        return compute(predicate, includeDataStreams, lookup, null).authorizedIndices;
+    }
+
+    private static CachedIndices compute(Predicate<IndexAbstraction> predicate, boolean includeDataStreams,
+                                         Map<String, IndexAbstraction> lookup, CachedIndices previous) {
+        final Collection<IndexAbstraction> indexAbstractions = isSortedByName(lookup) ? lookup.values() : new TreeMap<>(lookup).values();
+        final String[] names = new String[indexAbstractions.size()];
+        final byte[] decisions = new byte[indexAbstractions.size()];
+        final Set<String> indicesAndAliases = new HashSet<>();
+        int count = 0;
+        int previousIndex = 0;
+        for (IndexAbstraction indexAbstraction : indexAbstractions) {
+            final boolean isDataStream = indexAbstraction.getType() == IndexAbstraction.Type.DATA_STREAM;
+            if (isDataStream && includeDataStreams == false) {
+                // do not include data streams for actions that do not operate on data streams
+                continue;
+            }
+            final String name = indexAbstraction.getName();
+            final byte shape = (byte) ((indexAbstraction.getType().ordinal() << 2)
+                | (indexAbstraction.getParentDataStream() == null ? 0 : IN_DATA_STREAM));
+            boolean reused = false;
+            boolean allowed = false;
+            if (previous != null) {
+                // both lookups are iterated in name order, so the previous decisions are merged in a single pass
+                while (previousIndex < previous.names.length && previous.names[previousIndex].compareTo(name) < 0) {
+                    previousIndex++;
+                }
+                if (previousIndex < previous.names.length && previous.names[previousIndex].equals(name)) {
+                    final byte previousDecision = previous.decisions[previousIndex];
+                    if ((previousDecision & ~ALLOWED) == shape) {
+                        reused = true;
+                        allowed = (previousDecision & ALLOWED) != 0;
+                    }
+                }
+            }
+            if (reused == false) {
+                allowed = predicate.test(indexAbstraction);
+            }
+            names[count] = name;
+            decisions[count] = allowed ? (byte) (shape | ALLOWED) : shape;
+            count++;
+            if (allowed) {
+                indicesAndAliases.add(name);
+                if (isDataStream) {
+                    // add data stream and its backing indices for any authorized data streams
+                    for (Index index : indexAbstraction.getIndices()) {
+                        indicesAndAliases.add(index.getName());
+                    }
+                }
+            }
+        }
+        return new CachedIndices(lookup, count == names.length ? names : Arrays.copyOf(names, count),
+            count == decisions.length ? decisions : Arrays.copyOf(decisions, count), Collections.unmodifiableSet(indicesAndAliases));
+    }
+
+    private static boolean isSortedByName(Map<String, IndexAbstraction> lookup) {
+        // the indices lookup of the metadata is a TreeMap, other maps are only expected in tests
+        return lookup instanceof SortedMap && ((SortedMap<String, IndexAbstraction>) lookup).comparator() == null;
+    }
+
+    Map<String, Object> usageStats() {
+        return Map.of(
+            "count", cache == null ? 0 : cache.count(),
+            "size_in_bytes", cache == null ? 0L : cache.weight(),
+            "hits", hits.sum(),
+            "misses", misses.sum(),
+            "refreshes", refreshes.sum()
+        );
+    }
+
+    private static final class Key {
+        private final Role role;
+        private final String action;
+        private final boolean includeDataStreams;
+
+        private Key(Role role, String action, boolean includeDataStreams) {
+            this.role = role;
+            this.action = action;
+            this.includeDataStreams = includeDataStreams;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (o == null || getClass() != o.getClass()) {
+                return false;
+            }
+            final Key other = (Key) o;
+            return role == other.role && includeDataStreams == other.includeDataStreams && action.equals(other.action);
+        }
+
+        @Override
+        public int hashCode() {
+            int result = System.identityHashCode(role);
+            result = 31 * result + action.hashCode();
+            result = 31 * result + Boolean.hashCode(includeDataStreams);
+            return result;
+        }
+    }
+
+    private static final class CachedIndices {
+        // a weak reference so that the cache does not keep the indices lookup of an outdated cluster state alive
+        private final WeakReference<Map<String, IndexAbstraction>> lookup;
+        // the names of the index abstractions in natural order, and the decision and shape of each of them
+        private final String[] names;
+        private final byte[] decisions;
+        private final Set<String> authorizedIndices;
+
+        private CachedIndices(Map<String, IndexAbstraction> lookup, String[] names, byte[] decisions, Set<String> authorizedIndices) {
+            this.lookup = new WeakReference<>(lookup);
+            this.names = names;
+            this.decisions = decisions;
+            this.authorizedIndices = authorizedIndices;
+        }
+
+        private long ramBytesUsed() {
+            return RamUsageEstimator.shallowSizeOf(names) + RamUsageEstimator.sizeOf(decisions)
+                + authorizedIndices.size() * AUTHORIZED_INDEX_BYTES;
+        }
+    }
+}
@@ -34,7 +34,6 @@ import org.elasticsearch.common.bytes.BytesReference;
 import org.elasticsearch.common.regex.Regex;
 import org.elasticsearch.common.settings.Settings;
 import org.elasticsearch.common.util.set.Sets;
-import org.elasticsearch.index.Index;
 import org.elasticsearch.transport.TransportActionProxy;
 import org.elasticsearch.transport.TransportRequest;
 import org.elasticsearch.xpack.core.async.DeleteAsyncResultAction;
@@ -91,6 +90,8 @@ import java.util.Map.Entry;
 import java.util.Objects;
 import java.util.Set;
 import java.util.TreeSet;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
 import java.util.function.Predicate;
 
 import static org.elasticsearch.common.Strings.arrayToCommaDelimitedString;
@@ -110,10 +111,14 @@ public class RBACEngine implements AuthorizationEngine {
 
     private final CompositeRolesStore rolesStore;
     private final FieldPermissionsCache fieldPermissionsCache;
+    private final AuthorizedIndicesCache authorizedIndicesCache;
+    private final LongAdder loadAuthorizedIndicesCount = new LongAdder();
+    private final LongAdder loadAuthorizedIndicesTimeInNanos = new LongAdder();
 
     public RBACEngine(Settings settings, CompositeRolesStore rolesStore) {
         this.rolesStore = rolesStore;
         this.fieldPermissionsCache = new FieldPermissionsCache(settings);
+        this.authorizedIndicesCache = new AuthorizedIndicesCache(settings);
     }
 
     @Override
@@ -430,7 +435,12 @@ public class RBACEngine implements AuthorizationEngine {
                                       Map<String, IndexAbstraction> indicesLookup, ActionListener<Set<String>> listener) {
         if (authorizationInfo instanceof RBACAuthorizationInfo) {
             final Role role = ((RBACAuthorizationInfo) authorizationInfo).getRole();
-            listener.onResponse(resolveAuthorizedIndicesFromRole(role, requestInfo, indicesLookup));
+            final long startTimeInNanos = System.nanoTime();
+            final Set<String> authorizedIndices = authorizedIndicesCache.get(role, requestInfo.getAction(),
+                includeDataStreams(requestInfo.getRequest()), indicesLookup);
+            loadAuthorizedIndicesTimeInNanos.add(System.nanoTime() - startTimeInNanos);
+            loadAuthorizedIndicesCount.increment();
+            listener.onResponse(authorizedIndices);
         } else {
             listener.onFailure(
                 new IllegalArgumentException("unsupported authorization info:" + authorizationInfo.getClass().getSimpleName()));
@@ -595,34 +605,23 @@ public class RBACEngine implements AuthorizationEngine {
     }
 
     static Set<String> resolveAuthorizedIndicesFromRole(Role role, RequestInfo requestInfo, Map<String, IndexAbstraction> lookup) {
-        Predicate<IndexAbstraction> predicate = role.allowedIndicesMatcher(requestInfo.getAction());
-
-        // do not include data streams for actions that do not operate on data streams
-        TransportRequest request = requestInfo.getRequest();
-        final boolean includeDataStreams = (request instanceof IndicesRequest) && ((IndicesRequest) request).includeDataStreams();
-
-        Set<String> indicesAndAliases = new HashSet<>();
-        // TODO: can this be done smarter? I think there are usually more indices/aliases in the cluster then indices defined a roles?
-        if (includeDataStreams) {
-            for (IndexAbstraction indexAbstraction : lookup.values()) {
-                if (predicate.test(indexAbstraction)) {
-                    indicesAndAliases.add(indexAbstraction.getName());
-                    if (indexAbstraction.getType() == IndexAbstraction.Type.DATA_STREAM) {
-                        // add data stream and its backing indices for any authorized data streams
-                        for (Index index : indexAbstraction.getIndices()) {
-                            indicesAndAliases.add(index.getName());
-                        }
-                    }
-                }
-            }
-        } else {
-            for (IndexAbstraction indexAbstraction : lookup.values()) {
-                if (indexAbstraction.getType() != IndexAbstraction.Type.DATA_STREAM && predicate.test(indexAbstraction)) {
-                    indicesAndAliases.add(indexAbstraction.getName());
-                }
-            }
-        }
-        return Collections.unmodifiableSet(indicesAndAliases);
+        return AuthorizedIndicesCache.resolve(role.allowedIndicesMatcher(requestInfo.getAction()),
+            includeDataStreams(requestInfo.getRequest()), lookup);
+    }
+
+    private static boolean includeDataStreams(TransportRequest request) {
+        return (request instanceof IndicesRequest) && ((IndicesRequest) request).includeDataStreams();
+    }
+
+    /**
+     * @return statistics about the resolution of the indices that users are authorized to access, for the security usage
+     */
+    public Map<String, Object> usageStats() {
+        return Map.of(
+            "cache", authorizedIndicesCache.usageStats(),
+            "load_count", loadAuthorizedIndicesCount.sum(),
+            "load_time_in_millis", TimeUnit.NANOSECONDS.toMillis(loadAuthorizedIndicesTimeInNanos.sum())
+        );
     }
 
     private IndexAuthorizationResult buildIndicesAccessControl(String action,
@@ -952,6 +952,33 @@ public class ApiKeyServiceTests extends ESTestCase {
         assertNull(service.getRoleDescriptorsBytesCache());
     }
 
+    @SuppressWarnings("unchecked")
+    public void testAuthenticationUsageStats() throws IOException {
+        final ApiKeyService service = createApiKeyService(Settings.EMPTY);
+        final String docId = randomAlphaOfLength(16);
+        final String apiKey = randomAlphaOfLength(16);
+        mockKeyDocument(service, docId, apiKey, new User("hulk", "superuser"), false, Duration.ofSeconds(3600));
+        final ApiKeyCredentials apiKeyCredentials = new ApiKeyCredentials(docId, new SecureString(apiKey.toCharArray()));
+
+        final int authentications = randomIntBetween(1, 5);
+        for (int i = 0; i < authentications; i++) {
+            final PlainActionFuture<AuthenticationResult> future = new PlainActionFuture<>();
+            service.loadApiKeyAndValidateCredentials(threadPool.getThreadContext(), apiKeyCredentials, future);
+            assertThat(future.actionGet().isAuthenticated(), is(true));
+        }
+
+        final Map<String, Object> stats = service.usageStats();
+        assertThat(stats.get("count"), equalTo((long) authentications));
+        // only the first authentication has to fetch the document and to hash the key
+        assertThat(stats.get("hash_verifications"), equalTo(1L));
+        assertThat(stats.get("doc_cache_hits"), equalTo(authentications - 1L));
+        assertThat(stats.get("auth_cache_hits"), equalTo(authentications - 1L));
+        final List<Map<String, Object>> histogram = (List<Map<String, Object>>) stats.get("histogram");
+        assertThat(histogram.stream().mapToLong(bucket -> (long) bucket.get("count")).sum(), equalTo((long) authentications));
+        assertThat(histogram.get(0).containsKey("from_millis"), is(false));
+        assertThat(histogram.get(histogram.size() - 1).containsKey("to_millis"), is(false));
+    }
+
     public void testApiKeyDocCache() throws IOException, ExecutionException, InterruptedException {
         ApiKeyService service = createApiKeyService(Settings.EMPTY);
         assertNotNull(service.getDocCache());
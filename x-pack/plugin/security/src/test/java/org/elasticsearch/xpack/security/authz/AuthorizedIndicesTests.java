@@ -12,9 +12,11 @@ import org.elasticsearch.action.search.SearchAction;
 import org.elasticsearch.action.support.PlainActionFuture;
 import org.elasticsearch.cluster.metadata.AliasMetadata;
 import org.elasticsearch.cluster.metadata.DataStream;
+import org.elasticsearch.cluster.metadata.IndexAbstraction;
 import org.elasticsearch.cluster.metadata.IndexMetadata;
 import org.elasticsearch.cluster.metadata.Metadata;
 import org.elasticsearch.common.settings.Settings;
+import org.elasticsearch.common.unit.ByteSizeValue;
 import org.elasticsearch.common.util.set.Sets;
 import org.elasticsearch.index.Index;
 import org.elasticsearch.test.ESTestCase;
@@ -32,13 +34,20 @@ import org.elasticsearch.xpack.core.security.index.RestrictedIndicesNames;
 import org.elasticsearch.xpack.core.security.user.User;
 import org.elasticsearch.xpack.security.authz.store.CompositeRolesStore;
 
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.TreeMap;
 
 import static org.elasticsearch.cluster.metadata.DataStreamTestHelper.createTimestampField;
 import static org.elasticsearch.xpack.core.security.test.TestRestrictedIndices.RESTRICTED_INDICES_AUTOMATON;
 import static org.hamcrest.Matchers.contains;
 import static org.hamcrest.Matchers.containsInAnyOrder;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.greaterThan;
+import static org.hamcrest.Matchers.lessThan;
+import static org.hamcrest.Matchers.lessThanOrEqualTo;
 import static org.hamcrest.Matchers.not;
 
 public class AuthorizedIndicesTests extends ESTestCase {
@@ -256,6 +265,107 @@ public class AuthorizedIndicesTests extends ESTestCase {
         assertThat(list, not(contains(RestrictedIndicesNames.SECURITY_MAIN_ALIAS)));
     }
 
+    public void testAuthorizedIndicesCache() {
+        Role role = Role.builder(RESTRICTED_INDICES_AUTOMATON, "role").add(IndexPrivilege.READ, "a*").build();
+        Settings indexSettings = Settings.builder().put("index.version.created", Version.CURRENT).build();
+        Metadata metadata = Metadata.builder()
+                .put(new IndexMetadata.Builder("a1").settings(indexSettings).numberOfShards(1).numberOfReplicas(0).build(), true)
+                .put(new IndexMetadata.Builder("b1").settings(indexSettings).numberOfShards(1).numberOfReplicas(0).build(), true)
+                .build();
+        final AuthorizedIndicesCache cache = new AuthorizedIndicesCache(Settings.EMPTY);
+
+        final Set<String> first = cache.get(role, SearchAction.NAME, false, metadata.getIndicesLookup());
+        assertThat(first, containsInAnyOrder("a1"));
+        assertSame(first, cache.get(role, SearchAction.NAME, false, metadata.getIndicesLookup()));
+
+        // adding and removing indices refreshes the cached entry
+        metadata = Metadata.builder(metadata)
+                .remove("a1")
+                .put(new IndexMetadata.Builder("a2").settings(indexSettings).numberOfShards(1).numberOfReplicas(0)
+                    .putAlias(new AliasMetadata.Builder("b-alias").build()).build(), true)
+                .put(new IndexMetadata.Builder("b2").settings(indexSettings).numberOfShards(1).numberOfReplicas(0)
+                    .putAlias(new AliasMetadata.Builder("a-alias").build()).build(), true)
+                .build();
+        final Set<String> refreshed = cache.get(role, SearchAction.NAME, false, metadata.getIndicesLookup());
+        assertThat(refreshed, containsInAnyOrder("a2", "a-alias"));
+        assertThat(refreshed, equalTo(
+            RBACEngine.resolveAuthorizedIndicesFromRole(role, getRequestInfo(SearchAction.NAME), metadata.getIndicesLookup())));
+
+        // another role does not share the cached entry
+        Role otherRole = Role.builder(RESTRICTED_INDICES_AUTOMATON, "role").add(IndexPrivilege.READ, "b*").build();
+        assertThat(cache.get(otherRole, SearchAction.NAME, false, metadata.getIndicesLookup()),
+            containsInAnyOrder("b1", "b2", "b-alias"));
+
+        final Map<String, Object> usageStats = cache.usageStats();
+        assertThat(usageStats.get("count"), equalTo(2));
+        assertThat(usageStats.get("hits"), equalTo(1L));
+        assertThat(usageStats.get("misses"), equalTo(2L));
+        assertThat(usageStats.get("refreshes"), equalTo(1L));
+    }
+
+    public void testAuthorizedIndicesCacheWithManyIndices() {
+        final int numIndices = 40_000;
+        Settings indexSettings = Settings.builder().put("index.version.created", Version.CURRENT).build();
+        final Map<String, IndexAbstraction> lookup = new TreeMap<>();
+        for (int i = 0; i < numIndices; i++) {
+            final String name = "index-" + i;
+            lookup.put(name, new IndexAbstraction.ConcreteIndex(
+                new IndexMetadata.Builder(name).settings(indexSettings).numberOfShards(1).numberOfReplicas(0).build()));
+        }
+        final AuthorizedIndicesCache cache = new AuthorizedIndicesCache(
+            Settings.builder().put(AuthorizedIndicesCache.CACHE_SIZE_SETTING.getKey(), "1mb").build());
+
+        // every entry holds a decision for each of the indices, so only a few of them fit in the cache
+        final int numRoles = randomIntBetween(10, 50);
+        for (int i = 0; i < numRoles; i++) {
+            final Role role = Role.builder(RESTRICTED_INDICES_AUTOMATON, "role-" + i).add(IndexPrivilege.READ, "index-" + i).build();
+            assertThat(cache.get(role, SearchAction.NAME, false, lookup), contains("index-" + i));
+        }
+
+        final Map<String, Object> usageStats = cache.usageStats();
+        assertThat(usageStats.get("misses"), equalTo((long) numRoles));
+        assertThat((int) usageStats.get("count"), greaterThan(0));
+        assertThat((int) usageStats.get("count"), lessThan(numRoles));
+        assertThat((long) usageStats.get("size_in_bytes"), lessThanOrEqualTo(ByteSizeValue.ofMb(1).getBytes()));
+    }
+
+    public void testAuthorizedIndicesCacheWithUnsortedLookup() {
+        Role role = Role.builder(RESTRICTED_INDICES_AUTOMATON, "role").add(IndexPrivilege.READ, "a*").build();
+        Settings indexSettings = Settings.builder().put("index.version.created", Version.CURRENT).build();
+        final Map<String, IndexAbstraction> lookup = new HashMap<>();
+        for (int i = 0; i < 100; i++) {
+            final String name = randomFrom("a", "b") + "-" + i;
+            lookup.put(name, new IndexAbstraction.ConcreteIndex(
+                new IndexMetadata.Builder(name).settings(indexSettings).numberOfShards(1).numberOfReplicas(0).build()));
+        }
+        final AuthorizedIndicesCache cache = new AuthorizedIndicesCache(Settings.EMPTY);
+        assertThat(cache.get(role, SearchAction.NAME, false, lookup),
+            equalTo(RBACEngine.resolveAuthorizedIndicesFromRole(role, getRequestInfo(SearchAction.NAME), lookup)));
+
+        // the previous decisions are matched by name whatever the iteration order of the lookups
+        final Map<String, IndexAbstraction> nextLookup = new HashMap<>(lookup);
+        for (int i = 100; i < 200; i++) {
+            final String name = randomFrom("a", "b") + "-" + i;
+            nextLookup.put(name, new IndexAbstraction.ConcreteIndex(
+                new IndexMetadata.Builder(name).settings(indexSettings).numberOfShards(1).numberOfReplicas(0).build()));
+        }
+        nextLookup.keySet().removeIf(name -> randomBoolean());
+        assertThat(cache.get(role, SearchAction.NAME, false, nextLookup),
+            equalTo(RBACEngine.resolveAuthorizedIndicesFromRole(role, getRequestInfo(SearchAction.NAME), nextLookup)));
+        assertThat(cache.usageStats().get("refreshes"), equalTo(1L));
+    }
+
+    public void testAuthorizedIndicesCacheDisabled() {
+        Role role = Role.builder(RESTRICTED_INDICES_AUTOMATON, "role").add(IndexPrivilege.ALL, "*").build();
+        final AuthorizedIndicesCache cache =
+            new AuthorizedIndicesCache(Settings.builder().put(AuthorizedIndicesCache.CACHE_SIZE_SETTING.getKey(), 0).build());
+        for (int i = 0; i < 3; i++) {
+            assertTrue(cache.get(role, SearchAction.NAME, true, Metadata.EMPTY_METADATA.getIndicesLookup()).isEmpty());
+        }
+        assertThat(cache.usageStats().get("count"), equalTo(0));
+        assertThat(cache.usageStats().get("misses"), equalTo(3L));
+    }
+
     public static AuthorizationEngine.RequestInfo getRequestInfo(String action) {
         return getRequestInfo(TransportRequest.Empty.INSTANCE, action);
     }
@@ -308,16 +308,16 @@ public abstract class RestSqlTestCase extends BaseRestSqlTestCase implements Err
         assertResponse(expected, runSql(mode, "SELECT name, \\\"score\\\", SCORE() FROM test ORDER BY SCORE()", columnar));
     }
 
-    public void testSelectWithJoinFails() throws Exception {
-        // Normal join not supported
+    public void testSelectWithJoinWithoutConditionFails() throws Exception {
+        // Cross join not supported
         expectBadRequest(
             () -> runSql(randomMode(), "SELECT * FROM test JOIN other"),
-            containsString("line 1:21: Queries with JOIN are not yet supported")
+            containsString("line 1:21: Only [INNER] JOIN with an ON condition is supported")
         );
         // Neither is a self join
         expectBadRequest(
             () -> runSql(randomMode(), "SELECT * FROM test JOIN test"),
-            containsString("line 1:21: Queries with JOIN are not yet supported")
+            containsString("line 1:21: Only [INNER] JOIN with an ON condition is supported")
         );
         // Nor fancy stuff like CTEs
         expectBadRequest(
@@ -325,7 +325,7 @@ public abstract class RestSqlTestCase extends BaseRestSqlTestCase implements Err
                 randomMode(),
                 "    WITH evil" + "  AS (SELECT *" + "        FROM foo)" + "SELECT *" + "  FROM test" + "  JOIN evil"
             ),
-            containsString("line 1:67: Queries with JOIN are not yet supported")
+            containsString("line 1:67: Only [INNER] JOIN with an ON condition is supported")
         );
     }
 
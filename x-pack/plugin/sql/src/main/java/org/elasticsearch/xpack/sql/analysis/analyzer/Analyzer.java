@@ -85,9 +85,9 @@ public class Analyzer extends RuleExecutor<LogicalPlan> {
      */
     private final FunctionRegistry functionRegistry;
     /**
-     * Information about the index against which the SQL is being analyzed.
+     * Information about the indices against which the SQL is being analyzed, more than one only when they are joined.
      */
-    private final IndexResolution indexResolution;
+    private final List<IndexResolution> indexResolutions;
     /**
      * Per-request specific settings needed in some of the functions (timezone, username and clustername),
      * to which they are attached.
@@ -99,9 +99,13 @@ public class Analyzer extends RuleExecutor<LogicalPlan> {
     private final Verifier verifier;
 
     public Analyzer(Configuration configuration, FunctionRegistry functionRegistry, IndexResolution results, Verifier verifier) {
+        this(configuration, functionRegistry, singletonList(results), verifier);
+    }
+
+    public Analyzer(Configuration configuration, FunctionRegistry functionRegistry, List<IndexResolution> results, Verifier verifier) {
         this.configuration = configuration;
         this.functionRegistry = functionRegistry;
-        this.indexResolution = results;
+        this.indexResolutions = results;
         this.verifier = verifier;
     }
 
@@ -303,6 +307,7 @@ public class Analyzer extends RuleExecutor<LogicalPlan> {
         @Override
         protected LogicalPlan rule(UnresolvedRelation plan) {
             TableIdentifier table = plan.table();
+            IndexResolution indexResolution = indexResolution(table.index());
             if (indexResolution.isValid() == false) {
                 return plan.unresolvedMessage().equals(indexResolution.toString()) ? plan :
                     new UnresolvedRelation(plan.source(), plan.table(), plan.alias(), plan.frozen(), indexResolution.toString());
@@ -317,6 +322,20 @@ public class Analyzer extends RuleExecutor<LogicalPlan> {
 
             return sa;
         }
+
+        private IndexResolution indexResolution(String index) {
+            IndexResolution invalid = null;
+            for (IndexResolution resolution : indexResolutions) {
+                if (resolution.matches(index)) {
+                    return resolution;
+                }
+                if (invalid == null && resolution.isValid() == false) {
+                    invalid = resolution;
+                }
+            }
+            // the index could not be resolved, report why
+            return invalid != null ? invalid : indexResolutions.get(0);
+        }
     }
 
     private static class ResolveRefs extends BaseAnalyzerRule {
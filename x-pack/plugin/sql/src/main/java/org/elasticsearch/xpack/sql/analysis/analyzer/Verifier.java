@@ -16,6 +16,7 @@ import org.elasticsearch.xpack.ql.expression.AttributeSet;
 import org.elasticsearch.xpack.ql.expression.Expression;
 import org.elasticsearch.xpack.ql.expression.Expressions;
 import org.elasticsearch.xpack.ql.expression.FieldAttribute;
+import org.elasticsearch.xpack.ql.expression.Foldables;
 import org.elasticsearch.xpack.ql.expression.Literal;
 import org.elasticsearch.xpack.ql.expression.NamedExpression;
 import org.elasticsearch.xpack.ql.expression.ReferenceAttribute;
@@ -25,6 +26,7 @@ import org.elasticsearch.xpack.ql.expression.function.Functions;
 import org.elasticsearch.xpack.ql.expression.function.aggregate.AggregateFunction;
 import org.elasticsearch.xpack.ql.expression.function.grouping.GroupingFunction;
 import org.elasticsearch.xpack.ql.expression.function.scalar.ScalarFunction;
+import org.elasticsearch.xpack.ql.expression.predicate.Predicates;
 import org.elasticsearch.xpack.ql.expression.predicate.fulltext.FullTextPredicate;
 import org.elasticsearch.xpack.ql.expression.predicate.logical.BinaryLogic;
 import org.elasticsearch.xpack.ql.expression.predicate.logical.Not;
@@ -32,6 +34,7 @@ import org.elasticsearch.xpack.ql.expression.predicate.nulls.IsNotNull;
 import org.elasticsearch.xpack.ql.expression.predicate.nulls.IsNull;
 import org.elasticsearch.xpack.ql.expression.predicate.operator.comparison.BinaryComparison;
 import org.elasticsearch.xpack.ql.plan.logical.Aggregate;
+import org.elasticsearch.xpack.ql.plan.logical.EsRelation;
 import org.elasticsearch.xpack.ql.plan.logical.Filter;
 import org.elasticsearch.xpack.ql.plan.logical.Limit;
 import org.elasticsearch.xpack.ql.plan.logical.LogicalPlan;
@@ -54,11 +57,14 @@ import org.elasticsearch.xpack.sql.expression.function.aggregate.TopHits;
 import org.elasticsearch.xpack.sql.expression.function.scalar.Cast;
 import org.elasticsearch.xpack.sql.plan.logical.Distinct;
 import org.elasticsearch.xpack.sql.plan.logical.Having;
+import org.elasticsearch.xpack.sql.plan.logical.Join;
 import org.elasticsearch.xpack.sql.plan.logical.LocalRelation;
 import org.elasticsearch.xpack.sql.plan.logical.Pivot;
+import org.elasticsearch.xpack.sql.plan.logical.SubQueryAlias;
 import org.elasticsearch.xpack.sql.plan.logical.command.Command;
 import org.elasticsearch.xpack.sql.stats.FeatureMetric;
 import org.elasticsearch.xpack.sql.stats.Metrics;
+import org.elasticsearch.xpack.sql.type.SqlDataTypeConverter;
 import org.elasticsearch.xpack.sql.type.SqlDataTypes;
 
 import java.util.ArrayList;
@@ -188,6 +194,7 @@ public final class Verifier {
             AttributeMap.Builder<Expression> collectRefs = AttributeMap.builder();
 
             checkFullTextSearchInSelect(plan, localFailures);
+            checkJoinLimit(plan, localFailures);
 
             // collect Attribute sources
             // only Aliases are interesting since these are the only ones that hide expressions
@@ -227,6 +234,7 @@ public final class Verifier {
                 checkMatrixStats(p, localFailures);
                 checkCastOnInexact(p, localFailures);
                 checkBinaryHasDocValues(p, localFailures);
+                checkJoin(p, localFailures);
 
                 // everything checks out
                 // mark the plan as analyzed
@@ -268,6 +276,86 @@ public final class Verifier {
         return failures;
     }
 
+    /**
+     * The rows of a join are all held in memory before being returned, so their number needs to be bounded by a LIMIT.
+     */
+    private static void checkJoinLimit(LogicalPlan plan, Set<Failure> localFailures) {
+        List<LogicalPlan> joins = plan.collect(Join.class::isInstance);
+        if (joins.isEmpty()) {
+            return;
+        }
+        List<LogicalPlan> limits = plan.collect(Limit.class::isInstance);
+        if (limits.isEmpty()) {
+            localFailures.add(fail(joins.get(0), "A JOIN needs a LIMIT of at most [{}]", Join.MAX_ROWS));
+        }
+        for (LogicalPlan p : limits) {
+            Limit limit = (Limit) p;
+            int value = (Integer) SqlDataTypeConverter.convert(Foldables.valueOf(limit.limit()), DataTypes.INTEGER);
+            if (value > Join.MAX_ROWS) {
+                localFailures.add(fail(limit.limit(), "LIMIT of a JOIN needs to be at most [{}]; found [{}]", Join.MAX_ROWS,
+                    value));
+            }
+        }
+    }
+
+    /**
+     * Joins are executed by hashing the rows of one side, which limits them to equalities between fields of two indices and to
+     * selecting, filtering and limiting their result.
+     */
+    private static void checkJoin(LogicalPlan p, Set<Failure> localFailures) {
+        if (p instanceof Join) {
+            Join join = (Join) p;
+            if (join.type() != Join.JoinType.INNER) {
+                localFailures.add(fail(join, "Queries with multiple relations in FROM are not supported, use [INNER] JOIN with an "
+                    + "ON condition instead"));
+                return;
+            }
+            if (join.keys() == null) {
+                localFailures.add(fail(join.condition(), "JOIN condition [{}] needs to be one or more equalities, joined by AND, between "
+                    + "a field of each side", join.condition().sourceText()));
+            }
+            for (LogicalPlan side : join.children()) {
+                side.forEachDown(s -> {
+                    if ((s instanceof EsRelation || s instanceof SubQueryAlias || s instanceof Filter || s instanceof Project) == false) {
+                        localFailures.add(fail(s, "Only the fields of an index, optionally filtered, can be joined; found [{}]",
+                            s.nodeName()));
+                    }
+                });
+            }
+            return;
+        }
+
+        List<LogicalPlan> joins = p.collectFirstChildren(Join.class::isInstance);
+        if (joins.isEmpty() || joins.get(0) == p) {
+            return;
+        }
+        Join join = (Join) joins.get(0);
+        if (p instanceof Filter) {
+            AttributeSet leftOutput = join.left().outputSet();
+            AttributeSet rightOutput = join.right().outputSet();
+            for (Expression condition : Predicates.splitAnd(((Filter) p).condition())) {
+                AttributeSet references = condition.references();
+                if (references.subsetOf(leftOutput) == false && references.subsetOf(rightOutput) == false) {
+                    localFailures.add(fail(condition, "Condition [{}] on the result of a JOIN needs to refer to the fields of a "
+                        + "single side", condition.sourceText()));
+                }
+            }
+        } else if (p instanceof Project) {
+            for (NamedExpression ne : ((Project) p).projections()) {
+                Expression e = ne instanceof Alias ? ((Alias) ne).child() : ne;
+                if (e instanceof Attribute == false) {
+                    localFailures.add(fail(ne, "Only fields can be selected from the result of a JOIN; found [{}]", ne.sourceText()));
+                }
+            }
+        } else if ((p instanceof Limit || p instanceof SubQueryAlias) == false) {
+            String name = p instanceof Aggregate ? "Aggregations"
+                : p instanceof OrderBy ? "ORDER BY"
+                : p instanceof Pivot ? "PIVOT"
+                : p.nodeName();
+            localFailures.add(fail(p, "[{}] is not supported on the result of a JOIN", name));
+        }
+    }
+
     private void checkNestedAggregation(LogicalPlan p, Set<Failure> localFailures, AttributeMap<Expression> attributeRefs) {
         if (p instanceof Aggregate) {
             ((Aggregate) p).child()
@@ -8,6 +8,7 @@ package org.elasticsearch.xpack.sql.execution;
 
 import org.elasticsearch.action.ActionListener;
 import org.elasticsearch.client.Client;
+import org.elasticsearch.common.breaker.CircuitBreaker;
 import org.elasticsearch.common.io.stream.NamedWriteableRegistry;
 import org.elasticsearch.search.builder.SearchSourceBuilder;
 import org.elasticsearch.xpack.ql.expression.function.FunctionRegistry;
@@ -37,6 +38,7 @@ import static org.elasticsearch.action.ActionListener.wrap;
 public class PlanExecutor {
     private final Client client;
     private final NamedWriteableRegistry writableRegistry;
+    private final CircuitBreaker circuitBreaker;
 
     private final FunctionRegistry functionRegistry;
 
@@ -48,9 +50,11 @@ public class PlanExecutor {
 
     private final Metrics metrics;
 
-    public PlanExecutor(Client client, IndexResolver indexResolver, NamedWriteableRegistry writeableRegistry) {
+    public PlanExecutor(Client client, IndexResolver indexResolver, NamedWriteableRegistry writeableRegistry,
+                        CircuitBreaker circuitBreaker) {
         this.client = client;
         this.writableRegistry = writeableRegistry;
+        this.circuitBreaker = circuitBreaker;
 
         this.indexResolver = indexResolver;
         this.functionRegistry = new SqlFunctionRegistry();
@@ -126,6 +130,10 @@ public class PlanExecutor {
         return writableRegistry;
     }
 
+    public CircuitBreaker circuitBreaker() {
+        return circuitBreaker;
+    }
+
     public Metrics metrics() {
         return this.metrics;
     }
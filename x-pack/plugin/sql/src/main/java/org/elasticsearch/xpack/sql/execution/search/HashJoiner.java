@@ -0,0 +1,380 @@
+/*
+ * Copyright Elasticsearch B.V. and/or licensed to Elasticsearch B.V. under one
+ * or more contributor license agreements. Licensed under the Elastic License
+ * 2.0; you may not use this file except in compliance with the Elastic License
+ * 2.0.
+ */
+package org.elasticsearch.xpack.sql.execution.search;
+
+import org.apache.lucene.util.RamUsageEstimator;
+import org.elasticsearch.action.ActionListener;
+import org.elasticsearch.action.search.SearchRequest;
+import org.elasticsearch.common.Strings;
+import org.elasticsearch.common.breaker.CircuitBreaker;
+import org.elasticsearch.search.builder.SearchSourceBuilder;
+import org.elasticsearch.tasks.TaskCancelledException;
+import org.elasticsearch.xpack.ql.expression.Alias;
+import org.elasticsearch.xpack.ql.expression.Attribute;
+import org.elasticsearch.xpack.ql.expression.Expression;
+import org.elasticsearch.xpack.ql.expression.FieldAttribute;
+import org.elasticsearch.xpack.ql.expression.NamedExpression;
+import org.elasticsearch.xpack.ql.planner.ExpressionTranslators;
+import org.elasticsearch.xpack.ql.querydsl.query.Query;
+import org.elasticsearch.xpack.ql.querydsl.query.TermsQuery;
+import org.elasticsearch.xpack.ql.type.DataType;
+import org.elasticsearch.xpack.sql.SqlIllegalArgumentException;
+import org.elasticsearch.xpack.sql.plan.logical.Join;
+import org.elasticsearch.xpack.sql.plan.physical.EsQueryExec;
+import org.elasticsearch.xpack.sql.plan.physical.HashJoinExec;
+import org.elasticsearch.xpack.sql.plan.physical.PhysicalPlan;
+import org.elasticsearch.xpack.sql.querydsl.container.QueryContainer;
+import org.elasticsearch.xpack.sql.session.Cursor;
+import org.elasticsearch.xpack.sql.session.Cursor.Page;
+import org.elasticsearch.xpack.sql.session.ListCursor;
+import org.elasticsearch.xpack.sql.session.RowSet;
+import org.elasticsearch.xpack.sql.session.RowView;
+import org.elasticsearch.xpack.sql.session.SqlConfiguration;
+import org.elasticsearch.xpack.sql.session.SqlSession;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Predicate;
+
+import static org.elasticsearch.action.ActionListener.wrap;
+
+/**
+ * Executes a {@link HashJoinExec}.
+ * The number of hits of each side is counted first; the rows of the smaller side (the build side) are then loaded in a hash table,
+ * keyed on the values of its join fields. Unless there are too many of them, the key values are added as a {@code terms} filter to the
+ * query of the other side (the probe side), so that only its rows that have a match are fetched. Its rows are then streamed through the
+ * hash table, page by page, until all of them have been joined or the limit is reached.
+ *
+ * The hash table and the joined rows are held in memory on the coordinating node and are accounted for in the circuit breaker of SQL.
+ * Like the sequences of EQL, they are charged to a breaker of the plugin rather than to the request breaker, which plugins cannot get
+ * hold of when their components are created. The table is keyed on the boxed values of the rows rather than on encoded keys in a
+ * {@code BytesRefHash}: the rows of the build side are kept as boxed values for the output anyway, and the keys, which can combine
+ * fields of any type, would have to be encoded and their values decoded again.
+ * The number of joined rows is bounded by the limit of the join, which the {@link org.elasticsearch.xpack.sql.analysis.analyzer.Verifier}
+ * requires. The hash table is released as soon as the probe side has been streamed through it, the joined rows once the listener has
+ * returned, by which time they have been copied in the response, the ones beyond the first page included, as they are encoded in its
+ * cursor.
+ *
+ * Both sides are paged through with scroll searches, which SQL uses for all the queries it pages through, rather than with a point in
+ * time and {@code search_after}. The scroll of a side is cleared as soon as it is no longer needed, also when the join fails.
+ */
+public class HashJoiner {
+
+    private static final String CB_LABEL = "sql_join";
+    // the maximum number of distinct values of a key field that are filtered on in the query of the probe side
+    static final int MAX_TERMS = 10_000;
+
+    private final SqlSession session;
+    private final SqlConfiguration cfg;
+    private final CircuitBreaker circuitBreaker;
+    private final HashJoinExec join;
+    private final int limit;
+    // whether the values of each key are compared as doubles, as an integral field is joined on a floating point one
+    private final boolean[] asDouble;
+
+    private final Map<List<Object>, List<Object[]>> table = new HashMap<>();
+    private final List<List<?>> rows = new ArrayList<>();
+    private long tableBytes = 0;
+    private long rowsBytes = 0;
+
+    public HashJoiner(SqlSession session, HashJoinExec join) {
+        this.session = session;
+        this.cfg = session.configuration();
+        this.circuitBreaker = session.planExecutor().circuitBreaker();
+        this.join = join;
+        this.limit = join.limit() < 0 ? Join.MAX_ROWS : Math.min(join.limit(), Join.MAX_ROWS);
+        this.asDouble = new boolean[join.leftKeys().size()];
+        for (int i = 0; i < asDouble.length; i++) {
+            DataType left = join.leftKeys().get(i).dataType();
+            DataType right = join.rightKeys().get(i).dataType();
+            asDouble[i] = left.isNumeric() && right.isNumeric() && (left.isRational() || right.isRational());
+        }
+    }
+
+    public void execute(ActionListener<Page> listener) {
+        ActionListener<Page> l = ActionListener.runAfter(listener, this::releaseMemory);
+        count(join.left(), wrap(leftCount -> count(join.right(), wrap(rightCount -> {
+            boolean buildLeft = leftCount <= rightCount;
+            PhysicalPlan build = buildLeft ? join.left() : join.right();
+            PhysicalPlan probe = buildLeft ? join.right() : join.left();
+            List<Attribute> buildKeys = buildLeft ? join.leftKeys() : join.rightKeys();
+            List<Attribute> probeKeys = buildLeft ? join.rightKeys() : join.leftKeys();
+
+            build(build, buildKeys, wrap(built -> {
+                // an inner join without any rows on the build side has no rows either
+                if (table.isEmpty()) {
+                    l.onResponse(ListCursor.of(join.schema(), rows, cfg.pageSize()));
+                    return;
+                }
+                probe(filter(probe, probeKeys), probeKeys, buildLeft, wrap(probed -> {
+                    releaseTable();
+                    l.onResponse(ListCursor.of(join.schema(), rows, cfg.pageSize()));
+                }, l::onFailure));
+            }, l::onFailure));
+        }, l::onFailure)), l::onFailure));
+    }
+
+    private void count(PhysicalPlan side, ActionListener<Long> listener) {
+        if (side instanceof EsQueryExec == false) {
+            // cannot be counted, prefer the other side
+            listener.onResponse(Long.MAX_VALUE);
+            return;
+        }
+        EsQueryExec exec = (EsQueryExec) side;
+        SearchSourceBuilder source = new SearchSourceBuilder()
+            .query(SourceGenerator.sourceBuilder(exec.queryContainer(), cfg.filter(), null).query())
+            .size(0)
+            .trackTotalHits(true);
+        if (cfg.runtimeMappings() != null) {
+            source.runtimeMappings(cfg.runtimeMappings());
+        }
+        SearchRequest request = Querier.prepareRequest(session.client(), source, cfg.pageTimeout(),
+            exec.queryContainer().shouldIncludeFrozen(), Strings.commaDelimitedListToStringArray(exec.index()));
+        session.client().search(request, wrap(r -> listener.onResponse(r.getHits().getTotalHits().value), listener::onFailure));
+    }
+
+    private void build(PhysicalPlan side, List<Attribute> keys, ActionListener<Void> listener) {
+        int[] keyColumns = columns(side.output(), keys);
+        consume(side, row -> {
+            List<Object> key = key(row, keyColumns);
+            // null never equals anything, so the row cannot be joined
+            if (key != null) {
+                Object[] values = values(row);
+                List<Object[]> matches = table.get(key);
+                if (matches == null) {
+                    tableBytes += addMemory(RamUsageEstimator.sizeOfObject(key) + RamUsageEstimator.sizeOfObject(values));
+                    matches = new ArrayList<>(1);
+                    table.put(key, matches);
+                } else {
+                    tableBytes += addMemory(RamUsageEstimator.sizeOfObject(values));
+                }
+                matches.add(values);
+            }
+            return true;
+        }, listener);
+    }
+
+    /**
+     * Filters the query of the probe side on the key values of the build side.
+     */
+    private PhysicalPlan filter(PhysicalPlan probe, List<Attribute> keys) {
+        if (probe instanceof EsQueryExec == false) {
+            return probe;
+        }
+        EsQueryExec exec = (EsQueryExec) probe;
+        QueryContainer container = exec.queryContainer();
+        Query query = container.query();
+        for (int i = 0; i < keys.size(); i++) {
+            Attribute key = keys.get(i);
+            if (key instanceof FieldAttribute == false) {
+                continue;
+            }
+            FieldAttribute field = (FieldAttribute) key;
+            if (field.isNested() || field.getExactInfo().hasExact() == false) {
+                continue;
+            }
+            // the values of a floating point field cannot be looked up in an integral one
+            if (asDouble[i] && field.dataType().isRational() == false) {
+                continue;
+            }
+            Set<Object> values = termValues(i);
+            if (values != null) {
+                query = ExpressionTranslators.and(join.source(), query,
+                    new TermsQuery(join.source(), field.exactAttribute().name(), values));
+            }
+        }
+        return query == container.query() ? exec : exec.with(container.with(query));
+    }
+
+    private Set<Object> termValues(int keyIndex) {
+        Set<Object> values = new LinkedHashSet<>();
+        for (List<Object> key : table.keySet()) {
+            Object value = key.get(keyIndex);
+            // other types (like dates) are formatted differently in the hits than in the queries
+            if ((value instanceof String || value instanceof Number || value instanceof Boolean) == false) {
+                return null;
+            }
+            values.add(value);
+            if (values.size() > MAX_TERMS) {
+                return null;
+            }
+        }
+        return values;
+    }
+
+    private void probe(PhysicalPlan side, List<Attribute> keys, boolean buildLeft, ActionListener<Void> listener) {
+        int[] keyColumns = columns(side.output(), keys);
+        List<? extends NamedExpression> projections = join.projections();
+        boolean[] fromLeft = new boolean[projections.size()];
+        int[] projectionColumns = new int[projections.size()];
+        for (int i = 0; i < projections.size(); i++) {
+            NamedExpression projection = projections.get(i);
+            Expression e = projection instanceof Alias ? ((Alias) projection).child() : projection;
+            if (e instanceof Attribute == false) {
+                throw new SqlIllegalArgumentException("Only fields can be selected from a JOIN; found [{}]", projection);
+            }
+            Attribute attr = (Attribute) e;
+            int column = indexOf(join.left().output(), attr);
+            fromLeft[i] = column >= 0;
+            projectionColumns[i] = fromLeft[i] ? column : indexOf(join.right().output(), attr);
+            if (projectionColumns[i] < 0) {
+                throw new SqlIllegalArgumentException("Cannot find [{}] in the joined rows", attr);
+            }
+        }
+
+        consume(side, row -> {
+            List<Object> key = key(row, keyColumns);
+            List<Object[]> matches = key != null ? table.get(key) : null;
+            if (matches != null) {
+                Object[] values = values(row);
+                for (Object[] match : matches) {
+                    Object[] left = buildLeft ? match : values;
+                    Object[] right = buildLeft ? values : match;
+                    List<Object> joined = new ArrayList<>(projectionColumns.length);
+                    for (int i = 0; i < projectionColumns.length; i++) {
+                        joined.add(fromLeft[i] ? left[projectionColumns[i]] : right[projectionColumns[i]]);
+                    }
+                    rowsBytes += addMemory(RamUsageEstimator.sizeOfObject(joined));
+                    rows.add(joined);
+                    if (rows.size() >= limit) {
+                        return false;
+                    }
+                }
+            }
+            return true;
+        }, listener);
+    }
+
+    /**
+     * Passes the rows of the given side to the consumer, page by page, until there are no more or the consumer returns false.
+     */
+    private void consume(PhysicalPlan side, Predicate<RowView> consumer, ActionListener<Void> listener) {
+        side.execute(session, wrap(page -> consume(page, consumer, listener), listener::onFailure));
+    }
+
+    private void consume(Page page, Predicate<RowView> consumer, ActionListener<Void> listener) {
+        Cursor next = page.next();
+        RowSet rowSet = page.rowSet();
+        boolean more = true;
+        try {
+            for (boolean hasRows = rowSet.hasCurrentRow(); more && hasRows; hasRows = rowSet.advanceRow()) {
+                more = consumer.test(rowSet);
+            }
+        } catch (Exception e) {
+            // e.g. the circuit breaker tripped
+            clearAndFail(next, e, listener);
+            return;
+        }
+
+        if (next == Cursor.EMPTY) {
+            listener.onResponse(null);
+        } else if (more == false) {
+            next.clear(cfg, session.client(), wrap(cleared -> listener.onResponse(null), listener::onFailure));
+        } else if (cfg.task() != null && cfg.task().isCancelled()) {
+            clearAndFail(next, new TaskCancelledException("cancelled"), listener);
+        } else {
+            next.nextPage(cfg, session.client(), session.planExecutor().writeableRegistry(),
+                wrap(p -> consume(p, consumer, listener), listener::onFailure));
+        }
+    }
+
+    /**
+     * Clears the search context of the remaining pages, instead of keeping it open until it expires, before failing.
+     */
+    private void clearAndFail(Cursor next, Exception e, ActionListener<Void> listener) {
+        if (next == Cursor.EMPTY) {
+            listener.onFailure(e);
+            return;
+        }
+        next.clear(cfg, session.client(), wrap(cleared -> listener.onFailure(e), clearFailure -> {
+            e.addSuppressed(clearFailure);
+            listener.onFailure(e);
+        }));
+    }
+
+    private static int[] columns(List<Attribute> output, List<Attribute> keys) {
+        int[] columns = new int[keys.size()];
+        for (int i = 0; i < columns.length; i++) {
+            columns[i] = indexOf(output, keys.get(i));
+            if (columns[i] < 0) {
+                throw new SqlIllegalArgumentException("Cannot find join field [{}] in {}", keys.get(i), output);
+            }
+        }
+        return columns;
+    }
+
+    private static int indexOf(List<Attribute> output, Attribute attr) {
+        for (int i = 0; i < output.size(); i++) {
+            if (output.get(i).semanticEquals(attr)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private List<Object> key(RowView row, int[] keyColumns) {
+        List<Object> key = new ArrayList<>(keyColumns.length);
+        for (int i = 0; i < keyColumns.length; i++) {
+            Object value = row.column(keyColumns[i]);
+            if (value == null) {
+                return null;
+            }
+            key.add(normalize(value, asDouble[i]));
+        }
+        return key;
+    }
+
+    /**
+     * Fields of different integral types, or of different floating point types, can be joined on. An integral field joined on a
+     * floating point one is compared as a double, like {@code =} does, so that {@code 1} matches {@code 1.0}.
+     */
+    static Object normalize(Object value, boolean asDouble) {
+        boolean integral = value instanceof Long || value instanceof Integer || value instanceof Short || value instanceof Byte;
+        boolean rational = value instanceof Double || value instanceof Float;
+        if (asDouble && (integral || rational)) {
+            double d = ((Number) value).doubleValue();
+            // -0.0 equals 0.0 but its boxed value does not
+            return d == 0 ? 0d : d;
+        }
+        if (integral) {
+            return ((Number) value).longValue();
+        }
+        if (rational) {
+            return ((Number) value).doubleValue();
+        }
+        return value;
+    }
+
+    private static Object[] values(RowView row) {
+        Object[] values = new Object[row.columnCount()];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = row.column(i);
+        }
+        return values;
+    }
+
+    private long addMemory(long bytes) {
+        circuitBreaker.addEstimateBytesAndMaybeBreak(bytes, CB_LABEL);
+        return bytes;
+    }
+
+    private void releaseTable() {
+        table.clear();
+        circuitBreaker.addWithoutBreaking(-tableBytes);
+        tableBytes = 0;
+    }
+
+    private void releaseMemory() {
+        releaseTable();
+        circuitBreaker.addWithoutBreaking(-rowsBytes);
+        rowsBytes = 0;
+    }
+}
@@ -21,16 +21,19 @@ abstract class ResultRowSet<E extends NamedWriteable> extends AbstractRowSet {
 
     private final List<E> extractors;
     private final BitSet mask;
+    // the index of the extractor of each user column
+    private final int[] userColumns;
 
     ResultRowSet(List<E> extractors, BitSet mask) {
         this.extractors = extractors;
         this.mask = mask;
         Check.isTrue(mask.length() <= extractors.size(), "Invalid number of extracted columns specified");
+        this.userColumns = mask.stream().toArray();
     }
 
     @Override
     public final int columnCount() {
-        return mask.cardinality();
+        return userColumns.length;
     }
 
     @Override
@@ -47,15 +50,10 @@ abstract class ResultRowSet<E extends NamedWriteable> extends AbstractRowSet {
     }
 
     E userExtractor(int column) {
-        int i = -1;
-        // find the nth set bit
-        for (i = mask.nextSetBit(0); i >= 0; i = mask.nextSetBit(i + 1)) {
-            if (column-- == 0) {
-                return extractors.get(i);
-            }
+        if (column < 0 || column >= userColumns.length) {
+            throw new SqlIllegalArgumentException("Cannot find column [{}]", column);
         }
-
-        throw new SqlIllegalArgumentException("Cannot find column [{}]", column);
+        return extractors.get(userColumns[column]);
     }
 
     Object resultColumn(int column) {
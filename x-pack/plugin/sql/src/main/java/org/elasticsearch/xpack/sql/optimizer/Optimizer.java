@@ -11,6 +11,7 @@ import org.elasticsearch.search.aggregations.metrics.PercentilesConfig;
 import org.elasticsearch.xpack.ql.expression.Alias;
 import org.elasticsearch.xpack.ql.expression.Attribute;
 import org.elasticsearch.xpack.ql.expression.AttributeMap;
+import org.elasticsearch.xpack.ql.expression.AttributeSet;
 import org.elasticsearch.xpack.ql.expression.Expression;
 import org.elasticsearch.xpack.ql.expression.ExpressionSet;
 import org.elasticsearch.xpack.ql.expression.Expressions;
@@ -25,6 +26,7 @@ import org.elasticsearch.xpack.ql.expression.function.Function;
 import org.elasticsearch.xpack.ql.expression.function.aggregate.AggregateFunction;
 import org.elasticsearch.xpack.ql.expression.function.aggregate.Count;
 import org.elasticsearch.xpack.ql.expression.function.aggregate.InnerAggregate;
+import org.elasticsearch.xpack.ql.expression.predicate.Predicates;
 import org.elasticsearch.xpack.ql.expression.predicate.nulls.IsNotNull;
 import org.elasticsearch.xpack.ql.expression.predicate.nulls.IsNull;
 import org.elasticsearch.xpack.ql.expression.predicate.operator.comparison.Equals;
@@ -83,6 +85,7 @@ import org.elasticsearch.xpack.sql.expression.predicate.conditional.Iif;
 import org.elasticsearch.xpack.sql.expression.predicate.conditional.NullIf;
 import org.elasticsearch.xpack.sql.expression.predicate.operator.arithmetic.Mul;
 import org.elasticsearch.xpack.sql.expression.predicate.operator.comparison.In;
+import org.elasticsearch.xpack.sql.plan.logical.Join;
 import org.elasticsearch.xpack.sql.plan.logical.LocalRelation;
 import org.elasticsearch.xpack.sql.plan.logical.Pivot;
 import org.elasticsearch.xpack.sql.plan.logical.SubQueryAlias;
@@ -162,7 +165,8 @@ public class Optimizer extends RuleExecutor<LogicalPlan> {
                 // order by alignment of the aggs
                 new SortAggregateOnOrderBy(),
                 // ReplaceAggregationsInLocalRelations, ConstantFolding and PruneFilters must all be applied before this:
-                new PushDownAndCombineFilters()
+                new PushDownAndCombineFilters(),
+                new PushDownFiltersThroughJoin()
         );
 
         Batch aggregate = new Batch("Aggregation Rewrite",
@@ -1156,6 +1160,44 @@ public class Optimizer extends RuleExecutor<LogicalPlan> {
         }
     }
 
+    //
+    // Moves the conditions that refer to a single side of an (inner) join underneath it, so that they filter the query of that side
+    // instead of the joined rows.
+    //
+    static class PushDownFiltersThroughJoin extends OptimizerRule<Filter> {
+
+        @Override
+        protected LogicalPlan rule(Filter filter) {
+            if (filter.child() instanceof Join == false) {
+                return filter;
+            }
+            Join join = (Join) filter.child();
+            AttributeSet leftOutput = join.left().outputSet();
+            AttributeSet rightOutput = join.right().outputSet();
+            List<Expression> left = new ArrayList<>();
+            List<Expression> right = new ArrayList<>();
+            List<Expression> inPlace = new ArrayList<>();
+            for (Expression condition : Predicates.splitAnd(filter.condition())) {
+                AttributeSet references = condition.references();
+                if (references.subsetOf(leftOutput)) {
+                    left.add(condition);
+                } else if (references.subsetOf(rightOutput)) {
+                    right.add(condition);
+                } else {
+                    inPlace.add(condition);
+                }
+            }
+            if (left.isEmpty() && right.isEmpty()) {
+                return filter;
+            }
+            LogicalPlan newLeft = left.isEmpty() ? join.left() : new Filter(filter.source(), join.left(), Predicates.combineAnd(left));
+            LogicalPlan newRight = right.isEmpty() ? join.right()
+                : new Filter(filter.source(), join.right(), Predicates.combineAnd(right));
+            LogicalPlan newJoin = join.replaceChildren(Arrays.asList(newLeft, newRight));
+            return inPlace.isEmpty() ? newJoin : filter.with(newJoin, Predicates.combineAnd(inPlace));
+        }
+    }
+
     static class PruneFilters extends org.elasticsearch.xpack.ql.optimizer.OptimizerRules.PruneFilters {
 
         @Override
@@ -33,6 +33,7 @@ import org.elasticsearch.xpack.sql.parser.SqlBaseParser.GroupByContext;
 import org.elasticsearch.xpack.sql.parser.SqlBaseParser.GroupingElementContext;
 import org.elasticsearch.xpack.sql.parser.SqlBaseParser.JoinCriteriaContext;
 import org.elasticsearch.xpack.sql.parser.SqlBaseParser.JoinRelationContext;
+import org.elasticsearch.xpack.sql.parser.SqlBaseParser.JoinTypeContext;
 import org.elasticsearch.xpack.sql.parser.SqlBaseParser.LimitClauseContext;
 import org.elasticsearch.xpack.sql.parser.SqlBaseParser.NamedQueryContext;
 import org.elasticsearch.xpack.sql.parser.SqlBaseParser.NamedValueExpressionContext;
@@ -228,23 +229,21 @@ abstract class LogicalPlanBuilder extends ExpressionBuilder {
 
         LogicalPlan result = plan(ctx.relationPrimary());
         for (JoinRelationContext j : ctx.joinRelation()) {
-            result = doJoin(j);
+            result = doJoin(result, j);
         }
 
         return result;
     }
 
-    private Join doJoin(JoinRelationContext ctx) {
-
+    private Join doJoin(LogicalPlan left, JoinRelationContext ctx) {
+        JoinTypeContext type = ctx.joinType();
         JoinCriteriaContext criteria = ctx.joinCriteria();
-        if (criteria != null) {
-            if (criteria.USING() != null) {
-                throw new UnsupportedOperationException();
-            }
+        // only equi-joins are executed, for which the ON condition is required
+        if (ctx.NATURAL() != null || type.LEFT() != null || type.RIGHT() != null || type.FULL() != null
+            || criteria == null || criteria.USING() != null) {
+            throw new ParsingException(source(ctx), "Only [INNER] JOIN with an ON condition is supported");
         }
-        // We would return this if we actually supported JOINs, but we don't yet.
-        // new Join(source(ctx), left, plan(ctx.right), type, condition);
-        throw new ParsingException(source(ctx), "Queries with JOIN are not yet supported");
+        return new Join(source(ctx), left, plan(ctx.right), Join.JoinType.INNER, expression(criteria.booleanExpression()));
     }
 
     @Override
@@ -6,15 +6,21 @@
  */
 package org.elasticsearch.xpack.sql.plan.logical;
 
+import org.elasticsearch.core.Tuple;
 import org.elasticsearch.xpack.ql.expression.Attribute;
+import org.elasticsearch.xpack.ql.expression.AttributeSet;
 import org.elasticsearch.xpack.ql.expression.Expression;
+import org.elasticsearch.xpack.ql.expression.FieldAttribute;
 import org.elasticsearch.xpack.ql.expression.Nullability;
+import org.elasticsearch.xpack.ql.expression.predicate.Predicates;
+import org.elasticsearch.xpack.ql.expression.predicate.operator.comparison.Equals;
 import org.elasticsearch.xpack.ql.plan.logical.BinaryPlan;
 import org.elasticsearch.xpack.ql.plan.logical.LogicalPlan;
 import org.elasticsearch.xpack.ql.tree.NodeInfo;
 import org.elasticsearch.xpack.ql.tree.Source;
 import org.elasticsearch.xpack.ql.type.DataTypes;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Objects;
 
@@ -23,6 +29,9 @@ import static org.elasticsearch.xpack.ql.util.CollectionUtils.combine;
 
 public class Join extends BinaryPlan {
 
+    // the maximum number of rows of a join, which are all held in memory before being returned
+    public static final int MAX_ROWS = 10_000;
+
     private final JoinType type;
     private final Expression condition;
 
@@ -58,6 +67,38 @@ public class Join extends BinaryPlan {
         return condition;
     }
 
+    /**
+     * @return the pairs of a field of the left side and a field of the right side that the condition requires to be equal or
+     * {@code null} if the condition is not a conjunction of such equalities
+     */
+    public List<Tuple<FieldAttribute, FieldAttribute>> keys() {
+        if (condition == null) {
+            return null;
+        }
+        AttributeSet leftOutput = left().outputSet();
+        AttributeSet rightOutput = right().outputSet();
+        List<Tuple<FieldAttribute, FieldAttribute>> keys = new ArrayList<>();
+        for (Expression exp : Predicates.splitAnd(condition)) {
+            if (exp instanceof Equals == false) {
+                return null;
+            }
+            Equals equals = (Equals) exp;
+            if (equals.left() instanceof FieldAttribute == false || equals.right() instanceof FieldAttribute == false) {
+                return null;
+            }
+            FieldAttribute l = (FieldAttribute) equals.left();
+            FieldAttribute r = (FieldAttribute) equals.right();
+            if (leftOutput.contains(l) && rightOutput.contains(r)) {
+                keys.add(new Tuple<>(l, r));
+            } else if (leftOutput.contains(r) && rightOutput.contains(l)) {
+                keys.add(new Tuple<>(r, l));
+            } else {
+                return null;
+            }
+        }
+        return keys;
+    }
+
     @Override
     public List<Attribute> output() {
         switch (type) {
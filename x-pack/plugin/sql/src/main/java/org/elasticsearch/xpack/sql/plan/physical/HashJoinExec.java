@@ -0,0 +1,105 @@
+/*
+ * Copyright Elasticsearch B.V. and/or licensed to Elasticsearch B.V. under one
+ * or more contributor license agreements. Licensed under the Elastic License
+ * 2.0; you may not use this file except in compliance with the Elastic License
+ * 2.0.
+ */
+package org.elasticsearch.xpack.sql.plan.physical;
+
+import org.elasticsearch.action.ActionListener;
+import org.elasticsearch.xpack.ql.expression.Attribute;
+import org.elasticsearch.xpack.ql.expression.Expressions;
+import org.elasticsearch.xpack.ql.expression.NamedExpression;
+import org.elasticsearch.xpack.ql.tree.NodeInfo;
+import org.elasticsearch.xpack.ql.tree.Source;
+import org.elasticsearch.xpack.sql.execution.search.HashJoiner;
+import org.elasticsearch.xpack.sql.session.Cursor.Page;
+import org.elasticsearch.xpack.sql.session.SqlSession;
+
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Inner equi-join of the results of two queries, executed by loading the rows of the smaller side in a hash table, keyed on the
+ * join fields, and streaming the rows of the other side through it.
+ */
+public class HashJoinExec extends BinaryExec {
+
+    private final List<Attribute> leftKeys;
+    private final List<Attribute> rightKeys;
+    private final List<? extends NamedExpression> projections;
+    // -1 for no limit
+    private final int limit;
+
+    public HashJoinExec(Source source, PhysicalPlan left, PhysicalPlan right, List<Attribute> leftKeys, List<Attribute> rightKeys,
+                        List<? extends NamedExpression> projections, int limit) {
+        super(source, left, right);
+        this.leftKeys = leftKeys;
+        this.rightKeys = rightKeys;
+        this.projections = projections;
+        this.limit = limit;
+    }
+
+    @Override
+    protected NodeInfo<HashJoinExec> info() {
+        return NodeInfo.create(this, HashJoinExec::new, left(), right(), leftKeys, rightKeys, projections, limit);
+    }
+
+    @Override
+    protected HashJoinExec replaceChildren(PhysicalPlan newLeft, PhysicalPlan newRight) {
+        return new HashJoinExec(source(), newLeft, newRight, leftKeys, rightKeys, projections, limit);
+    }
+
+    public HashJoinExec withLimit(int limit) {
+        return new HashJoinExec(source(), left(), right(), leftKeys, rightKeys, projections, limit);
+    }
+
+    public List<Attribute> leftKeys() {
+        return leftKeys;
+    }
+
+    public List<Attribute> rightKeys() {
+        return rightKeys;
+    }
+
+    public List<? extends NamedExpression> projections() {
+        return projections;
+    }
+
+    public int limit() {
+        return limit;
+    }
+
+    @Override
+    public List<Attribute> output() {
+        return Expressions.asAttributes(projections);
+    }
+
+    @Override
+    public void execute(SqlSession session, ActionListener<Page> listener) {
+        new HashJoiner(session, this).execute(listener);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(leftKeys, rightKeys, projections, limit, left(), right());
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (obj == null || getClass() != obj.getClass()) {
+            return false;
+        }
+
+        HashJoinExec other = (HashJoinExec) obj;
+        return Objects.equals(leftKeys, other.leftKeys)
+                && Objects.equals(rightKeys, other.rightKeys)
+                && Objects.equals(projections, other.projections)
+                && limit == other.limit
+                && Objects.equals(left(), other.left())
+                && Objects.equals(right(), other.right());
+    }
+}
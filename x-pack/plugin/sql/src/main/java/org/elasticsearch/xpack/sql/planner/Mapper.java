@@ -6,7 +6,9 @@
  */
 package org.elasticsearch.xpack.sql.planner;
 
+import org.elasticsearch.core.Tuple;
 import org.elasticsearch.xpack.ql.expression.Attribute;
+import org.elasticsearch.xpack.ql.expression.FieldAttribute;
 import org.elasticsearch.xpack.ql.plan.logical.Aggregate;
 import org.elasticsearch.xpack.ql.plan.logical.EsRelation;
 import org.elasticsearch.xpack.ql.plan.logical.Filter;
@@ -26,6 +28,7 @@ import org.elasticsearch.xpack.sql.plan.physical.AggregateExec;
 import org.elasticsearch.xpack.sql.plan.physical.CommandExec;
 import org.elasticsearch.xpack.sql.plan.physical.EsQueryExec;
 import org.elasticsearch.xpack.sql.plan.physical.FilterExec;
+import org.elasticsearch.xpack.sql.plan.physical.HashJoinExec;
 import org.elasticsearch.xpack.sql.plan.physical.LimitExec;
 import org.elasticsearch.xpack.sql.plan.physical.LocalExec;
 import org.elasticsearch.xpack.sql.plan.physical.OrderExec;
@@ -35,6 +38,7 @@ import org.elasticsearch.xpack.sql.plan.physical.ProjectExec;
 import org.elasticsearch.xpack.sql.plan.physical.UnplannedExec;
 import org.elasticsearch.xpack.sql.querydsl.container.QueryContainer;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 
@@ -127,13 +131,19 @@ class Mapper extends RuleExecutor<PhysicalPlan> {
         }
 
         private PhysicalPlan join(Join join) {
-            //TODO: pick up on nested/parent-child docs
-            // 2. Hash?
-            // 3. Cartesian
-            // 3. Fallback to nested loop
-
-
-            throw new UnsupportedOperationException("Don't know how to handle join " + join.nodeString());
+            // the verifier only lets through inner joins on equalities between the fields of each side
+            List<Tuple<FieldAttribute, FieldAttribute>> keys = join.keys();
+            if (join.type() != Join.JoinType.INNER || keys == null) {
+                throw new UnsupportedOperationException("Don't know how to handle join " + join.nodeString());
+            }
+            List<Attribute> leftKeys = new ArrayList<>(keys.size());
+            List<Attribute> rightKeys = new ArrayList<>(keys.size());
+            for (Tuple<FieldAttribute, FieldAttribute> key : keys) {
+                leftKeys.add(key.v1());
+                rightKeys.add(key.v2());
+            }
+            return new HashJoinExec(join.source(), planLater(join.left()), planLater(join.right()), leftKeys, rightKeys,
+                join.output(), -1);
         }
     }
 
@@ -12,6 +12,7 @@ import org.elasticsearch.xpack.ql.execution.search.FieldExtraction;
 import org.elasticsearch.xpack.ql.expression.Alias;
 import org.elasticsearch.xpack.ql.expression.Attribute;
 import org.elasticsearch.xpack.ql.expression.AttributeMap;
+import org.elasticsearch.xpack.ql.expression.AttributeSet;
 import org.elasticsearch.xpack.ql.expression.Expression;
 import org.elasticsearch.xpack.ql.expression.Expressions;
 import org.elasticsearch.xpack.ql.expression.FieldAttribute;
@@ -54,6 +55,7 @@ import org.elasticsearch.xpack.sql.plan.logical.Pivot;
 import org.elasticsearch.xpack.sql.plan.physical.AggregateExec;
 import org.elasticsearch.xpack.sql.plan.physical.EsQueryExec;
 import org.elasticsearch.xpack.sql.plan.physical.FilterExec;
+import org.elasticsearch.xpack.sql.plan.physical.HashJoinExec;
 import org.elasticsearch.xpack.sql.plan.physical.LimitExec;
 import org.elasticsearch.xpack.sql.plan.physical.LocalExec;
 import org.elasticsearch.xpack.sql.plan.physical.OrderExec;
@@ -121,7 +123,9 @@ class QueryFolder extends RuleExecutor<PhysicalPlan> {
                 new FoldProject(),
                 new FoldFilter(),
                 new FoldOrderBy(),
-                new FoldLimit()
+                new FoldLimit(),
+                new FoldProjectIntoJoin(),
+                new FoldLimitIntoJoin()
                 );
 
         Batch local = new Batch("Local queries",
@@ -779,6 +783,47 @@ class QueryFolder extends RuleExecutor<PhysicalPlan> {
         }
     }
 
+    private static class FoldProjectIntoJoin extends FoldingRule<ProjectExec> {
+
+        @Override
+        protected PhysicalPlan rule(ProjectExec project) {
+            if (project.child() instanceof HashJoinExec) {
+                HashJoinExec join = (HashJoinExec) project.child();
+                // fetch only the fields that are joined on or selected
+                AttributeSet needed = Expressions.references(project.projections())
+                    .combine(new AttributeSet(join.leftKeys()))
+                    .combine(new AttributeSet(join.rightKeys()));
+                return new HashJoinExec(join.source(), narrow(join.left(), needed), narrow(join.right(), needed), join.leftKeys(),
+                    join.rightKeys(), project.projections(), join.limit());
+            }
+            return project;
+        }
+
+        private static PhysicalPlan narrow(PhysicalPlan side, AttributeSet needed) {
+            List<Attribute> output = new ArrayList<>();
+            for (Attribute attr : side.output()) {
+                if (needed.contains(attr)) {
+                    output.add(attr);
+                }
+            }
+            return output.size() == side.output().size() ? side : new ProjectExec(side.source(), side, output);
+        }
+    }
+
+    private static class FoldLimitIntoJoin extends FoldingRule<LimitExec> {
+
+        @Override
+        protected PhysicalPlan rule(LimitExec plan) {
+            if (plan.child() instanceof HashJoinExec) {
+                HashJoinExec join = (HashJoinExec) plan.child();
+                int limit = (Integer) SqlDataTypeConverter.convert(Foldables.valueOf(plan.limit()), DataTypes.INTEGER);
+                int newLimit = join.limit() < 0 ? limit : Math.min(join.limit(), limit);
+                return join.withLimit(newLimit);
+            }
+            return plan;
+        }
+    }
+
     private static class PlanOutputToQueryRef extends FoldingRule<EsQueryExec> {
         @Override
         protected PhysicalPlan rule(EsQueryExec exec) {
@@ -853,6 +898,14 @@ class QueryFolder extends RuleExecutor<PhysicalPlan> {
 
         @Override
         protected PhysicalPlan rule(PhysicalPlan plan) {
+            // an inner join with no rows on either side has no rows either
+            if (plan instanceof HashJoinExec) {
+                for (PhysicalPlan side : plan.children()) {
+                    if (side instanceof LocalExec && ((LocalExec) side).isEmpty()) {
+                        return new LocalExec(plan.source(), new EmptyExecutable(plan.output()));
+                    }
+                }
+            }
             if (plan.children().size() == 1) {
                 PhysicalPlan p = plan.children().get(0);
                 if (p instanceof LocalExec) {
@@ -6,12 +6,14 @@
  */
 package org.elasticsearch.xpack.sql.plugin;
 
+import org.apache.lucene.util.SetOnce;
 import org.elasticsearch.action.ActionRequest;
 import org.elasticsearch.action.ActionResponse;
 import org.elasticsearch.client.Client;
 import org.elasticsearch.cluster.metadata.IndexNameExpressionResolver;
 import org.elasticsearch.cluster.node.DiscoveryNodes;
 import org.elasticsearch.cluster.service.ClusterService;
+import org.elasticsearch.common.breaker.CircuitBreaker;
 import org.elasticsearch.common.io.stream.NamedWriteableRegistry;
 import org.elasticsearch.common.settings.ClusterSettings;
 import org.elasticsearch.common.settings.IndexScopedSettings;
@@ -20,11 +22,14 @@ import org.elasticsearch.common.settings.SettingsFilter;
 import org.elasticsearch.xcontent.NamedXContentRegistry;
 import org.elasticsearch.env.Environment;
 import org.elasticsearch.env.NodeEnvironment;
+import org.elasticsearch.indices.breaker.BreakerSettings;
 import org.elasticsearch.license.License;
 import org.elasticsearch.license.LicenseUtils;
 import org.elasticsearch.license.LicensedFeature;
 import org.elasticsearch.license.XPackLicenseState;
+import org.elasticsearch.monitor.jvm.JvmInfo;
 import org.elasticsearch.plugins.ActionPlugin;
+import org.elasticsearch.plugins.CircuitBreakerPlugin;
 import org.elasticsearch.plugins.Plugin;
 import org.elasticsearch.repositories.RepositoriesService;
 import org.elasticsearch.rest.RestController;
@@ -49,7 +54,12 @@ import java.util.Collection;
 import java.util.List;
 import java.util.function.Supplier;
 
-public class SqlPlugin extends Plugin implements ActionPlugin {
+public class SqlPlugin extends Plugin implements ActionPlugin, CircuitBreakerPlugin {
+
+    private static final String CIRCUIT_BREAKER_NAME = "sql_join";
+    private static final long CIRCUIT_BREAKER_LIMIT = (long)((0.50) * JvmInfo.jvmInfo().getMem().getHeapMax().getBytes());
+    private static final double CIRCUIT_BREAKER_OVERHEAD = 1.0D;
+    private final SetOnce<CircuitBreaker> circuitBreaker = new SetOnce<>();
 
     private final LicensedFeature.Momentary JDBC_FEATURE = LicensedFeature.momentary("sql", "jdbc", License.OperationMode.PLATINUM);
     private final LicensedFeature.Momentary ODBC_FEATURE = LicensedFeature.momentary("sql", "odbc", License.OperationMode.PLATINUM);
@@ -99,7 +109,8 @@ public class SqlPlugin extends Plugin implements ActionPlugin {
      */
     Collection<Object> createComponents(Client client, String clusterName, NamedWriteableRegistry namedWriteableRegistry) {
         IndexResolver indexResolver = new IndexResolver(client, clusterName, SqlDataTypeRegistry.INSTANCE);
-        return Arrays.asList(sqlLicenseChecker, indexResolver, new PlanExecutor(client, indexResolver, namedWriteableRegistry));
+        return Arrays.asList(sqlLicenseChecker, indexResolver, new PlanExecutor(client, indexResolver, namedWriteableRegistry,
+            circuitBreaker.get()));
     }
 
     @Override
@@ -131,4 +142,23 @@ public class SqlPlugin extends Plugin implements ActionPlugin {
                 usageAction,
                 infoAction);
     }
+
+    @Override
+    public BreakerSettings getCircuitBreaker(Settings settings) {
+        return BreakerSettings.updateFromSettings(
+                new BreakerSettings(
+                        CIRCUIT_BREAKER_NAME,
+                        CIRCUIT_BREAKER_LIMIT,
+                        CIRCUIT_BREAKER_OVERHEAD,
+                        CircuitBreaker.Type.MEMORY,
+                        CircuitBreaker.Durability.TRANSIENT
+                ),
+                settings);
+    }
+
+    @Override
+    public void setCircuitBreaker(CircuitBreaker circuitBreaker) {
+        assert circuitBreaker.getName().equals(CIRCUIT_BREAKER_NAME);
+        this.circuitBreaker.set(circuitBreaker);
+    }
 }
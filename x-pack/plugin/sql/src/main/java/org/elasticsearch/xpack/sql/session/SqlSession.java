@@ -7,6 +7,7 @@
 package org.elasticsearch.xpack.sql.session;
 
 import org.elasticsearch.action.ActionListener;
+import org.elasticsearch.action.support.GroupedActionListener;
 import org.elasticsearch.client.Client;
 import org.elasticsearch.client.ParentTaskAssigningClient;
 import org.elasticsearch.common.Strings;
@@ -31,9 +32,13 @@ import org.elasticsearch.xpack.sql.planner.Planner;
 import org.elasticsearch.xpack.sql.proto.SqlTypedParamValue;
 import org.elasticsearch.xpack.sql.session.Cursor.Page;
 
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.function.Function;
 
+import static java.util.Collections.singletonList;
 import static org.elasticsearch.action.ActionListener.wrap;
 
 public class SqlSession implements Session {
@@ -126,34 +131,40 @@ public class SqlSession implements Session {
         }, listener);
     }
 
-    private <T> void preAnalyze(LogicalPlan parsed, Function<IndexResolution, T> action, ActionListener<T> listener) {
+    private <T> void preAnalyze(LogicalPlan parsed, Function<List<IndexResolution>, T> action, ActionListener<T> listener) {
         if (configuration.task() != null && configuration.task().isCancelled()) {
             listener.onFailure(new TaskCancelledException("cancelled"));
             return;
         }
 
         PreAnalysis preAnalysis = preAnalyzer.preAnalyze(parsed);
-        // TODO we plan to support joins in the future when possible, but for now we'll just fail early if we see one
-        if (preAnalysis.indices.size() > 1) {
-            // Note: JOINs are not supported but we detect them when
-            listener.onFailure(new MappingException("Queries with multiple indices are not supported"));
-        } else if (preAnalysis.indices.size() == 1) {
-            TableInfo tableInfo = preAnalysis.indices.get(0);
-            TableIdentifier table = tableInfo.id();
-
-            String cluster = table.cluster();
-
-            if (Strings.hasText(cluster) && indexResolver.clusterName().equals(cluster) == false) {
-                listener.onFailure(new MappingException("Cannot inspect indices in cluster/catalog [{}]", cluster));
+        if (preAnalysis.indices.isEmpty() == false) {
+            // more than one index is used only by joins; the same index joined with itself is resolved once
+            Map<String, TableInfo> tables = new LinkedHashMap<>();
+            for (TableInfo tableInfo : preAnalysis.indices) {
+                TableIdentifier table = tableInfo.id();
+                String cluster = table.cluster();
+
+                if (Strings.hasText(cluster) && indexResolver.clusterName().equals(cluster) == false) {
+                    listener.onFailure(new MappingException("Cannot inspect indices in cluster/catalog [{}]", cluster));
+                    return;
+                }
+                tables.merge(table.index(), tableInfo, (existing, other) -> existing.isFrozen() ? existing : other);
             }
 
-            boolean includeFrozen = configuration.includeFrozen() || tableInfo.isFrozen();
-            indexResolver.resolveAsMergedMapping(table.index(), null, includeFrozen, configuration.runtimeMappings(),
-                    wrap(indexResult -> listener.onResponse(action.apply(indexResult)), listener::onFailure));
+            GroupedActionListener<IndexResolution> resolutions = new GroupedActionListener<>(
+                wrap(results -> listener.onResponse(action.apply(new ArrayList<>(results))), listener::onFailure),
+                tables.size()
+            );
+            for (TableInfo tableInfo : tables.values()) {
+                boolean includeFrozen = configuration.includeFrozen() || tableInfo.isFrozen();
+                indexResolver.resolveAsMergedMapping(tableInfo.id().index(), null, includeFrozen, configuration.runtimeMappings(),
+                        resolutions);
+            }
         } else {
             try {
                 // occurs when dealing with local relations (SELECT 5+2)
-                listener.onResponse(action.apply(IndexResolution.invalid("[none specified]")));
+                listener.onResponse(action.apply(singletonList(IndexResolution.invalid("[none specified]"))));
             } catch (Exception ex) {
                 listener.onFailure(ex);
             }
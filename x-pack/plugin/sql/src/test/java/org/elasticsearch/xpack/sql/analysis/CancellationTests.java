@@ -17,6 +17,7 @@ import org.elasticsearch.client.Client;
 import org.elasticsearch.cluster.ClusterName;
 import org.elasticsearch.cluster.node.DiscoveryNode;
 import org.elasticsearch.cluster.service.ClusterService;
+import org.elasticsearch.common.breaker.NoopCircuitBreaker;
 import org.elasticsearch.common.io.stream.NamedWriteableRegistry;
 import org.elasticsearch.tasks.TaskCancelHelper;
 import org.elasticsearch.tasks.TaskCancelledException;
@@ -63,7 +64,8 @@ public class CancellationTests extends ESTestCase {
         ClusterService mockClusterService = mockClusterService();
 
         IndexResolver indexResolver = indexResolver(client);
-        PlanExecutor planExecutor = new PlanExecutor(client, indexResolver, new NamedWriteableRegistry(Collections.emptyList()));
+        PlanExecutor planExecutor = new PlanExecutor(client, indexResolver, new NamedWriteableRegistry(Collections.emptyList()),
+            new NoopCircuitBreaker("test"));
         CountDownLatch countDownLatch = new CountDownLatch(1);
         SqlQueryRequest request = new SqlQueryRequestBuilder(client, SqlQueryAction.INSTANCE).query("SELECT foo FROM bar").request();
         TransportSqlQueryAction.operation(planExecutor, task, request, new ActionListener<>() {
@@ -120,7 +122,8 @@ public class CancellationTests extends ESTestCase {
 
 
         IndexResolver indexResolver = indexResolver(client);
-        PlanExecutor planExecutor = new PlanExecutor(client, indexResolver, new NamedWriteableRegistry(Collections.emptyList()));
+        PlanExecutor planExecutor = new PlanExecutor(client, indexResolver, new NamedWriteableRegistry(Collections.emptyList()),
+            new NoopCircuitBreaker("test"));
         CountDownLatch countDownLatch = new CountDownLatch(1);
         SqlQueryRequest request = new SqlQueryRequestBuilder(client, SqlQueryAction.INSTANCE)
             .query("SELECT foo FROM " + indices[0]).request();
@@ -181,7 +184,8 @@ public class CancellationTests extends ESTestCase {
         }).when(client).execute(any(), searchRequestCaptor.capture(), any());
 
         IndexResolver indexResolver = indexResolver(client);
-        PlanExecutor planExecutor = new PlanExecutor(client, indexResolver, new NamedWriteableRegistry(Collections.emptyList()));
+        PlanExecutor planExecutor = new PlanExecutor(client, indexResolver, new NamedWriteableRegistry(Collections.emptyList()),
+            new NoopCircuitBreaker("test"));
         SqlQueryRequest request = new SqlQueryRequestBuilder(client, SqlQueryAction.INSTANCE)
             .query("SELECT foo FROM " + indices[0]).request();
         CountDownLatch countDownLatch = new CountDownLatch(1);
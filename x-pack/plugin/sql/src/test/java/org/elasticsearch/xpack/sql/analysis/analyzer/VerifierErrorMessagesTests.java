@@ -53,7 +53,11 @@ public class VerifierErrorMessagesTests extends ESTestCase {
     }
 
     private String error(IndexResolution getIndexResult, String sql) {
-        Analyzer analyzer = new Analyzer(TEST_CFG, new SqlFunctionRegistry(), getIndexResult, new Verifier(new Metrics()));
+        return error(List.of(getIndexResult), sql);
+    }
+
+    private String error(List<IndexResolution> getIndexResults, String sql) {
+        Analyzer analyzer = new Analyzer(TEST_CFG, new SqlFunctionRegistry(), getIndexResults, new Verifier(new Metrics()));
         VerificationException e = expectThrows(VerificationException.class, () -> analyzer.analyze(parser.createStatement(sql), true));
         String message = e.getMessage();
         assertTrue(message.startsWith("Found "));
@@ -73,7 +77,11 @@ public class VerifierErrorMessagesTests extends ESTestCase {
     }
 
     private LogicalPlan accept(IndexResolution resolution, String sql) {
-        Analyzer analyzer = new Analyzer(TEST_CFG, new SqlFunctionRegistry(), resolution, new Verifier(new Metrics()));
+        return accept(List.of(resolution), sql);
+    }
+
+    private LogicalPlan accept(List<IndexResolution> resolutions, String sql) {
+        Analyzer analyzer = new Analyzer(TEST_CFG, new SqlFunctionRegistry(), resolutions, new Verifier(new Metrics()));
         return analyzer.analyze(parser.createStatement(sql), true);
     }
 
@@ -1375,6 +1383,31 @@ public class VerifierErrorMessagesTests extends ESTestCase {
         checkMsg.accept("SELECT a.i, COUNT(a.c) FROM (SELECT int i, COUNT(int) c FROM test GROUP BY int) a GROUP BY c");
     }
 
+    private List<IndexResolution> joinIndices() {
+        return List.of(indexResolution, IndexResolution.valid(new EsIndex("other", getTestEsIndex().mapping())));
+    }
+
+    private String joinError(String sql) {
+        return error(joinIndices(), sql);
+    }
+
+    public void testJoinWithoutLimit() {
+        assertEquals("1:39: A JOIN needs a LIMIT of at most [10000]",
+            joinError("SELECT test.int, other.bool FROM test JOIN other ON test.keyword = other.keyword"));
+        assertEquals("1:39: A JOIN needs a LIMIT of at most [10000]",
+            joinError("SELECT test.int, other.bool FROM test JOIN other ON test.keyword = other.keyword WHERE other.int > 1"));
+    }
+
+    public void testJoinWithTooLargeLimit() {
+        assertEquals("1:88: LIMIT of a JOIN needs to be at most [10000]; found [10001]",
+            joinError("SELECT test.int, other.bool FROM test JOIN other ON test.keyword = other.keyword LIMIT 10001"));
+    }
+
+    public void testJoinWithLimit() {
+        accept(joinIndices(), "SELECT test.int, other.bool FROM test JOIN other ON test.keyword = other.keyword LIMIT 10000");
+        accept(joinIndices(), "SELECT TOP 5 test.int, other.bool FROM test JOIN other ON test.keyword = other.keyword");
+    }
+
     private String randomTopHitsFunction() {
         return randomFrom(Arrays.asList(First.class, Last.class)).getSimpleName().toUpperCase(Locale.ROOT);
     }
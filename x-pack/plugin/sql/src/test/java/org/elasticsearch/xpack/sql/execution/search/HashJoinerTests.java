@@ -0,0 +1,310 @@
+/*
+ * Copyright Elasticsearch B.V. and/or licensed to Elasticsearch B.V. under one
+ * or more contributor license agreements. Licensed under the Elastic License
+ * 2.0; you may not use this file except in compliance with the Elastic License
+ * 2.0.
+ */
+package org.elasticsearch.xpack.sql.execution.search;
+
+import org.apache.lucene.search.TotalHits;
+import org.elasticsearch.action.ActionListener;
+import org.elasticsearch.action.search.ClearScrollRequest;
+import org.elasticsearch.action.search.ClearScrollResponse;
+import org.elasticsearch.action.search.SearchRequest;
+import org.elasticsearch.action.search.SearchResponse;
+import org.elasticsearch.action.search.ShardSearchFailure;
+import org.elasticsearch.action.support.PlainActionFuture;
+import org.elasticsearch.client.Client;
+import org.elasticsearch.common.breaker.CircuitBreakingException;
+import org.elasticsearch.common.breaker.NoopCircuitBreaker;
+import org.elasticsearch.common.document.DocumentField;
+import org.elasticsearch.common.io.stream.NamedWriteableRegistry;
+import org.elasticsearch.search.SearchHit;
+import org.elasticsearch.search.SearchHits;
+import org.elasticsearch.search.internal.InternalSearchResponse;
+import org.elasticsearch.test.ESTestCase;
+import org.elasticsearch.xpack.ql.index.EsIndex;
+import org.elasticsearch.xpack.ql.index.IndexResolution;
+import org.elasticsearch.xpack.ql.type.EsField;
+import org.elasticsearch.xpack.sql.SqlTestUtils;
+import org.elasticsearch.xpack.sql.analysis.analyzer.Analyzer;
+import org.elasticsearch.xpack.sql.analysis.analyzer.Verifier;
+import org.elasticsearch.xpack.sql.execution.PlanExecutor;
+import org.elasticsearch.xpack.sql.expression.function.SqlFunctionRegistry;
+import org.elasticsearch.xpack.sql.optimizer.Optimizer;
+import org.elasticsearch.xpack.sql.parser.SqlParser;
+import org.elasticsearch.xpack.sql.plan.physical.HashJoinExec;
+import org.elasticsearch.xpack.sql.plan.physical.PhysicalPlan;
+import org.elasticsearch.xpack.sql.planner.Planner;
+import org.elasticsearch.xpack.sql.session.Cursor;
+import org.elasticsearch.xpack.sql.session.Cursor.Page;
+import org.elasticsearch.xpack.sql.session.ListCursor;
+import org.elasticsearch.xpack.sql.session.SqlConfiguration;
+import org.elasticsearch.xpack.sql.session.SqlSession;
+import org.elasticsearch.xpack.sql.stats.Metrics;
+import org.elasticsearch.xpack.sql.types.SqlTypesTests;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static java.util.Arrays.asList;
+import static java.util.Collections.emptyList;
+import static java.util.Collections.emptyMap;
+import static java.util.Collections.singletonList;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.greaterThan;
+import static org.hamcrest.Matchers.instanceOf;
+import static org.hamcrest.Matchers.not;
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+
+public class HashJoinerTests extends ESTestCase {
+
+    private static final String JOIN = "SELECT test.int, other.bool FROM test JOIN other ON test.keyword = other.keyword";
+
+    private final List<SearchRequest> requests = new ArrayList<>();
+    private final List<ClearScrollRequest> clearScrollRequests = new ArrayList<>();
+    // the scroll id of the first page of the other index, which then has one more hit than returned
+    private String otherScrollId = null;
+
+    public void testJoin() {
+        TestCircuitBreaker breaker = new TestCircuitBreaker(Long.MAX_VALUE);
+        Page page = execute(plan(JOIN + " LIMIT 100"), session(SqlTestUtils.TEST_CFG, client(testDocs(), otherDocs()), breaker));
+
+        // the rows of the probe side are returned in the order they are fetched in
+        assertEquals(asList(asList(1, true), asList(1, false), asList(3, true)), rows(page));
+        assertEquals(Cursor.EMPTY, page.next());
+        assertEquals(0, breaker.getUsed());
+
+        // both sides are counted, then the smaller one is loaded and the other one is filtered on its key values
+        assertEquals(4, requests.size());
+        assertEquals("test", requests.get(2).indices()[0]);
+        assertEquals("other", requests.get(3).indices()[0]);
+        String probeQuery = requests.get(3).source().query().toString();
+        assertThat(probeQuery, containsString("\"terms\""));
+        assertThat(probeQuery, containsString("\"a\""));
+        assertThat(probeQuery, not(containsString("\"d\"")));
+    }
+
+    public void testJoinWithoutMatches() {
+        List<Map<String, Object>> other = asList(doc("keyword", "x", "bool", true), doc("keyword", "y", "bool", false));
+        TestCircuitBreaker breaker = new TestCircuitBreaker(Long.MAX_VALUE);
+        Page page = execute(plan(JOIN + " LIMIT 100"), session(SqlTestUtils.TEST_CFG, client(testDocs(), other), breaker));
+
+        assertEquals(emptyList(), rows(page));
+        assertEquals(Cursor.EMPTY, page.next());
+        assertEquals(0, breaker.getUsed());
+    }
+
+    public void testJoinWithEmptySide() {
+        TestCircuitBreaker breaker = new TestCircuitBreaker(Long.MAX_VALUE);
+        Page page = execute(plan(JOIN + " LIMIT 100"), session(SqlTestUtils.TEST_CFG, client(emptyList(), otherDocs()), breaker));
+
+        assertEquals(emptyList(), rows(page));
+        // the probe side is not fetched
+        assertEquals(3, requests.size());
+        assertEquals(0, breaker.getUsed());
+    }
+
+    public void testJoinStopsAtLimit() {
+        TestCircuitBreaker breaker = new TestCircuitBreaker(Long.MAX_VALUE);
+        Page page = execute(plan(JOIN + " LIMIT 2"), session(SqlTestUtils.TEST_CFG, client(testDocs(), otherDocs()), breaker));
+
+        assertEquals(asList(asList(1, true), asList(1, false)), rows(page));
+        assertEquals(Cursor.EMPTY, page.next());
+        assertEquals(0, breaker.getUsed());
+    }
+
+    public void testJoinedRowsArePaged() {
+        SqlConfiguration testCfg = SqlTestUtils.TEST_CFG;
+        SqlConfiguration cfg = new SqlConfiguration(testCfg.zoneId(), 2, testCfg.requestTimeout(), testCfg.pageTimeout(), null, null,
+            testCfg.mode(), null, null, null, null, false, false);
+        TestCircuitBreaker breaker = new TestCircuitBreaker(Long.MAX_VALUE);
+        Page page = execute(plan(JOIN + " LIMIT 100"), session(cfg, client(testDocs(), otherDocs()), breaker));
+
+        assertEquals(asList(asList(1, true), asList(1, false)), rows(page));
+        assertThat(page.next(), instanceOf(ListCursor.class));
+    }
+
+    public void testJoinedRowsAreAccountedForUntilReturned() {
+        TestCircuitBreaker breaker = new TestCircuitBreaker(Long.MAX_VALUE);
+        AtomicLong usedOnResponse = new AtomicLong(-1);
+        plan(JOIN + " LIMIT 100").execute(session(SqlTestUtils.TEST_CFG, client(testDocs(), otherDocs()), breaker),
+            ActionListener.wrap(page -> usedOnResponse.set(breaker.getUsed()), e -> { throw new AssertionError(e); }));
+
+        assertThat(usedOnResponse.get(), greaterThan(0L));
+        assertEquals(0, breaker.getUsed());
+    }
+
+    public void testCircuitBreaker() {
+        TestCircuitBreaker breaker = new TestCircuitBreaker(between(1, 200));
+        HashJoinExec join = plan(JOIN + " LIMIT 100");
+        SqlSession session = session(SqlTestUtils.TEST_CFG, client(testDocs(), otherDocs()), breaker);
+
+        CircuitBreakingException e = expectThrows(CircuitBreakingException.class, () -> execute(join, session));
+        assertEquals("sql_join", e.getMessage());
+        assertEquals(0, breaker.getUsed());
+    }
+
+    public void testScrollIsClearedWhenCircuitBreakerTrips() {
+        otherScrollId = "other-scroll";
+        // the three rows of the build side fit, the first joined row does not
+        TestCircuitBreaker breaker = new TestCircuitBreaker(Long.MAX_VALUE, 3);
+        HashJoinExec join = plan(JOIN + " LIMIT 100");
+        SqlSession session = session(SqlTestUtils.TEST_CFG, client(testDocs(), otherDocs()), breaker);
+
+        expectThrows(CircuitBreakingException.class, () -> execute(join, session));
+        assertEquals(1, clearScrollRequests.size());
+        assertEquals(singletonList("other-scroll"), clearScrollRequests.get(0).getScrollIds());
+        assertEquals(0, breaker.getUsed());
+    }
+
+    public void testJoinOnIntegralAndFloatingPointFields() {
+        List<Map<String, Object>> test = asList(doc("int", 1, "keyword", "a"), doc("int", 2, "keyword", "b"));
+        List<Map<String, Object>> other = asList(doc("float", 2.5f, "bool", true), doc("float", 1.0f, "bool", false));
+        Page page = execute(plan("SELECT test.keyword, other.bool FROM test JOIN other ON test.int = other.float LIMIT 100"),
+            session(SqlTestUtils.TEST_CFG, client(test, other), new TestCircuitBreaker(Long.MAX_VALUE)));
+
+        assertEquals(singletonList(asList("a", false)), rows(page));
+    }
+
+    public void testNormalize() {
+        assertEquals(1L, HashJoiner.normalize(1, false));
+        assertEquals(1L, HashJoiner.normalize((short) 1, false));
+        assertEquals(1.5d, HashJoiner.normalize(1.5f, false));
+        assertEquals("a", HashJoiner.normalize("a", false));
+
+        assertEquals(1.0d, HashJoiner.normalize(1, true));
+        assertEquals(1.0d, HashJoiner.normalize(1L, true));
+        assertEquals(1.0d, HashJoiner.normalize(1.0f, true));
+        assertEquals(HashJoiner.normalize(0.0d, true), HashJoiner.normalize(-0.0d, true));
+        assertEquals("a", HashJoiner.normalize("a", true));
+    }
+
+    private static List<Map<String, Object>> testDocs() {
+        return asList(doc("keyword", "a", "int", 1), doc("keyword", "b", "int", 2), doc("keyword", "c", "int", 3));
+    }
+
+    private static List<Map<String, Object>> otherDocs() {
+        return asList(doc("keyword", "a", "bool", true), doc("keyword", "a", "bool", false), doc("keyword", "d", "bool", false),
+            doc("keyword", "c", "bool", true), doc("keyword", "e", "bool", true));
+    }
+
+    private static Map<String, Object> doc(String field1, Object value1, String field2, Object value2) {
+        Map<String, Object> doc = new HashMap<>();
+        doc.put(field1, value1);
+        doc.put(field2, value2);
+        return doc;
+    }
+
+    private static HashJoinExec plan(String sql) {
+        Map<String, EsField> mapping = SqlTypesTests.loadMapping("mapping-multi-field-variation.json");
+        Analyzer analyzer = new Analyzer(SqlTestUtils.TEST_CFG, new SqlFunctionRegistry(),
+            asList(IndexResolution.valid(new EsIndex("test", mapping)), IndexResolution.valid(new EsIndex("other", mapping))),
+            new Verifier(new Metrics()));
+        PhysicalPlan plan = new Planner().plan(new Optimizer().optimize(analyzer.analyze(new SqlParser().createStatement(sql), true)),
+            true);
+        assertThat(plan, instanceOf(HashJoinExec.class));
+        return (HashJoinExec) plan;
+    }
+
+    private static SqlSession session(SqlConfiguration cfg, Client client, TestCircuitBreaker breaker) {
+        PlanExecutor planExecutor = new PlanExecutor(client, null, new NamedWriteableRegistry(emptyList()), breaker);
+        return new SqlSession(cfg, client, null, null, null, null, null, null, planExecutor);
+    }
+
+    /**
+     * Answers the searches of the {@code test} and {@code other} indices with all of their documents, in a single page.
+     */
+    private Client client(List<Map<String, Object>> testDocs, List<Map<String, Object>> otherDocs) {
+        Client client = mock(Client.class);
+        doAnswer(invocation -> {
+            SearchRequest request = (SearchRequest) invocation.getArguments()[0];
+            @SuppressWarnings("unchecked")
+            ActionListener<SearchResponse> listener = (ActionListener<SearchResponse>) invocation.getArguments()[1];
+            requests.add(request);
+            boolean isTest = "test".equals(request.indices()[0]);
+            listener.onResponse(searchResponse(isTest ? testDocs : otherDocs, request.source().size() == 0, isTest ? null : otherScrollId));
+            return null;
+        }).when(client).search(any(), any());
+        doAnswer(invocation -> {
+            clearScrollRequests.add((ClearScrollRequest) invocation.getArguments()[0]);
+            @SuppressWarnings("unchecked")
+            ActionListener<ClearScrollResponse> listener = (ActionListener<ClearScrollResponse>) invocation.getArguments()[1];
+            listener.onResponse(new ClearScrollResponse(true, 1));
+            return null;
+        }).when(client).clearScroll(any(), any());
+        return client;
+    }
+
+    private static SearchResponse searchResponse(List<Map<String, Object>> docs, boolean countOnly, String scrollId) {
+        SearchHit[] hits = new SearchHit[countOnly ? 0 : docs.size()];
+        for (int i = 0; i < hits.length; i++) {
+            Map<String, DocumentField> fields = new HashMap<>();
+            docs.get(i).forEach((name, value) -> fields.put(name, new DocumentField(name, singletonList(value))));
+            hits[i] = new SearchHit(i, String.valueOf(i), fields, emptyMap());
+        }
+        long totalHits = scrollId == null ? docs.size() : docs.size() + 1;
+        SearchHits searchHits = new SearchHits(hits, new TotalHits(totalHits, TotalHits.Relation.EQUAL_TO), 1f);
+        return new SearchResponse(new InternalSearchResponse(searchHits, null, null, null, false, false, 1), scrollId, 1, 1, 0, 1,
+            ShardSearchFailure.EMPTY_ARRAY, SearchResponse.Clusters.EMPTY);
+    }
+
+    private static Page execute(HashJoinExec join, SqlSession session) {
+        PlainActionFuture<Page> future = new PlainActionFuture<>();
+        join.execute(session, future);
+        return future.actionGet();
+    }
+
+    private static List<List<Object>> rows(Page page) {
+        List<List<Object>> rows = new ArrayList<>();
+        page.rowSet().forEachRow(row -> {
+            List<Object> values = new ArrayList<>(row.columnCount());
+            for (int i = 0; i < row.columnCount(); i++) {
+                values.add(row.column(i));
+            }
+            rows.add(values);
+        });
+        return rows;
+    }
+
+    private static class TestCircuitBreaker extends NoopCircuitBreaker {
+
+        private final long limitInBytes;
+        private final int maxEstimates;
+        private int estimates = 0;
+        private long ramBytesUsed = 0;
+
+        private TestCircuitBreaker(long limitInBytes) {
+            this(limitInBytes, Integer.MAX_VALUE);
+        }
+
+        private TestCircuitBreaker(long limitInBytes, int maxEstimates) {
+            super("sql_test");
+            this.limitInBytes = limitInBytes;
+            this.maxEstimates = maxEstimates;
+        }
+
+        @Override
+        public void addEstimateBytesAndMaybeBreak(long bytes, String label) throws CircuitBreakingException {
+            if (ramBytesUsed + bytes > limitInBytes || ++estimates > maxEstimates) {
+                throw new CircuitBreakingException(label, getDurability());
+            }
+            ramBytesUsed += bytes;
+        }
+
+        @Override
+        public void addWithoutBreaking(long bytes) {
+            ramBytesUsed += bytes;
+        }
+
+        @Override
+        public long getUsed() {
+            return ramBytesUsed;
+        }
+    }
+}
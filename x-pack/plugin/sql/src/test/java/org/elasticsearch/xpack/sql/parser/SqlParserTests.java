@@ -14,6 +14,8 @@ import org.elasticsearch.xpack.ql.expression.Order;
 import org.elasticsearch.xpack.ql.expression.UnresolvedAlias;
 import org.elasticsearch.xpack.ql.expression.UnresolvedAttribute;
 import org.elasticsearch.xpack.ql.expression.function.UnresolvedFunction;
+import org.elasticsearch.xpack.ql.expression.predicate.logical.And;
+import org.elasticsearch.xpack.ql.expression.predicate.operator.comparison.Equals;
 import org.elasticsearch.xpack.ql.expression.predicate.fulltext.MatchQueryPredicate;
 import org.elasticsearch.xpack.ql.expression.predicate.fulltext.MultiMatchQueryPredicate;
 import org.elasticsearch.xpack.ql.expression.predicate.fulltext.StringQueryPredicate;
@@ -23,6 +25,7 @@ import org.elasticsearch.xpack.ql.plan.logical.LogicalPlan;
 import org.elasticsearch.xpack.ql.plan.logical.OrderBy;
 import org.elasticsearch.xpack.ql.plan.logical.Project;
 import org.elasticsearch.xpack.ql.plan.logical.UnresolvedRelation;
+import org.elasticsearch.xpack.sql.plan.logical.Join;
 import org.elasticsearch.xpack.sql.plan.logical.With;
 
 import java.util.ArrayList;
@@ -32,6 +35,7 @@ import java.util.StringJoiner;
 
 import static java.util.Collections.nCopies;
 import static java.util.stream.Collectors.toList;
+import static org.hamcrest.Matchers.endsWith;
 import static org.hamcrest.Matchers.hasEntry;
 import static org.hamcrest.Matchers.hasSize;
 import static org.hamcrest.Matchers.instanceOf;
@@ -152,6 +156,27 @@ public class SqlParserTests extends ESTestCase {
         assertEquals("line 1:39: TOP and LIMIT are not allowed in the same query - use one or the other", e.getMessage());
     }
 
+    public void testInnerJoinWithCondition() {
+        Project project = project(parseStatement("SELECT * FROM test JOIN other ON test.a = other.b"));
+        assertThat(project.child(), instanceOf(Join.class));
+        Join join = (Join) project.child();
+        assertEquals(Join.JoinType.INNER, join.type());
+        assertEquals("test", ((UnresolvedRelation) join.left()).table().index());
+        assertEquals("other", ((UnresolvedRelation) join.right()).table().index());
+        assertThat(join.condition(), instanceOf(Equals.class));
+
+        join = (Join) project(parseStatement("SELECT * FROM test INNER JOIN other ON test.a = other.b AND test.c = other.d")).child();
+        assertThat(join.condition(), instanceOf(And.class));
+    }
+
+    public void testOnlyInnerJoinWithConditionIsSupported() {
+        for (String join : Arrays.asList("JOIN other", "LEFT JOIN other ON test.a = other.b", "RIGHT OUTER JOIN other ON test.a = other.b",
+            "FULL JOIN other ON test.a = other.b", "NATURAL JOIN other", "JOIN other USING (a)")) {
+            ParsingException e = expectThrows(ParsingException.class, () -> parseStatement("SELECT * FROM test " + join));
+            assertThat(e.getMessage(), endsWith("Only [INNER] JOIN with an ON condition is supported"));
+        }
+    }
+
     public void testsSelectNonReservedKeywords() {
         String[] reserved = new String[] {
             "ANALYZE", "ANALYZED", "CATALOGS", "COLUMNS", "CURRENT", "DAY", "DEBUG", "EXECUTABLE", "EXPLAIN",
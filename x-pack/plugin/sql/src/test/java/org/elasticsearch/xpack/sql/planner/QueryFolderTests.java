@@ -24,6 +24,7 @@ import org.elasticsearch.xpack.sql.expression.function.SqlFunctionRegistry;
 import org.elasticsearch.xpack.sql.optimizer.Optimizer;
 import org.elasticsearch.xpack.sql.parser.SqlParser;
 import org.elasticsearch.xpack.sql.plan.physical.EsQueryExec;
+import org.elasticsearch.xpack.sql.plan.physical.HashJoinExec;
 import org.elasticsearch.xpack.sql.plan.physical.LocalExec;
 import org.elasticsearch.xpack.sql.plan.physical.PhysicalPlan;
 import org.elasticsearch.xpack.sql.querydsl.container.QueryContainer;
@@ -40,6 +41,7 @@ import java.util.Map;
 
 import static java.util.Arrays.asList;
 import static java.util.stream.Collectors.toList;
+import static org.hamcrest.Matchers.containsInAnyOrder;
 import static org.hamcrest.Matchers.containsString;
 import static org.hamcrest.Matchers.endsWith;
 import static org.hamcrest.Matchers.startsWith;
@@ -608,6 +610,35 @@ public class QueryFolderTests extends ESTestCase {
         }
     }
 
+    public void testFoldingJoin() {
+        Map<String, EsField> mapping = SqlTypesTests.loadMapping("mapping-multi-field-variation.json");
+        Analyzer joinAnalyzer = new Analyzer(SqlTestUtils.TEST_CFG, new SqlFunctionRegistry(),
+            asList(IndexResolution.valid(new EsIndex("test", mapping)), IndexResolution.valid(new EsIndex("other", mapping))),
+            new Verifier(new Metrics()));
+        PhysicalPlan p = planner.plan(optimizer.optimize(joinAnalyzer.analyze(parser.createStatement(
+            "SELECT test.int, other.bool FROM test JOIN other ON test.keyword = other.keyword WHERE other.int > 1 LIMIT 10"), true)),
+            true);
+
+        assertEquals(HashJoinExec.class, p.getClass());
+        HashJoinExec join = (HashJoinExec) p;
+        assertEquals(10, join.limit());
+        assertEquals(asList("int", "bool"), Expressions.names(join.output()));
+        assertEquals(asList("keyword"), Expressions.names(join.leftKeys()));
+        assertEquals(asList("keyword"), Expressions.names(join.rightKeys()));
+
+        // each side only fetches the fields it is joined on and the selected ones
+        EsQueryExec left = (EsQueryExec) join.left();
+        assertEquals("test", left.index());
+        assertThat(Expressions.names(left.output()), containsInAnyOrder("int", "keyword"));
+        assertNull(left.queryContainer().query());
+
+        // and the filter is applied to the side it refers to
+        EsQueryExec right = (EsQueryExec) join.right();
+        assertEquals("other", right.index());
+        assertThat(Expressions.names(right.output()), containsInAnyOrder("bool", "keyword"));
+        assertThat(right.queryContainer().query().asBuilder().toString(), containsString("\"int\""));
+    }
+
     private static String randomOrderByAndLimit(int noOfSelectArgs) {
         return SqlTestUtils.randomOrderByAndLimit(noOfSelectArgs, random());
     }
@@ -0,0 +1,106 @@
+/*
+ * Copyright Elasticsearch B.V. and/or licensed to Elasticsearch B.V. under one
+ * or more contributor license agreements. Licensed under the Elastic License
+ * 2.0; you may not use this file except in compliance with the Elastic License
+ * 2.0.
+ */
+
+package org.elasticsearch.xpack.transform.integration;
+
+import org.elasticsearch.action.index.IndexRequest;
+import org.elasticsearch.client.Request;
+import org.elasticsearch.client.Response;
+import org.elasticsearch.common.Strings;
+import org.elasticsearch.xpack.transform.transforms.common.IncrementalMerger;
+import org.elasticsearch.xpack.transform.transforms.common.IncrementalMerger.MergeType;
+
+import java.io.IOException;
+import java.util.Map;
+
+import static org.hamcrest.Matchers.equalTo;
+
+/**
+ * Runs the update requests of {@link IncrementalMerger} against a node, so that the merge script is executed by painless.
+ */
+public class TransformIncrementalMergeIT extends TransformRestTestCase {
+
+    private static final String DEST_INDEX = "incremental_merge_dest";
+    private static final String DOC_ID = "bucket-a";
+
+    private final IncrementalMerger merger = new IncrementalMerger(
+        Map.of("total", MergeType.SUM, "stats.min", MergeType.MIN, "stats.max", MergeType.MAX, "extra.count", MergeType.SUM)
+    );
+
+    public void testMerge() throws IOException {
+        // the first checkpoint creates the document as is
+        assertThat(merge(Map.of("group", "a", "total", 10, "stats", Map.of("min", 3, "max", 5)), 1L), equalTo("created"));
+        assertThat(
+            getSource(),
+            equalTo(Map.of("group", "a", "total", 10, "stats", Map.of("min", 3, "max", 5), IncrementalMerger.CHECKPOINT_FIELD, 1))
+        );
+
+        // the next checkpoint merges every field along its dotted path, creating the objects that do not exist yet
+        assertThat(
+            merge(Map.of("group", "a", "total", 5, "stats", Map.of("min", 1, "max", 4), "extra", Map.of("count", 2)), 2L),
+            equalTo("updated")
+        );
+        final Map<String, Object> merged = Map.of(
+            "group",
+            "a",
+            "total",
+            15,
+            "stats",
+            Map.of("min", 1, "max", 5),
+            "extra",
+            Map.of("count", 2),
+            IncrementalMerger.CHECKPOINT_FIELD,
+            2
+        );
+        assertThat(getSource(), equalTo(merged));
+
+        // applying the same checkpoint again, e.g. when a page is retried after a failure, does not count the values twice
+        assertThat(
+            merge(Map.of("group", "a", "total", 5, "stats", Map.of("min", 0, "max", 9), "extra", Map.of("count", 2)), 2L),
+            equalTo("noop")
+        );
+        assertThat(getSource(), equalTo(merged));
+
+        // nor does an older one
+        assertThat(merge(Map.of("group", "a", "total", 5), 1L), equalTo("noop"));
+        assertThat(getSource(), equalTo(merged));
+
+        // fields missing from the results of a checkpoint are kept
+        assertThat(merge(Map.of("group", "a", "stats", Map.of("max", 7)), 3L), equalTo("updated"));
+        assertThat(
+            getSource(),
+            equalTo(
+                Map.of(
+                    "group",
+                    "a",
+                    "total",
+                    15,
+                    "stats",
+                    Map.of("min", 1, "max", 7),
+                    "extra",
+                    Map.of("count", 2),
+                    IncrementalMerger.CHECKPOINT_FIELD,
+                    3
+                )
+            )
+        );
+    }
+
+    private String merge(Map<String, Object> document, long checkpoint) throws IOException {
+        final IndexRequest indexRequest = new IndexRequest(DEST_INDEX).id(DOC_ID).source(document);
+        final Request request = new Request("POST", DEST_INDEX + "/_update/" + DOC_ID);
+        request.addParameter("refresh", "true");
+        request.setJsonEntity(Strings.toString(merger.toUpdateRequest(indexRequest, checkpoint)));
+        final Response response = client().performRequest(request);
+        return (String) entityAsMap(response).get("result");
+    }
+
+    private Map<?, ?> getSource() throws IOException {
+        final Response response = client().performRequest(new Request("GET", DEST_INDEX + "/_source/" + DOC_ID));
+        return entityAsMap(response);
+    }
+}
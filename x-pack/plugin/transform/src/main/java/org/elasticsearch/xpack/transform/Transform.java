@@ -138,6 +138,14 @@ public class Transform extends Plugin implements SystemIndexPlugin, PersistentTa
         Setting.Property.Dynamic
     );
 
+    // Whether the search for the next page runs while the current page is indexed
+    public static final Setting<Boolean> PREFETCH_NEXT_PAGE_SETTING = Setting.boolSetting(
+        "xpack.transform.prefetch_next_page",
+        false,
+        Setting.Property.NodeScope,
+        Setting.Property.Dynamic
+    );
+
     public Transform(Settings settings) {
         this.settings = settings;
     }
@@ -262,7 +270,7 @@ public class Transform extends Plugin implements SystemIndexPlugin, PersistentTa
 
     @Override
     public List<Setting<?>> getSettings() {
-        return List.of(NUM_FAILURE_RETRIES_SETTING);
+        return List.of(NUM_FAILURE_RETRIES_SETTING, PREFETCH_NEXT_PAGE_SETTING);
     }
 
     @Override
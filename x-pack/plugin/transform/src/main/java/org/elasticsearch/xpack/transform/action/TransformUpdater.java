@@ -325,7 +325,7 @@ public class TransformUpdater {
     ) {
         TransformDestIndexSettings generatedDestIndexSettings = TransformIndex.createTransformDestIndexSettings(
             mappings,
-            config.getId(),
+            config,
             Clock.systemUTC()
         );
         TransformIndex.createDestinationIndex(client, config, generatedDestIndexSettings, listener);
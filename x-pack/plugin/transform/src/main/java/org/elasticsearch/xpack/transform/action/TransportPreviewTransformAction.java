@@ -160,7 +160,7 @@ public class TransportPreviewTransformAction extends HandledTransportAction<Requ
         ActionListener<Boolean> validateConfigListener = ActionListener.wrap(
             validateConfigResponse -> {
                 getPreview(
-                    config.getId(), // note: @link{PreviewTransformAction} sets an id, so this is never null
+                    config, // note: @link{PreviewTransformAction} sets an id, so this is never null
                     function,
                     config.getSource(),
                     config.getDestination().getPipeline(),
@@ -216,7 +216,7 @@ public class TransportPreviewTransformAction extends HandledTransportAction<Requ
 
     @SuppressWarnings("unchecked")
     private void getPreview(
-        String transformId,
+        TransformConfig config,
         Function function,
         SourceConfig source,
         String pipeline,
@@ -237,7 +237,7 @@ public class TransportPreviewTransformAction extends HandledTransportAction<Requ
             }
             TransformDestIndexSettings generatedDestIndexSettings = TransformIndex.createTransformDestIndexSettings(
                 mappings.get(),
-                transformId,
+                config,
                 Clock.systemUTC()
             );
 
@@ -251,7 +251,7 @@ public class TransportPreviewTransformAction extends HandledTransportAction<Requ
                 if (pipeline == null) {
                     TransformDestIndexSettings generatedDestIndexSettings = TransformIndex.createTransformDestIndexSettings(
                         mappings.get(),
-                        transformId,
+                        config,
                         Clock.systemUTC()
                     );
                     List<String> warnings = TransformConfigLinter.getWarnings(function, source, syncConfig);
@@ -255,7 +255,7 @@ public class TransportStartTransformAction extends TransportMasterNodeAction<Sta
 
         TransformDestIndexSettings generatedDestIndexSettings = TransformIndex.createTransformDestIndexSettings(
             mappings,
-            config.getId(),
+            config,
             Clock.systemUTC()
         );
         TransformIndex.createDestinationIndex(client, config, generatedDestIndexSettings, listener);
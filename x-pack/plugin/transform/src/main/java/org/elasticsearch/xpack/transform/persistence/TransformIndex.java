@@ -67,10 +67,14 @@ public final class TransformIndex {
         );
     }
 
-    public static TransformDestIndexSettings createTransformDestIndexSettings(Map<String, String> mappings, String id, Clock clock) {
+    public static TransformDestIndexSettings createTransformDestIndexSettings(
+        Map<String, String> mappings,
+        TransformConfig transformConfig,
+        Clock clock
+    ) {
         Map<String, Object> indexMappings = new HashMap<>();
-        indexMappings.put(PROPERTIES, createMappingsFromStringMap(mappings));
-        indexMappings.put(META, createMetadata(id, clock));
+        indexMappings.put(PROPERTIES, createMappingsFromStringMap(addInternalMappings(mappings, transformConfig)));
+        indexMappings.put(META, createMetadata(transformConfig.getId(), clock));
 
         Settings settings = createSettings();
 
@@ -79,6 +83,19 @@ public final class TransformIndex {
         return new TransformDestIndexSettings(indexMappings, settings, aliases);
     }
 
+    /**
+     * Add the mappings of the fields that the transform itself writes into the destination documents, which are not part of the
+     * mappings deduced from the source: the checkpoint of a pivot that merges new documents incrementally.
+     */
+    static Map<String, String> addInternalMappings(Map<String, String> mappings, TransformConfig transformConfig) {
+        if (transformConfig.getPivotConfig() == null || Boolean.TRUE.equals(transformConfig.getSettings().getIncremental()) == false) {
+            return mappings;
+        }
+        Map<String, String> allMappings = new HashMap<>(mappings);
+        allMappings.put(TransformField.INCREMENTAL_CHECKPOINT_FIELD, "long");
+        return allMappings;
+    }
+
     /*
      * Return meta data that stores some useful information about the transform index, stored as "_meta":
      *
@@ -28,6 +28,7 @@ import org.elasticsearch.action.search.SearchRequest;
 import org.elasticsearch.action.search.SearchResponse;
 import org.elasticsearch.client.Client;
 import org.elasticsearch.common.logging.LoggerMessageFormat;
+import org.elasticsearch.common.util.concurrent.ListenableFuture;
 import org.elasticsearch.core.Nullable;
 import org.elasticsearch.core.TimeValue;
 import org.elasticsearch.core.Tuple;
@@ -60,6 +61,7 @@ import org.elasticsearch.xpack.transform.utils.ExceptionRootCauseFinder;
 import java.util.LinkedHashMap;
 import java.util.Map;
 import java.util.Map.Entry;
+import java.util.Objects;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicReference;
@@ -76,6 +78,8 @@ class ClientTransformIndexer extends TransformIndexer {
     private final ConcurrentHashMap<String, PointInTimeBuilder> namedPits = new ConcurrentHashMap<>();
     private volatile long pitCheckpoint;
     private volatile boolean disablePit = false;
+    // search for the next page, started while the current page is indexed
+    private volatile PrefetchedSearch prefetchedSearch;
 
     ClientTransformIndexer(
         ThreadPool threadPool,
@@ -121,6 +125,23 @@ class ClientTransformIndexer extends TransformIndexer {
             return;
         }
 
+        PrefetchedSearch prefetched = prefetchedSearch;
+        prefetchedSearch = null;
+        if (prefetched != null) {
+            if (prefetched.matches(getNextCheckpoint().getCheckpoint(), getPosition(), getPageSize())) {
+                logger.trace("[{}] continuing with the prefetched page", getJobId());
+                prefetched.response.addListener(nextPhase);
+            } else {
+                // the search requests share the composite aggregation, which must not change while the prefetch is in flight
+                prefetched.response.addListener(ActionListener.wrap(() -> searchNextPage(nextPhase)));
+            }
+            return;
+        }
+
+        searchNextPage(nextPhase);
+    }
+
+    private void searchNextPage(ActionListener<SearchResponse> nextPhase) {
         if (getNextCheckpoint().getCheckpoint() != pitCheckpoint) {
             closePointInTime();
         }
@@ -131,6 +152,33 @@ class ClientTransformIndexer extends TransformIndexer {
         );
     }
 
+    /**
+     * Start the search for the page after the one that is being indexed, so that it runs concurrently with the bulk request.
+     * Only a single page is fetched ahead as the position of a page is only known once the search for the previous one returned.
+     *
+     * The source is not partitioned on ranges of the leading group_by key to run several of these loops in parallel: the state of a
+     * transform is a single position, persisted after every page so that it resumes from there after a failure or a node restart,
+     * while partitions would each need their own position in the state. The ranges would also have to be computed ahead of every
+     * checkpoint, with an additional search, as terms sources have no known bounds.
+     */
+    private void prefetchNextPage(TransformIndexerPosition position) {
+        PrefetchedSearch prefetched = new PrefetchedSearch(getNextCheckpoint().getCheckpoint(), position, getPageSize());
+        prefetchedSearch = prefetched;
+        logger.trace("[{}] prefetching the page at position [{}]", getJobId(), position);
+
+        injectPointInTimeIfNeeded(
+            buildNextPageSearchRequest(position),
+            ActionListener.wrap(pitSearchRequest -> doSearch(pitSearchRequest, prefetched.response), prefetched.response::onFailure)
+        );
+    }
+
+    private void discardPrefetchedSearch() {
+        PrefetchedSearch prefetched = prefetchedSearch;
+        if (prefetched != null) {
+            prefetched.discarded = true;
+        }
+    }
+
     @Override
     protected void doNextBulk(BulkRequest request, ActionListener<BulkResponse> nextPhase) {
         if (context.getTaskState() == TransformTaskState.FAILED) {
@@ -138,6 +186,10 @@ class ClientTransformIndexer extends TransformIndexer {
             nextPhase.onFailure(new ElasticsearchException("Attempted to do a bulk index request for failed transform [{}].", getJobId()));
             return;
         }
+        TransformIndexerPosition nextPagePosition = getNextPagePosition();
+        if (nextPagePosition != null) {
+            prefetchNextPage(nextPagePosition);
+        }
         ClientHelper.executeWithHeadersAsync(
             transformConfig.getHeaders(),
             ClientHelper.TRANSFORM_ORIGIN,
@@ -350,12 +402,15 @@ class ClientTransformIndexer extends TransformIndexer {
 
     @Override
     protected void afterFinishOrFailure() {
+        // the config might change before the next run, which therefore has to search again
+        discardPrefetchedSearch();
         closePointInTime();
         super.afterFinishOrFailure();
     }
 
     @Override
     protected void onStop() {
+        discardPrefetchedSearch();
         closePointInTime();
         super.onStop();
     }
@@ -540,4 +595,26 @@ class ClientTransformIndexer extends TransformIndexer {
 
         return irrecoverableException;
     }
+
+    private static class PrefetchedSearch {
+        private final long checkpoint;
+        private final TransformIndexerPosition position;
+        // the page size shrinks on circuit breaker exceptions, which changes the request
+        private final int pageSize;
+        private final ListenableFuture<SearchResponse> response = new ListenableFuture<>();
+        private volatile boolean discarded = false;
+
+        PrefetchedSearch(long checkpoint, TransformIndexerPosition position, int pageSize) {
+            this.checkpoint = checkpoint;
+            this.position = position;
+            this.pageSize = pageSize;
+        }
+
+        boolean matches(long checkpoint, TransformIndexerPosition position, int pageSize) {
+            return discarded == false
+                && this.checkpoint == checkpoint
+                && this.pageSize == pageSize
+                && Objects.equals(this.position, position);
+        }
+    }
 }
@@ -18,6 +18,7 @@ import org.elasticsearch.xpack.core.transform.transforms.SourceConfig;
 import org.elasticsearch.xpack.core.transform.transforms.TransformCheckpoint;
 import org.elasticsearch.xpack.core.transform.transforms.TransformIndexerStats;
 import org.elasticsearch.xpack.core.transform.transforms.TransformProgress;
+import org.elasticsearch.xpack.transform.transforms.common.IncrementalMerger;
 
 import java.util.Collection;
 import java.util.List;
@@ -187,6 +188,17 @@ public interface Function {
      */
     ChangeCollector buildChangeCollector(String synchronizationField);
 
+    /**
+     * Create a merger for the results of continuous checkpoints, if the results of the function can be computed over the
+     * source documents added since the last checkpoint and merged into the documents already in the destination index.
+     *
+     * @param fieldMappings field mappings for the destination
+     * @return a merger or null if the changed buckets have to be recomputed over the whole source
+     */
+    default IncrementalMerger buildIncrementalMerger(Map<String, String> fieldMappings) {
+        return null;
+    }
+
     /**
      * Get the initial page size for this function.
      *
@@ -28,6 +28,7 @@ class TransformContext {
     private final AtomicReference<String> stateReason;
     private final Listener taskListener;
     private volatile int numFailureRetries = Transform.DEFAULT_FAILURE_RETRIES;
+    private volatile boolean prefetchNextPage = false;
     private final AtomicInteger failureCount;
     private volatile Instant changesLastDetectedAt;
     private volatile Instant lastSearchTime;
@@ -96,6 +97,14 @@ class TransformContext {
         return numFailureRetries;
     }
 
+    void setPrefetchNextPage(boolean prefetchNextPage) {
+        this.prefetchNextPage = prefetchNextPage;
+    }
+
+    boolean shouldPrefetchNextPage() {
+        return prefetchNextPage;
+    }
+
     int getFailureCount() {
         return failureCount.get();
     }
@@ -13,6 +13,7 @@ import org.apache.logging.log4j.message.ParameterizedMessage;
 import org.elasticsearch.ElasticsearchException;
 import org.elasticsearch.ResourceNotFoundException;
 import org.elasticsearch.action.ActionListener;
+import org.elasticsearch.action.DocWriteRequest;
 import org.elasticsearch.action.admin.indices.refresh.RefreshResponse;
 import org.elasticsearch.action.index.IndexRequest;
 import org.elasticsearch.action.search.SearchRequest;
@@ -49,6 +50,7 @@ import org.elasticsearch.xpack.transform.notifications.TransformAuditor;
 import org.elasticsearch.xpack.transform.persistence.TransformConfigManager;
 import org.elasticsearch.xpack.transform.transforms.Function.ChangeCollector;
 import org.elasticsearch.xpack.transform.transforms.RetentionPolicyToDeleteByQueryRequestConverter.RetentionPolicyException;
+import org.elasticsearch.xpack.transform.transforms.common.IncrementalMerger;
 import org.elasticsearch.xpack.transform.utils.ExceptionRootCauseFinder;
 
 import java.time.Instant;
@@ -111,6 +113,15 @@ public abstract class TransformIndexer extends AsyncTwoPhaseIndexer<TransformInd
     // position of the change collector, in flux (not yet persisted as we haven't processed changes yet)
     private Map<String, Object> nextChangeCollectorBucketPosition = null;
 
+    // merges the results of the documents added since the last checkpoint into the destination, null if changes are recomputed
+    private IncrementalMerger incrementalMerger;
+
+    // position of the page after the one that is being indexed, if its search can start before indexing finished
+    private volatile TransformIndexerPosition nextPagePosition;
+
+    // stats at the start of the current checkpoint, to report the cost of the checkpoint when it finishes
+    private volatile TransformIndexerStats checkpointStartStats;
+
     private volatile Integer initialConfiguredPageSize;
     private volatile int pageSize = 0;
     private volatile long logEvery = 1;
@@ -264,6 +275,9 @@ public abstract class TransformIndexer extends AsyncTwoPhaseIndexer<TransformInd
                 }
 
                 runState = determineRunStateAtStart();
+                if (checkpointStartStats == null) {
+                    checkpointStartStats = new TransformIndexerStats(getStats());
+                }
                 listener.onResponse(true);
             } catch (Exception e) {
                 listener.onFailure(e);
@@ -533,6 +547,7 @@ public abstract class TransformIndexer extends AsyncTwoPhaseIndexer<TransformInd
                 auditor.info(getJobId(), "Finished indexing for transform checkpoint [" + checkpoint + "].");
             }
             logger.debug("[{}] finished indexing for transform checkpoint [{}].", getJobId(), checkpoint);
+            logCheckpointCost(checkpoint);
             if (context.shouldStopAtCheckpoint()) {
                 stop();
             }
@@ -548,6 +563,28 @@ public abstract class TransformIndexer extends AsyncTwoPhaseIndexer<TransformInd
         }
     }
 
+    private void logCheckpointCost(long checkpoint) {
+        TransformIndexerStats start = checkpointStartStats;
+        checkpointStartStats = null;
+        if (start == null || logger.isDebugEnabled() == false) {
+            return;
+        }
+        TransformIndexerStats end = getStats();
+        logger.debug(
+            "[{}] checkpoint [{}] {}: processed [{}] documents in [{}] search requests taking [{}ms], "
+                + "indexed [{}] documents in [{}] bulk requests taking [{}ms].",
+            getJobId(),
+            checkpoint,
+            incrementalMerger != null ? "merged the new documents into the destination" : "recomputed the changed buckets",
+            end.getNumDocuments() - start.getNumDocuments(),
+            end.getSearchTotal() - start.getSearchTotal(),
+            end.getSearchTime() - start.getSearchTime(),
+            end.getOutputDocuments() - start.getOutputDocuments(),
+            end.getIndexTotal() - start.getIndexTotal(),
+            end.getIndexTime() - start.getIndexTime()
+        );
+    }
+
     @Override
     protected void afterFinishOrFailure() {
         finishIndexerThreadShutdown();
@@ -1021,6 +1058,7 @@ public abstract class TransformIndexer extends AsyncTwoPhaseIndexer<TransformInd
     }
 
     private IterationResult<TransformIndexerPosition> processBuckets(final SearchResponse searchResponse) {
+        nextPagePosition = null;
         Tuple<Stream<IndexRequest>, Map<String, Object>> indexRequestStreamAndCursor = function.processSearchResponse(
             searchResponse,
             getConfig().getDestination().getIndex(),
@@ -1031,7 +1069,10 @@ public abstract class TransformIndexer extends AsyncTwoPhaseIndexer<TransformInd
         );
 
         if (indexRequestStreamAndCursor == null || indexRequestStreamAndCursor.v1() == null) {
-            if (nextCheckpoint.getCheckpoint() == 1 || isContinuous() == false || changeCollector.queryForChanges() == false) {
+            if (nextCheckpoint.getCheckpoint() == 1
+                || isContinuous() == false
+                || incrementalMerger != null
+                || changeCollector.queryForChanges() == false) {
                 return new IterationResult<>(Stream.empty(), null, true);
             }
 
@@ -1045,13 +1086,22 @@ public abstract class TransformIndexer extends AsyncTwoPhaseIndexer<TransformInd
             return new IterationResult<>(Stream.empty(), new TransformIndexerPosition(null, nextChangeCollectorBucketPosition), false);
         }
 
-        Stream<IndexRequest> indexRequestStream = indexRequestStreamAndCursor.v1();
+        Stream<? extends DocWriteRequest<?>> indexRequestStream = indexRequestStreamAndCursor.v1();
+        if (incrementalMerger != null) {
+            long checkpoint = nextCheckpoint.getCheckpoint();
+            indexRequestStream = indexRequestStreamAndCursor.v1().map(request -> incrementalMerger.toUpdateRequest(request, checkpoint));
+        }
         TransformIndexerPosition oldPosition = getPosition();
         TransformIndexerPosition newPosition = new TransformIndexerPosition(
             indexRequestStreamAndCursor.v2(),
             oldPosition != null ? getPosition().getBucketsPosition() : null
         );
 
+        // throttling delays the next search after indexing, so it must not run ahead
+        if (context.shouldPrefetchNextPage() && docsPerSecond <= 0) {
+            nextPagePosition = newPosition;
+        }
+
         return new IterationResult<>(indexRequestStream, newPosition, false);
     }
 
@@ -1094,7 +1144,7 @@ public abstract class TransformIndexer extends AsyncTwoPhaseIndexer<TransformInd
 
         switch (runState) {
             case APPLY_RESULTS:
-                return new Tuple<>("apply_results", buildQueryToUpdateDestinationIndex());
+                return new Tuple<>("apply_results", buildQueryToUpdateDestinationIndex(getPosition()));
             case IDENTIFY_CHANGES:
                 return new Tuple<>("identify_changes", buildQueryToFindChanges());
             default:
@@ -1104,6 +1154,24 @@ public abstract class TransformIndexer extends AsyncTwoPhaseIndexer<TransformInd
         }
     }
 
+    /**
+     * Get the position of the page that follows the page whose results are being indexed, in order to search for it while
+     * indexing. The search must only be used if the indexer continues from this position once indexing succeeded.
+     *
+     * @return the position or null if the next search cannot start before indexing finished
+     */
+    TransformIndexerPosition getNextPagePosition() {
+        return nextPagePosition;
+    }
+
+    /**
+     * Build the search request for the page at the given position, see {@link #getNextPagePosition()}.
+     */
+    protected Tuple<String, SearchRequest> buildNextPageSearchRequest(TransformIndexerPosition position) {
+        assert nextCheckpoint != null && runState == RunState.APPLY_RESULTS;
+        return new Tuple<>("apply_results", buildQueryToUpdateDestinationIndex(position));
+    }
+
     private SearchRequest buildQueryToFindChanges() {
         assert isContinuous();
 
@@ -1134,9 +1202,7 @@ public abstract class TransformIndexer extends AsyncTwoPhaseIndexer<TransformInd
         return request.source(sourceBuilder);
     }
 
-    private SearchRequest buildQueryToUpdateDestinationIndex() {
-        TransformIndexerPosition position = getPosition();
-
+    private SearchRequest buildQueryToUpdateDestinationIndex(TransformIndexerPosition position) {
         TransformConfig config = getConfig();
         SearchSourceBuilder sourceBuilder = new SearchSourceBuilder().runtimeMappings(getConfig().getSource().getRuntimeMappings());
 
@@ -1145,7 +1211,12 @@ public abstract class TransformIndexer extends AsyncTwoPhaseIndexer<TransformInd
         SearchRequest request = new SearchRequest();
         QueryBuilder queryBuilder = config.getSource().getQueryConfig().getQuery();
 
-        if (isContinuous()) {
+        if (isContinuous() && incrementalMerger != null) {
+            // only the documents added since the last checkpoint, their results get merged into the destination
+            queryBuilder = new BoolQueryBuilder().filter(queryBuilder)
+                .filter(config.getSyncConfig().getRangeQuery(lastCheckpoint, nextCheckpoint));
+            request.indices(getConfig().getSource().getIndex());
+        } else if (isContinuous()) {
             BoolQueryBuilder filteredQuery = new BoolQueryBuilder().filter(queryBuilder)
                 .filter(config.getSyncConfig().getRangeQuery(nextCheckpoint));
 
@@ -1259,11 +1330,22 @@ public abstract class TransformIndexer extends AsyncTwoPhaseIndexer<TransformInd
     }
 
     private RunState determineRunStateAtStart() {
+        incrementalMerger = null;
+
         // either 1st run or not a continuous transform
         if (nextCheckpoint.getCheckpoint() == 1 || isContinuous() == false) {
             return RunState.APPLY_RESULTS;
         }
 
+        // merge the results of the new documents into the destination, unless we resume a checkpoint that collected changes
+        TransformIndexerPosition position = getPosition();
+        if (position == null || position.getBucketsPosition() == null) {
+            incrementalMerger = buildIncrementalMerger();
+            if (incrementalMerger != null) {
+                return RunState.APPLY_RESULTS;
+            }
+        }
+
         // if we don't have a change collector or the collector does not require an extra run
         if (changeCollector == null || changeCollector.queryForChanges() == false) {
             return RunState.APPLY_RESULTS;
@@ -1273,6 +1355,15 @@ public abstract class TransformIndexer extends AsyncTwoPhaseIndexer<TransformInd
         return RunState.IDENTIFY_CHANGES;
     }
 
+    private IncrementalMerger buildIncrementalMerger() {
+        // updates do not run the ingest pipeline of the destination
+        if (Boolean.TRUE.equals(getConfig().getSettings().getIncremental()) == false
+            || getConfig().getDestination().getPipeline() != null) {
+            return null;
+        }
+        return function.buildIncrementalMerger(getFieldMappings());
+    }
+
     private void configurePageSize(Integer newPageSize) {
         initialConfiguredPageSize = newPageSize;
 
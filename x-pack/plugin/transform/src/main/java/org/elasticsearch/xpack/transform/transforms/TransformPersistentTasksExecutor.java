@@ -72,6 +72,7 @@ public class TransformPersistentTasksExecutor extends PersistentTasksExecutor<Tr
     private final IndexNameExpressionResolver resolver;
     private final TransformAuditor auditor;
     private volatile int numFailureRetries;
+    private volatile boolean prefetchNextPage;
 
     public TransformPersistentTasksExecutor(
         Client client,
@@ -90,6 +91,8 @@ public class TransformPersistentTasksExecutor extends PersistentTasksExecutor<Tr
         this.auditor = transformServices.getAuditor();
         this.numFailureRetries = Transform.NUM_FAILURE_RETRIES_SETTING.get(settings);
         clusterService.getClusterSettings().addSettingsUpdateConsumer(Transform.NUM_FAILURE_RETRIES_SETTING, this::setNumFailureRetries);
+        this.prefetchNextPage = Transform.PREFETCH_NEXT_PAGE_SETTING.get(settings);
+        clusterService.getClusterSettings().addSettingsUpdateConsumer(Transform.PREFETCH_NEXT_PAGE_SETTING, this::setPrefetchNextPage);
     }
 
     @Override
@@ -358,13 +361,17 @@ public class TransformPersistentTasksExecutor extends PersistentTasksExecutor<Tr
     ) {
         buildTask.initializeIndexer(indexerBuilder);
         // TransformTask#start will fail if the task state is FAILED
-        buildTask.setNumFailureRetries(numFailureRetries).start(previousCheckpoint, listener);
+        buildTask.setNumFailureRetries(numFailureRetries).setPrefetchNextPage(prefetchNextPage).start(previousCheckpoint, listener);
     }
 
     private void setNumFailureRetries(int numFailureRetries) {
         this.numFailureRetries = numFailureRetries;
     }
 
+    private void setPrefetchNextPage(boolean prefetchNextPage) {
+        this.prefetchNextPage = prefetchNextPage;
+    }
+
     @Override
     protected AllocatedPersistentTask createTask(
         long id,
@@ -522,6 +522,11 @@ public class TransformTask extends AllocatedPersistentTask implements SchedulerE
         return this;
     }
 
+    TransformTask setPrefetchNextPage(boolean prefetchNextPage) {
+        context.setPrefetchNextPage(prefetchNextPage);
+        return this;
+    }
+
     private void registerWithSchedulerJob() {
         schedulerEngine.register(this);
         final SchedulerEngine.Job schedulerJob = new SchedulerEngine.Job(schedulerJobName(), next());
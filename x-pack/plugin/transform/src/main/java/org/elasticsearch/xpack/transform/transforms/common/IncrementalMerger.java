@@ -0,0 +1,115 @@
+/*
+ * Copyright Elasticsearch B.V. and/or licensed to Elasticsearch B.V. under one
+ * or more contributor license agreements. Licensed under the Elastic License
+ * 2.0; you may not use this file except in compliance with the Elastic License
+ * 2.0.
+ */
+
+package org.elasticsearch.xpack.transform.transforms.common;
+
+import org.elasticsearch.action.index.IndexRequest;
+import org.elasticsearch.action.update.UpdateRequest;
+import org.elasticsearch.script.Script;
+import org.elasticsearch.script.ScriptType;
+import org.elasticsearch.xpack.core.transform.TransformField;
+
+import java.util.Collections;
+import java.util.Locale;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Merges the results of a continuous checkpoint, computed over the source documents added since the previous checkpoint only,
+ * into the documents written to the destination index by the previous checkpoints.
+ *
+ * Every result document is turned into a scripted upsert, which combines each field with the value already stored in the
+ * destination according to the {@link MergeType} of its aggregation. The checkpoint that was merged last is recorded in the
+ * {@link #CHECKPOINT_FIELD} of the destination document, so that re-applying a page of results after a failure does not count the
+ * same source documents twice. This has to be stored per document, as a page might have been applied partially. The field is
+ * mapped as a long when the destination index is created, see {@code TransformIndex}.
+ */
+public final class IncrementalMerger {
+
+    public enum MergeType {
+        SUM,
+        MIN,
+        MAX;
+
+        public String value() {
+            return name().toLowerCase(Locale.ROOT);
+        }
+    }
+
+    public static final String CHECKPOINT_FIELD = TransformField.INCREMENTAL_CHECKPOINT_FIELD;
+
+    // every page of a checkpoint contains a bucket once, so a document that already saw the checkpoint must not be updated again
+    private static final String MERGE_SCRIPT = "if (ctx.op == 'create') {"
+        + "  ctx._source.putAll(params.doc);"
+        + "} else {"
+        + "  def applied = ctx._source['" + CHECKPOINT_FIELD + "'];"
+        + "  if (applied != null && applied >= params.checkpoint) {"
+        + "    ctx.op = 'noop';"
+        + "    return;"
+        + "  }"
+        + "  for (def merge : params.merges.entrySet()) {"
+        + "    String[] path = merge.getKey().splitOnToken('.');"
+        + "    def source = ctx._source;"
+        + "    def update = params.doc;"
+        + "    for (int i = 0; i < path.length - 1 && update != null; i++) {"
+        + "      if (source[path[i]] == null) {"
+        + "        source[path[i]] = new HashMap();"
+        + "      }"
+        + "      source = source[path[i]];"
+        + "      update = update[path[i]];"
+        + "    }"
+        + "    String field = path[path.length - 1];"
+        + "    def value = update == null ? null : update[field];"
+        + "    def current = source[field];"
+        + "    if (value == null) {"
+        + "      continue;"
+        + "    }"
+        + "    if (current == null) {"
+        + "      source[field] = value;"
+        + "    } else if (merge.getValue() == 'sum') {"
+        + "      source[field] = current + value;"
+        + "    } else if (merge.getValue() == 'min') {"
+        + "      source[field] = value < current ? value : current;"
+        + "    } else {"
+        + "      source[field] = value > current ? value : current;"
+        + "    }"
+        + "  }"
+        + "}"
+        + "ctx._source['" + CHECKPOINT_FIELD + "'] = params.checkpoint;";
+
+    private final Map<String, String> merges;
+
+    /**
+     * @param merges the way each aggregation output field, by its (dotted) path, is merged
+     */
+    public IncrementalMerger(Map<String, MergeType> merges) {
+        this.merges = merges.entrySet().stream().collect(Collectors.toUnmodifiableMap(Map.Entry::getKey, e -> e.getValue().value()));
+    }
+
+    /**
+     * Convert the request that would overwrite the document of a bucket into one that merges it with the existing document.
+     *
+     * @param indexRequest the request as created by the function
+     * @param checkpoint the checkpoint the results belong to
+     * @return an update request, which creates the document if it does not exist yet
+     */
+    public UpdateRequest toUpdateRequest(IndexRequest indexRequest, long checkpoint) {
+        Script script = new Script(
+            ScriptType.INLINE,
+            Script.DEFAULT_SCRIPT_LANG,
+            MERGE_SCRIPT,
+            Map.of("doc", indexRequest.sourceAsMap(), "merges", merges, "checkpoint", checkpoint)
+        );
+        return new UpdateRequest(indexRequest.index(), indexRequest.id()).script(script)
+            .upsert(Collections.emptyMap())
+            .scriptedUpsert(true);
+    }
+
+    public Map<String, String> getMerges() {
+        return merges;
+    }
+}
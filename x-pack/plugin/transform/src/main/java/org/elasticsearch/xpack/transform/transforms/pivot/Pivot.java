@@ -35,9 +35,12 @@ import org.elasticsearch.xpack.core.transform.transforms.pivot.SingleGroupSource
 import org.elasticsearch.xpack.transform.Transform;
 import org.elasticsearch.xpack.transform.transforms.common.AbstractCompositeAggFunction;
 import org.elasticsearch.xpack.transform.transforms.common.DocumentConversionUtils;
+import org.elasticsearch.xpack.transform.transforms.common.IncrementalMerger;
+import org.elasticsearch.xpack.transform.transforms.common.IncrementalMerger.MergeType;
 
 import java.io.IOException;
 import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
@@ -119,6 +122,44 @@ public class Pivot extends AbstractCompositeAggFunction {
         return CompositeBucketsChangeCollector.buildChangeCollector(config.getGroupConfig().getGroups(), synchronizationField);
     }
 
+    /**
+     * Results can be merged if every aggregation is a sum, a value count or the minimum or maximum of a numeric field, as the
+     * results of these over all the documents of a bucket can be computed from the results over any partition of the documents.
+     */
+    @Override
+    public IncrementalMerger buildIncrementalMerger(Map<String, String> fieldMappings) {
+        if (config.getAggregationConfig().getPipelineAggregatorFactories().isEmpty() == false) {
+            return null;
+        }
+        Map<String, MergeType> merges = new HashMap<>();
+        for (AggregationBuilder agg : config.getAggregationConfig().getAggregatorFactories()) {
+            if (agg.getSubAggregations().isEmpty() == false) {
+                return null;
+            }
+            MergeType mergeType = mergeType(agg.getType(), fieldMappings.get(agg.getName()));
+            if (mergeType == null) {
+                return null;
+            }
+            merges.put(agg.getName(), mergeType);
+        }
+        return new IncrementalMerger(merges);
+    }
+
+    private static MergeType mergeType(String aggregationType, String targetMapping) {
+        switch (aggregationType) {
+            case "sum":
+            case "value_count":
+                return MergeType.SUM;
+            case "min":
+                // dates are written formatted, which cannot be compared
+                return SchemaUtil.isNumericType(targetMapping) ? MergeType.MIN : null;
+            case "max":
+                return SchemaUtil.isNumericType(targetMapping) ? MergeType.MAX : null;
+            default:
+                return null;
+        }
+    }
+
     @Override
     protected Map<String, Object> documentTransformationFunction(Map<String, Object> document) {
         return DocumentConversionUtils.removeInternalFields(document);
@@ -14,7 +14,11 @@ import org.elasticsearch.client.Client;
 import org.elasticsearch.xcontent.XContentParser;
 import org.elasticsearch.xcontent.json.JsonXContent;
 import org.elasticsearch.test.ESTestCase;
+import org.elasticsearch.xpack.core.transform.TransformField;
+import org.elasticsearch.xpack.core.transform.transforms.SettingsConfig;
+import org.elasticsearch.xpack.core.transform.transforms.TransformConfig;
 import org.elasticsearch.xpack.core.transform.transforms.TransformConfigTests;
+import org.elasticsearch.xpack.core.transform.transforms.pivot.PivotConfigTests;
 import org.mockito.ArgumentCaptor;
 
 import java.io.IOException;
@@ -54,10 +58,11 @@ public class TransformIndexTests extends ESTestCase {
             return null;
         }).when(client).execute(any(), any(), any());
 
+        TransformConfig config = TransformConfigTests.randomTransformConfig(TRANSFORM_ID);
         TransformIndex.createDestinationIndex(
             client,
-            TransformConfigTests.randomTransformConfig(TRANSFORM_ID),
-            TransformIndex.createTransformDestIndexSettings(new HashMap<>(), TRANSFORM_ID, clock),
+            config,
+            TransformIndex.createTransformDestIndexSettings(new HashMap<>(), config, clock),
             ActionListener.wrap(value -> assertTrue(value), e -> fail(e.getMessage()))
         );
 
@@ -74,6 +79,24 @@ public class TransformIndexTests extends ESTestCase {
         }
     }
 
+    public void testAddInternalMappings() {
+        Map<String, String> mappings = singletonMap("a", "long");
+        TransformConfig pivot = new TransformConfig.Builder(TransformConfigTests.randomTransformConfig(TRANSFORM_ID))
+            .setLatestConfig(null)
+            .setPivotConfig(PivotConfigTests.randomPivotConfig())
+            .setSettings(new SettingsConfig.Builder().setIncremental(true).build())
+            .build();
+        assertThat(
+            TransformIndex.addInternalMappings(mappings, pivot),
+            is(equalTo(Map.of("a", "long", TransformField.INCREMENTAL_CHECKPOINT_FIELD, "long")))
+        );
+
+        TransformConfig notIncremental = new TransformConfig.Builder(pivot).setSettings(
+            new SettingsConfig.Builder().setIncremental(randomFrom(false, null)).build()
+        ).build();
+        assertThat(TransformIndex.addInternalMappings(mappings, notIncremental), is(equalTo(mappings)));
+    }
+
     public void testCreateMappingsFromStringMap() {
         assertThat(TransformIndex.createMappingsFromStringMap(emptyMap()), is(anEmptyMap()));
         assertThat(
@@ -13,6 +13,9 @@ import org.elasticsearch.action.ActionRequest;
 import org.elasticsearch.action.ActionResponse;
 import org.elasticsearch.action.ActionType;
 import org.elasticsearch.action.LatchedActionListener;
+import org.elasticsearch.action.bulk.BulkItemResponse;
+import org.elasticsearch.action.bulk.BulkRequest;
+import org.elasticsearch.action.bulk.BulkResponse;
 import org.elasticsearch.action.search.ClosePointInTimeRequest;
 import org.elasticsearch.action.search.ClosePointInTimeResponse;
 import org.elasticsearch.action.search.OpenPointInTimeRequest;
@@ -283,6 +286,77 @@ public class ClientTransformIndexerTests extends ESTestCase {
         }
     }
 
+    public void testPrefetchedSearchIsReusedIfPositionMatches() throws InterruptedException {
+        try (PitMockClient client = new PitMockClient(getTestName(), false)) {
+            PrefetchMockClientTransformIndexer indexer = createPrefetchTestIndexer(client);
+            TransformIndexerPosition nextPage = new TransformIndexerPosition(Collections.singletonMap("key", "a"), null);
+
+            indexer.nextPagePosition = nextPage;
+            this.<BulkResponse>assertAsync(listener -> indexer.doNextBulk(new BulkRequest(), listener), response -> {});
+            assertEquals(1L, client.getSearchCounter());
+
+            // the indexer moved on to the prefetched page
+            indexer.currentPosition = nextPage;
+            indexer.nextPagePosition = null;
+            this.<SearchResponse>assertAsync(listener -> indexer.doNextSearch(0, listener), ESTestCase::assertNotNull);
+            assertEquals(1L, client.getSearchCounter());
+
+            // the prefetched response is only used once
+            this.<SearchResponse>assertAsync(listener -> indexer.doNextSearch(0, listener), ESTestCase::assertNotNull);
+            assertEquals(2L, client.getSearchCounter());
+        }
+    }
+
+    public void testPrefetchedSearchIsDiscardedIfPositionOrRequestDiffers() throws InterruptedException {
+        try (PitMockClient client = new PitMockClient(getTestName(), false)) {
+            PrefetchMockClientTransformIndexer indexer = createPrefetchTestIndexer(client);
+            TransformIndexerPosition nextPage = new TransformIndexerPosition(Collections.singletonMap("key", "a"), null);
+
+            indexer.nextPagePosition = nextPage;
+            this.<BulkResponse>assertAsync(listener -> indexer.doNextBulk(new BulkRequest(), listener), response -> {});
+            assertEquals(1L, client.getSearchCounter());
+
+            // e.g. the bulk request failed and the indexer retries from a different position
+            indexer.currentPosition = new TransformIndexerPosition(Collections.singletonMap("key", "b"), null);
+            this.<SearchResponse>assertAsync(listener -> indexer.doNextSearch(0, listener), ESTestCase::assertNotNull);
+            assertEquals(2L, client.getSearchCounter());
+
+            this.<BulkResponse>assertAsync(listener -> indexer.doNextBulk(new BulkRequest(), listener), response -> {});
+            assertEquals(3L, client.getSearchCounter());
+
+            // the position matches, but the page size got reduced after the prefetch was sent
+            indexer.currentPosition = nextPage;
+            indexer.pageSize = 250;
+            this.<SearchResponse>assertAsync(listener -> indexer.doNextSearch(0, listener), ESTestCase::assertNotNull);
+            assertEquals(4L, client.getSearchCounter());
+        }
+    }
+
+    public void testPrefetchedSearchIsDiscardedOnStopOrFailure() throws InterruptedException {
+        try (PitMockClient client = new PitMockClient(getTestName(), randomBoolean())) {
+            PrefetchMockClientTransformIndexer indexer = createPrefetchTestIndexer(client);
+            TransformIndexerPosition nextPage = new TransformIndexerPosition(Collections.singletonMap("key", "a"), null);
+
+            indexer.nextPagePosition = nextPage;
+            this.<BulkResponse>assertAsync(listener -> indexer.doNextBulk(new BulkRequest(), listener), response -> {});
+            assertEquals(1L, client.getSearchCounter());
+
+            if (randomBoolean()) {
+                indexer.onStop();
+            } else {
+                indexer.afterFinishOrFailure();
+            }
+            assertEquals(0L, client.getPitContextCounter());
+
+            indexer.currentPosition = nextPage;
+            this.<SearchResponse>assertAsync(listener -> indexer.doNextSearch(0, listener), ESTestCase::assertNotNull);
+            assertEquals(2L, client.getSearchCounter());
+
+            indexer.onStop();
+            assertEquals(0L, client.getPitContextCounter());
+        }
+    }
+
     private static class MockClientTransformIndexer extends ClientTransformIndexer {
 
         MockClientTransformIndexer(
@@ -325,9 +399,64 @@ public class ClientTransformIndexerTests extends ESTestCase {
         }
     }
 
+    private static class PrefetchMockClientTransformIndexer extends MockClientTransformIndexer {
+        private volatile TransformIndexerPosition currentPosition;
+        private volatile TransformIndexerPosition nextPagePosition;
+        private volatile int pageSize = 500;
+
+        PrefetchMockClientTransformIndexer(
+            ThreadPool threadPool,
+            TransformServices transformServices,
+            CheckpointProvider checkpointProvider,
+            Client client,
+            TransformConfig transformConfig,
+            TransformCheckpoint lastCheckpoint,
+            TransformCheckpoint nextCheckpoint,
+            TransformContext context
+        ) {
+            super(
+                threadPool,
+                transformServices,
+                checkpointProvider,
+                new AtomicReference<>(IndexerState.STOPPED),
+                null,
+                client,
+                mock(TransformIndexerStats.class),
+                transformConfig,
+                null,
+                lastCheckpoint,
+                nextCheckpoint,
+                new SeqNoPrimaryTermAndIndex(1, 1, TransformInternalIndexConstants.LATEST_INDEX_NAME),
+                context,
+                false
+            );
+        }
+
+        @Override
+        public TransformIndexerPosition getPosition() {
+            return currentPosition;
+        }
+
+        @Override
+        TransformIndexerPosition getNextPagePosition() {
+            return nextPagePosition;
+        }
+
+        @Override
+        public int getPageSize() {
+            return pageSize;
+        }
+
+        @Override
+        protected Tuple<String, SearchRequest> buildNextPageSearchRequest(TransformIndexerPosition position) {
+            return buildSearchRequest();
+        }
+    }
+
     private static class PitMockClient extends NoOpClient {
         private final boolean pitSupported;
         private AtomicLong pitContextCounter = new AtomicLong();
+        private AtomicLong searchCounter = new AtomicLong();
 
         PitMockClient(String testName, boolean pitSupported) {
             super(testName);
@@ -338,6 +467,10 @@ public class ClientTransformIndexerTests extends ESTestCase {
             return pitContextCounter.get();
         }
 
+        public long getSearchCounter() {
+            return searchCounter.get();
+        }
+
         @SuppressWarnings("unchecked")
         @Override
         protected <Request extends ActionRequest, Response extends ActionResponse> void doExecute(
@@ -362,6 +495,7 @@ public class ClientTransformIndexerTests extends ESTestCase {
                 return;
             } else if (request instanceof SearchRequest) {
                 SearchRequest searchRequest = (SearchRequest) request;
+                searchCounter.incrementAndGet();
 
                 // throw search context missing for the 4th run
                 if (searchRequest.pointInTimeBuilder() != null
@@ -393,6 +527,9 @@ public class ClientTransformIndexerTests extends ESTestCase {
 
                 }
                 return;
+            } else if (request instanceof BulkRequest) {
+                listener.onResponse((Response) new BulkResponse(new BulkItemResponse[0], 1));
+                return;
             }
 
             super.doExecute(action, request, listener);
@@ -415,6 +552,24 @@ public class ClientTransformIndexerTests extends ESTestCase {
         assertTrue("timed out after 5s", latch.await(5, TimeUnit.SECONDS));
     }
 
+    private PrefetchMockClientTransformIndexer createPrefetchTestIndexer(Client client) {
+        return new PrefetchMockClientTransformIndexer(
+            mock(ThreadPool.class),
+            new TransformServices(
+                mock(IndexBasedTransformConfigManager.class),
+                mock(TransformCheckpointService.class),
+                mock(TransformAuditor.class),
+                mock(SchedulerEngine.class)
+            ),
+            mock(CheckpointProvider.class),
+            client,
+            TransformConfigTests.randomTransformConfig(),
+            new TransformCheckpoint("transform", Instant.now().toEpochMilli(), 0L, Collections.emptyMap(), Instant.now().toEpochMilli()),
+            new TransformCheckpoint("transform", Instant.now().toEpochMilli(), 2L, Collections.emptyMap(), Instant.now().toEpochMilli()),
+            mock(TransformContext.class)
+        );
+    }
+
     private ClientTransformIndexer createTestIndexer() {
         ThreadPool threadPool = mock(ThreadPool.class);
         when(threadPool.executor("generic")).thenReturn(mock(ExecutorService.class));
@@ -415,7 +415,10 @@ public class TransformPersistentTasksExecutorTests extends ESTestCase {
             mock(SchedulerEngine.class)
         );
 
-        ClusterSettings cSettings = new ClusterSettings(Settings.EMPTY, Collections.singleton(Transform.NUM_FAILURE_RETRIES_SETTING));
+        ClusterSettings cSettings = new ClusterSettings(
+            Settings.EMPTY,
+            Set.of(Transform.NUM_FAILURE_RETRIES_SETTING, Transform.PREFETCH_NEXT_PAGE_SETTING)
+        );
         ClusterService clusterService = mock(ClusterService.class);
         when(clusterService.getClusterSettings()).thenReturn(cSettings);
         when(clusterService.state()).thenReturn(TransformInternalIndexTests.randomTransformClusterState());
@@ -0,0 +1,42 @@
+/*
+ * Copyright Elasticsearch B.V. and/or licensed to Elasticsearch B.V. under one
+ * or more contributor license agreements. Licensed under the Elastic License
+ * 2.0; you may not use this file except in compliance with the Elastic License
+ * 2.0.
+ */
+
+package org.elasticsearch.xpack.transform.transforms.common;
+
+import org.elasticsearch.action.index.IndexRequest;
+import org.elasticsearch.action.update.UpdateRequest;
+import org.elasticsearch.test.ESTestCase;
+import org.elasticsearch.xpack.transform.transforms.common.IncrementalMerger.MergeType;
+
+import java.util.Map;
+
+import static org.hamcrest.Matchers.anEmptyMap;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+
+public class IncrementalMergerTests extends ESTestCase {
+
+    public void testToUpdateRequest() {
+        IncrementalMerger merger = new IncrementalMerger(Map.of("total", MergeType.SUM, "stats.min", MergeType.MIN));
+        Map<String, Object> document = Map.of("group", "a", "total", 42.0, "stats", Map.of("min", 7));
+        IndexRequest indexRequest = new IndexRequest("dest").id("doc-1").source(document);
+
+        long checkpoint = randomLongBetween(2, 1_000);
+        UpdateRequest updateRequest = merger.toUpdateRequest(indexRequest, checkpoint);
+
+        assertThat(updateRequest.index(), equalTo("dest"));
+        assertThat(updateRequest.id(), equalTo("doc-1"));
+        assertThat(updateRequest.scriptedUpsert(), is(true));
+        assertThat(updateRequest.upsertRequest().sourceAsMap(), is(anEmptyMap()));
+
+        Map<String, Object> params = updateRequest.script().getParams();
+        assertThat(params.get("doc"), equalTo(document));
+        assertThat(params.get("merges"), equalTo(Map.of("total", "sum", "stats.min", "min")));
+        assertThat(params.get("checkpoint"), equalTo(checkpoint));
+        assertThat(merger.getMerges(), equalTo(params.get("merges")));
+    }
+}
@@ -42,6 +42,7 @@ import org.elasticsearch.xpack.core.transform.transforms.pivot.PivotConfig;
 import org.elasticsearch.xpack.spatial.SpatialPlugin;
 import org.elasticsearch.xpack.transform.Transform;
 import org.elasticsearch.xpack.transform.transforms.Function;
+import org.elasticsearch.xpack.transform.transforms.common.IncrementalMerger;
 import org.elasticsearch.xpack.transform.transforms.pivot.TransformAggregations.AggregationType;
 import org.junit.After;
 import org.junit.Before;
@@ -49,7 +50,9 @@ import org.junit.Before;
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.TimeUnit;
@@ -204,6 +207,41 @@ public class PivotTests extends ESTestCase {
         assertThat(pivot.getPerformanceCriticalFields(), contains("field-A", "field-B", "field-C"));
     }
 
+    public void testBuildIncrementalMerger() throws IOException {
+        AggregationConfig aggregationConfig = parseAggregations(
+            "{\"total\": {\"sum\": {\"field\": \"price\"}},"
+                + "\"stats.count\": {\"value_count\": {\"field\": \"price\"}},"
+                + "\"stats.cheapest\": {\"min\": {\"field\": \"price\"}},"
+                + "\"stats.latest\": {\"max\": {\"field\": \"timestamp\"}}}"
+        );
+        Function pivot = new Pivot(getValidPivotConfig(aggregationConfig), new SettingsConfig(), Version.CURRENT, Collections.emptySet());
+        Map<String, String> fieldMappings = Map.of(
+            "total",
+            "double",
+            "stats.count",
+            "long",
+            "stats.cheapest",
+            "double",
+            "stats.latest",
+            "long"
+        );
+
+        IncrementalMerger merger = pivot.buildIncrementalMerger(fieldMappings);
+        assertThat(
+            merger.getMerges(),
+            equalTo(Map.of("total", "sum", "stats.count", "sum", "stats.cheapest", "min", "stats.latest", "max"))
+        );
+
+        // dates are not merged
+        Map<String, String> dateMappings = new HashMap<>(fieldMappings);
+        dateMappings.put("stats.latest", "date");
+        assertThat(pivot.buildIncrementalMerger(dateMappings), is(nullValue()));
+
+        // neither are aggregations that cannot be computed from partial results
+        pivot = new Pivot(getValidPivotConfig(getAggregationConfig("avg")), new SettingsConfig(), Version.CURRENT, Collections.emptySet());
+        assertThat(pivot.buildIncrementalMerger(Map.of("pivot_avg", "double")), is(nullValue()));
+    }
+
     private class MyMockClient extends NoOpClient {
         MyMockClient(String testName) {
             super(testName);